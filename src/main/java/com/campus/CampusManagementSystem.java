@@ -8,28 +8,44 @@ import com.campus.hostel.HostelManager;
 import com.campus.inventory.InventoryManager;
 import com.campus.exams.ExamManager;
 import com.campus.events.EventManager;
+import com.campus.reports.Report;
+import com.campus.reports.ReportFormat;
 import com.campus.reports.ReportGenerator;
+import com.campus.reports.ReportJobQueue;
+import com.campus.domain.DomainEventLog;
+import com.campus.storage.StorageManager;
+import com.campus.utils.Lazy;
 import com.campus.utils.Logger;
+import com.campus.utils.MetricsRegistry;
 import com.campus.utils.NotificationService;
+import com.campus.utils.StartupOrchestrator;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
 import java.util.Scanner;
 
 /**
  * Main application class for Smart Campus Management System
  */
 public class CampusManagementSystem {
+    public static final String WARM_UP_PROPERTY = "campus.startup.warmup";
     private static final Logger logger = Logger.getInstance();
     private static final NotificationService notificationService = NotificationService.getInstance();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
     
-    private StudentManager studentManager;
-    private CourseManager courseManager;
-    private LibraryManager libraryManager;
-    private TransportManager transportManager;
-    private HostelManager hostelManager;
-    private InventoryManager inventoryManager;
-    private ExamManager examManager;
-    private EventManager eventManager;
-    private ReportGenerator reportGenerator;
+    private Lazy<StudentManager> studentManager;
+    private Lazy<CourseManager> courseManager;
+    private Lazy<LibraryManager> libraryManager;
+    private Lazy<TransportManager> transportManager;
+    private Lazy<HostelManager> hostelManager;
+    private Lazy<InventoryManager> inventoryManager;
+    private Lazy<ExamManager> examManager;
+    private Lazy<EventManager> eventManager;
+    private Lazy<ReportGenerator> reportGenerator;
+    private CompletableFuture<StartupOrchestrator.Report> startupReport;
+    private final ReportJobQueue reportJobs = new ReportJobQueue();
     
     private Scanner scanner;
     private boolean running;
@@ -38,34 +54,71 @@ public class CampusManagementSystem {
         this.scanner = new Scanner(System.in);
         this.running = true;
         initializeManagers();
+        registerSystemGauges();
+        metrics.startReporting();
         logger.info("Smart Campus Management System initialized");
     }
     
+    /**
+     * Declares the managers without building them. Each one is built the first time its menu
+     * is opened, or earlier by the background warm-up started from {@link #start()}.
+     * The managers are independent of each other; the report generator needs all of them.
+     */
     private void initializeManagers() {
-        this.studentManager = new StudentManager();
-        this.courseManager = new CourseManager();
-        this.libraryManager = new LibraryManager();
-        this.transportManager = new TransportManager();
-        this.hostelManager = new HostelManager();
-        this.inventoryManager = new InventoryManager();
-        this.examManager = new ExamManager();
-        this.eventManager = new EventManager();
-        this.reportGenerator = new ReportGenerator(studentManager, courseManager, libraryManager,
-                                                  transportManager, hostelManager, inventoryManager,
-                                                  examManager, eventManager);
+        this.studentManager = Lazy.of("StudentManager", StudentManager::new);
+        this.courseManager = Lazy.of("CourseManager", CourseManager::new);
+        this.libraryManager = Lazy.of("LibraryManager", LibraryManager::new);
+        this.transportManager = Lazy.of("TransportManager", TransportManager::new);
+        this.hostelManager = Lazy.of("HostelManager", HostelManager::new);
+        this.inventoryManager = Lazy.of("InventoryManager", InventoryManager::new);
+        this.examManager = Lazy.of("ExamManager", ExamManager::new);
+        this.eventManager = Lazy.of("EventManager", EventManager::new);
+        this.reportGenerator = Lazy.of("ReportGenerator",
+                () -> new ReportGenerator(studentManager.get(), courseManager.get(), libraryManager.get(),
+                        transportManager.get(), hostelManager.get(), inventoryManager.get(),
+                        examManager.get(), eventManager.get()),
+                studentManager, courseManager, libraryManager, transportManager,
+                hostelManager, inventoryManager, examManager, eventManager);
         
-        logger.info("All managers initialized successfully");
+        logger.info("Managers registered for on-demand initialization");
+    }
+    
+    /**
+     * Loads every subsystem in the background, independent ones in parallel, so that menus
+     * opened later do not wait. Opening a menu before its manager is ready simply builds or
+     * waits for that one manager.
+     */
+    private void warmUpInBackground() {
+        if (!Boolean.parseBoolean(System.getProperty(WARM_UP_PROPERTY, "true"))) {
+            return;
+        }
+        this.startupReport = new StartupOrchestrator(reportGenerator).startAsync();
+    }
+    
+    private void registerSystemGauges() {
+        metrics.gauge("logger.dropped", logger::getDroppedCount);
+        metrics.gauge("notifications.dropped", notificationService::getDroppedCount);
+        metrics.gauge("domain.events.endOffset", DomainEventLog.getInstance()::getEndOffset);
+        metrics.gauge("jvm.memory.usedBytes",
+                () -> Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
     }
     
     public void start() {
         displayWelcomeMessage();
+        warmUpInBackground();
         
         while (running) {
+            logger.flush();
             displayMainMenu();
             int choice = getChoice();
             handleMenuChoice(choice);
         }
         
+        reportJobs.shutdown();
+        notificationService.shutdown();
+        StorageManager.getInstance().shutdown();
+        metrics.stopReporting();
+        logger.shutdown();
         displayGoodbyeMessage();
     }
     
@@ -115,35 +168,35 @@ public class CampusManagementSystem {
             switch (choice) {
                 case 1:
                     logger.info("Accessing Student Management");
-                    studentManager.displayMenu();
+                    studentManager.get().displayMenu();
                     break;
                 case 2:
                     logger.info("Accessing Course Management");
-                    courseManager.displayMenu();
+                    courseManager.get().displayMenu();
                     break;
                 case 3:
                     logger.info("Accessing Library Management");
-                    libraryManager.displayMenu();
+                    libraryManager.get().displayMenu();
                     break;
                 case 4:
                     logger.info("Accessing Transport Management");
-                    transportManager.displayMenu();
+                    transportManager.get().displayMenu();
                     break;
                 case 5:
                     logger.info("Accessing Hostel Management");
-                    hostelManager.displayMenu();
+                    hostelManager.get().displayMenu();
                     break;
                 case 6:
                     logger.info("Accessing Inventory Management");
-                    inventoryManager.displayMenu();
+                    inventoryManager.get().displayMenu();
                     break;
                 case 7:
                     logger.info("Accessing Exam Management");
-                    examManager.displayMenu();
+                    examManager.get().displayMenu();
                     break;
                 case 8:
                     logger.info("Accessing Event Management");
-                    eventManager.displayMenu();
+                    eventManager.get().displayMenu();
                     break;
                 case 9:
                     logger.info("Accessing System Reports");
@@ -172,32 +225,170 @@ public class CampusManagementSystem {
         System.out.println("╚══════════════════════════════════════════════════════════════╝");
         
         System.out.println("\n📊 SYSTEM OVERVIEW:");
-        System.out.println("- Total Students: " + studentManager.getTotalStudents());
-        System.out.println("- Total Courses: " + courseManager.getTotalCourses());
-        System.out.println("- Library Books: " + libraryManager.getTotalBooks());
-        System.out.println("- Transport Vehicles: " + transportManager.getTotalVehicles());
-        System.out.println("- Hostel Rooms: " + hostelManager.getTotalRooms());
-        System.out.println("- Inventory Items: " + inventoryManager.getTotalItems());
-        System.out.println("- Total Exams: " + examManager.getTotalExams());
-        System.out.println("- Total Events: " + eventManager.getTotalEvents());
+        System.out.println("- Total Students: " + studentManager.get().getTotalStudents());
+        System.out.println("- Total Courses: " + courseManager.get().getTotalCourses());
+        System.out.println("- Library Books: " + libraryManager.get().getTotalBooks());
+        System.out.println("- Transport Vehicles: " + transportManager.get().getTotalVehicles());
+        System.out.println("- Hostel Rooms: " + hostelManager.get().getTotalRooms());
+        System.out.println("- Inventory Items: " + inventoryManager.get().getTotalItems());
+        System.out.println("- Total Exams: " + examManager.get().getTotalExams());
+        System.out.println("- Total Events: " + eventManager.get().getTotalEvents());
         
         System.out.println("\n📈 QUICK STATISTICS:");
-        System.out.println("- Active Students: " + studentManager.getActiveStudents());
-        System.out.println("- Active Courses: " + courseManager.getActiveCourses());
-        System.out.println("- Available Books: " + libraryManager.getAvailableBooks());
-        System.out.println("- Active Vehicles: " + transportManager.getActiveVehicles());
-        System.out.println("- Available Rooms: " + hostelManager.getAvailableRooms());
-        System.out.println("- Low Stock Items: " + inventoryManager.getLowStockCount());
-        System.out.println("- Upcoming Exams: " + examManager.getUpcomingExams().size());
-        System.out.println("- Upcoming Events: " + eventManager.getUpcomingEvents().size());
+        System.out.println("- Active Students: " + studentManager.get().getActiveStudents());
+        System.out.println("- Active Courses: " + courseManager.get().getActiveCourses());
+        System.out.println("- Available Books: " + libraryManager.get().getAvailableBooks());
+        System.out.println("- Active Vehicles: " + transportManager.get().getActiveVehicles());
+        System.out.println("- Available Rooms: " + hostelManager.get().getAvailableRooms());
+        System.out.println("- Low Stock Items: " + inventoryManager.get().getLowStockCount());
+        System.out.println("- Upcoming Exams: " + examManager.get().getUpcomingExams().size());
+        System.out.println("- Upcoming Events: " + eventManager.get().getUpcomingEvents().size());
         
         System.out.println("\n🔔 RECENT NOTIFICATIONS:");
         notificationService.getNotifications().stream()
                 .limit(5)
                 .forEach(System.out::println);
         
-        System.out.println("\nPress Enter to continue...");
-        scanner.nextLine();
+        System.out.println("\n🗂️ DETAILED REPORTS:");
+        for (ReportJobQueue.ReportJob job : reportJobs.getJobs()) {
+            System.out.println("- " + job);
+        }
+        System.out.println("1. System Overview  2. Student Performance  3. Financial  4. Inventory  5. Attendance");
+        System.out.println("Export only: 6. Hostel Payments  7. Stock Transactions  8. Exam Results");
+        System.out.print("Enter a number to build that report in the background, C<n> to cancel it, "
+                + "V<n> to view it, E<n> to export it to a file, or press Enter to continue: ");
+        String choice = scanner.nextLine().trim().toUpperCase();
+        if (!choice.isEmpty()) {
+            handleReportChoice(choice);
+        }
+    }
+    
+    /**
+     * Reports are built on the report workers, so choosing one returns to the menu at once;
+     * choosing a report that is still being built joins the running job.
+     */
+    private void handleReportChoice(String choice) {
+        char action = Character.isDigit(choice.charAt(0)) ? 'Q' : choice.charAt(0);
+        String number = action == 'Q' ? choice : choice.substring(1);
+        if (action == 'E') {
+            exportReport(number);
+            return;
+        }
+        String key = reportKey(number);
+        if (key == null) {
+            System.out.println("❌ Invalid choice.");
+            return;
+        }
+        switch (action) {
+            case 'Q':
+                try {
+                    ReportJobQueue.ReportJob job = reportJobs.submit(key, () -> buildReport(key));
+                    System.out.println("✅ Report " + job);
+                } catch (IllegalStateException e) {
+                    System.out.println("❌ " + e.getMessage());
+                }
+                break;
+            case 'C':
+                System.out.println(reportJobs.cancel(key) ? "✅ Report cancelled." : "❌ That report is not running.");
+                break;
+            case 'V':
+                ReportJobQueue.ReportJob job = reportJobs.getJob(key);
+                Report report = job != null ? job.getReport() : null;
+                if (report == null) {
+                    System.out.println("❌ That report is not ready" + (job != null ? ": " + job : "."));
+                } else {
+                    System.out.println();
+                    System.out.println(report.getContent());
+                }
+                break;
+            default:
+                System.out.println("❌ Invalid choice.");
+        }
+    }
+    
+    private static String reportKey(String number) {
+        switch (number) {
+            case "1": return "system-overview";
+            case "2": return "student-performance";
+            case "3": return "financial";
+            case "4": return "inventory";
+            case "5": return "attendance";
+            default: return null;
+        }
+    }
+    
+    /**
+     * Writes a finished report, or streams one of the data listings, to a file of the chosen
+     * format. A path ending in .gz is gzip-compressed.
+     */
+    private void exportReport(String number) {
+        Report report = null;
+        if (!number.equals("6") && !number.equals("7") && !number.equals("8")) {
+            String key = reportKey(number);
+            if (key == null) {
+                System.out.println("❌ Invalid choice.");
+                return;
+            }
+            ReportJobQueue.ReportJob job = reportJobs.getJob(key);
+            report = job != null ? job.getReport() : null;
+            if (report == null) {
+                System.out.println("❌ That report is not ready" + (job != null ? ": " + job : "."));
+                return;
+            }
+        }
+        
+        ReportFormat defaultFormat = report != null ? report.getFormat() : ReportFormat.CSV;
+        System.out.print("Enter format (CSV, TXT, EXCEL) [" + defaultFormat + "]: ");
+        String formatName = scanner.nextLine().trim().toUpperCase();
+        ReportFormat format;
+        try {
+            format = formatName.isEmpty() ? defaultFormat : ReportFormat.valueOf(formatName);
+        } catch (IllegalArgumentException e) {
+            System.out.println("❌ Unknown format: " + formatName);
+            return;
+        }
+        System.out.print("Enter file path: ");
+        String filePath = scanner.nextLine().trim();
+        if (filePath.isEmpty()) {
+            System.out.println("❌ A file path is required.");
+            return;
+        }
+        
+        ReportGenerator generator = reportGenerator.get();
+        Path file = Paths.get(filePath);
+        try {
+            switch (number) {
+                case "6":
+                    System.out.println("✅ Exported " + generator.exportPaymentReport(format, file) + " payments to " + file);
+                    break;
+                case "7":
+                    System.out.println("✅ Exported " + generator.exportStockTransactionReport(format, file)
+                            + " stock transactions to " + file);
+                    break;
+                case "8":
+                    System.out.println("✅ Exported " + generator.exportExamResultReport(format, file) + " exam results to " + file);
+                    break;
+                default:
+                    generator.exportReport(report, format, filePath);
+                    System.out.println("✅ Report exported to " + file);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println("❌ " + e.getMessage());
+        } catch (IOException e) {
+            logger.error("Export failed: " + e.getMessage());
+            System.out.println("❌ Export failed: " + e.getMessage());
+        }
+    }
+    
+    private Report buildReport(String key) {
+        ReportGenerator generator = reportGenerator.get();
+        switch (key) {
+            case "system-overview": return generator.generateSystemOverviewReport();
+            case "student-performance": return generator.generateStudentPerformanceReport();
+            case "financial": return generator.generateFinancialReport();
+            case "inventory": return generator.generateInventoryReport();
+            default: return generator.generateAttendanceReport();
+        }
     }
     
     private void displaySystemSettings() {
@@ -211,6 +402,7 @@ public class CampusManagementSystem {
         System.out.println("3. View Notifications");
         System.out.println("4. Clear Notifications");
         System.out.println("5. System Information");
+        System.out.println("6. Create Storage Snapshot");
         System.out.println("0. Back to Main Menu");
         
         System.out.print("Enter choice: ");
@@ -234,6 +426,9 @@ public class CampusManagementSystem {
             case 5:
                 displaySystemInformation();
                 break;
+            case 6:
+                createStorageSnapshot();
+                break;
             case 0:
                 return;
             default:
@@ -256,6 +451,21 @@ public class CampusManagementSystem {
         notificationService.getNotifications().forEach(System.out::println);
     }
     
+    private void createStorageSnapshot() {
+        StorageManager storage = StorageManager.getInstance();
+        if (!storage.isPersistent()) {
+            System.out.println("❌ Persistent storage is disabled.");
+            return;
+        }
+        try {
+            storage.checkpoint();
+            System.out.println("✅ Snapshot written to " + storage.getDataDirectory());
+        } catch (IOException e) {
+            logger.error("Snapshot failed: " + e.getMessage());
+            System.out.println("❌ Snapshot failed: " + e.getMessage());
+        }
+    }
+    
     private void displaySystemInformation() {
         System.out.println("\n💻 SYSTEM INFORMATION:");
         System.out.println("- System Name: Smart Campus Management System");
@@ -265,8 +475,17 @@ public class CampusManagementSystem {
         System.out.println("- Available Memory: " + 
                           (Runtime.getRuntime().maxMemory() / 1024 / 1024) + " MB");
         System.out.println("- Total Modules: 8");
-        System.out.println("- Database: In-Memory (HashMap-based)");
+        System.out.println("- Database: " + (StorageManager.getInstance().isPersistent()
+                ? "Journaled (" + StorageManager.getInstance().getDataDirectory() + ")"
+                : "In-Memory (HashMap-based)"));
+        System.out.println("- Domain Events Published: " + DomainEventLog.getInstance().getEndOffset());
         System.out.println("- Status: ✅ All systems operational");
+        if (startupReport != null && startupReport.isDone() && !startupReport.isCompletedExceptionally()) {
+            System.out.println("\n🚀 STARTUP TIMINGS:");
+            System.out.print(startupReport.join().format());
+        }
+        System.out.println("\n📈 METRICS:");
+        System.out.print(metrics.dumpText());
     }
     
     private void displayGoodbyeMessage() {
@@ -0,0 +1,45 @@
+package com.campus.bench;
+
+/**
+ * Measured throughput and allocation of one benchmark at one dataset size.
+ */
+public class BenchmarkResult {
+    static final String HEADER = "benchmark\tsize\tops_per_sec\terror\tns_per_op\tbytes_per_op";
+
+    private final String benchmark;
+    private final int datasetSize;
+    private final double opsPerSecond;
+    private final double error;
+    private final double bytesPerOperation;
+
+    public BenchmarkResult(String benchmark, int datasetSize, double opsPerSecond, double error,
+                           double bytesPerOperation) {
+        this.benchmark = benchmark;
+        this.datasetSize = datasetSize;
+        this.opsPerSecond = opsPerSecond;
+        this.error = error;
+        this.bytesPerOperation = bytesPerOperation;
+    }
+
+    public String getBenchmark() { return benchmark; }
+    public int getDatasetSize() { return datasetSize; }
+    public double getOpsPerSecond() { return opsPerSecond; }
+    public double getError() { return error; }
+    public double getNanosPerOperation() { return opsPerSecond > 0 ? 1e9 / opsPerSecond : 0; }
+    public double getBytesPerOperation() { return bytesPerOperation; }
+
+    String key() {
+        return benchmark + "@" + datasetSize;
+    }
+
+    String toLine() {
+        return String.format("%s\t%d\t%.2f\t%.2f\t%.1f\t%.1f", benchmark, datasetSize, opsPerSecond, error,
+                getNanosPerOperation(), bytesPerOperation);
+    }
+
+    static BenchmarkResult parse(String line) {
+        String[] fields = line.split("\t");
+        return new BenchmarkResult(fields[0], Integer.parseInt(fields[1]), Double.parseDouble(fields[2]),
+                Double.parseDouble(fields[3]), Double.parseDouble(fields[5]));
+    }
+}
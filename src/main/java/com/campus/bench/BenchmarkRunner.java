@@ -0,0 +1,201 @@
+package com.campus.bench;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Command-line runner for the manager benchmark suites.
+ * Each benchmark is warmed up, then measured over fixed-time iterations on a
+ * freshly populated dataset per size. Results are printed, written as a TSV file
+ * and compared against a baseline file when one is present.
+ *
+ * Usage: BenchmarkRunner [--sizes 10000,100000] [--suites regex] [--filter regex]
+ *        [--warmup 2] [--iterations 5] [--time-ms 1000] [--seed 42]
+ *        [--out bench/results.tsv] [--baseline bench/baseline.tsv]
+ */
+public class BenchmarkRunner {
+    private static final Map<String, Supplier<BenchmarkSuite>> SUITES = new LinkedHashMap<>();
+    private static volatile Object sink;
+
+    static {
+        SUITES.put("Student", StudentManagerBenchmark::new);
+        SUITES.put("Course", CourseManagerBenchmark::new);
+        SUITES.put("Library", LibraryManagerBenchmark::new);
+        SUITES.put("Catalog", CatalogManagerBenchmark::new);
+        SUITES.put("Hostel", HostelManagerBenchmark::new);
+        SUITES.put("Inventory", InventoryManagerBenchmark::new);
+        SUITES.put("Exam", ExamManagerBenchmark::new);
+        SUITES.put("Event", EventManagerBenchmark::new);
+        SUITES.put("Transport", TransportManagerBenchmark::new);
+        SUITES.put("ReportGenerator", ReportGeneratorBenchmark::new);
+        SUITES.put("Logger", LoggerBenchmark::new);
+    }
+
+    private final int[] sizes;
+    private final Pattern suiteFilter;
+    private final Pattern benchmarkFilter;
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final long seed;
+    private final ThreadMXBean threads;
+
+    private BenchmarkRunner(Map<String, String> options) {
+        this.sizes = Arrays.stream(options.getOrDefault("sizes", "10000").split(","))
+                .mapToInt(size -> Integer.parseInt(size.trim())).toArray();
+        this.suiteFilter = Pattern.compile(options.getOrDefault("suites", ".*"));
+        this.benchmarkFilter = Pattern.compile(options.getOrDefault("filter", ".*"));
+        this.warmupIterations = Integer.parseInt(options.getOrDefault("warmup", "2"));
+        this.measurementIterations = Integer.parseInt(options.getOrDefault("iterations", "5"));
+        this.iterationNanos = Long.parseLong(options.getOrDefault("time-ms", "1000")) * 1_000_000;
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        this.threads = ManagementFactory.getThreadMXBean();
+    }
+
+    public static void main(String[] args) throws IOException {
+        // Benchmarks measure the managers, not the console, disk or journal
+        setDefault("campus.storage.enabled", "false");
+        setDefault("campus.log.level", "WARN");
+        setDefault("campus.log.console", "false");
+        setDefault("campus.log.file.enabled", "false");
+
+        Map<String, String> options = parseOptions(args);
+        BenchmarkRunner runner = new BenchmarkRunner(options);
+        List<BenchmarkResult> results = runner.run();
+
+        Path out = Paths.get(options.getOrDefault("out", "bench/results.tsv"));
+        writeResults(out, results);
+        System.out.println("\nResults written to " + out);
+
+        Path baseline = Paths.get(options.getOrDefault("baseline", "bench/baseline.tsv"));
+        if (Files.exists(baseline) && !baseline.equals(out)) {
+            compare(readResults(baseline), results);
+        }
+    }
+
+    private List<BenchmarkResult> run() {
+        List<BenchmarkResult> results = new ArrayList<>();
+        System.out.printf("%-48s %10s %14s %12s %12s %12s%n", "Benchmark", "Size", "ops/s", "error", "ns/op", "B/op");
+        for (int size : sizes) {
+            for (Map.Entry<String, Supplier<BenchmarkSuite>> entry : SUITES.entrySet()) {
+                if (!suiteFilter.matcher(entry.getKey()).find()) continue;
+                BenchmarkSuite suite = entry.getValue().get();
+                Map<String, IntFunction<?>> benchmarks = suite.prepare(size, seed);
+                try {
+                    for (Map.Entry<String, IntFunction<?>> benchmark : benchmarks.entrySet()) {
+                        String name = suite.getName() + "." + benchmark.getKey();
+                        if (!benchmarkFilter.matcher(name).find()) continue;
+                        BenchmarkResult result = measure(name, size, benchmark.getValue());
+                        results.add(result);
+                        System.out.printf("%-48s %10d %14.2f %12.2f %12.1f %12.1f%n", name, size,
+                                result.getOpsPerSecond(), result.getError(),
+                                result.getNanosPerOperation(), result.getBytesPerOperation());
+                    }
+                } finally {
+                    suite.tearDown();
+                }
+            }
+        }
+        return results;
+    }
+
+    private BenchmarkResult measure(String name, int size, IntFunction<?> operation) {
+        int invocation = 0;
+        for (int i = 0; i < warmupIterations; i++) {
+            invocation = runFor(operation, invocation);
+        }
+        double[] rates = new double[measurementIterations];
+        long totalOperations = 0;
+        long totalAllocated = 0;
+        for (int i = 0; i < measurementIterations; i++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            int first = invocation;
+            invocation = runFor(operation, invocation);
+            long elapsed = System.nanoTime() - start;
+            long operations = invocation - first;
+            totalAllocated += allocatedBytes() - allocatedBefore;
+            totalOperations += operations;
+            rates[i] = operations * 1e9 / elapsed;
+        }
+        double mean = Arrays.stream(rates).average().orElse(0);
+        double variance = Arrays.stream(rates).map(rate -> (rate - mean) * (rate - mean)).sum()
+                / Math.max(1, rates.length - 1);
+        double bytesPerOperation = totalOperations > 0 ? (double) totalAllocated / totalOperations : 0;
+        return new BenchmarkResult(name, size, mean, Math.sqrt(variance), bytesPerOperation);
+    }
+
+    private int runFor(IntFunction<?> operation, int invocation) {
+        long deadline = System.nanoTime() + iterationNanos;
+        do {
+            sink = operation.apply(invocation++);
+        } while (System.nanoTime() < deadline);
+        return invocation;
+    }
+
+    private long allocatedBytes() {
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static void compare(List<BenchmarkResult> baseline, List<BenchmarkResult> results) {
+        Map<String, BenchmarkResult> previous = new HashMap<>();
+        baseline.forEach(result -> previous.put(result.key(), result));
+        System.out.println("\n=== COMPARISON WITH BASELINE ===");
+        System.out.printf("%-48s %10s %14s %14s %10s%n", "Benchmark", "Size", "baseline", "current", "change");
+        for (BenchmarkResult result : results) {
+            BenchmarkResult before = previous.get(result.key());
+            if (before == null || before.getOpsPerSecond() == 0) continue;
+            double change = (result.getOpsPerSecond() / before.getOpsPerSecond() - 1) * 100;
+            System.out.printf("%-48s %10d %14.2f %14.2f %+9.1f%%%n", result.getBenchmark(), result.getDatasetSize(),
+                    before.getOpsPerSecond(), result.getOpsPerSecond(), change);
+        }
+    }
+
+    private static void writeResults(Path path, List<BenchmarkResult> results) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add(BenchmarkResult.HEADER);
+        results.forEach(result -> lines.add(result.toLine()));
+        Files.write(path, lines, StandardCharsets.UTF_8);
+    }
+
+    private static List<BenchmarkResult> readResults(Path path) throws IOException {
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            if (line.isEmpty() || line.startsWith("#") || line.equals(BenchmarkResult.HEADER)) continue;
+            results.add(BenchmarkResult.parse(line));
+        }
+        return results;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static void setDefault(String property, String value) {
+        if (System.getProperty(property) == null) {
+            System.setProperty(property, value);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.campus.bench;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+/**
+ * Base class for a group of benchmarks sharing one populated dataset.
+ * Subclasses populate their manager in setUp and register operations in defineBenchmarks.
+ * Each operation receives a running invocation index, which it can use to pick
+ * pseudo-random keys from {@link #keyIndex(int)}; its return value is consumed
+ * by the runner so the JIT cannot eliminate the work.
+ */
+public abstract class BenchmarkSuite {
+    private static final int KEY_SAMPLES = 1 << 16;
+
+    private final Map<String, IntFunction<?>> benchmarks = new LinkedHashMap<>();
+    private int[] keySamples = new int[0];
+    protected int datasetSize;
+
+    public String getName() {
+        return getClass().getSimpleName().replace("Benchmark", "");
+    }
+
+    /**
+     * Populates the suite's managers with the given number of primary records.
+     */
+    protected abstract void setUp(int datasetSize);
+
+    protected abstract void defineBenchmarks();
+
+    protected void tearDown() {}
+
+    protected final void benchmark(String name, IntFunction<?> operation) {
+        benchmarks.put(name, operation);
+    }
+
+    /**
+     * Uniformly distributed index into the dataset, fixed per invocation index.
+     */
+    protected final int keyIndex(int invocation) {
+        return keySamples[invocation & (KEY_SAMPLES - 1)];
+    }
+
+    final Map<String, IntFunction<?>> prepare(int datasetSize, long seed) {
+        this.datasetSize = datasetSize;
+        SplittableRandom random = new SplittableRandom(seed);
+        keySamples = new int[KEY_SAMPLES];
+        for (int i = 0; i < KEY_SAMPLES; i++) {
+            keySamples[i] = random.nextInt(Math.max(1, datasetSize));
+        }
+        benchmarks.clear();
+        setUp(datasetSize);
+        defineBenchmarks();
+        return benchmarks;
+    }
+}
@@ -0,0 +1,57 @@
+package com.campus.bench;
+
+import com.campus.library.Book;
+import com.campus.library.BookCategory;
+import com.campus.library.CatalogManager;
+
+/**
+ * Search benchmarks for CatalogManager.
+ */
+public class CatalogManagerBenchmark extends BenchmarkSuite {
+    private static final String[] TITLE_WORDS = {
+        "Introduction", "Advanced", "Principles", "Modern", "Applied", "Foundations",
+        "Algorithms", "Systems", "Networks", "Databases", "Calculus", "Economics",
+        "History", "Chemistry", "Physics", "Biology", "Design", "Analysis"
+    };
+    private static final String[] AUTHOR_NAMES = {
+        "Smith", "Johnson", "Perera", "Fernando", "Silva", "Brown", "Garcia",
+        "Nakamura", "Kumar", "Okafor", "Muller", "Rossi", "Dubois", "Ivanova"
+    };
+
+    private CatalogManager catalog;
+    private int nextId;
+
+    @Override
+    protected void setUp(int datasetSize) {
+        catalog = new CatalogManager();
+        for (int i = 0; i < datasetSize; i++) {
+            catalog.addBook(LibraryManagerBenchmark.newBook(i));
+        }
+        nextId = datasetSize;
+    }
+
+    @Override
+    protected void defineBenchmarks() {
+        BookCategory[] categories = BookCategory.values();
+        benchmark("searchByTitle", i -> catalog.searchByTitle(TITLE_WORDS[i % TITLE_WORDS.length]));
+        benchmark("searchByAuthor", i -> catalog.searchByAuthor(AUTHOR_NAMES[i % AUTHOR_NAMES.length]));
+        benchmark("searchByISBN", i -> catalog.searchByISBN(String.format("978%010d", keyIndex(i))));
+        benchmark("searchBooks", i -> catalog.searchBooks(TITLE_WORDS[i % TITLE_WORDS.length].toLowerCase()));
+        benchmark("searchByCategory", i -> catalog.searchByCategory(categories[i % categories.length]));
+        benchmark("getPopularBooks", i -> catalog.getPopularBooks(10));
+        benchmark("addBook", i -> {
+            Book book = LibraryManagerBenchmark.newBook(nextId++);
+            catalog.addBook(book);
+            return book;
+        });
+    }
+
+    static String title(int index) {
+        return TITLE_WORDS[index % TITLE_WORDS.length] + " "
+                + TITLE_WORDS[(index / TITLE_WORDS.length) % TITLE_WORDS.length] + " Volume " + (index % 7 + 1);
+    }
+
+    static String author(int index) {
+        return "Author" + (index % 500) + " " + AUTHOR_NAMES[index % AUTHOR_NAMES.length];
+    }
+}
@@ -0,0 +1,61 @@
+package com.campus.bench;
+
+import com.campus.courses.Course;
+import com.campus.courses.CourseManager;
+import com.campus.courses.CourseStatus;
+
+/**
+ * CRUD and query benchmarks for CourseManager.
+ */
+public class CourseManagerBenchmark extends BenchmarkSuite {
+    private static final String[] DEPARTMENTS = {
+        "Computer Science", "Mathematics", "Physics", "Chemistry", "Biology",
+        "Engineering", "Economics", "History", "Literature", "Business"
+    };
+
+    private CourseManager manager;
+    private String[] ids;
+    private int nextId;
+
+    @Override
+    protected void setUp(int datasetSize) {
+        manager = new CourseManager();
+        ids = new String[datasetSize];
+        for (int i = 0; i < datasetSize; i++) {
+            Course course = newCourse(i);
+            ids[i] = course.getCourseId();
+            manager.create(course);
+        }
+        nextId = datasetSize;
+    }
+
+    CourseManager getManager() {
+        return manager;
+    }
+
+    @Override
+    protected void defineBenchmarks() {
+        benchmark("read", i -> manager.read(ids[keyIndex(i)]));
+        benchmark("update", i -> {
+            Course course = manager.read(ids[keyIndex(i)]);
+            course.setStatus(i % 5 == 0 ? CourseStatus.INACTIVE : CourseStatus.ACTIVE);
+            manager.update(course);
+            return course;
+        });
+        benchmark("getCoursesByDepartment", i -> manager.getCoursesByDepartment(DEPARTMENTS[i % DEPARTMENTS.length]));
+        benchmark("getCoursesByInstructor", i -> manager.getCoursesByInstructor("L" + (i % 100)));
+        benchmark("getActiveCourses", i -> manager.getActiveCourses());
+        benchmark("create", i -> {
+            Course course = newCourse(nextId++);
+            manager.create(course);
+            return course;
+        });
+    }
+
+    private static Course newCourse(int index) {
+        Course course = new Course(String.format("BC%07d", index), "Course " + index, "C" + index,
+                DEPARTMENTS[index % DEPARTMENTS.length], 1 + index % 4);
+        course.setStatus(index % 5 == 0 ? CourseStatus.INACTIVE : CourseStatus.ACTIVE);
+        return course;
+    }
+}
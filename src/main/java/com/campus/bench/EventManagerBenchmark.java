@@ -0,0 +1,69 @@
+package com.campus.bench;
+
+import com.campus.events.Event;
+import com.campus.events.EventCategory;
+import com.campus.events.EventManager;
+import com.campus.events.EventStatus;
+import com.campus.events.EventType;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * CRUD and query benchmarks for EventManager.
+ */
+public class EventManagerBenchmark extends BenchmarkSuite {
+    private EventManager manager;
+    private String[] ids;
+    private int nextId;
+
+    @Override
+    protected void setUp(int datasetSize) {
+        manager = new EventManager();
+        ids = new String[datasetSize];
+        for (int i = 0; i < datasetSize; i++) {
+            Event event = newEvent(i);
+            ids[i] = event.getEventId();
+            manager.create(event);
+        }
+        nextId = datasetSize;
+    }
+
+    EventManager getManager() {
+        return manager;
+    }
+
+    @Override
+    protected void defineBenchmarks() {
+        EventStatus[] statuses = EventStatus.values();
+        EventType[] types = EventType.values();
+        EventCategory[] categories = EventCategory.values();
+        benchmark("read", i -> manager.read(ids[keyIndex(i)]));
+        benchmark("update", i -> {
+            Event event = manager.read(ids[keyIndex(i)]);
+            event.setVenue("Auditorium " + (i % 10));
+            manager.update(event);
+            return event;
+        });
+        benchmark("getEventsByStatus", i -> manager.getEventsByStatus(statuses[i % statuses.length]));
+        benchmark("getEventsByType", i -> manager.getEventsByType(types[i % types.length]));
+        benchmark("getEventsByCategory", i -> manager.getEventsByCategory(categories[i % categories.length]));
+        benchmark("getUpcomingEvents", i -> manager.getUpcomingEvents());
+        benchmark("create", i -> {
+            Event event = newEvent(nextId++);
+            manager.create(event);
+            return event;
+        });
+    }
+
+    private static Event newEvent(int index) {
+        EventType[] types = EventType.values();
+        EventCategory[] categories = EventCategory.values();
+        Event event = new Event(String.format("BV%07d", index), "Event " + index,
+                types[index % types.length], categories[index % categories.length]);
+        LocalTime start = LocalTime.of(8 + index % 10, 0);
+        event.scheduleEvent(LocalDate.now().plusDays(index % 365 - 180), start, start.plusHours(2),
+                "Auditorium " + (index % 10));
+        return event;
+    }
+}
@@ -0,0 +1,70 @@
+package com.campus.bench;
+
+import com.campus.exams.Exam;
+import com.campus.exams.ExamManager;
+import com.campus.exams.ExamStatus;
+import com.campus.exams.ExamType;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * CRUD and query benchmarks for ExamManager.
+ */
+public class ExamManagerBenchmark extends BenchmarkSuite {
+    private static final int COURSES = 500;
+    private static final int INSTRUCTORS = 100;
+
+    private ExamManager manager;
+    private String[] ids;
+    private int nextId;
+
+    @Override
+    protected void setUp(int datasetSize) {
+        manager = new ExamManager();
+        ids = new String[datasetSize];
+        for (int i = 0; i < datasetSize; i++) {
+            Exam exam = newExam(i);
+            ids[i] = exam.getExamId();
+            manager.create(exam);
+        }
+        nextId = datasetSize;
+    }
+
+    ExamManager getManager() {
+        return manager;
+    }
+
+    @Override
+    protected void defineBenchmarks() {
+        ExamStatus[] statuses = ExamStatus.values();
+        ExamType[] types = ExamType.values();
+        benchmark("read", i -> manager.read(ids[keyIndex(i)]));
+        benchmark("update", i -> {
+            Exam exam = manager.read(ids[keyIndex(i)]);
+            exam.setVenue("Hall " + (i % 20));
+            manager.update(exam);
+            return exam;
+        });
+        benchmark("getExamsByStatus", i -> manager.getExamsByStatus(statuses[i % statuses.length]));
+        benchmark("getExamsByType", i -> manager.getExamsByType(types[i % types.length]));
+        benchmark("getExamsByCourse", i -> manager.getExamsByCourse("C" + (i % COURSES)));
+        benchmark("getExamsByInstructor", i -> manager.getExamsByInstructor("L" + (i % INSTRUCTORS)));
+        benchmark("getUpcomingExams", i -> manager.getUpcomingExams());
+        benchmark("create", i -> {
+            Exam exam = newExam(nextId++);
+            manager.create(exam);
+            return exam;
+        });
+    }
+
+    private static Exam newExam(int index) {
+        ExamType[] types = ExamType.values();
+        Exam exam = new Exam(String.format("BE%07d", index), "Exam " + index, "C" + (index % COURSES),
+                "Course " + (index % COURSES), types[index % types.length]);
+        exam.setInstructorId("L" + (index % INSTRUCTORS));
+        exam.scheduleExam(LocalDate.now().plusDays(index % 365 - 180), LocalTime.of(9 + index % 8, 0),
+                "Hall " + (index % 20));
+        return exam;
+    }
+}
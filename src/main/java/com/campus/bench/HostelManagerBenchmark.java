@@ -0,0 +1,64 @@
+package com.campus.bench;
+
+import com.campus.hostel.HostelManager;
+import com.campus.hostel.Room;
+import com.campus.hostel.RoomStatus;
+import com.campus.hostel.RoomType;
+
+/**
+ * CRUD and query benchmarks for HostelManager.
+ */
+public class HostelManagerBenchmark extends BenchmarkSuite {
+    private static final String[] BLOCKS = {"A", "B", "C", "D", "E", "F", "G", "H"};
+
+    private HostelManager manager;
+    private String[] ids;
+    private int nextId;
+
+    @Override
+    protected void setUp(int datasetSize) {
+        manager = new HostelManager();
+        ids = new String[datasetSize];
+        for (int i = 0; i < datasetSize; i++) {
+            Room room = newRoom(i);
+            ids[i] = room.getRoomId();
+            manager.create(room);
+        }
+        nextId = datasetSize;
+    }
+
+    HostelManager getManager() {
+        return manager;
+    }
+
+    @Override
+    protected void defineBenchmarks() {
+        benchmark("read", i -> manager.read(ids[keyIndex(i)]));
+        benchmark("update", i -> {
+            Room room = manager.read(ids[keyIndex(i)]);
+            room.setMonthlyRent(300 + i % 700);
+            manager.update(room);
+            return room;
+        });
+        benchmark("getAvailableRooms", i -> manager.getAvailableRooms());
+        benchmark("getOccupancyRate", i -> manager.getOccupancyRate());
+        benchmark("getCurrentMonthlyRevenue", i -> manager.getCurrentMonthlyRevenue());
+        benchmark("getTotalRevenue", i -> manager.getTotalRevenue());
+        benchmark("create", i -> {
+            Room room = newRoom(nextId++);
+            manager.create(room);
+            return room;
+        });
+    }
+
+    private static Room newRoom(int index) {
+        RoomType[] types = RoomType.values();
+        Room room = new Room(String.format("BR%07d", index), String.valueOf(100 + index % 900),
+                types[index % types.length], BLOCKS[index % BLOCKS.length], 1 + index % 10);
+        room.setMonthlyRent(300 + index % 700);
+        if (index % 3 == 0) {
+            room.setStatus(RoomStatus.OCCUPIED);
+        }
+        return room;
+    }
+}
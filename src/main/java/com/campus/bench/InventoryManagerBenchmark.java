@@ -0,0 +1,62 @@
+package com.campus.bench;
+
+import com.campus.inventory.InventoryManager;
+import com.campus.inventory.Item;
+import com.campus.inventory.ItemCategory;
+
+import java.time.LocalDate;
+
+/**
+ * CRUD and query benchmarks for InventoryManager.
+ */
+public class InventoryManagerBenchmark extends BenchmarkSuite {
+    private InventoryManager manager;
+    private String[] ids;
+    private int nextId;
+
+    @Override
+    protected void setUp(int datasetSize) {
+        manager = new InventoryManager();
+        ids = new String[datasetSize];
+        for (int i = 0; i < datasetSize; i++) {
+            Item item = newItem(i);
+            ids[i] = item.getItemId();
+            manager.create(item);
+        }
+        nextId = datasetSize;
+    }
+
+    InventoryManager getManager() {
+        return manager;
+    }
+
+    @Override
+    protected void defineBenchmarks() {
+        benchmark("read", i -> manager.read(ids[keyIndex(i)]));
+        benchmark("update", i -> {
+            Item item = manager.read(ids[keyIndex(i)]);
+            item.setMinStockLevel(5 + i % 20);
+            manager.update(item);
+            return item;
+        });
+        benchmark("getLowStockItems", i -> manager.getLowStockItems());
+        benchmark("getExpiringSoonItems", i -> manager.getExpiringSoonItems(30));
+        benchmark("getTotalInventoryValue", i -> manager.getTotalInventoryValue());
+        benchmark("getCategoryDistribution", i -> manager.getCategoryDistribution());
+        benchmark("create", i -> {
+            Item item = newItem(nextId++);
+            manager.create(item);
+            return item;
+        });
+    }
+
+    private static Item newItem(int index) {
+        ItemCategory[] categories = ItemCategory.values();
+        Item item = new Item(String.format("BI%07d", index), "Item " + index,
+                categories[index % categories.length], index % 150, 1 + index % 500);
+        if (index % 4 == 0) {
+            item.setExpiryDate(LocalDate.now().plusDays(index % 365));
+        }
+        return item;
+    }
+}
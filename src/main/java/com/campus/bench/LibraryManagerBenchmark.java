@@ -0,0 +1,58 @@
+package com.campus.bench;
+
+import com.campus.library.Book;
+import com.campus.library.BookCategory;
+import com.campus.library.LibraryManager;
+
+/**
+ * CRUD and query benchmarks for LibraryManager.
+ */
+public class LibraryManagerBenchmark extends BenchmarkSuite {
+    private LibraryManager manager;
+    private String[] ids;
+    private int nextId;
+
+    @Override
+    protected void setUp(int datasetSize) {
+        manager = new LibraryManager();
+        ids = new String[datasetSize];
+        for (int i = 0; i < datasetSize; i++) {
+            Book book = newBook(i);
+            ids[i] = book.getBookId();
+            manager.create(book);
+        }
+        nextId = datasetSize;
+    }
+
+    LibraryManager getManager() {
+        return manager;
+    }
+
+    @Override
+    protected void defineBenchmarks() {
+        benchmark("read", i -> manager.read(ids[keyIndex(i)]));
+        benchmark("update", i -> {
+            Book book = manager.read(ids[keyIndex(i)]);
+            book.setLocation("Shelf " + (i % 200));
+            manager.update(book);
+            return book;
+        });
+        benchmark("getAvailableBooks", i -> manager.getAvailableBooks());
+        benchmark("getBorrowedBooks", i -> manager.getBorrowedBooks());
+        benchmark("getOverdueBooks", i -> manager.getOverdueBooks());
+        benchmark("create", i -> {
+            Book book = newBook(nextId++);
+            manager.create(book);
+            return book;
+        });
+    }
+
+    static Book newBook(int index) {
+        BookCategory[] categories = BookCategory.values();
+        Book book = new Book(String.format("BB%07d", index), String.format("978%010d", index),
+                CatalogManagerBenchmark.title(index), CatalogManagerBenchmark.author(index), "Publisher " + index % 50);
+        book.setCategory(categories[index % categories.length]);
+        book.addCopies(1 + index % 3);
+        return book;
+    }
+}
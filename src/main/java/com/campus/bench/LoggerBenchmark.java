@@ -0,0 +1,51 @@
+package com.campus.bench;
+
+import com.campus.inventory.Item;
+import com.campus.inventory.ItemCategory;
+import com.campus.utils.Logger;
+
+/**
+ * Cost of the CRUD "updated" log statement when its level is disabled, as in production
+ * runs at WARN: eager string concatenation against the Supplier and {} forms, which
+ * should not build or allocate the message at all.
+ */
+public class LoggerBenchmark extends BenchmarkSuite {
+    private final Logger logger = Logger.getInstance();
+    private Logger.LogLevel previousLevel;
+    private Item[] items;
+
+    @Override
+    protected void setUp(int datasetSize) {
+        previousLevel = logger.getLogLevel();
+        logger.setLogLevel(Logger.LogLevel.WARN);
+        ItemCategory[] categories = ItemCategory.values();
+        items = new Item[datasetSize];
+        for (int i = 0; i < datasetSize; i++) {
+            items[i] = new Item(String.format("LI%07d", i), "Item " + i, categories[i % categories.length], i % 150, 1 + i % 500);
+        }
+    }
+
+    @Override
+    protected void tearDown() {
+        logger.setLogLevel(previousLevel);
+    }
+
+    @Override
+    protected void defineBenchmarks() {
+        benchmark("eagerConcatenation", i -> {
+            Item item = items[keyIndex(i)];
+            logger.info("Item updated: " + item.getItemId() + " (" + item.getItemName() + ")");
+            return item;
+        });
+        benchmark("supplier", i -> {
+            Item item = items[keyIndex(i)];
+            logger.info(() -> "Item updated: " + item.getItemId() + " (" + item.getItemName() + ")");
+            return item;
+        });
+        benchmark("parameterized", i -> {
+            Item item = items[keyIndex(i)];
+            logger.info("Item updated: {} ({})", item.getItemId(), item.getItemName());
+            return item;
+        });
+    }
+}
@@ -0,0 +1,38 @@
+package com.campus.bench;
+
+import com.campus.reports.ReportGenerator;
+
+/**
+ * Report generation benchmarks over populated managers.
+ * Each manager suite populates its own manager, and the generator is built over them.
+ */
+public class ReportGeneratorBenchmark extends BenchmarkSuite {
+    private ReportGenerator generator;
+
+    @Override
+    protected void setUp(int datasetSize) {
+        StudentManagerBenchmark students = new StudentManagerBenchmark();
+        CourseManagerBenchmark courses = new CourseManagerBenchmark();
+        LibraryManagerBenchmark library = new LibraryManagerBenchmark();
+        TransportManagerBenchmark transport = new TransportManagerBenchmark();
+        HostelManagerBenchmark hostel = new HostelManagerBenchmark();
+        InventoryManagerBenchmark inventory = new InventoryManagerBenchmark();
+        ExamManagerBenchmark exams = new ExamManagerBenchmark();
+        EventManagerBenchmark events = new EventManagerBenchmark();
+        for (BenchmarkSuite suite : new BenchmarkSuite[] {students, courses, library, transport, hostel, inventory, exams, events}) {
+            suite.setUp(datasetSize);
+        }
+        generator = new ReportGenerator(students.getManager(), courses.getManager(), library.getManager(),
+                transport.getManager(), hostel.getManager(), inventory.getManager(),
+                exams.getManager(), events.getManager());
+    }
+
+    @Override
+    protected void defineBenchmarks() {
+        benchmark("generateSystemOverviewReport", i -> generator.generateSystemOverviewReport());
+        benchmark("generateStudentPerformanceReport", i -> generator.generateStudentPerformanceReport());
+        benchmark("generateFinancialReport", i -> generator.generateFinancialReport());
+        benchmark("generateInventoryReport", i -> generator.generateInventoryReport());
+        benchmark("generateAttendanceReport", i -> generator.generateAttendanceReport());
+    }
+}
@@ -0,0 +1,61 @@
+package com.campus.bench;
+
+import com.campus.students.Student;
+import com.campus.students.StudentManager;
+
+/**
+ * CRUD and query benchmarks for StudentManager.
+ */
+public class StudentManagerBenchmark extends BenchmarkSuite {
+    private static final String[] DEPARTMENTS = {
+        "Computer Science", "Mathematics", "Physics", "Chemistry", "Biology",
+        "Engineering", "Economics", "History", "Literature", "Business"
+    };
+
+    private StudentManager manager;
+    private String[] ids;
+    private int nextId;
+
+    @Override
+    protected void setUp(int datasetSize) {
+        manager = new StudentManager();
+        ids = new String[datasetSize];
+        for (int i = 0; i < datasetSize; i++) {
+            Student student = newStudent(i);
+            ids[i] = student.getStudentId();
+            manager.create(student);
+        }
+        nextId = datasetSize;
+    }
+
+    StudentManager getManager() {
+        return manager;
+    }
+
+    @Override
+    protected void defineBenchmarks() {
+        benchmark("read", i -> manager.read(ids[keyIndex(i)]));
+        benchmark("update", i -> {
+            Student student = manager.read(ids[keyIndex(i)]);
+            student.setGpa((i % 400) / 100.0);
+            manager.update(student);
+            return student;
+        });
+        benchmark("getStudentsByDepartment", i -> manager.getStudentsByDepartment(DEPARTMENTS[i % DEPARTMENTS.length]));
+        benchmark("getStudentsByYear", i -> manager.getStudentsByYear(1 + i % 4));
+        benchmark("getTopPerformers", i -> manager.getTopPerformers(10));
+        benchmark("getAverageGPA", i -> manager.getAverageGPA());
+        benchmark("create", i -> {
+            Student student = newStudent(nextId++);
+            manager.create(student);
+            return student;
+        });
+    }
+
+    private static Student newStudent(int index) {
+        Student student = new Student(String.format("BS%07d", index), "First" + index, "Last" + index,
+                "student" + index + "@campus.edu", DEPARTMENTS[index % DEPARTMENTS.length], 1 + index % 4);
+        student.setGpa((index * 37 % 400) / 100.0);
+        return student;
+    }
+}
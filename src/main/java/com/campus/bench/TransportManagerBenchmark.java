@@ -0,0 +1,58 @@
+package com.campus.bench;
+
+import com.campus.transport.Bus;
+import com.campus.transport.TransportManager;
+import com.campus.transport.Van;
+import com.campus.transport.Vehicle;
+
+/**
+ * CRUD and query benchmarks for TransportManager.
+ */
+public class TransportManagerBenchmark extends BenchmarkSuite {
+    private TransportManager manager;
+    private String[] ids;
+    private int nextId;
+
+    @Override
+    protected void setUp(int datasetSize) {
+        manager = new TransportManager();
+        ids = new String[datasetSize];
+        for (int i = 0; i < datasetSize; i++) {
+            Vehicle vehicle = newVehicle(i);
+            ids[i] = vehicle.getVehicleId();
+            manager.create(vehicle);
+        }
+        nextId = datasetSize;
+    }
+
+    TransportManager getManager() {
+        return manager;
+    }
+
+    @Override
+    protected void defineBenchmarks() {
+        benchmark("read", i -> manager.read(ids[keyIndex(i)]));
+        benchmark("update", i -> {
+            Vehicle vehicle = manager.read(ids[keyIndex(i)]);
+            vehicle.setMileage(10000 + i % 90000);
+            manager.update(vehicle);
+            return vehicle;
+        });
+        benchmark("getActiveVehicles", i -> manager.getActiveVehicles());
+        benchmark("getMaintenanceVehicles", i -> manager.getMaintenanceVehicles());
+        benchmark("create", i -> {
+            Vehicle vehicle = newVehicle(nextId++);
+            manager.create(vehicle);
+            return vehicle;
+        });
+    }
+
+    private static Vehicle newVehicle(int index) {
+        String id = String.format("BT%07d", index);
+        String registration = String.format("CAM-%06d", index);
+        if (index % 3 == 0) {
+            return new Van(id, registration, "Transit", "Ford", 2015 + index % 10, 12);
+        }
+        return new Bus(id, registration, "Citaro", "Mercedes", 2012 + index % 12, 40 + index % 20);
+    }
+}
@@ -13,6 +13,8 @@ import java.time.LocalDateTime;
  * Demonstrates encapsulation and composition
  */
 public class Course implements Identifiable {
+    private static final long serialVersionUID = 2405933595931473632L;
+
     private String courseId;
     private String courseName;
     private String courseCode;
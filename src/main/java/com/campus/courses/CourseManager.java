@@ -1,7 +1,12 @@
 package com.campus.courses;
 
+import com.campus.domain.*;
+import com.campus.storage.EntityStore;
+import com.campus.storage.SecondaryIndex;
+import com.campus.storage.StorageManager;
 import com.campus.utils.*;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -11,17 +16,25 @@ import java.time.LocalTime;
  */
 public class CourseManager implements Manageable<Course> {
     private static final Logger logger = Logger.getInstance();
+    private static final DomainEventLog domainEvents = DomainEventLog.getInstance();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private static final CrudMetrics crudMetrics = metrics.crud("courses");
     private final Scanner scanner = new Scanner(System.in);
 
-    private Map<String, Course> courses;
+    private final EntityStore<Course> courses;
+    private final SecondaryIndex<Course, CourseStatus> coursesByStatus;
+    private final SecondaryIndex<Course, String> coursesByDepartment;
     private NotificationService notificationService;
-    private int courseCounter;
 
     public CourseManager() {
-        this.courses = new HashMap<>();
+        this.courses = new EntityStore<>("courses");
+        this.coursesByStatus = courses.addIndex(SecondaryIndex.byEnum(CourseStatus.class, Course::getStatus));
+        this.coursesByDepartment = courses.addIndex(SecondaryIndex.byKey(Course::getDepartment));
+        metrics.gauge("courses.count", courses::size);
         this.notificationService = NotificationService.getInstance();
-        this.courseCounter = 1;
-        initializeSampleData();
+        if (courses.isEmpty()) {
+            initializeSampleData();
+        }
         logger.log("CourseManager initialized");
     }
 
@@ -94,7 +107,7 @@ public class CourseManager implements Manageable<Course> {
                 case 5: deleteCourseInteractive(); break;
                 case 6: courseEnrollmentMenu(); break;
                 case 7: courseReportsMenu(); break;
-                case 8: displayCourseStatistics(); break;
+                case 8: metrics.time("courses.displayCourseStatistics", this::displayCourseStatistics); break;
                 case 0: return;
                 default: System.out.println("Invalid choice. Please try again.");
             }
@@ -111,35 +124,106 @@ public class CourseManager implements Manageable<Course> {
 
     @Override
     public void create(Course course) {
-        courses.put(course.getCourseId(), course);
-        notificationService.notifyObservers("New course created: " + course.getCourseName());
-        logger.log("Course created: " + course.getCourseId());
+        long start = System.nanoTime();
+        if (!courses.replace(course.getCourseId(), 0, course)) {
+            throw new IllegalArgumentException("Course with ID " + course.getCourseId() + " already exists");
+        }
+        notificationService.notifyObservers(NotificationService.Topic.COURSES, "New course created: " + course.getCourseName());
+        domainEvents.append(new EntityChanged("Course", course.getCourseId(), EntityChanged.ChangeType.CREATED));
+        logger.info("Course created: {}", course.getCourseId());
+        crudMetrics.create().recordSince(start);
     }
 
     @Override
     public Course read(String courseId) {
-        return courses.get(courseId);
+        long start = System.nanoTime();
+        Course course = courses.get(courseId);
+        crudMetrics.read().recordSince(start);
+        return course;
     }
 
     @Override
     public void update(Course course) {
+        long start = System.nanoTime();
         courses.put(course.getCourseId(), course);
-        notificationService.notifyObservers("Course updated: " + course.getCourseName());
-        logger.log("Course updated: " + course.getCourseId());
+        updated(course, start);
+    }
+    
+    @Override
+    public Course update(String courseId, Consumer<Course> change) {
+        long start = System.nanoTime();
+        Course course = courses.update(courseId, change);
+        updated(course, start);
+        return course;
+    }
+    
+    private void updated(Course course, long start) {
+        notificationService.notifyObservers(NotificationService.Topic.COURSES, "Course updated: " + course.getCourseName());
+        domainEvents.append(new EntityChanged("Course", course.getCourseId(), EntityChanged.ChangeType.UPDATED));
+        logger.info("Course updated: {}", course.getCourseId());
+        crudMetrics.update().recordSince(start);
     }
 
     @Override
     public void delete(String courseId) {
+        long start = System.nanoTime();
         Course course = courses.remove(courseId);
         if (course != null) {
-            notificationService.notifyObservers("Course deleted: " + course.getCourseName());
-            logger.log("Course deleted: " + courseId);
+            notificationService.notifyObservers(NotificationService.Topic.COURSES, "Course deleted: " + course.getCourseName());
+            domainEvents.append(new EntityChanged("Course", courseId, EntityChanged.ChangeType.DELETED));
+            logger.info("Course deleted: {}", courseId);
         }
+        crudMetrics.delete().recordSince(start);
     }
 
     @Override
     public List<Course> getAll() {
-        return new ArrayList<>(courses.values());
+        long start = System.nanoTime();
+        List<Course> all = new ArrayList<>(courses.values());
+        crudMetrics.getAll().recordSince(start);
+        return all;
+    }
+
+    /**
+     * Enrolls a student in a course.
+     *
+     * @throws NoSuchElementException if the course does not exist
+     * @throws IllegalStateException if the course is full or the student is already enrolled
+     */
+    public Course enrollStudent(String courseId, String studentId) {
+        return StorageManager.getInstance().atomically(List.of(courses.lockKey(courseId)), () -> {
+            Course course = requireCourse(courseId);
+            if (!course.enrollStudent(studentId)) {
+                throw new IllegalStateException("Enrollment failed. Course may be full or student already enrolled.");
+            }
+            update(course);
+            return course;
+        });
+    }
+
+    /**
+     * Removes a student from a course.
+     *
+     * @throws NoSuchElementException if the course does not exist
+     * @throws IllegalStateException if the student is not enrolled in the course
+     */
+    public Course unenrollStudent(String courseId, String studentId) {
+        return StorageManager.getInstance().atomically(List.of(courses.lockKey(courseId)), () -> {
+            Course course = requireCourse(courseId);
+            if (!course.unenrollStudent(studentId)) {
+                throw new IllegalStateException("Unenrollment failed. Student may not be enrolled in this course.");
+            }
+            update(course);
+            return course;
+        });
+    }
+
+    private Course requireCourse(String courseId) {
+        Course course = read(courseId);
+        if (course == null) {
+            throw new NoSuchElementException("Course not found: " + courseId);
+        }
+        return course;
     }
 
     // Utility methods for external access
@@ -148,21 +232,15 @@ public class CourseManager implements Manageable<Course> {
     }
 
     public int getActiveCourses() {
-        return (int) courses.values().stream()
-                .filter(course -> course.getStatus() == CourseStatus.ACTIVE)
-                .count();
+        return coursesByStatus.count(CourseStatus.ACTIVE);
     }
 
     public int getInactiveCourses() {
-        return (int) courses.values().stream()
-                .filter(course -> course.getStatus() == CourseStatus.INACTIVE)
-                .count();
+        return coursesByStatus.count(CourseStatus.INACTIVE);
     }
 
     public List<Course> getCoursesByDepartment(String department) {
-        return courses.values().stream()
-                .filter(course -> department.equals(course.getDepartment()))
-                .collect(Collectors.toList());
+        return coursesByDepartment.get(department);
     }
 
     public List<Course> getCoursesByInstructor(String instructor) {
@@ -279,9 +357,11 @@ public class CourseManager implements Manageable<Course> {
         System.out.print("Enter course name to search: ");
         String searchTerm = scanner.nextLine().toLowerCase();
 
+        long start = System.nanoTime();
         List<Course> results = courses.values().stream()
                 .filter(course -> course.getCourseName().toLowerCase().contains(searchTerm))
                 .collect(Collectors.toList());
+        metrics.recordSince("courses.searchByName", start);
 
         displaySearchResults(results, "name containing '" + searchTerm + "'");
     }
@@ -290,10 +370,12 @@ public class CourseManager implements Manageable<Course> {
         System.out.print("Enter department to search: ");
         String department = scanner.nextLine().toLowerCase();
 
+        long start = System.nanoTime();
         List<Course> results = courses.values().stream()
                 .filter(course -> course.getDepartment() != null &&
                         course.getDepartment().toLowerCase().contains(department))
                 .collect(Collectors.toList());
+        metrics.recordSince("courses.searchByDepartment", start);
 
         displaySearchResults(results, "department containing '" + department + "'");
     }
@@ -302,10 +384,12 @@ public class CourseManager implements Manageable<Course> {
         System.out.print("Enter instructor to search: ");
         String instructor = scanner.nextLine().toLowerCase();
 
+        long start = System.nanoTime();
         List<Course> results = courses.values().stream()
                 .filter(course -> course.getInstructor() != null &&
                         course.getInstructor().toLowerCase().contains(instructor))
                 .collect(Collectors.toList());
+        metrics.recordSince("courses.searchByInstructor", start);
 
         displaySearchResults(results, "instructor containing '" + instructor + "'");
     }
@@ -315,9 +399,11 @@ public class CourseManager implements Manageable<Course> {
         try {
             int credits = Integer.parseInt(scanner.nextLine());
 
+            long start = System.nanoTime();
             List<Course> results = courses.values().stream()
                     .filter(course -> course.getCredits() == credits)
                     .collect(Collectors.toList());
+            metrics.recordSince("courses.searchByCredits", start);
 
             displaySearchResults(results, credits + " credits");
         } catch (NumberFormatException e) {
@@ -377,20 +463,24 @@ public class CourseManager implements Manageable<Course> {
         System.out.print("Enter choice: ");
 
         int choice = getChoice();
+        Consumer<Course> change;
 
         switch (choice) {
             case 1:
                 System.out.print("Enter new course name: ");
-                course.setCourseName(scanner.nextLine());
+                String courseName = scanner.nextLine();
+                change = c -> c.setCourseName(courseName);
                 break;
             case 2:
                 System.out.print("Enter new description: ");
-                course.setDescription(scanner.nextLine());
+                String description = scanner.nextLine();
+                change = c -> c.setDescription(description);
                 break;
             case 3:
                 System.out.print("Enter new credits: ");
                 try {
-                    course.setCredits(Integer.parseInt(scanner.nextLine()));
+                    int credits = Integer.parseInt(scanner.nextLine());
+                    change = c -> c.setCredits(credits);
                 } catch (NumberFormatException e) {
                     System.out.println("Invalid credits format.");
                     return;
@@ -398,16 +488,19 @@ public class CourseManager implements Manageable<Course> {
                 break;
             case 4:
                 System.out.print("Enter new department: ");
-                course.setDepartment(scanner.nextLine());
+                String department = scanner.nextLine();
+                change = c -> c.setDepartment(department);
                 break;
             case 5:
                 System.out.print("Enter new instructor: ");
-                course.setInstructor(scanner.nextLine());
+                String instructor = scanner.nextLine();
+                change = c -> c.setInstructor(instructor);
                 break;
             case 6:
                 System.out.print("Enter new maximum students: ");
                 try {
-                    course.setMaxStudents(Integer.parseInt(scanner.nextLine()));
+                    int maxStudents = Integer.parseInt(scanner.nextLine());
+                    change = c -> c.setMaxStudents(maxStudents);
                 } catch (NumberFormatException e) {
                     System.out.println("Invalid number format.");
                     return;
@@ -422,7 +515,8 @@ public class CourseManager implements Manageable<Course> {
                 System.out.print("Enter choice: ");
                 int statusChoice = getChoice();
                 if (statusChoice >= 1 && statusChoice <= statuses.length) {
-                    course.setStatus(statuses[statusChoice - 1]);
+                    CourseStatus status = statuses[statusChoice - 1];
+                    change = c -> c.setStatus(status);
                 } else {
                     System.out.println("Invalid choice.");
                     return;
@@ -433,7 +527,12 @@ public class CourseManager implements Manageable<Course> {
                 return;
         }
 
-        update(course);
+        try {
+            update(courseId, change);
+        } catch (NoSuchElementException | IllegalStateException | IllegalArgumentException e) {
+            System.out.println("Update failed: " + e.getMessage());
+            return;
+        }
         System.out.println("Course updated successfully!");
     }
 
@@ -494,11 +593,11 @@ public class CourseManager implements Manageable<Course> {
         System.out.print("Enter Student ID: ");
         String studentId = scanner.nextLine();
 
-        if (course.enrollStudent(studentId)) {
-            update(course);
+        try {
+            enrollStudent(courseId, studentId);
             System.out.println("Student enrolled successfully!");
-        } else {
-            System.out.println("Enrollment failed. Course may be full or student already enrolled.");
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
         }
     }
 
@@ -515,11 +614,11 @@ public class CourseManager implements Manageable<Course> {
         System.out.print("Enter Student ID: ");
         String studentId = scanner.nextLine();
 
-        if (course.unenrollStudent(studentId)) {
-            update(course);
+        try {
+            unenrollStudent(courseId, studentId);
             System.out.println("Student unenrolled successfully!");
-        } else {
-            System.out.println("Unenrollment failed. Student may not be enrolled in this course.");
+        } catch (IllegalStateException e) {
+            System.out.println(e.getMessage());
         }
     }
 
@@ -586,10 +685,10 @@ public class CourseManager implements Manageable<Course> {
         int choice = getChoice();
 
         switch (choice) {
-            case 1: generateDepartmentWiseReport(); break;
-            case 2: generateInstructorWiseReport(); break;
-            case 3: generateEnrollmentReport(); break;
-            case 4: generateCreditsDistributionReport(); break;
+            case 1: metrics.time("courses.generateDepartmentWiseReport", this::generateDepartmentWiseReport); break;
+            case 2: metrics.time("courses.generateInstructorWiseReport", this::generateInstructorWiseReport); break;
+            case 3: metrics.time("courses.generateEnrollmentReport", this::generateEnrollmentReport); break;
+            case 4: metrics.time("courses.generateCreditsDistributionReport", this::generateCreditsDistributionReport); break;
             default: System.out.println("Invalid choice.");
         }
     }
@@ -8,6 +8,8 @@ import java.util.Objects;
  * Subject entity class representing course subjects/topics
  */
 public class Subject implements Identifiable {
+    private static final long serialVersionUID = -3959398508327099082L;
+
     private String subjectId;
     private String subjectName;
     private String subjectCode;
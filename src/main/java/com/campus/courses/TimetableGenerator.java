@@ -77,7 +77,7 @@ public class TimetableGenerator {
         // Display timetable
         displayTimetable(timetable);
         
-        logger.log("Timetable generated for " + filteredCourses.size() + " courses");
+        logger.info("Timetable generated for {} courses", filteredCourses.size());
     }
     
     private void assignCourseToTimetable(Course course, Map<DayOfWeek, Map<TimeSlot, CourseSchedule>> timetable, Random random) {
@@ -0,0 +1,575 @@
+package com.campus.datagen;
+
+import com.campus.courses.Course;
+import com.campus.events.Event;
+import com.campus.events.EventCategory;
+import com.campus.events.EventType;
+import com.campus.exams.Exam;
+import com.campus.exams.ExamType;
+import com.campus.hostel.Allocation;
+import com.campus.hostel.Payment;
+import com.campus.hostel.PaymentType;
+import com.campus.hostel.Room;
+import com.campus.hostel.RoomType;
+import com.campus.library.Book;
+import com.campus.library.BookCategory;
+import com.campus.storage.StorageManager;
+import com.campus.students.Student;
+import com.campus.transport.Bus;
+import com.campus.transport.Route;
+import com.campus.transport.Van;
+import com.campus.transport.Vehicle;
+import com.campus.utils.Logger;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Deterministic generator of realistic, referentially consistent campus populations
+ * for benchmarks and soak tests. Entities are streamed one at a time into a
+ * {@link DatasetSink}, so memory use stays flat from a few hundred rows to millions.
+ * Every entity draws from its own random stream derived from the seed, its kind and
+ * its index: the same seed, sizes and reference date always produce the same dataset,
+ * and any entity's attributes can be recomputed without replaying the ones before it.
+ * All counts default to values proportional to the number of students.
+ *
+ * Usage: CampusDataGenerator [--seed 42] [--students 100000] [--reference-date 2025-01-15]
+ *        [--target csv|store] [--out campus-dataset]
+ */
+public class CampusDataGenerator {
+    private static final String[] DEPARTMENTS = {"Computer Science", "Mathematics", "Physics", "Chemistry",
+            "Biology", "Engineering", "Business", "Literature"};
+    private static final String[] DEPARTMENT_CODES = {"CS", "MA", "PH", "CH", "BI", "EN", "BU", "LI"};
+    private static final String[] SUBJECTS = {"Foundations", "Methods", "Theory", "Applications", "Systems",
+            "Analysis", "Design", "Modelling", "Practice", "Topics"};
+    private static final String[] FIRST_NAMES = {"James", "Mary", "John", "Patricia", "Robert", "Jennifer",
+            "Michael", "Linda", "David", "Elizabeth", "Amal", "Nimali", "Kasun", "Dilini", "Wei", "Mei",
+            "Arjun", "Priya", "Omar", "Fatima", "Lukas", "Sofia", "Kenji", "Yuki"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+            "Miller", "Davis", "Perera", "Fernando", "Silva", "Jayasinghe", "Chen", "Wang", "Patel", "Sharma",
+            "Hassan", "Ali", "Muller", "Rossi", "Tanaka", "Sato", "Kim", "Nguyen"};
+    private static final String[] BLOCKS = {"A", "B", "C", "D", "E", "F", "G", "H"};
+    private static final String[] TITLE_WORDS = {"Introduction", "Principles", "Art", "Science", "History",
+            "Future", "Handbook", "Guide", "Modern", "Advanced", "Practical", "Essential", "Data", "Systems",
+            "Networks", "Algorithms", "Economics", "Society", "Nature", "Mind", "Language", "Design", "Energy",
+            "Markets", "Structures", "Patterns", "Computing", "Physics", "Chemistry", "Biology"};
+    private static final String[] PUBLISHERS = {"Pearson", "O'Reilly", "Springer", "Wiley", "McGraw-Hill",
+            "Cambridge University Press", "Oxford University Press", "MIT Press", "Elsevier", "Penguin"};
+    private static final String[] VENUES = {"Main Hall", "Auditorium", "Lecture Theatre 1", "Lecture Theatre 2",
+            "Exam Hall A", "Exam Hall B", "Library Seminar Room", "Sports Complex", "Open Air Theatre", "Lab Complex"};
+    private static final String[] EVENT_THEMES = {"Annual", "Spring", "Autumn", "Freshers", "Alumni", "Research",
+            "Innovation", "Career", "Community", "International"};
+    private static final String[] STOPS = {"Central Station", "North Gate", "South Gate", "City Library",
+            "Town Hall", "Harbour", "Airport Road", "Market Square", "Hospital", "Lake View", "Tech Park",
+            "Old Town", "Riverside", "Stadium", "Bus Terminal", "Museum"};
+    private static final String[] MANUFACTURERS = {"Volvo", "Mercedes-Benz", "Scania", "Toyota", "Ford", "Ashok Leyland"};
+    private static final String[] BUS_MODELS = {"B8R", "Citaro", "Citywide", "Coaster", "Viking"};
+    private static final String[] VAN_MODELS = {"HiAce", "Transit", "Sprinter", "Caravan"};
+    private static final String[] PAYMENT_METHODS = {"CASH", "CARD", "BANK_TRANSFER", "ONLINE"};
+    private static final String CAMPUS = "Main Campus";
+    private static final String GENERATOR = "DATAGEN";
+
+    // Random stream identifiers, one per entity kind
+    private static final long STUDENT = 1, ENROLLMENT = 2, COURSE = 3, ROOM = 4, BOOK = 5, EXAM = 6,
+            EVENT = 7, VEHICLE = 8, ROUTE = 9;
+
+    private static final Logger logger = Logger.getInstance();
+
+    private final long seed;
+    private final int students;
+    private int courses;
+    private int coursesPerStudent;
+    private int rooms;
+    private int paymentsPerAllocation;
+    private int books;
+    private int loansPerBook;
+    private int examsPerCourse;
+    private int resultsPerExam;
+    private int events;
+    private int registrationsPerEvent;
+    private int vehicles;
+    private int routes;
+    private LocalDate referenceDate;
+    private final Map<String, Long> counts;
+
+    public CampusDataGenerator(long seed, int students) {
+        if (students < 0) {
+            throw new IllegalArgumentException("Number of students cannot be negative");
+        }
+        this.seed = seed;
+        this.students = students;
+        this.courses = Math.max(DEPARTMENTS.length, students / 40);
+        this.coursesPerStudent = 5;
+        this.rooms = students / 3;
+        this.paymentsPerAllocation = 3;
+        this.books = Math.max(10, students / 5);
+        this.loansPerBook = 4;
+        this.examsPerCourse = 2;
+        this.resultsPerExam = 40;
+        this.events = Math.max(1, students / 50);
+        this.registrationsPerEvent = 60;
+        this.vehicles = Math.max(4, students / 200);
+        this.routes = Math.max(2, students / 1000);
+        this.referenceDate = LocalDate.now();
+        this.counts = new LinkedHashMap<>();
+    }
+
+    public void setCourses(int courses) { this.courses = Math.max(0, courses); }
+    public void setCoursesPerStudent(int coursesPerStudent) { this.coursesPerStudent = Math.max(0, coursesPerStudent); }
+    public void setRooms(int rooms) { this.rooms = Math.max(0, rooms); }
+    public void setPaymentsPerAllocation(int paymentsPerAllocation) { this.paymentsPerAllocation = Math.max(0, paymentsPerAllocation); }
+    public void setBooks(int books) { this.books = Math.max(0, books); }
+    public void setLoansPerBook(int loansPerBook) { this.loansPerBook = Math.max(0, loansPerBook); }
+    public void setExamsPerCourse(int examsPerCourse) { this.examsPerCourse = Math.max(0, examsPerCourse); }
+    public void setResultsPerExam(int resultsPerExam) { this.resultsPerExam = Math.max(0, resultsPerExam); }
+    public void setEvents(int events) { this.events = Math.max(0, events); }
+    public void setRegistrationsPerEvent(int registrationsPerEvent) { this.registrationsPerEvent = Math.max(0, registrationsPerEvent); }
+    public void setVehicles(int vehicles) { this.vehicles = Math.max(0, vehicles); }
+    public void setRoutes(int routes) { this.routes = Math.max(0, routes); }
+
+    /**
+     * Date the generated history is anchored to; defaults to today.
+     * Fix it to reproduce a dataset exactly on a later day.
+     */
+    public void setReferenceDate(LocalDate referenceDate) { this.referenceDate = Objects.requireNonNull(referenceDate); }
+
+    public static String studentId(int index) { return String.format("S%07d", index); }
+    public static String courseId(int index) { return String.format("C%07d", index); }
+    public static String roomId(int index) { return String.format("RM%07d", index); }
+    public static String bookId(int index) { return String.format("B%07d", index); }
+    public static String examId(int index) { return String.format("EX%07d", index); }
+    public static String eventId(int index) { return String.format("EV%07d", index); }
+    public static String vehicleId(int index) { return String.format("V%07d", index); }
+    public static String routeId(int index) { return String.format("RT%07d", index); }
+
+    /**
+     * Streams the whole dataset into the sink and returns the number of rows generated per kind.
+     * The sink is not closed.
+     */
+    public Map<String, Long> generate(DatasetSink sink) {
+        counts.clear();
+        long start = System.currentTimeMillis();
+        generateCourses(sink);
+        generateStudents(sink);
+        generateHostel(sink);
+        generateLibrary(sink);
+        generateExams(sink);
+        generateEvents(sink);
+        generateTransport(sink);
+        logger.info("Generated campus dataset (seed {}) in {} ms: {}", seed, System.currentTimeMillis() - start, counts);
+        return new LinkedHashMap<>(counts);
+    }
+
+    private void generateCourses(DatasetSink sink) {
+        for (int c = 0; c < courses; c++) {
+            sink.course(newCourse(c));
+            count("courses", 1);
+        }
+    }
+
+    private Course newCourse(int index) {
+        SplittableRandom random = random(COURSE, index);
+        int department = index % DEPARTMENTS.length;
+        int level = 100 * (1 + random.nextInt(4));
+        String name = DEPARTMENTS[department] + " " + pick(random, SUBJECTS) + " " + (level + index / DEPARTMENTS.length % 100);
+        String code = DEPARTMENT_CODES[department] + String.format("%05d", index);
+        return new Course(courseId(index), name, code, DEPARTMENTS[department], 2 + random.nextInt(4));
+    }
+
+    private void generateStudents(DatasetSink sink) {
+        for (int s = 0; s < students; s++) {
+            SplittableRandom random = random(STUDENT, s);
+            String firstName = pick(random, FIRST_NAMES);
+            String lastName = pick(random, LAST_NAMES);
+            String email = (firstName + "." + lastName + s + "@campus.edu").toLowerCase();
+            int year = 1 + random.nextInt(4);
+            Student student = new Student(studentId(s), firstName, lastName, email, DEPARTMENTS[s % DEPARTMENTS.length], year);
+            student.setGpa(Math.round(clamp(gaussian(random, 3.0, 0.5), 0.0, 4.0) * 100) / 100.0);
+            student.setEnrollmentDate(referenceDate.minusYears(year - 1L).minusDays(random.nextInt(120)));
+            student.setDateOfBirth(referenceDate.minusYears(17L + year).minusDays(random.nextInt(365)));
+
+            int[] enrolled = enrolledCourses(s);
+            for (int course : enrolled) {
+                student.enrollInCourse(courseId(course));
+            }
+            sink.student(student);
+            for (int course : enrolled) {
+                sink.enrollment(student.getStudentId(), courseId(course));
+            }
+            count("students", 1);
+            count("enrollments", enrolled.length);
+        }
+    }
+
+    /**
+     * Courses a student takes: distinct courses from one programme, a window of their own
+     * department's courses, drawn from the student's enrollment stream. Programmes keep
+     * course populations dense enough that exams can sample their candidates cheaply.
+     */
+    private int[] enrolledCourses(int student) {
+        int department = student % DEPARTMENTS.length;
+        int available = departmentSize(courses, department);
+        if (available == 0 || coursesPerStudent == 0) return new int[0];
+        int width = programmeWidth(available);
+        int programmes = (available + width - 1) / width;
+        int first = student / DEPARTMENTS.length % programmes * width;
+        int size = Math.min(width, available - first);
+
+        SplittableRandom random = random(ENROLLMENT, student);
+        int wanted = Math.min(size, 1 + random.nextInt(2 * coursesPerStudent - 1));
+        int[] slots = new int[wanted];
+        // Floyd's algorithm: a uniform sample of distinct slots without materializing the range
+        for (int j = size - wanted, k = 0; j < size; j++, k++) {
+            int candidate = random.nextInt(j + 1);
+            slots[k] = contains(slots, k, candidate) ? j : candidate;
+        }
+        for (int k = 0; k < wanted; k++) {
+            slots[k] = department + (first + slots[k]) * DEPARTMENTS.length;
+        }
+        return slots;
+    }
+
+    private int programmeWidth(int available) {
+        return Math.min(available, Math.max(1, 3 * coursesPerStudent));
+    }
+
+    private boolean isEnrolled(int student, int course) {
+        int[] enrolled = enrolledCourses(student);
+        return contains(enrolled, enrolled.length, course);
+    }
+
+    private void generateHostel(DatasetSink sink) {
+        // Suites and studios have no default capacity or rent, so the population uses shared rooms only
+        RoomType[] types = {RoomType.SINGLE, RoomType.DOUBLE, RoomType.TRIPLE, RoomType.QUAD};
+        int nextStudent = 0;
+        long allocationCount = 0;
+        long paymentCount = 0;
+        for (int r = 0; r < rooms; r++) {
+            SplittableRandom random = random(ROOM, r);
+            int floor = 1 + r / BLOCKS.length % 10;
+            Room room = new Room(roomId(r), String.valueOf(floor * 100 + r / (BLOCKS.length * 10) % 100),
+                    types[random.nextInt(types.length)], BLOCKS[r % BLOCKS.length], floor);
+
+            List<Allocation> allocations = new ArrayList<>();
+            if (random.nextInt(100) < 3) {
+                room.setUnderMaintenance();
+            } else {
+                int occupants = random.nextInt(100) < 80 ? room.getCapacity() : random.nextInt(room.getCapacity() + 1);
+                for (int o = 0; o < occupants && nextStudent < students; o++) {
+                    String studentId = studentId(nextStudent++);
+                    room.allocateToStudent(studentId);
+                    Allocation allocation = new Allocation(String.format("AL%07d", allocationCount++), studentId, room.getRoomId());
+                    allocation.setAllocationDate(referenceDate.minusDays(random.nextInt(300)));
+                    allocation.setAllocatedBy(GENERATOR);
+                    allocation.approve(GENERATOR);
+                    allocation.paySecurityDeposit();
+                    allocation.checkIn();
+                    allocations.add(allocation);
+                }
+            }
+            sink.room(room);
+            count("rooms", 1);
+            count("allocations", allocations.size());
+
+            for (Allocation allocation : allocations) {
+                sink.allocation(allocation);
+                int payments = random.nextInt(paymentsPerAllocation + 1);
+                for (int p = 0; p < payments; p++) {
+                    boolean deposit = p == 0;
+                    Payment payment = new Payment(String.format("PAY%07d", paymentCount++), allocation.getStudentId(),
+                            allocation.getAllocationId(), deposit ? PaymentType.SECURITY_DEPOSIT : PaymentType.MONTHLY_RENT,
+                            deposit ? allocation.getSecurityDeposit() : room.calculateMonthlyRentPerPerson());
+                    if (random.nextInt(100) < 90) {
+                        payment.processPayment(pick(random, PAYMENT_METHODS), String.format("TXN%010d", paymentCount), GENERATOR);
+                    }
+                    sink.payment(payment);
+                }
+                count("payments", payments);
+            }
+        }
+    }
+
+    private void generateLibrary(DatasetSink sink) {
+        BookCategory[] categories = BookCategory.values();
+        long loanCount = 0;
+        for (int b = 0; b < books; b++) {
+            SplittableRandom random = random(BOOK, b);
+            String title = pick(random, TITLE_WORDS) + " of " + pick(random, TITLE_WORDS);
+            if (random.nextBoolean()) {
+                title = pick(random, TITLE_WORDS) + " " + title;
+            }
+            String author = pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES);
+            Book book = new Book(bookId(b), isbn(b), title, author, pick(random, PUBLISHERS));
+            book.setCategory(categories[random.nextInt(categories.length)]);
+            book.setPublicationDate(LocalDate.of(1950 + random.nextInt(75), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+            book.setPages(80 + random.nextInt(900));
+            book.setPrice(5 + random.nextInt(150));
+            book.setLocation("Shelf " + (char) ('A' + random.nextInt(26)) + "-" + (1 + random.nextInt(40)));
+            int copies = 1 + random.nextInt(5);
+            if (copies > 1) {
+                book.addCopies(copies - 1);
+            }
+
+            int open = students > 0 ? random.nextInt(copies + 1) : 0;
+            int closed = students > 0 ? random.nextInt(2 * loansPerBook + 1) : 0;
+            for (int l = 0; l < open; l++) {
+                book.issueBook();
+            }
+            sink.book(book);
+            count("books", 1);
+
+            for (int l = 0; l < closed + open; l++) {
+                String studentId = studentId(random.nextInt(students));
+                LocalDate borrowed = l < closed
+                        ? referenceDate.minusDays(30 + random.nextInt(335))
+                        : referenceDate.minusDays(random.nextInt(28));
+                LocalDate returned = l < closed ? borrowed.plusDays(1 + random.nextInt(21)) : null;
+                sink.loan(String.format("BR%07d", loanCount++), book.getBookId(), studentId, borrowed, borrowed.plusDays(14), returned);
+            }
+            count("loans", closed + open);
+        }
+    }
+
+    private void generateExams(DatasetSink sink) {
+        ExamType[] quizTypes = {ExamType.QUIZ, ExamType.PRACTICAL};
+        for (int c = 0; c < courses; c++) {
+            Course course = newCourse(c);
+            // Candidates are the department's students in the programme offering this course
+            int department = c % DEPARTMENTS.length;
+            int available = departmentSize(courses, department);
+            int width = programmeWidth(available);
+            int programmes = (available + width - 1) / width;
+            int programme = c / DEPARTMENTS.length / width;
+            int candidates = departmentSize(departmentSize(students, department), programme, programmes);
+            for (int e = 0; e < examsPerCourse; e++) {
+                int index = c * examsPerCourse + e;
+                SplittableRandom random = random(EXAM, index);
+                ExamType type = e == examsPerCourse - 1 ? ExamType.FINAL : e == 0 ? ExamType.MIDTERM : pick(random, quizTypes);
+                Exam exam = new Exam(examId(index), course.getCourseName() + " " + type.getDisplayName(),
+                        course.getCourseId(), course.getCourseName(), type);
+                exam.setInstructorId(String.format("L%05d", c % 500));
+                LocalDate date = referenceDate.plusDays(random.nextInt(240) - 180L);
+                exam.scheduleExam(date, LocalTime.of(9 + random.nextInt(6), random.nextBoolean() ? 0 : 30), pick(random, VENUES));
+
+                // Sample candidates and keep those actually taking the course
+                Set<Integer> enrolled = new LinkedHashSet<>();
+                for (int attempt = 0; attempt < 4 * resultsPerExam && enrolled.size() < resultsPerExam && candidates > 0; attempt++) {
+                    int member = programme + random.nextInt(candidates) * programmes;
+                    int student = department + member * DEPARTMENTS.length;
+                    if (isEnrolled(student, c) && enrolled.add(student)) {
+                        exam.enrollStudent(studentId(student));
+                    }
+                }
+                boolean graded = date.isBefore(referenceDate);
+                int[] marks = new int[enrolled.size()];
+                String[] grades = new String[enrolled.size()];
+                int r = 0;
+                for (int student : enrolled) {
+                    if (graded) {
+                        marks[r] = (int) Math.round(clamp(gaussian(random, 0.65, 0.15), 0.0, 1.0) * exam.getMaxMarks());
+                        grades[r] = grade(marks[r], exam.getMaxMarks());
+                        exam.addResult(studentId(student), marks[r], grades[r]);
+                    }
+                    r++;
+                }
+                sink.exam(exam);
+                count("exams", 1);
+
+                if (graded) {
+                    r = 0;
+                    for (int student : enrolled) {
+                        sink.examResult(exam.getExamId(), studentId(student), marks[r], exam.getMaxMarks(), grades[r]);
+                        r++;
+                    }
+                    count("examResults", enrolled.size());
+                }
+            }
+        }
+    }
+
+    private void generateEvents(DatasetSink sink) {
+        EventType[] types = EventType.values();
+        EventCategory[] categories = EventCategory.values();
+        for (int e = 0; e < events; e++) {
+            SplittableRandom random = random(EVENT, e);
+            EventType type = types[random.nextInt(types.length)];
+            Event event = new Event(eventId(e), pick(random, EVENT_THEMES) + " " + type.getDisplayName(),
+                    type, categories[random.nextInt(categories.length)]);
+            event.setMaxCapacity(50 + random.nextInt(451));
+            event.setOrganizerId(String.format("L%05d", random.nextInt(500)));
+            LocalTime start = LocalTime.of(8 + random.nextInt(10), random.nextBoolean() ? 0 : 30);
+            event.scheduleEvent(referenceDate.plusDays(random.nextInt(240) - 120L), start,
+                    start.plusHours(1 + random.nextInt(4)), pick(random, VENUES));
+
+            List<String> registered = new ArrayList<>();
+            boolean registration = random.nextInt(100) < 70;
+            event.setRequiresRegistration(registration);
+            if (registration && students > 0) {
+                int wanted = Math.min(event.getMaxCapacity(), random.nextInt(2 * registrationsPerEvent + 1));
+                for (int r = 0; r < wanted; r++) {
+                    String studentId = studentId(random.nextInt(students));
+                    if (event.registerParticipant(studentId)) {
+                        registered.add(studentId);
+                    }
+                }
+            }
+            sink.event(event);
+            for (String studentId : registered) {
+                sink.registration(event.getEventId(), studentId);
+            }
+            count("events", 1);
+            count("registrations", registered.size());
+        }
+    }
+
+    private void generateTransport(DatasetSink sink) {
+        for (int v = 0; v < vehicles; v++) {
+            SplittableRandom random = random(VEHICLE, v);
+            String registration = String.format("CMP-%06d", v);
+            int year = referenceDate.getYear() - random.nextInt(15);
+            Vehicle vehicle = v % 4 == 3
+                    ? new Van(vehicleId(v), registration, pick(random, VAN_MODELS), pick(random, MANUFACTURERS), year, 8 + random.nextInt(8))
+                    : new Bus(vehicleId(v), registration, pick(random, BUS_MODELS), pick(random, MANUFACTURERS), year, 30 + random.nextInt(31));
+            vehicle.setMileage(random.nextInt(300_000));
+            vehicle.setPurchaseDate(LocalDate.of(year, 1 + random.nextInt(12), 1 + random.nextInt(28)));
+            vehicle.setLastServiceDate(referenceDate.minusDays(random.nextInt(180)));
+            sink.vehicle(vehicle);
+            count("vehicles", 1);
+        }
+
+        for (int r = 0; r < routes; r++) {
+            SplittableRandom random = random(ROUTE, r);
+            Route route = new Route(routeId(r), "Route " + (r + 1), pick(random, STOPS), CAMPUS);
+            int stops = 2 + random.nextInt(5);
+            for (int s = 0; s < stops; s++) {
+                String stop = pick(random, STOPS);
+                if (!stop.equals(route.getStartPoint())) {
+                    route.addStop(stop);
+                }
+            }
+            route.setFare(1.0 + random.nextInt(40) * 0.25);
+            for (int v = r; v < vehicles; v += routes) {
+                route.assignVehicle(vehicleId(v));
+            }
+            sink.route(route);
+            count("routes", 1);
+        }
+    }
+
+    private void count(String kind, long rows) {
+        counts.merge(kind, rows, Long::sum);
+    }
+
+    private SplittableRandom random(long kind, long index) {
+        return new SplittableRandom(mix(seed ^ mix(kind * 0x9E3779B97F4A7C15L + index)));
+    }
+
+    /**
+     * Stafford's 64-bit finalizer, so neighbouring indexes get unrelated streams.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int departmentSize(int total, int department) {
+        return departmentSize(total, department, DEPARTMENTS.length);
+    }
+
+    /**
+     * Number of indexes below total congruent to residue modulo the given stride.
+     */
+    private static int departmentSize(int total, int residue, int stride) {
+        return total > residue ? (total - residue + stride - 1) / stride : 0;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) return true;
+        }
+        return false;
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static double gaussian(SplittableRandom random, double mean, double deviation) {
+        // Irwin-Hall approximation: SplittableRandom has no nextGaussian on Java 11-16
+        double sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += random.nextDouble();
+        }
+        return mean + (sum - 6) * deviation;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static String grade(int marks, int maxMarks) {
+        double percentage = maxMarks > 0 ? marks * 100.0 / maxMarks : 0;
+        if (percentage >= 85) return "A";
+        if (percentage >= 70) return "B";
+        if (percentage >= 55) return "C";
+        if (percentage >= 40) return "D";
+        return "F";
+    }
+
+    /**
+     * Unique, checksum-valid ISBN-13 for a book index.
+     */
+    static String isbn(int index) {
+        String body = "978" + String.format("%09d", index * 7919L % 1_000_000_000L);
+        int sum = 0;
+        for (int i = 0; i < body.length(); i++) {
+            sum += (body.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return body + (10 - sum % 10) % 10;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        String target = options.getOrDefault("target", "csv");
+        // Bulk generation should not flood the console or log files with per-row logs; the
+        // store target logs every manager create. The logger already exists by now, so set
+        // its level directly unless one was asked for.
+        if (System.getProperty("campus.log.level") == null) {
+            logger.setLogLevel(Logger.LogLevel.WARN);
+        }
+
+        CampusDataGenerator generator = new CampusDataGenerator(
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Integer.parseInt(options.getOrDefault("students", "100000")));
+        if (options.containsKey("reference-date")) {
+            generator.setReferenceDate(LocalDate.parse(options.get("reference-date")));
+        }
+
+        Map<String, Long> rows;
+        switch (target) {
+            case "csv":
+                try (CsvDatasetWriter writer = new CsvDatasetWriter(Paths.get(options.getOrDefault("out", "campus-dataset")))) {
+                    rows = generator.generate(writer);
+                }
+                break;
+            case "store":
+                rows = generator.generate(ManagerSink.withAllManagers());
+                StorageManager.getInstance().shutdown();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown target: " + target);
+        }
+        rows.forEach((kind, count) -> System.out.printf("%-16s %,12d%n", kind, count));
+        logger.shutdown();
+    }
+}
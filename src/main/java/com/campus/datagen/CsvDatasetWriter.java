@@ -0,0 +1,205 @@
+package com.campus.datagen;
+
+import com.campus.courses.Course;
+import com.campus.events.Event;
+import com.campus.exams.Exam;
+import com.campus.hostel.Allocation;
+import com.campus.hostel.Payment;
+import com.campus.hostel.Room;
+import com.campus.library.Book;
+import com.campus.students.Student;
+import com.campus.transport.Route;
+import com.campus.transport.Vehicle;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes a generated dataset as one CSV file per table into a directory, suitable for
+ * bulk imports. Rows are streamed through buffered writers as they arrive, and
+ * relationships (enrollments, occupancy, results, registrations, route assignments)
+ * are written as their own link tables. Enums are written by constant name and
+ * fields are quoted per RFC 4180 when needed.
+ */
+public class CsvDatasetWriter implements DatasetSink {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path directory;
+    private final Map<String, BufferedWriter> tables;
+    private final StringBuilder row;
+
+    public CsvDatasetWriter(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.tables = new LinkedHashMap<>();
+        this.row = new StringBuilder(256);
+    }
+
+    public Path getDirectory() { return directory; }
+
+    @Override
+    public void course(Course course) {
+        write("courses", "course_id,course_code,course_name,department,credits,status",
+                course.getCourseId(), course.getCourseCode(), course.getCourseName(), course.getDepartment(),
+                course.getCredits(), course.getStatus());
+    }
+
+    @Override
+    public void student(Student student) {
+        write("students", "student_id,first_name,last_name,email,department,year,gpa,enrollment_date,date_of_birth,status",
+                student.getStudentId(), student.getFirstName(), student.getLastName(), student.getEmail(),
+                student.getDepartment(), student.getYear(), student.getGpa(), student.getEnrollmentDate(),
+                student.getDateOfBirth(), student.getStatus());
+    }
+
+    @Override
+    public void enrollment(String studentId, String courseId) {
+        write("enrollments", "student_id,course_id", studentId, courseId);
+    }
+
+    @Override
+    public void room(Room room) {
+        write("rooms", "room_id,room_number,room_type,hostel_block,floor,capacity,occupancy,monthly_rent,status",
+                room.getRoomId(), room.getRoomNumber(), room.getRoomType(), room.getHostelBlock(), room.getFloor(),
+                room.getCapacity(), room.getCurrentOccupancy(), room.getMonthlyRent(), room.getStatus());
+    }
+
+    @Override
+    public void allocation(Allocation allocation) {
+        write("allocations", "allocation_id,student_id,room_id,allocation_date,check_in_date,security_deposit,status",
+                allocation.getAllocationId(), allocation.getStudentId(), allocation.getRoomId(),
+                allocation.getAllocationDate(), allocation.getCheckInDate(), allocation.getSecurityDeposit(),
+                allocation.getStatus());
+    }
+
+    @Override
+    public void payment(Payment payment) {
+        write("payments", "payment_id,student_id,allocation_id,payment_type,amount,due_date,payment_date,payment_method,status",
+                payment.getPaymentId(), payment.getStudentId(), payment.getAllocationId(), payment.getPaymentType(),
+                payment.getAmount(), payment.getDueDate(), payment.getPaymentDate(), payment.getPaymentMethod(),
+                payment.getStatus());
+    }
+
+    @Override
+    public void book(Book book) {
+        write("books", "book_id,isbn,title,author,publisher,category,publication_date,pages,price,total_copies,available_copies",
+                book.getBookId(), book.getIsbn(), book.getTitle(), book.getAuthor(), book.getPublisher(),
+                book.getCategory(), book.getPublicationDate(), book.getPages(), book.getPrice(),
+                book.getTotalCopies(), book.getAvailableCopies());
+    }
+
+    @Override
+    public void loan(String loanId, String bookId, String studentId, LocalDate borrowDate,
+                     LocalDate dueDate, LocalDate returnDate) {
+        write("loans", "loan_id,book_id,student_id,borrow_date,due_date,return_date",
+                loanId, bookId, studentId, borrowDate, dueDate, returnDate);
+    }
+
+    @Override
+    public void exam(Exam exam) {
+        write("exams", "exam_id,exam_name,course_id,exam_type,exam_date,start_time,venue,max_marks,instructor_id,status",
+                exam.getExamId(), exam.getExamName(), exam.getCourseId(), exam.getExamType(), exam.getExamDate(),
+                exam.getStartTime(), exam.getVenue(), exam.getMaxMarks(), exam.getInstructorId(), exam.getStatus());
+    }
+
+    @Override
+    public void examResult(String examId, String studentId, int marksObtained, int maxMarks, String grade) {
+        write("exam_results", "exam_id,student_id,marks_obtained,max_marks,grade",
+                examId, studentId, marksObtained, maxMarks, grade);
+    }
+
+    @Override
+    public void event(Event event) {
+        write("events", "event_id,event_name,event_type,category,event_date,start_time,end_time,venue,max_capacity,requires_registration,status",
+                event.getEventId(), event.getEventName(), event.getEventType(), event.getCategory(),
+                event.getEventDate(), event.getStartTime(), event.getEndTime(), event.getVenue(),
+                event.getMaxCapacity(), event.requiresRegistration(), event.getStatus());
+    }
+
+    @Override
+    public void registration(String eventId, String studentId) {
+        write("event_registrations", "event_id,student_id", eventId, studentId);
+    }
+
+    @Override
+    public void vehicle(Vehicle vehicle) {
+        write("vehicles", "vehicle_id,registration_number,vehicle_type,model,manufacturer,year,capacity,mileage",
+                vehicle.getVehicleId(), vehicle.getRegistrationNumber(), vehicle.getVehicleType(),
+                vehicle.getModel(), vehicle.getManufacturer(), vehicle.getYear(), vehicle.getCapacity(),
+                vehicle.getMileage());
+    }
+
+    @Override
+    public void route(Route route) {
+        write("routes", "route_id,route_name,start_point,end_point,stops,total_distance,fare",
+                route.getRouteId(), route.getRouteName(), route.getStartPoint(), route.getEndPoint(),
+                String.join("|", route.getStops()), route.getTotalDistance(), route.getFare());
+        for (String vehicleId : route.getAssignedVehicles()) {
+            write("route_vehicles", "route_id,vehicle_id", route.getRouteId(), vehicleId);
+        }
+    }
+
+    private void write(String table, String header, Object... fields) {
+        try {
+            BufferedWriter writer = tables.get(table);
+            if (writer == null) {
+                writer = new BufferedWriter(new OutputStreamWriter(
+                        Files.newOutputStream(directory.resolve(table + ".csv")), StandardCharsets.UTF_8), BUFFER_SIZE);
+                writer.write(header);
+                writer.newLine();
+                tables.put(table, writer);
+            }
+            row.setLength(0);
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) row.append(',');
+                appendField(fields[i]);
+            }
+            row.append(System.lineSeparator());
+            writer.append(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + table + ".csv", e);
+        }
+    }
+
+    private void appendField(Object field) {
+        if (field == null) return;
+        String value = field instanceof Enum ? ((Enum<?>) field).name() : field.toString();
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            row.append(value);
+            return;
+        }
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') row.append('"');
+            row.append(c);
+        }
+        row.append('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (BufferedWriter writer : tables.values()) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                if (failure == null) failure = e;
+            }
+        }
+        tables.clear();
+        if (failure != null) throw failure;
+    }
+}
@@ -0,0 +1,61 @@
+package com.campus.datagen;
+
+import com.campus.courses.Course;
+import com.campus.events.Event;
+import com.campus.exams.Exam;
+import com.campus.hostel.Allocation;
+import com.campus.hostel.Payment;
+import com.campus.hostel.Room;
+import com.campus.library.Book;
+import com.campus.students.Student;
+import com.campus.transport.Route;
+import com.campus.transport.Vehicle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Destination for a generated campus dataset.
+ * Entities arrive fully populated: a student already holds its enrolled courses, a room
+ * its occupants, an exam its enrolled students and results, an event its registrations
+ * and a route its assigned vehicles. The relationship callbacks repeat those links as
+ * flat rows for sinks that write tables; sinks that store whole entities can ignore them.
+ * Referenced entities are always delivered before the entities referring to them.
+ */
+public interface DatasetSink extends Closeable {
+    void course(Course course);
+
+    void student(Student student);
+
+    default void enrollment(String studentId, String courseId) {}
+
+    void room(Room room);
+
+    void allocation(Allocation allocation);
+
+    void payment(Payment payment);
+
+    void book(Book book);
+
+    /**
+     * A library loan. The return date is null while the copy is still out,
+     * and the book's available copies already account for every open loan.
+     */
+    void loan(String loanId, String bookId, String studentId, LocalDate borrowDate, LocalDate dueDate, LocalDate returnDate);
+
+    void exam(Exam exam);
+
+    default void examResult(String examId, String studentId, int marksObtained, int maxMarks, String grade) {}
+
+    void event(Event event);
+
+    default void registration(String eventId, String studentId) {}
+
+    void vehicle(Vehicle vehicle);
+
+    void route(Route route);
+
+    @Override
+    default void close() throws IOException {}
+}
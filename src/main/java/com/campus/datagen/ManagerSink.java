@@ -0,0 +1,116 @@
+package com.campus.datagen;
+
+import com.campus.courses.Course;
+import com.campus.courses.CourseManager;
+import com.campus.events.Event;
+import com.campus.events.EventManager;
+import com.campus.exams.Exam;
+import com.campus.exams.ExamManager;
+import com.campus.hostel.Allocation;
+import com.campus.hostel.HostelManager;
+import com.campus.hostel.Payment;
+import com.campus.hostel.Room;
+import com.campus.library.Book;
+import com.campus.library.LibraryManager;
+import com.campus.students.Student;
+import com.campus.students.StudentManager;
+import com.campus.transport.Route;
+import com.campus.transport.TransportManager;
+import com.campus.transport.Vehicle;
+
+import java.time.LocalDate;
+
+/**
+ * Loads a generated dataset straight into the subsystem managers.
+ * A null manager skips that subsystem, so a benchmark can populate only what it measures.
+ */
+public class ManagerSink implements DatasetSink {
+    private final StudentManager studentManager;
+    private final CourseManager courseManager;
+    private final HostelManager hostelManager;
+    private final LibraryManager libraryManager;
+    private final ExamManager examManager;
+    private final EventManager eventManager;
+    private final TransportManager transportManager;
+
+    public ManagerSink(StudentManager studentManager, CourseManager courseManager, HostelManager hostelManager,
+                       LibraryManager libraryManager, ExamManager examManager, EventManager eventManager,
+                       TransportManager transportManager) {
+        this.studentManager = studentManager;
+        this.courseManager = courseManager;
+        this.hostelManager = hostelManager;
+        this.libraryManager = libraryManager;
+        this.examManager = examManager;
+        this.eventManager = eventManager;
+        this.transportManager = transportManager;
+    }
+
+    public static ManagerSink withAllManagers() {
+        return new ManagerSink(new StudentManager(), new CourseManager(), new HostelManager(), new LibraryManager(),
+                new ExamManager(), new EventManager(), new TransportManager());
+    }
+
+    @Override
+    public void course(Course course) {
+        if (courseManager != null) courseManager.create(course);
+    }
+
+    @Override
+    public void student(Student student) {
+        if (studentManager != null) studentManager.create(student);
+    }
+
+    @Override
+    public void room(Room room) {
+        if (hostelManager != null) hostelManager.create(room);
+    }
+
+    @Override
+    public void allocation(Allocation allocation) {
+        if (hostelManager != null) hostelManager.addAllocation(allocation);
+    }
+
+    @Override
+    public void payment(Payment payment) {
+        if (hostelManager != null) hostelManager.addPayment(payment);
+    }
+
+    @Override
+    public void book(Book book) {
+        if (libraryManager != null) libraryManager.create(book);
+    }
+
+    @Override
+    public void loan(String loanId, String bookId, String studentId, LocalDate borrowDate, LocalDate dueDate, LocalDate returnDate) {
+        // the book's copy counts already reflect open loans
+        if (libraryManager != null) libraryManager.importLoan(loanId, studentId, bookId, borrowDate, dueDate, returnDate);
+    }
+
+    @Override
+    public void exam(Exam exam) {
+        if (examManager != null) examManager.create(exam);
+    }
+
+    @Override
+    public void event(Event event) {
+        if (eventManager != null) eventManager.create(event);
+    }
+
+    @Override
+    public void vehicle(Vehicle vehicle) {
+        if (transportManager != null) transportManager.create(vehicle);
+    }
+
+    @Override
+    public void route(Route route) {
+        if (transportManager != null) transportManager.addRoute(route);
+    }
+
+    public StudentManager getStudentManager() { return studentManager; }
+    public CourseManager getCourseManager() { return courseManager; }
+    public HostelManager getHostelManager() { return hostelManager; }
+    public LibraryManager getLibraryManager() { return libraryManager; }
+    public ExamManager getExamManager() { return examManager; }
+    public EventManager getEventManager() { return eventManager; }
+    public TransportManager getTransportManager() { return transportManager; }
+}
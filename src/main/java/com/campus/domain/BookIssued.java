@@ -0,0 +1,33 @@
+package com.campus.domain;
+
+import java.time.LocalDate;
+
+/**
+ * A library book was issued to a student.
+ */
+public class BookIssued extends DomainEvent {
+    private static final long serialVersionUID = -7258837259595226094L;
+
+    private final String recordId;
+    private final String bookId;
+    private final String studentId;
+    private final LocalDate dueDate;
+
+    public BookIssued(String recordId, String bookId, String studentId, LocalDate dueDate) {
+        super(recordId);
+        this.recordId = recordId;
+        this.bookId = bookId;
+        this.studentId = studentId;
+        this.dueDate = dueDate;
+    }
+
+    public String getRecordId() { return recordId; }
+    public String getBookId() { return bookId; }
+    public String getStudentId() { return studentId; }
+    public LocalDate getDueDate() { return dueDate; }
+
+    @Override
+    protected String describe() {
+        return "book " + bookId + " issued to " + studentId + ", due " + dueDate;
+    }
+}
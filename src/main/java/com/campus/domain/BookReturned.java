@@ -0,0 +1,31 @@
+package com.campus.domain;
+
+/**
+ * A borrowed library book was returned.
+ */
+public class BookReturned extends DomainEvent {
+    private static final long serialVersionUID = 6416495020865354461L;
+
+    private final String recordId;
+    private final String bookId;
+    private final String studentId;
+    private final double fineAmount;
+
+    public BookReturned(String recordId, String bookId, String studentId, double fineAmount) {
+        super(recordId);
+        this.recordId = recordId;
+        this.bookId = bookId;
+        this.studentId = studentId;
+        this.fineAmount = fineAmount;
+    }
+
+    public String getRecordId() { return recordId; }
+    public String getBookId() { return bookId; }
+    public String getStudentId() { return studentId; }
+    public double getFineAmount() { return fineAmount; }
+
+    @Override
+    protected String describe() {
+        return "book " + bookId + " returned by " + studentId + (fineAmount > 0 ? ", fine $" + String.format("%.2f", fineAmount) : "");
+    }
+}
@@ -0,0 +1,41 @@
+package com.campus.domain;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Base class for facts published by the managers into the {@link DomainEventLog}.
+ * Events are immutable apart from the offset, which the log assigns when the event is appended.
+ */
+public abstract class DomainEvent implements Serializable {
+    private static final long serialVersionUID = -537009052028318528L;
+
+    private final String aggregateId;
+    private final LocalDateTime occurredAt;
+    private long offset;
+
+    protected DomainEvent(String aggregateId) {
+        this.aggregateId = aggregateId;
+        this.occurredAt = LocalDateTime.now();
+        this.offset = -1;
+    }
+
+    void assignOffset(long offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * ID of the entity the event is about, e.g. the allocation, exam or item ID.
+     */
+    public String getAggregateId() { return aggregateId; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public long getOffset() { return offset; }
+    public String getType() { return getClass().getSimpleName(); }
+
+    protected abstract String describe();
+
+    @Override
+    public String toString() {
+        return "#" + offset + " [" + occurredAt + "] " + getType() + ": " + describe();
+    }
+}
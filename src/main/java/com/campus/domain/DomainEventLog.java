@@ -0,0 +1,216 @@
+package com.campus.domain;
+
+import com.campus.utils.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Singleton in-process log of domain events published by the managers.
+ * Every appended event gets the next offset. The most recent events are kept in a ring,
+ * so consumers can read from any retained offset, and subscriptions replay from a
+ * chosen offset before following new events live. A consumer that remembers its
+ * position therefore only processes what happened since, instead of rescanning managers.
+ */
+public class DomainEventLog {
+    public static final String RETENTION_PROPERTY = "campus.domain.events.retention";
+    private static final int DELIVERY_BATCH = 256;
+
+    private static volatile DomainEventLog instance;
+    private static final Logger logger = Logger.getInstance();
+    private final DomainEvent[] ring;
+    private final ReentrantReadWriteLock lock;
+    private final List<Subscription<?>> subscriptions;
+    private final ExecutorService dispatcher;
+    private long startOffset;
+    private long endOffset;
+
+    private DomainEventLog() {
+        this.ring = new DomainEvent[Math.max(1, Integer.getInteger(RETENTION_PROPERTY, 100_000))];
+        this.lock = new ReentrantReadWriteLock();
+        this.subscriptions = new CopyOnWriteArrayList<>();
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "domain-events-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        this.dispatcher = pool;
+    }
+
+    public static DomainEventLog getInstance() {
+        if (instance == null) {
+            synchronized (DomainEventLog.class) {
+                if (instance == null) {
+                    instance = new DomainEventLog();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Appends the event, wakes the subscriptions and returns the event's offset.
+     * Once the retention limit is reached the oldest event is evicted.
+     */
+    public long append(DomainEvent event) {
+        long offset;
+        lock.writeLock().lock();
+        try {
+            offset = endOffset++;
+            event.assignOffset(offset);
+            ring[(int) (offset % ring.length)] = event;
+            if (endOffset - startOffset > ring.length) {
+                startOffset++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        for (Subscription<?> subscription : subscriptions) {
+            subscription.schedule();
+        }
+        return offset;
+    }
+
+    /**
+     * Oldest offset still retained.
+     */
+    public long getStartOffset() {
+        lock.readLock().lock();
+        try {
+            return startOffset;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Offset the next appended event will get.
+     */
+    public long getEndOffset() {
+        lock.readLock().lock();
+        try {
+            return endOffset;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to maxEvents events starting at the offset, or at the oldest
+     * retained event if the offset has already been evicted.
+     */
+    public List<DomainEvent> read(long fromOffset, int maxEvents) {
+        lock.readLock().lock();
+        try {
+            long from = Math.max(fromOffset, startOffset);
+            long to = Math.min(endOffset, from + maxEvents);
+            List<DomainEvent> events = new ArrayList<>((int) Math.max(0, to - from));
+            for (long offset = from; offset < to; offset++) {
+                events.add(ring[(int) (offset % ring.length)]);
+            }
+            return events;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public <E extends DomainEvent> List<E> read(long fromOffset, int maxEvents, Class<E> type) {
+        List<E> events = new ArrayList<>();
+        for (DomainEvent event : read(fromOffset, maxEvents)) {
+            if (type.isInstance(event)) events.add(type.cast(event));
+        }
+        return events;
+    }
+
+    /**
+     * Delivers every event of the given type from the offset onwards, first replaying
+     * retained history and then following new events. Delivery happens in offset
+     * order on a dispatcher thread, one event at a time per subscription.
+     */
+    public <E extends DomainEvent> Subscription<E> subscribe(Class<E> type, long fromOffset, Consumer<? super E> consumer) {
+        Subscription<E> subscription = new Subscription<>(type, fromOffset, consumer);
+        subscriptions.add(subscription);
+        subscription.schedule();
+        return subscription;
+    }
+
+    /**
+     * Subscribes to new events only.
+     */
+    public <E extends DomainEvent> Subscription<E> subscribe(Class<E> type, Consumer<? super E> consumer) {
+        return subscribe(type, getEndOffset(), consumer);
+    }
+
+    public class Subscription<E extends DomainEvent> implements Runnable {
+        private final Class<E> type;
+        private final Consumer<? super E> consumer;
+        private final AtomicBoolean scheduled;
+        private volatile long position;
+        private volatile boolean active;
+
+        Subscription(Class<E> type, long fromOffset, Consumer<? super E> consumer) {
+            this.type = type;
+            this.consumer = consumer;
+            this.scheduled = new AtomicBoolean();
+            this.position = fromOffset;
+            this.active = true;
+        }
+
+        /**
+         * Offset of the next event this subscription will look at; store it to resume later.
+         */
+        public long getPosition() { return position; }
+        public boolean isActive() { return active; }
+
+        public void cancel() {
+            active = false;
+            subscriptions.remove(this);
+        }
+
+        private void schedule() {
+            if (active && scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                List<DomainEvent> batch = read(position, DELIVERY_BATCH);
+                if (!batch.isEmpty() && batch.get(0).getOffset() > position) {
+                    logger.warn("Domain event subscriber for {} skipped {} evicted events",
+                            type.getSimpleName(), batch.get(0).getOffset() - position);
+                }
+                for (DomainEvent event : batch) {
+                    if (!active) return;
+                    if (type.isInstance(event)) {
+                        try {
+                            consumer.accept(type.cast(event));
+                        } catch (RuntimeException e) {
+                            logger.warn("Domain event subscriber failed on {}: {}", event, e.getMessage());
+                        }
+                    }
+                    position = event.getOffset() + 1;
+                }
+            } finally {
+                scheduled.set(false);
+                if (active && position < getEndOffset()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
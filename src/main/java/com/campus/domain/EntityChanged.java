@@ -0,0 +1,31 @@
+package com.campus.domain;
+
+/**
+ * An entity was created, updated or deleted through its manager's CRUD operations.
+ * Lets caches and read models follow any entity type without a dedicated event class.
+ */
+public class EntityChanged extends DomainEvent {
+    private static final long serialVersionUID = 4268057553757288197L;
+
+    private final String entityType;
+    private final ChangeType changeType;
+
+    public EntityChanged(String entityType, String entityId, ChangeType changeType) {
+        super(entityId);
+        this.entityType = entityType;
+        this.changeType = changeType;
+    }
+
+    public String getEntityType() { return entityType; }
+    public String getEntityId() { return getAggregateId(); }
+    public ChangeType getChangeType() { return changeType; }
+
+    @Override
+    protected String describe() {
+        return entityType + " " + getAggregateId() + " " + changeType.toString().toLowerCase();
+    }
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,31 @@
+package com.campus.domain;
+
+/**
+ * A result was recorded for a student in an exam.
+ */
+public class ExamResultAdded extends DomainEvent {
+    private static final long serialVersionUID = -2969918529074856528L;
+
+    private final String examId;
+    private final String studentId;
+    private final int marksObtained;
+    private final String grade;
+
+    public ExamResultAdded(String examId, String studentId, int marksObtained, String grade) {
+        super(examId);
+        this.examId = examId;
+        this.studentId = studentId;
+        this.marksObtained = marksObtained;
+        this.grade = grade;
+    }
+
+    public String getExamId() { return examId; }
+    public String getStudentId() { return studentId; }
+    public int getMarksObtained() { return marksObtained; }
+    public String getGrade() { return grade; }
+
+    @Override
+    protected String describe() {
+        return "student " + studentId + " scored " + marksObtained + " (" + grade + ") in exam " + examId;
+    }
+}
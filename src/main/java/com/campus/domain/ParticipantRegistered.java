@@ -0,0 +1,25 @@
+package com.campus.domain;
+
+/**
+ * A participant registered for a campus event.
+ */
+public class ParticipantRegistered extends DomainEvent {
+    private static final long serialVersionUID = -2941049834872362706L;
+
+    private final String eventId;
+    private final String participantId;
+
+    public ParticipantRegistered(String eventId, String participantId) {
+        super(eventId);
+        this.eventId = eventId;
+        this.participantId = participantId;
+    }
+
+    public String getEventId() { return eventId; }
+    public String getParticipantId() { return participantId; }
+
+    @Override
+    protected String describe() {
+        return "participant " + participantId + " registered for event " + eventId;
+    }
+}
@@ -0,0 +1,25 @@
+package com.campus.domain;
+
+/**
+ * A participant withdrew from a campus event.
+ */
+public class ParticipantUnregistered extends DomainEvent {
+    private static final long serialVersionUID = -2655192883278188328L;
+
+    private final String eventId;
+    private final String participantId;
+
+    public ParticipantUnregistered(String eventId, String participantId) {
+        super(eventId);
+        this.eventId = eventId;
+        this.participantId = participantId;
+    }
+
+    public String getEventId() { return eventId; }
+    public String getParticipantId() { return participantId; }
+
+    @Override
+    protected String describe() {
+        return "participant " + participantId + " unregistered from event " + eventId;
+    }
+}
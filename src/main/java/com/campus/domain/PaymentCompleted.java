@@ -0,0 +1,31 @@
+package com.campus.domain;
+
+/**
+ * A hostel payment was recorded as completed.
+ */
+public class PaymentCompleted extends DomainEvent {
+    private static final long serialVersionUID = 2332550743802000273L;
+
+    private final String paymentId;
+    private final String studentId;
+    private final double amount;
+    private final String paymentType;
+
+    public PaymentCompleted(String paymentId, String studentId, double amount, String paymentType) {
+        super(paymentId);
+        this.paymentId = paymentId;
+        this.studentId = studentId;
+        this.amount = amount;
+        this.paymentType = paymentType;
+    }
+
+    public String getPaymentId() { return paymentId; }
+    public String getStudentId() { return studentId; }
+    public double getAmount() { return amount; }
+    public String getPaymentType() { return paymentType; }
+
+    @Override
+    protected String describe() {
+        return "payment of $" + String.format("%.2f", amount) + " (" + paymentType + ") by " + studentId;
+    }
+}
@@ -0,0 +1,33 @@
+package com.campus.domain;
+
+import java.time.LocalDate;
+
+/**
+ * A hostel room was allocated to a student.
+ */
+public class RoomAllocated extends DomainEvent {
+    private static final long serialVersionUID = 8689435379969151420L;
+
+    private final String allocationId;
+    private final String roomId;
+    private final String studentId;
+    private final LocalDate startDate;
+
+    public RoomAllocated(String allocationId, String roomId, String studentId, LocalDate startDate) {
+        super(allocationId);
+        this.allocationId = allocationId;
+        this.roomId = roomId;
+        this.studentId = studentId;
+        this.startDate = startDate;
+    }
+
+    public String getAllocationId() { return allocationId; }
+    public String getRoomId() { return roomId; }
+    public String getStudentId() { return studentId; }
+    public LocalDate getStartDate() { return startDate; }
+
+    @Override
+    protected String describe() {
+        return "room " + roomId + " allocated to " + studentId + " from " + startDate;
+    }
+}
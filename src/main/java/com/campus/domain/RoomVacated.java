@@ -0,0 +1,28 @@
+package com.campus.domain;
+
+/**
+ * A student moved out of a hostel room and the allocation was terminated.
+ */
+public class RoomVacated extends DomainEvent {
+    private static final long serialVersionUID = -2441176276393581182L;
+
+    private final String allocationId;
+    private final String roomId;
+    private final String studentId;
+
+    public RoomVacated(String allocationId, String roomId, String studentId) {
+        super(allocationId);
+        this.allocationId = allocationId;
+        this.roomId = roomId;
+        this.studentId = studentId;
+    }
+
+    public String getAllocationId() { return allocationId; }
+    public String getRoomId() { return roomId; }
+    public String getStudentId() { return studentId; }
+
+    @Override
+    protected String describe() {
+        return "room " + roomId + " vacated by " + studentId;
+    }
+}
@@ -0,0 +1,34 @@
+package com.campus.domain;
+
+/**
+ * Stock of an inventory item changed through a recorded transaction.
+ */
+public class StockMoved extends DomainEvent {
+    private static final long serialVersionUID = 2267114960916657319L;
+
+    private final String transactionId;
+    private final String itemId;
+    private final String transactionType;
+    private final int quantity;
+    private final int stockAfter;
+
+    public StockMoved(String transactionId, String itemId, String transactionType, int quantity, int stockAfter) {
+        super(transactionId);
+        this.transactionId = transactionId;
+        this.itemId = itemId;
+        this.transactionType = transactionType;
+        this.quantity = quantity;
+        this.stockAfter = stockAfter;
+    }
+
+    public String getTransactionId() { return transactionId; }
+    public String getItemId() { return itemId; }
+    public String getTransactionType() { return transactionType; }
+    public int getQuantity() { return quantity; }
+    public int getStockAfter() { return stockAfter; }
+
+    @Override
+    protected String describe() {
+        return transactionType + " of " + quantity + " for item " + itemId + ", stock now " + stockAfter;
+    }
+}
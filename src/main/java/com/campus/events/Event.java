@@ -10,6 +10,8 @@ import java.util.*;
  * Event class representing campus events
  */
 public class Event implements Identifiable {
+    private static final long serialVersionUID = -7757315844706943622L;
+
     private String eventId;
     private String eventName;
     private String description;
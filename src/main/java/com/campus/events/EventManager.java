@@ -1,7 +1,14 @@
 package com.campus.events;
 
+import com.campus.domain.*;
+import com.campus.storage.EntityStore;
+import com.campus.storage.RangeIndex;
+import com.campus.storage.SecondaryIndex;
+import com.campus.storage.StorageManager;
 import com.campus.utils.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -12,17 +19,31 @@ import java.time.format.DateTimeFormatter;
  */
 public class EventManager implements Manageable<Event> {
     private static final Logger logger = Logger.getInstance();
+    private static final DomainEventLog domainEvents = DomainEventLog.getInstance();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private static final CrudMetrics crudMetrics = metrics.crud("events");
     private final Scanner scanner = new Scanner(System.in);
     
-    private Map<String, Event> events;
+    private final EntityStore<Event> events;
+    private final SecondaryIndex<Event, EventStatus> eventsByStatus;
+    private final SecondaryIndex<Event, EventType> eventsByType;
+    private final SecondaryIndex<Event, EventCategory> eventsByCategory;
+    private final RangeIndex<Event, LocalDate> eventsByDate;
     private NotificationService notificationService;
-    private int eventCounter;
+    private final AtomicInteger eventCounter;
     
     public EventManager() {
-        this.events = new HashMap<>();
+        this.events = new EntityStore<>("events");
+        this.eventsByStatus = events.addIndex(SecondaryIndex.byEnum(EventStatus.class, Event::getStatus));
+        this.eventsByType = events.addIndex(SecondaryIndex.byEnum(EventType.class, Event::getEventType));
+        this.eventsByCategory = events.addIndex(SecondaryIndex.byEnum(EventCategory.class, Event::getCategory));
+        this.eventsByDate = events.addIndex(RangeIndex.by(Event::getEventDate));
+        metrics.gauge("events.count", events::size);
         this.notificationService = NotificationService.getInstance();
-        this.eventCounter = 1;
-        initializeSampleData();
+        if (events.isEmpty()) {
+            initializeSampleData();
+        }
+        this.eventCounter = new AtomicInteger(events.maxIdNumber("EV") + 1);
         logger.log("EventManager initialized");
     }
     
@@ -149,7 +170,7 @@ public class EventManager implements Manageable<Event> {
                 case 5: reportsMenu(); break;
                 case 6: notificationsMenu(); break;
                 case 7: searchMenu(); break;
-                case 8: displaySystemStatistics(); break;
+                case 8: metrics.time("events.displaySystemStatistics", this::displaySystemStatistics); break;
                 case 0: return;
                 default: System.out.println("Invalid choice. Please try again.");
             }
@@ -166,35 +187,126 @@ public class EventManager implements Manageable<Event> {
     
     @Override
     public void create(Event event) {
-        events.put(event.getEventId(), event);
-        notificationService.notifyObservers("New event created: " + event.getEventName());
-        logger.log("Event created: " + event.getEventId());
+        long start = System.nanoTime();
+        if (!events.replace(event.getEventId(), 0, event)) {
+            throw new IllegalArgumentException("Event with ID " + event.getEventId() + " already exists");
+        }
+        notificationService.notifyObservers(NotificationService.Topic.EVENTS, "New event created: " + event.getEventName());
+        domainEvents.append(new EntityChanged("Event", event.getEventId(), EntityChanged.ChangeType.CREATED));
+        logger.info("Event created: {}", event.getEventId());
+        crudMetrics.create().recordSince(start);
     }
     
     @Override
     public Event read(String eventId) {
-        return events.get(eventId);
+        long start = System.nanoTime();
+        Event event = events.get(eventId);
+        crudMetrics.read().recordSince(start);
+        return event;
     }
     
     @Override
     public void update(Event event) {
+        long start = System.nanoTime();
         events.put(event.getEventId(), event);
-        notificationService.notifyObservers("Event updated: " + event.getEventName());
-        logger.log("Event updated: " + event.getEventId());
+        updated(event, start);
+    }
+    
+    @Override
+    public Event update(String eventId, Consumer<Event> change) {
+        long start = System.nanoTime();
+        Event event = events.update(eventId, change);
+        updated(event, start);
+        return event;
+    }
+    
+    private void updated(Event event, long start) {
+        notificationService.notifyObservers(NotificationService.Topic.EVENTS, "Event updated: " + event.getEventName());
+        domainEvents.append(new EntityChanged("Event", event.getEventId(), EntityChanged.ChangeType.UPDATED));
+        logger.info("Event updated: {}", event.getEventId());
+        crudMetrics.update().recordSince(start);
     }
     
     @Override
     public void delete(String eventId) {
+        long start = System.nanoTime();
         Event event = events.remove(eventId);
         if (event != null) {
-            notificationService.notifyObservers("Event deleted: " + event.getEventName());
-            logger.log("Event deleted: " + eventId);
+            notificationService.notifyObservers(NotificationService.Topic.EVENTS, "Event deleted: " + event.getEventName());
+            domainEvents.append(new EntityChanged("Event", eventId, EntityChanged.ChangeType.DELETED));
+            logger.info("Event deleted: {}", eventId);
         }
+        crudMetrics.delete().recordSince(start);
     }
     
     @Override
     public List<Event> getAll() {
-        return new ArrayList<>(events.values());
+        long start = System.nanoTime();
+        List<Event> all = new ArrayList<>(events.values());
+        crudMetrics.getAll().recordSince(start);
+        return all;
+    }
+    
+    /**
+     * Registers a participant for an event.
+     *
+     * @throws NoSuchElementException if the event does not exist
+     * @throws IllegalStateException if the event does not take registrations, is full,
+     *         or the participant is already registered
+     */
+    public Event registerParticipant(String eventId, String participantId) {
+        Event event = StorageManager.getInstance().atomically(List.of(events.lockKey(eventId)), () -> {
+            Event current = requireEvent(eventId);
+            if (!current.registerParticipant(participantId)) {
+                throw new IllegalStateException("Registration failed. Event may be full or participant already registered.");
+            }
+            update(current);
+            return current;
+        });
+        domainEvents.append(new ParticipantRegistered(eventId, participantId));
+        return event;
+    }
+    
+    /**
+     * Cancels a participant's registration. Unregistering someone who is not registered has no effect.
+     *
+     * @throws NoSuchElementException if the event does not exist
+     */
+    public Event unregisterParticipant(String eventId, String participantId) {
+        Event event = StorageManager.getInstance().atomically(List.of(events.lockKey(eventId)), () -> {
+            Event current = requireEvent(eventId);
+            current.unregisterParticipant(participantId);
+            update(current);
+            return current;
+        });
+        domainEvents.append(new ParticipantUnregistered(eventId, participantId));
+        return event;
+    }
+    
+    /**
+     * Marks a participant as attending.
+     *
+     * @return false if attendance was already marked for the participant
+     * @throws NoSuchElementException if the event does not exist
+     * @throws IllegalStateException if the event is not in progress or completed
+     */
+    public boolean markAttendance(String eventId, String participantId) {
+        return StorageManager.getInstance().atomically(List.of(events.lockKey(eventId)), () -> {
+            Event event = requireEvent(eventId);
+            boolean marked = event.markAttendance(participantId);
+            if (marked) {
+                update(event);
+            }
+            return marked;
+        });
+    }
+    
+    private Event requireEvent(String eventId) {
+        Event event = read(eventId);
+        if (event == null) {
+            throw new NoSuchElementException("Event not found: " + eventId);
+        }
+        return event;
     }
     
     private void eventManagementMenu() {
@@ -225,7 +337,7 @@ public class EventManager implements Manageable<Event> {
     private void createEventInteractive() {
         System.out.println("\n=== CREATE NEW EVENT ===");
         
-        String eventId = "EV" + String.format("%03d", eventCounter++);
+        String eventId = "EV" + String.format("%03d", eventCounter.getAndIncrement());
         
         System.out.print("Enter Event Name: ");
         String eventName = scanner.nextLine();
@@ -416,15 +528,10 @@ public class EventManager implements Manageable<Event> {
         String participantId = scanner.nextLine();
         
         try {
-            boolean success = event.registerParticipant(participantId);
-            if (success) {
-                update(event);
-                System.out.println("Participant registered successfully!");
-                System.out.println("Registration fee: $" + String.format("%.2f", event.getRegistrationFee()));
-                System.out.println("Available spots: " + event.getAvailableSpots());
-            } else {
-                System.out.println("Registration failed. Event may be full or participant already registered.");
-            }
+            registerParticipant(eventId, participantId);
+            System.out.println("Participant registered successfully!");
+            System.out.println("Registration fee: $" + String.format("%.2f", event.getRegistrationFee()));
+            System.out.println("Available spots: " + event.getAvailableSpots());
         } catch (Exception e) {
             System.out.println("Error: " + e.getMessage());
         }
@@ -444,8 +551,7 @@ public class EventManager implements Manageable<Event> {
         System.out.print("Enter Participant ID: ");
         String participantId = scanner.nextLine();
         
-        event.unregisterParticipant(participantId);
-        update(event);
+        unregisterParticipant(eventId, participantId);
         System.out.println("Participant unregistered successfully!");
     }
     
@@ -559,6 +665,7 @@ public class EventManager implements Manageable<Event> {
                 try {
                     boolean success = event.registerParticipant(participantId);
                     if (success) {
+                        domainEvents.append(new ParticipantRegistered(event.getEventId(), participantId));
                         registered++;
                     } else {
                         failed++;
@@ -619,9 +726,8 @@ public class EventManager implements Manageable<Event> {
         String participantId = scanner.nextLine();
         
         try {
-            boolean success = event.markAttendance(participantId);
+            boolean success = markAttendance(eventId, participantId);
             if (success) {
-                update(event);
                 System.out.println("Attendance marked successfully!");
                 System.out.println("Total attendees: " + event.getCurrentAttendees());
                 
@@ -762,38 +868,29 @@ public class EventManager implements Manageable<Event> {
         
         event.displayAttendanceList();
         
-        logger.log("Attendance report generated for event: " + eventId);
+        logger.info("Attendance report generated for event: {}", eventId);
     }
     
     // Utility methods
     public List<Event> getUpcomingEvents() {
-        return events.values().stream()
-                .filter(Event::isUpcoming)
-                .collect(Collectors.toList());
+        return eventsByDate.range(LocalDate.now(), false, null, true);
     }
     
     public List<Event> getTodaysEvents() {
-        return events.values().stream()
-                .filter(Event::isToday)
-                .collect(Collectors.toList());
+        LocalDate today = LocalDate.now();
+        return eventsByDate.range(today, today);
     }
     
     public List<Event> getEventsByStatus(EventStatus status) {
-        return events.values().stream()
-                .filter(event -> event.getStatus() == status)
-                .collect(Collectors.toList());
+        return eventsByStatus.get(status);
     }
     
     public List<Event> getEventsByType(EventType type) {
-        return events.values().stream()
-                .filter(event -> event.getEventType() == type)
-                .collect(Collectors.toList());
+        return eventsByType.get(type);
     }
     
     public List<Event> getEventsByCategory(EventCategory category) {
-        return events.values().stream()
-                .filter(event -> event.getCategory() == category)
-                .collect(Collectors.toList());
+        return eventsByCategory.get(category);
     }
     
     private void reportsMenu() {
@@ -808,11 +905,11 @@ public class EventManager implements Manageable<Event> {
         int choice = getChoice();
         
         switch (choice) {
-            case 1: generateEventSummaryReport(); break;
-            case 2: generateAttendanceAnalysis(); break;
-            case 3: generateRegistrationStatistics(); break;
-            case 4: generateCategoryWiseReport(); break;
-            case 5: generateMonthlyEventReport(); break;
+            case 1: metrics.time("events.generateEventSummaryReport", this::generateEventSummaryReport); break;
+            case 2: metrics.time("events.generateAttendanceAnalysis", this::generateAttendanceAnalysis); break;
+            case 3: metrics.time("events.generateRegistrationStatistics", this::generateRegistrationStatistics); break;
+            case 4: metrics.time("events.generateCategoryWiseReport", this::generateCategoryWiseReport); break;
+            case 5: metrics.time("events.generateMonthlyEventReport", this::generateMonthlyEventReport); break;
             default: System.out.println("Invalid choice.");
         }
     }
@@ -1163,9 +1260,11 @@ public class EventManager implements Manageable<Event> {
         System.out.print("Enter search term: ");
         String searchTerm = scanner.nextLine().toLowerCase();
         
+        long start = System.nanoTime();
         List<Event> results = events.values().stream()
                 .filter(event -> event.getEventName().toLowerCase().contains(searchTerm))
                 .collect(Collectors.toList());
+        metrics.recordSince("events.searchByName", start);
         
         displaySearchResults(results, "name containing '" + searchTerm + "'");
     }
@@ -1186,7 +1285,9 @@ public class EventManager implements Manageable<Event> {
         }
         
         EventType selectedType = types[choice - 1];
+        long start = System.nanoTime();
         List<Event> results = getEventsByType(selectedType);
+        metrics.recordSince("events.searchByType", start);
         
         displaySearchResults(results, "type '" + selectedType + "'");
     }
@@ -1207,7 +1308,9 @@ public class EventManager implements Manageable<Event> {
         }
         
         EventCategory selectedCategory = categories[choice - 1];
+        long start = System.nanoTime();
         List<Event> results = getEventsByCategory(selectedCategory);
+        metrics.recordSince("events.searchByCategory", start);
         
         displaySearchResults(results, "category '" + selectedCategory + "'");
     }
@@ -1219,11 +1322,9 @@ public class EventManager implements Manageable<Event> {
         LocalDate startDate = LocalDate.now();
         LocalDate endDate = startDate.plusDays(30);
         
-        List<Event> results = events.values().stream()
-                .filter(event -> event.getEventDate() != null && 
-                               !event.getEventDate().isBefore(startDate) && 
-                               !event.getEventDate().isAfter(endDate))
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        List<Event> results = eventsByDate.range(startDate, endDate);
+        metrics.recordSince("events.searchByDateRange", start);
         
         displaySearchResults(results, "date range (next 30 days)");
     }
@@ -1233,10 +1334,12 @@ public class EventManager implements Manageable<Event> {
         System.out.print("Enter organizer ID or name: ");
         String searchTerm = scanner.nextLine().toLowerCase();
         
+        long start = System.nanoTime();
         List<Event> results = events.values().stream()
                 .filter(event -> (event.getOrganizerId() != null && event.getOrganizerId().toLowerCase().contains(searchTerm)) ||
                                (event.getOrganizerName() != null && event.getOrganizerName().toLowerCase().contains(searchTerm)))
                 .collect(Collectors.toList());
+        metrics.recordSince("events.searchByOrganizer", start);
         
         displaySearchResults(results, "organizer containing '" + searchTerm + "'");
     }
@@ -1363,8 +1466,8 @@ public class EventManager implements Manageable<Event> {
     // Getters for external access
     public Map<String, Event> getAllEvents() { return new HashMap<>(events); }
     public int getTotalEvents() { return events.size(); }
-    public int getScheduledEvents() { return (int) events.values().stream().filter(e -> e.getStatus() == EventStatus.SCHEDULED).count(); }
-    public int getCompletedEvents() { return (int) events.values().stream().filter(e -> e.getStatus() == EventStatus.COMPLETED).count(); }
+    public int getScheduledEvents() { return eventsByStatus.count(EventStatus.SCHEDULED); }
+    public int getCompletedEvents() { return eventsByStatus.count(EventStatus.COMPLETED); }
     public int getTotalRegistrations() { return events.values().stream().mapToInt(event -> event.getRegisteredParticipants().size()).sum(); }
     public int getTotalAttendance() { return events.values().stream().mapToInt(Event::getCurrentAttendees).sum(); }
 }
\ No newline at end of file
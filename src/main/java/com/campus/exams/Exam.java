@@ -10,6 +10,8 @@ import java.util.*;
  * Exam class representing academic examinations
  */
 public class Exam implements Identifiable {
+    private static final long serialVersionUID = -675167269416121326L;
+
     private String examId;
     private String examName;
     private String courseId;
@@ -1,8 +1,16 @@
 package com.campus.exams;
 
+import com.campus.domain.*;
+import com.campus.storage.EntityStore;
+import com.campus.storage.RangeIndex;
+import com.campus.storage.SecondaryIndex;
+import com.campus.storage.StorageManager;
 import com.campus.utils.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
@@ -12,17 +20,33 @@ import java.time.format.DateTimeFormatter;
  */
 public class ExamManager implements Manageable<Exam> {
     private static final Logger logger = Logger.getInstance();
+    private static final DomainEventLog domainEvents = DomainEventLog.getInstance();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private static final CrudMetrics crudMetrics = metrics.crud("exams");
     private final Scanner scanner = new Scanner(System.in);
     
-    private Map<String, Exam> exams;
+    private final EntityStore<Exam> exams;
+    private final SecondaryIndex<Exam, ExamStatus> examsByStatus;
+    private final SecondaryIndex<Exam, ExamType> examsByType;
+    private final SecondaryIndex<Exam, String> examsByCourse;
+    private final SecondaryIndex<Exam, String> examsByInstructor;
+    private final RangeIndex<Exam, LocalDate> examsByDate;
     private NotificationService notificationService;
-    private int examCounter;
+    private final AtomicInteger examCounter;
     
     public ExamManager() {
-        this.exams = new HashMap<>();
+        this.exams = new EntityStore<>("exams");
+        this.examsByStatus = exams.addIndex(SecondaryIndex.byEnum(ExamStatus.class, Exam::getStatus));
+        this.examsByType = exams.addIndex(SecondaryIndex.byEnum(ExamType.class, Exam::getExamType));
+        this.examsByCourse = exams.addIndex(SecondaryIndex.byKey(Exam::getCourseId));
+        this.examsByInstructor = exams.addIndex(SecondaryIndex.byKey(Exam::getInstructorId));
+        this.examsByDate = exams.addIndex(RangeIndex.by(Exam::getExamDate));
+        metrics.gauge("exams.count", exams::size);
         this.notificationService = NotificationService.getInstance();
-        this.examCounter = 1;
-        initializeSampleData();
+        if (exams.isEmpty()) {
+            initializeSampleData();
+        }
+        this.examCounter = new AtomicInteger(exams.maxIdNumber("E") + 1);
         logger.log("ExamManager initialized");
     }
     
@@ -130,7 +154,7 @@ public class ExamManager implements Manageable<Exam> {
                 case 5: reportsMenu(); break;
                 case 6: notificationsMenu(); break;
                 case 7: searchMenu(); break;
-                case 8: displaySystemStatistics(); break;
+                case 8: metrics.time("exams.displaySystemStatistics", this::displaySystemStatistics); break;
                 case 0: return;
                 default: System.out.println("Invalid choice. Please try again.");
             }
@@ -147,35 +171,162 @@ public class ExamManager implements Manageable<Exam> {
     
     @Override
     public void create(Exam exam) {
-        exams.put(exam.getExamId(), exam);
-        notificationService.notifyObservers("New exam created: " + exam.getExamName());
-        logger.log("Exam created: " + exam.getExamId());
+        long start = System.nanoTime();
+        if (!exams.replace(exam.getExamId(), 0, exam)) {
+            throw new IllegalArgumentException("Exam with ID " + exam.getExamId() + " already exists");
+        }
+        notificationService.notifyObservers(NotificationService.Topic.EXAMS, "New exam created: " + exam.getExamName());
+        domainEvents.append(new EntityChanged("Exam", exam.getExamId(), EntityChanged.ChangeType.CREATED));
+        logger.info("Exam created: {}", exam.getExamId());
+        crudMetrics.create().recordSince(start);
     }
     
     @Override
     public Exam read(String examId) {
-        return exams.get(examId);
+        long start = System.nanoTime();
+        Exam exam = exams.get(examId);
+        crudMetrics.read().recordSince(start);
+        return exam;
     }
     
     @Override
     public void update(Exam exam) {
+        long start = System.nanoTime();
         exams.put(exam.getExamId(), exam);
-        notificationService.notifyObservers("Exam updated: " + exam.getExamName());
-        logger.log("Exam updated: " + exam.getExamId());
+        updated(exam, start);
+    }
+    
+    @Override
+    public Exam update(String examId, Consumer<Exam> change) {
+        long start = System.nanoTime();
+        Exam exam = exams.update(examId, change);
+        updated(exam, start);
+        return exam;
+    }
+    
+    private void updated(Exam exam, long start) {
+        notificationService.notifyObservers(NotificationService.Topic.EXAMS, "Exam updated: " + exam.getExamName());
+        domainEvents.append(new EntityChanged("Exam", exam.getExamId(), EntityChanged.ChangeType.UPDATED));
+        logger.info("Exam updated: {}", exam.getExamId());
+        crudMetrics.update().recordSince(start);
     }
     
     @Override
     public void delete(String examId) {
+        long start = System.nanoTime();
         Exam exam = exams.remove(examId);
         if (exam != null) {
-            notificationService.notifyObservers("Exam deleted: " + exam.getExamName());
-            logger.log("Exam deleted: " + examId);
+            notificationService.notifyObservers(NotificationService.Topic.EXAMS, "Exam deleted: " + exam.getExamName());
+            domainEvents.append(new EntityChanged("Exam", examId, EntityChanged.ChangeType.DELETED));
+            logger.info("Exam deleted: {}", examId);
         }
+        crudMetrics.delete().recordSince(start);
     }
     
     @Override
     public List<Exam> getAll() {
-        return new ArrayList<>(exams.values());
+        long start = System.nanoTime();
+        List<Exam> all = new ArrayList<>(exams.values());
+        crudMetrics.getAll().recordSince(start);
+        return all;
+    }
+    
+    /**
+     * Enrolls a student for an exam. Enrolling an already enrolled student has no effect.
+     *
+     * @throws NoSuchElementException if the exam does not exist
+     */
+    public Exam enrollStudent(String examId, String studentId) {
+        return StorageManager.getInstance().atomically(List.of(exams.lockKey(examId)), () -> {
+            Exam exam = requireExam(examId);
+            exam.enrollStudent(studentId);
+            update(exam);
+            return exam;
+        });
+    }
+    
+    /**
+     * Removes a student from an exam together with any result already entered.
+     *
+     * @throws NoSuchElementException if the exam does not exist
+     */
+    public Exam unenrollStudent(String examId, String studentId) {
+        return StorageManager.getInstance().atomically(List.of(exams.lockKey(examId)), () -> {
+            Exam exam = requireExam(examId);
+            exam.unenrollStudent(studentId);
+            update(exam);
+            return exam;
+        });
+    }
+    
+    /**
+     * Enters a student's result for an exam, replacing any earlier result.
+     *
+     * @throws NoSuchElementException if the exam does not exist
+     * @throws IllegalArgumentException if the student is not enrolled for the exam
+     */
+    public ExamResult recordResult(String examId, String studentId, int marks, String grade) {
+        return recordResult(examId, studentId, marks, grade, null);
+    }
+    
+    /**
+     * Records a zero-mark "AB" result for a student who missed the exam.
+     *
+     * @throws NoSuchElementException if the exam does not exist
+     * @throws IllegalArgumentException if the student is not enrolled for the exam
+     */
+    public ExamResult markAbsent(String examId, String studentId) {
+        return recordResult(examId, studentId, 0, "AB", ExamResult::markAbsent);
+    }
+    
+    /**
+     * Records a zero-mark "MP" result for a student caught in malpractice.
+     *
+     * @throws NoSuchElementException if the exam does not exist
+     * @throws IllegalArgumentException if the student is not enrolled for the exam
+     */
+    public ExamResult markMalpractice(String examId, String studentId, String details) {
+        return recordResult(examId, studentId, 0, "MP", result -> result.markMalpractice(details));
+    }
+    
+    private ExamResult recordResult(String examId, String studentId, int marks, String grade, Consumer<ExamResult> adjust) {
+        ExamResult result = StorageManager.getInstance().atomically(List.of(exams.lockKey(examId)), () -> {
+            Exam exam = requireExam(examId);
+            exam.addResult(studentId, marks, grade);
+            ExamResult added = exam.getStudentResult(studentId);
+            if (adjust != null) {
+                adjust.accept(added);
+            }
+            update(exam);
+            return added;
+        });
+        domainEvents.append(new ExamResultAdded(examId, studentId, marks, grade));
+        return result;
+    }
+    
+    /**
+     * Corrects the marks and grade of an existing result through the version-checked update.
+     *
+     * @throws NoSuchElementException if the exam or the student's result does not exist
+     * @throws IllegalStateException if concurrent writes to the exam kept conflicting
+     */
+    public ExamResult updateResult(String examId, String studentId, int marks, String grade) {
+        requireExam(examId);
+        Exam exam = update(examId, current -> {
+            if (current.getStudentResult(studentId) == null) {
+                throw new NoSuchElementException("No result found for student " + studentId + " in exam " + examId);
+            }
+            current.updateResult(studentId, marks, grade);
+        });
+        return exam.getStudentResult(studentId);
+    }
+    
+    private Exam requireExam(String examId) {
+        Exam exam = read(examId);
+        if (exam == null) {
+            throw new NoSuchElementException("Exam not found: " + examId);
+        }
+        return exam;
     }
     
     private void examManagementMenu() {
@@ -204,7 +355,7 @@ public class ExamManager implements Manageable<Exam> {
     private void createExamInteractive() {
         System.out.println("\n=== CREATE NEW EXAM ===");
         
-        String examId = "E" + String.format("%03d", examCounter++);
+        String examId = "E" + String.format("%03d", examCounter.getAndIncrement());
         
         System.out.print("Enter Exam Name: ");
         String examName = scanner.nextLine();
@@ -246,6 +397,24 @@ public class ExamManager implements Manageable<Exam> {
     }
     
     private void scheduleExamInteractive(Exam exam) {
+        Consumer<Exam> schedule = promptSchedule();
+        if (schedule == null) {
+            return;
+        }
+        try {
+            schedule.accept(exam);
+            System.out.println("Exam scheduled successfully!");
+        } catch (IllegalStateException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Asks for a date, start time, venue and optional online details.
+     *
+     * @return the change that schedules an exam with them, or null if the date or time was malformed
+     */
+    private Consumer<Exam> promptSchedule() {
         System.out.println("\n=== SCHEDULE EXAM ===");
         
         System.out.print("Enter exam date (YYYY-MM-DD): ");
@@ -257,28 +426,36 @@ public class ExamManager implements Manageable<Exam> {
         System.out.print("Enter venue: ");
         String venue = scanner.nextLine();
         
+        LocalDate examDate;
+        LocalTime startTime;
         try {
-            LocalDate examDate = LocalDate.parse(dateStr);
-            LocalTime startTime = LocalTime.parse(timeStr);
-            
-            exam.scheduleExam(examDate, startTime, venue);
-            
-            System.out.print("Set as online exam? (y/n): ");
-            String isOnline = scanner.nextLine();
-            
-            if ("y".equalsIgnoreCase(isOnline)) {
-                System.out.print("Enter platform: ");
-                String platform = scanner.nextLine();
-                System.out.print("Enter exam link: ");
-                String link = scanner.nextLine();
-                exam.setOnlineExam(platform, link);
-            }
-            
-            System.out.println("Exam scheduled successfully!");
-            
+            examDate = LocalDate.parse(dateStr);
+            startTime = LocalTime.parse(timeStr);
         } catch (Exception e) {
             System.out.println("Invalid date/time format. Please use YYYY-MM-DD and HH:MM");
+            return null;
         }
+        
+        System.out.print("Set as online exam? (y/n): ");
+        String isOnline = scanner.nextLine();
+        
+        String platform = null;
+        String link = null;
+        if ("y".equalsIgnoreCase(isOnline)) {
+            System.out.print("Enter platform: ");
+            platform = scanner.nextLine();
+            System.out.print("Enter exam link: ");
+            link = scanner.nextLine();
+        }
+        
+        String onlinePlatform = platform;
+        String onlineLink = link;
+        return exam -> {
+            exam.scheduleExam(examDate, startTime, venue);
+            if (onlinePlatform != null) {
+                exam.setOnlineExam(onlinePlatform, onlineLink);
+            }
+        };
     }
     
     private void viewAllExams() {
@@ -364,24 +541,30 @@ public class ExamManager implements Manageable<Exam> {
         System.out.print("Enter choice: ");
         
         int choice = getChoice();
+        Consumer<Exam> change;
         
         switch (choice) {
             case 1:
                 System.out.print("Enter new exam name: ");
-                exam.setExamName(scanner.nextLine());
+                String examName = scanner.nextLine();
+                change = target -> target.setExamName(examName);
                 break;
             case 2:
-                scheduleExamInteractive(exam);
+                change = promptSchedule();
+                if (change == null) {
+                    return;
+                }
                 break;
             case 3:
                 System.out.print("Enter new venue: ");
-                exam.setVenue(scanner.nextLine());
+                String venue = scanner.nextLine();
+                change = target -> target.setVenue(venue);
                 break;
             case 4:
                 System.out.print("Enter new duration (minutes): ");
                 try {
                     int duration = Integer.parseInt(scanner.nextLine());
-                    exam.setDuration(duration);
+                    change = target -> target.setDuration(duration);
                 } catch (NumberFormatException e) {
                     System.out.println("Invalid duration.");
                     return;
@@ -391,7 +574,7 @@ public class ExamManager implements Manageable<Exam> {
                 System.out.print("Enter new max marks: ");
                 try {
                     int maxMarks = Integer.parseInt(scanner.nextLine());
-                    exam.setMaxMarks(maxMarks);
+                    change = target -> target.setMaxMarks(maxMarks);
                 } catch (NumberFormatException e) {
                     System.out.println("Invalid marks.");
                     return;
@@ -399,11 +582,13 @@ public class ExamManager implements Manageable<Exam> {
                 break;
             case 6:
                 System.out.print("Enter new instructions: ");
-                exam.setInstructions(scanner.nextLine());
+                String instructions = scanner.nextLine();
+                change = target -> target.setInstructions(instructions);
                 break;
             case 7:
                 System.out.print("Enter invigilator ID: ");
-                exam.addInvigilator(scanner.nextLine());
+                String invigilatorId = scanner.nextLine();
+                change = target -> target.addInvigilator(invigilatorId);
                 break;
             case 8:
                 System.out.print("Set as online exam? (y/n): ");
@@ -413,11 +598,11 @@ public class ExamManager implements Manageable<Exam> {
                     String platform = scanner.nextLine();
                     System.out.print("Enter exam link: ");
                     String link = scanner.nextLine();
-                    exam.setOnlineExam(platform, link);
+                    change = target -> target.setOnlineExam(platform, link);
                 } else {
                     System.out.print("Enter venue: ");
-                    String venue = scanner.nextLine();
-                    exam.setOfflineExam(venue);
+                    String offlineVenue = scanner.nextLine();
+                    change = target -> target.setOfflineExam(offlineVenue);
                 }
                 break;
             default:
@@ -425,7 +610,12 @@ public class ExamManager implements Manageable<Exam> {
                 return;
         }
         
-        update(exam);
+        try {
+            update(examId, change);
+        } catch (NoSuchElementException | IllegalStateException | IllegalArgumentException e) {
+            System.out.println("Update failed: " + e.getMessage());
+            return;
+        }
         System.out.println("Exam updated successfully!");
     }
     
@@ -613,8 +803,16 @@ public class ExamManager implements Manageable<Exam> {
         System.out.println("Time: " + exam.getStartTime());
         System.out.println("Venue: " + exam.getVenue());
         
-        scheduleExamInteractive(exam);
-        update(exam);
+        Consumer<Exam> schedule = promptSchedule();
+        if (schedule == null) {
+            return;
+        }
+        try {
+            update(examId, schedule);
+        } catch (NoSuchElementException | IllegalStateException e) {
+            System.out.println("Reschedule failed: " + e.getMessage());
+            return;
+        }
         System.out.println("Exam rescheduled successfully!");
     }
     
@@ -653,15 +851,12 @@ public class ExamManager implements Manageable<Exam> {
     
     // Utility methods
     public List<Exam> getUpcomingExams() {
-        return exams.values().stream()
-                .filter(Exam::isUpcoming)
-                .collect(Collectors.toList());
+        return examsByDate.range(LocalDate.now(), false, null, true);
     }
     
     public List<Exam> getTodaysExams() {
-        return exams.values().stream()
-                .filter(Exam::isToday)
-                .collect(Collectors.toList());
+        LocalDate today = LocalDate.now();
+        return examsByDate.range(today, today);
     }
     
     public List<Exam> getOverdueExams() {
@@ -671,27 +866,19 @@ public class ExamManager implements Manageable<Exam> {
     }
     
     public List<Exam> getExamsByStatus(ExamStatus status) {
-        return exams.values().stream()
-                .filter(exam -> exam.getStatus() == status)
-                .collect(Collectors.toList());
+        return examsByStatus.get(status);
     }
     
     public List<Exam> getExamsByType(ExamType type) {
-        return exams.values().stream()
-                .filter(exam -> exam.getExamType() == type)
-                .collect(Collectors.toList());
+        return examsByType.get(type);
     }
     
     public List<Exam> getExamsByCourse(String courseId) {
-        return exams.values().stream()
-                .filter(exam -> exam.getCourseId().equals(courseId))
-                .collect(Collectors.toList());
+        return examsByCourse.get(courseId);
     }
     
     public List<Exam> getExamsByInstructor(String instructorId) {
-        return exams.values().stream()
-                .filter(exam -> instructorId.equals(exam.getInstructorId()))
-                .collect(Collectors.toList());
+        return examsByInstructor.get(instructorId);
     }
     
     private void enrollmentManagementMenu() {
@@ -730,8 +917,7 @@ public class ExamManager implements Manageable<Exam> {
         String studentId = scanner.nextLine();
         
         try {
-            exam.enrollStudent(studentId);
-            update(exam);
+            enrollStudent(examId, studentId);
             System.out.println("Student enrolled successfully!");
         } catch (Exception e) {
             System.out.println("Error: " + e.getMessage());
@@ -752,8 +938,7 @@ public class ExamManager implements Manageable<Exam> {
         System.out.print("Enter Student ID: ");
         String studentId = scanner.nextLine();
         
-        exam.unenrollStudent(studentId);
-        update(exam);
+        unenrollStudent(examId, studentId);
         System.out.println("Student unenrolled successfully!");
     }
     
@@ -906,11 +1091,9 @@ public class ExamManager implements Manageable<Exam> {
             System.out.print("Enter grade: ");
             String grade = scanner.nextLine();
             
-            exam.addResult(studentId, marks, grade);
-            update(exam);
+            ExamResult result = recordResult(examId, studentId, marks, grade);
             System.out.println("Result added successfully!");
             
-            ExamResult result = exam.getStudentResult(studentId);
             if (result != null) {
                 result.displayResultInfo();
             }
@@ -951,8 +1134,7 @@ public class ExamManager implements Manageable<Exam> {
             System.out.print("Enter new grade: ");
             String grade = scanner.nextLine();
             
-            exam.updateResult(studentId, marks, grade);
-            update(exam);
+            updateResult(examId, studentId, marks, grade);
             System.out.println("Result updated successfully!");
             
         } catch (NumberFormatException e) {
@@ -1036,7 +1218,7 @@ public class ExamManager implements Manageable<Exam> {
                 String grade = parts[2].trim();
                 
                 if (exam.getEnrolledStudents().contains(studentId)) {
-                    exam.addResult(studentId, marks, grade);
+                    recordResult(examId, studentId, marks, grade);
                     added++;
                     System.out.println("Result added for " + studentId);
                 } else {
@@ -1050,7 +1232,6 @@ public class ExamManager implements Manageable<Exam> {
             }
         }
         
-        update(exam);
         System.out.println("Bulk results entry completed. " + added + " results added.");
     }
     
@@ -1073,14 +1254,12 @@ public class ExamManager implements Manageable<Exam> {
             return;
         }
         
-        // Create absent result
-        exam.addResult(studentId, 0, "AB");
-        ExamResult result = exam.getStudentResult(studentId);
-        if (result != null) {
-            result.markAbsent();
+        try {
+            markAbsent(examId, studentId);
+        } catch (NoSuchElementException | IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+            return;
         }
-        
-        update(exam);
         System.out.println("Student marked as absent.");
     }
     
@@ -1106,14 +1285,12 @@ public class ExamManager implements Manageable<Exam> {
         System.out.print("Enter malpractice details: ");
         String details = scanner.nextLine();
         
-        // Create malpractice result
-        exam.addResult(studentId, 0, "MP");
-        ExamResult result = exam.getStudentResult(studentId);
-        if (result != null) {
-            result.markMalpractice(details);
+        try {
+            markMalpractice(examId, studentId, details);
+        } catch (NoSuchElementException | IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+            return;
         }
-        
-        update(exam);
         System.out.println("Student marked for malpractice.");
     }
     
@@ -1129,11 +1306,11 @@ public class ExamManager implements Manageable<Exam> {
         int choice = getChoice();
         
         switch (choice) {
-            case 1: generateExamSummaryReport(); break;
-            case 2: generateResultsAnalysis(); break;
-            case 3: generatePerformanceStatistics(); break;
-            case 4: generateCourseWiseReport(); break;
-            case 5: generateInstructorReport(); break;
+            case 1: metrics.time("exams.generateExamSummaryReport", this::generateExamSummaryReport); break;
+            case 2: metrics.time("exams.generateResultsAnalysis", this::generateResultsAnalysis); break;
+            case 3: metrics.time("exams.generatePerformanceStatistics", this::generatePerformanceStatistics); break;
+            case 4: metrics.time("exams.generateCourseWiseReport", this::generateCourseWiseReport); break;
+            case 5: metrics.time("exams.generateInstructorReport", this::generateInstructorReport); break;
             default: System.out.println("Invalid choice.");
         }
     }
@@ -1534,9 +1711,11 @@ public class ExamManager implements Manageable<Exam> {
         System.out.print("Enter search term: ");
         String searchTerm = scanner.nextLine().toLowerCase();
         
+        long start = System.nanoTime();
         List<Exam> results = exams.values().stream()
                 .filter(exam -> exam.getExamName().toLowerCase().contains(searchTerm))
                 .collect(Collectors.toList());
+        metrics.recordSince("exams.searchByName", start);
         
         displaySearchResults(results, "name containing '" + searchTerm + "'");
     }
@@ -1546,10 +1725,12 @@ public class ExamManager implements Manageable<Exam> {
         System.out.print("Enter course ID or name: ");
         String searchTerm = scanner.nextLine().toLowerCase();
         
+        long start = System.nanoTime();
         List<Exam> results = exams.values().stream()
                 .filter(exam -> exam.getCourseId().toLowerCase().contains(searchTerm) ||
                                exam.getCourseName().toLowerCase().contains(searchTerm))
                 .collect(Collectors.toList());
+        metrics.recordSince("exams.searchByCourse", start);
         
         displaySearchResults(results, "course containing '" + searchTerm + "'");
     }
@@ -1570,7 +1751,9 @@ public class ExamManager implements Manageable<Exam> {
         }
         
         ExamType selectedType = types[choice - 1];
+        long start = System.nanoTime();
         List<Exam> results = getExamsByType(selectedType);
+        metrics.recordSince("exams.searchByType", start);
         
         displaySearchResults(results, "type '" + selectedType + "'");
     }
@@ -1591,7 +1774,9 @@ public class ExamManager implements Manageable<Exam> {
         }
         
         ExamStatus selectedStatus = statuses[choice - 1];
+        long start = System.nanoTime();
         List<Exam> results = getExamsByStatus(selectedStatus);
+        metrics.recordSince("exams.searchByStatus", start);
         
         displaySearchResults(results, "status '" + selectedStatus + "'");
     }
@@ -1604,11 +1789,9 @@ public class ExamManager implements Manageable<Exam> {
         LocalDate startDate = LocalDate.now();
         LocalDate endDate = startDate.plusDays(30);
         
-        List<Exam> results = exams.values().stream()
-                .filter(exam -> exam.getExamDate() != null && 
-                               !exam.getExamDate().isBefore(startDate) && 
-                               !exam.getExamDate().isAfter(endDate))
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        List<Exam> results = examsByDate.range(startDate, endDate);
+        metrics.recordSince("exams.searchByDateRange", start);
         
         displaySearchResults(results, "date range (next 30 days)");
     }
@@ -1711,9 +1894,13 @@ public class ExamManager implements Manageable<Exam> {
     
     // Getters for external access
     public Map<String, Exam> getAllExams() { return new HashMap<>(exams); }
+    /** Streams the results of every exam, one exam at a time. */
+    public Stream<ExamResult> streamResults() {
+        return exams.values().stream().flatMap(exam -> exam.getAllResults().values().stream());
+    }
     public int getTotalExams() { return exams.size(); }
-    public int getScheduledExams() { return (int) exams.values().stream().filter(e -> e.getStatus() == ExamStatus.SCHEDULED).count(); }
-    public int getCompletedExams() { return (int) exams.values().stream().filter(e -> e.getStatus() == ExamStatus.COMPLETED).count(); }
+    public int getScheduledExams() { return examsByStatus.count(ExamStatus.SCHEDULED); }
+    public int getCompletedExams() { return examsByStatus.count(ExamStatus.COMPLETED); }
     public int getTotalEnrollments() { return exams.values().stream().mapToInt(Exam::getEnrolledCount).sum(); }
     public int getTotalResults() { return exams.values().stream().mapToInt(Exam::getResultsCount).sum(); }
 }
\ No newline at end of file
@@ -8,6 +8,8 @@ import java.util.Objects;
  * ExamResult class representing student exam results
  */
 public class ExamResult implements Identifiable {
+    private static final long serialVersionUID = 4579982173262139424L;
+
     private String resultId;
     private String studentId;
     private String examId;
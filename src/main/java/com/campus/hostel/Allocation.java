@@ -9,6 +9,8 @@ import java.util.Objects;
  * Allocation class representing room allocation to students
  */
 public class Allocation implements Identifiable {
+    private static final long serialVersionUID = 6299357914509821613L;
+
     private String allocationId;
     private String studentId;
     private String roomId;
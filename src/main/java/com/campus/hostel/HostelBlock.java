@@ -9,6 +9,8 @@ import java.util.stream.Collectors;
  * HostelBlock class representing a hostel building
  */
 public class HostelBlock implements Identifiable {
+    private static final long serialVersionUID = 701218504870265064L;
+
     private String blockId;
     private String blockName;
     private String address;
@@ -1,8 +1,16 @@
 package com.campus.hostel;
 
+import com.campus.domain.*;
+import com.campus.storage.EntityStore;
+import com.campus.storage.RangeIndex;
+import com.campus.storage.SecondaryIndex;
+import com.campus.storage.StorageManager;
 import com.campus.utils.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.time.LocalDate;
 
 /**
@@ -10,25 +18,52 @@ import java.time.LocalDate;
  */
 public class HostelManager implements Manageable<Room> {
     private static final Logger logger = Logger.getInstance();
+    private static final DomainEventLog domainEvents = DomainEventLog.getInstance();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private static final CrudMetrics crudMetrics = metrics.crud("hostel.rooms");
     private final Scanner scanner = new Scanner(System.in);
     
-    private Map<String, Room> rooms;
-    private Map<String, HostelBlock> hostelBlocks;
-    private Map<String, Allocation> allocations;
-    private Map<String, Payment> payments;
+    private final EntityStore<Room> rooms;
+    private final SecondaryIndex<Room, String> roomsByBlock;
+    private final SecondaryIndex<Room, Integer> roomsByFloor;
+    private final SecondaryIndex<Room, RoomType> roomsByType;
+    private final SecondaryIndex<Room, RoomStatus> roomsByStatus;
+    private final RangeIndex<Room, Double> roomsByRent;
+    private final EntityStore<HostelBlock> hostelBlocks;
+    private final EntityStore<Allocation> allocations;
+    private final SecondaryIndex<Allocation, String> allocationsByRoom;
+    private final SecondaryIndex<Allocation, String> allocationsByStudent;
+    private final EntityStore<Payment> payments;
+    private final RangeIndex<Payment, LocalDate> paymentsByDate;
+    private final RangeIndex<Payment, Double> paymentsByAmount;
     private NotificationService notificationService;
-    private int allocationCounter;
-    private int paymentCounter;
+    private final AtomicInteger allocationCounter;
+    private final AtomicInteger paymentCounter;
     
     public HostelManager() {
-        this.rooms = new HashMap<>();
-        this.hostelBlocks = new HashMap<>();
-        this.allocations = new HashMap<>();
-        this.payments = new HashMap<>();
+        this.rooms = new EntityStore<>("hostel.rooms");
+        this.roomsByBlock = rooms.addIndex(SecondaryIndex.byKey(
+                room -> room.getHostelBlock() != null ? room.getHostelBlock().toLowerCase() : null));
+        this.roomsByFloor = rooms.addIndex(SecondaryIndex.byKey(Room::getFloor));
+        this.roomsByType = rooms.addIndex(SecondaryIndex.byEnum(RoomType.class, Room::getRoomType));
+        this.roomsByStatus = rooms.addIndex(SecondaryIndex.byEnum(RoomStatus.class, Room::getStatus));
+        this.roomsByRent = rooms.addIndex(RangeIndex.by(Room::getMonthlyRent));
+        this.hostelBlocks = new EntityStore<>("hostel.blocks");
+        this.allocations = new EntityStore<>("hostel.allocations");
+        this.allocationsByRoom = allocations.addIndex(SecondaryIndex.byKey(Allocation::getRoomId));
+        this.allocationsByStudent = allocations.addIndex(SecondaryIndex.byKey(Allocation::getStudentId));
+        this.payments = new EntityStore<>("hostel.payments");
+        this.paymentsByDate = payments.addIndex(RangeIndex.by(Payment::getPaymentDate));
+        this.paymentsByAmount = payments.addIndex(RangeIndex.by(Payment::getAmount));
+        metrics.gauge("hostel.rooms.count", rooms::size);
+        metrics.gauge("hostel.allocations.count", allocations::size);
+        metrics.gauge("hostel.payments.count", payments::size);
         this.notificationService = NotificationService.getInstance();
-        this.allocationCounter = 1;
-        this.paymentCounter = 1;
-        initializeSampleData();
+        if (rooms.isEmpty()) {
+            initializeSampleData();
+        }
+        this.allocationCounter = new AtomicInteger(allocations.maxIdNumber("AL") + 1);
+        this.paymentCounter = new AtomicInteger(payments.maxIdNumber("PAY") + 1);
         logger.log("HostelManager initialized");
     }
     
@@ -69,6 +104,7 @@ public class HostelManager implements Manageable<Room> {
         Room room1 = rooms.get("A101");
         if (room1 != null) {
             room1.allocateRoom("S001", LocalDate.now().minusMonths(2));
+            rooms.put(room1.getRoomId(), room1);
             Allocation allocation1 = new Allocation("AL001", "S001", "A101", LocalDate.now().minusMonths(2));
             allocation1.setMonthlyRent(800.0);
             allocations.put("AL001", allocation1);
@@ -77,6 +113,7 @@ public class HostelManager implements Manageable<Room> {
         Room room2 = rooms.get("B201");
         if (room2 != null) {
             room2.allocateRoom("S002", LocalDate.now().minusMonths(1));
+            rooms.put(room2.getRoomId(), room2);
             Allocation allocation2 = new Allocation("AL002", "S002", "B201", LocalDate.now().minusMonths(1));
             allocation2.setMonthlyRent(1200.0);
             allocations.put("AL002", allocation2);
@@ -122,7 +159,7 @@ public class HostelManager implements Manageable<Room> {
                 case 5: reportsMenu(); break;
                 case 6: maintenanceMenu(); break;
                 case 7: searchMenu(); break;
-                case 8: displaySystemStatistics(); break;
+                case 8: metrics.time("hostel.displaySystemStatistics", this::displaySystemStatistics); break;
                 case 0: return;
                 default: System.out.println("Invalid choice. Please try again.");
             }
@@ -139,35 +176,271 @@ public class HostelManager implements Manageable<Room> {
     
     @Override
     public void create(Room room) {
-        rooms.put(room.getRoomId(), room);
-        notificationService.notifyObservers("New room created: " + room.getRoomId());
-        logger.log("Room created: " + room.getRoomId());
+        long start = System.nanoTime();
+        if (!rooms.replace(room.getRoomId(), 0, room)) {
+            throw new IllegalArgumentException("Room with ID " + room.getRoomId() + " already exists");
+        }
+        notificationService.notifyObservers(NotificationService.Topic.HOSTEL, "New room created: " + room.getRoomId());
+        domainEvents.append(new EntityChanged("Room", room.getRoomId(), EntityChanged.ChangeType.CREATED));
+        logger.info("Room created: {}", room.getRoomId());
+        crudMetrics.create().recordSince(start);
     }
     
     @Override
     public Room read(String roomId) {
-        return rooms.get(roomId);
+        long start = System.nanoTime();
+        Room room = rooms.get(roomId);
+        crudMetrics.read().recordSince(start);
+        return room;
     }
     
     @Override
     public void update(Room room) {
+        long start = System.nanoTime();
         rooms.put(room.getRoomId(), room);
-        notificationService.notifyObservers("Room updated: " + room.getRoomId());
-        logger.log("Room updated: " + room.getRoomId());
+        updated(room, start);
+    }
+    
+    @Override
+    public Room update(String roomId, Consumer<Room> change) {
+        long start = System.nanoTime();
+        Room room = rooms.update(roomId, change);
+        updated(room, start);
+        return room;
+    }
+    
+    private void updated(Room room, long start) {
+        notificationService.notifyObservers(NotificationService.Topic.HOSTEL, "Room updated: " + room.getRoomId());
+        domainEvents.append(new EntityChanged("Room", room.getRoomId(), EntityChanged.ChangeType.UPDATED));
+        logger.info("Room updated: {}", room.getRoomId());
+        crudMetrics.update().recordSince(start);
     }
     
     @Override
     public void delete(String roomId) {
+        long start = System.nanoTime();
         Room room = rooms.remove(roomId);
         if (room != null) {
-            notificationService.notifyObservers("Room deleted: " + roomId);
-            logger.log("Room deleted: " + roomId);
+            notificationService.notifyObservers(NotificationService.Topic.HOSTEL, "Room deleted: " + roomId);
+            domainEvents.append(new EntityChanged("Room", roomId, EntityChanged.ChangeType.DELETED));
+            logger.info("Room deleted: {}", roomId);
         }
+        crudMetrics.delete().recordSince(start);
     }
     
     @Override
     public List<Room> getAll() {
-        return new ArrayList<>(rooms.values());
+        long start = System.nanoTime();
+        List<Room> all = new ArrayList<>(rooms.values());
+        crudMetrics.getAll().recordSince(start);
+        return all;
+    }
+
+    /**
+     * Stores an allocation produced outside the interactive flow, e.g. by an import or the
+     * data generator. The room is expected to already list the student as an occupant.
+     */
+    public void addAllocation(Allocation allocation) {
+        allocations.put(allocation.getAllocationId(), allocation);
+        domainEvents.append(new EntityChanged("Allocation", allocation.getAllocationId(), EntityChanged.ChangeType.CREATED));
+        logger.debug("Allocation added: {}", allocation.getAllocationId());
+    }
+
+    /**
+     * Stores a payment produced outside the interactive flow, e.g. by an import or the data generator.
+     */
+    public void addPayment(Payment payment) {
+        payments.put(payment.getPaymentId(), payment);
+        domainEvents.append(new EntityChanged("Payment", payment.getPaymentId(), EntityChanged.ChangeType.CREATED));
+        logger.debug("Payment added: {}", payment.getPaymentId());
+    }
+
+    /**
+     * Allocates a place in an available room to a student and records the allocation
+     * as approved and checked in, the way the data generator seeds them.
+     *
+     * @throws NoSuchElementException if the room does not exist
+     * @throws IllegalStateException if the room is full or not available
+     * @throws IllegalArgumentException if the student already occupies the room
+     */
+    public Allocation allocateRoom(String roomId, String studentId, LocalDate startDate) {
+        // Allocate room and create the allocation record as one atomic change
+        String allocationId = "AL" + String.format("%03d", allocationCounter.getAndIncrement());
+        Allocation allocation = StorageManager.getInstance().atomically(
+                List.of(rooms.lockKey(roomId), allocations.lockKey(allocationId)), () -> {
+            Room room = requireRoom(roomId);
+            if (!room.isAvailable()) {
+                return null;
+            }
+            if (room.getCurrentOccupants().contains(studentId)) {
+                throw new IllegalArgumentException("Student " + studentId + " already occupies room " + roomId);
+            }
+            Allocation created = newActiveAllocation(allocationId, studentId, roomId, startDate);
+            if (!allocations.replace(allocationId, 0, created)) {
+                throw new IllegalStateException("Allocation ID already in use: " + allocationId);
+            }
+            room.allocateToStudent(studentId);
+            update(room);
+            return created;
+        });
+        
+        if (allocation == null) {
+            throw new IllegalStateException("Room is not available for allocation: " + roomId);
+        }
+        domainEvents.append(new RoomAllocated(allocationId, roomId, studentId, startDate));
+        return allocation;
+    }
+    
+    /**
+     * Removes a student from a room and checks out their active allocation, if any.
+     *
+     * @return the checked-out allocation, or null if the student had no active allocation record
+     * @throws NoSuchElementException if the room does not exist
+     * @throws IllegalStateException if the student does not occupy the room
+     */
+    public Allocation vacateRoom(String roomId, String studentId) {
+        // The allocation's ID is needed for its lock key, so look it up first
+        // and check inside the lock that it is still the student's active allocation
+        Allocation active = findActiveAllocation(roomId, studentId);
+        List<String> lockKeys = new ArrayList<>(List.of(rooms.lockKey(roomId)));
+        if (active != null) {
+            lockKeys.add(allocations.lockKey(active.getAllocationId()));
+        }
+        
+        Allocation checkedOut = StorageManager.getInstance().atomically(lockKeys, () -> {
+            Room room = requireRoom(roomId);
+            if (!room.getCurrentOccupants().contains(studentId) || (active != null && !active.isActive())) {
+                throw new IllegalStateException("Student " + studentId + " does not occupy room " + roomId);
+            }
+            room.deallocateStudent(studentId);
+            update(room);
+            
+            if (active != null) {
+                active.checkOut();
+                allocations.put(active.getAllocationId(), active);
+            }
+            return active;
+        });
+        
+        if (checkedOut != null) {
+            domainEvents.append(new RoomVacated(checkedOut.getAllocationId(), roomId, studentId));
+        }
+        return checkedOut;
+    }
+    
+    /**
+     * Moves a student from one room into another available room, checking out the
+     * old allocation and recording a new one.
+     *
+     * @return the new allocation
+     * @throws NoSuchElementException if either room does not exist
+     * @throws IllegalStateException if the student does not occupy the current room or the new room is not available
+     */
+    public Allocation transferRoom(String studentId, String currentRoomId, String newRoomId) {
+        if (currentRoomId.equals(newRoomId)) {
+            throw new IllegalArgumentException("Student is already in room " + currentRoomId);
+        }
+        
+        // The old allocation's ID is needed for its lock key, so look it up first
+        // and check inside the lock that it is still the student's active allocation
+        Allocation previous = findActiveAllocation(currentRoomId, studentId);
+        String allocationId = "AL" + String.format("%03d", allocationCounter.getAndIncrement());
+        LocalDate today = LocalDate.now();
+        List<String> lockKeys = new ArrayList<>(List.of(rooms.lockKey(currentRoomId), rooms.lockKey(newRoomId),
+                allocations.lockKey(allocationId)));
+        if (previous != null) {
+            lockKeys.add(allocations.lockKey(previous.getAllocationId()));
+        }
+        
+        Allocation created = StorageManager.getInstance().atomically(lockKeys, () -> {
+            Room currentRoom = requireRoom(currentRoomId);
+            Room newRoom = requireRoom(newRoomId);
+            if (!currentRoom.getCurrentOccupants().contains(studentId) || (previous != null && !previous.isActive())) {
+                throw new IllegalStateException("Student " + studentId + " does not occupy room " + currentRoomId);
+            }
+            if (!newRoom.isAvailable()) {
+                throw new IllegalStateException("Room is not available for allocation: " + newRoomId);
+            }
+            Allocation allocation = newActiveAllocation(allocationId, studentId, newRoomId, today);
+            if (!allocations.replace(allocationId, 0, allocation)) {
+                throw new IllegalStateException("Allocation ID already in use: " + allocationId);
+            }
+            if (previous != null) {
+                previous.checkOut();
+                allocations.put(previous.getAllocationId(), previous);
+            }
+            currentRoom.deallocateStudent(studentId);
+            newRoom.allocateToStudent(studentId);
+            update(currentRoom);
+            update(newRoom);
+            return allocation;
+        });
+        
+        if (previous != null) {
+            domainEvents.append(new RoomVacated(previous.getAllocationId(), currentRoomId, studentId));
+        }
+        domainEvents.append(new RoomAllocated(allocationId, newRoomId, studentId, today));
+        return created;
+    }
+    
+    /**
+     * Reads a room inside a locked block, where the stored instance is the one to change in place.
+     */
+    private Room requireRoom(String roomId) {
+        Room room = rooms.get(roomId);
+        if (room == null) {
+            throw new NoSuchElementException("Room not found: " + roomId);
+        }
+        return room;
+    }
+    
+    private Allocation newActiveAllocation(String allocationId, String studentId, String roomId, LocalDate startDate) {
+        Allocation allocation = new Allocation(allocationId, studentId, roomId);
+        allocation.setAllocationDate(startDate);
+        allocation.setAllocatedBy("System");
+        allocation.approve("System");
+        allocation.paySecurityDeposit();
+        allocation.checkIn();
+        return allocation;
+    }
+    
+    private Allocation findActiveAllocation(String roomId, String studentId) {
+        return allocationsByRoom.get(roomId).stream()
+                .filter(alloc -> alloc.getStudentId().equals(studentId) && alloc.isActive())
+                .findFirst()
+                .orElse(null);
+    }
+    
+    /**
+     * Records a completed payment dated today against the student's active allocation, if any.
+     *
+     * @throws IllegalArgumentException if the amount is not a positive finite number
+     */
+    public Payment recordPayment(String studentId, double amount, PaymentType paymentType, String paymentMethod,
+                                 String description) {
+        if (!Double.isFinite(amount) || amount <= 0) {
+            throw new IllegalArgumentException("Payment amount must be positive");
+        }
+        
+        String allocationId = allocationsByStudent.get(studentId).stream()
+                .filter(Allocation::isActive)
+                .map(Allocation::getAllocationId)
+                .findFirst()
+                .orElse(null);
+        String paymentId = "PAY" + String.format("%03d", paymentCounter.getAndIncrement());
+        Payment payment = new Payment(paymentId, studentId, allocationId, paymentType, amount);
+        if (description != null && !description.trim().isEmpty()) {
+            payment.setDescription(description);
+        }
+        String method = paymentMethod != null && !paymentMethod.trim().isEmpty() ? paymentMethod : "Cash";
+        payment.processPayment(method, null, "System");
+        
+        if (!payments.replace(paymentId, 0, payment)) {
+            throw new IllegalStateException("Payment ID already in use: " + paymentId);
+        }
+        domainEvents.append(new PaymentCompleted(paymentId, studentId, amount, paymentType.toString()));
+        logger.info("Payment recorded: {}", paymentId);
+        return payment;
     }
     
     private void roomManagementMenu() {
@@ -361,13 +634,14 @@ public class HostelManager implements Manageable<Room> {
         System.out.print("Enter choice: ");
         
         int choice = getChoice();
+        Consumer<Room> change;
         
         switch (choice) {
             case 1:
                 System.out.print("Enter new monthly rent: $");
                 try {
                     double rent = Double.parseDouble(scanner.nextLine());
-                    room.setMonthlyRent(rent);
+                    change = r -> r.setMonthlyRent(rent);
                 } catch (NumberFormatException e) {
                     System.out.println("Invalid rent amount.");
                     return;
@@ -382,7 +656,8 @@ public class HostelManager implements Manageable<Room> {
                 System.out.print("Enter choice: ");
                 int typeChoice = getChoice();
                 if (typeChoice >= 1 && typeChoice <= types.length) {
-                    room.setRoomType(types[typeChoice - 1]);
+                    RoomType type = types[typeChoice - 1];
+                    change = r -> r.setRoomType(type);
                 } else {
                     System.out.println("Invalid choice.");
                     return;
@@ -397,7 +672,8 @@ public class HostelManager implements Manageable<Room> {
                 System.out.print("Enter choice: ");
                 int statusChoice = getChoice();
                 if (statusChoice >= 1 && statusChoice <= statuses.length) {
-                    room.setStatus(statuses[statusChoice - 1]);
+                    RoomStatus status = statuses[statusChoice - 1];
+                    change = r -> r.setStatus(status);
                 } else {
                     System.out.println("Invalid choice.");
                     return;
@@ -408,7 +684,12 @@ public class HostelManager implements Manageable<Room> {
                 return;
         }
         
-        update(room);
+        try {
+            update(roomId, change);
+        } catch (NoSuchElementException | IllegalStateException | IllegalArgumentException e) {
+            System.out.println("Update failed: " + e.getMessage());
+            return;
+        }
         System.out.println("Room updated successfully!");
     }
     
@@ -472,7 +753,7 @@ public class HostelManager implements Manageable<Room> {
             return;
         }
         
-        if (room.getStatus() != RoomStatus.AVAILABLE) {
+        if (!room.isAvailable()) {
             System.out.println("Room is not available for allocation.");
             return;
         }
@@ -492,21 +773,22 @@ public class HostelManager implements Manageable<Room> {
             }
         }
         
-        // Allocate room
-        room.allocateRoom(studentId, allocationDate);
-        update(room);
-        
-        // Create allocation record
-        String allocationId = "AL" + String.format("%03d", allocationCounter++);
-        Allocation allocation = new Allocation(allocationId, studentId, roomId, allocationDate);
-        allocation.setMonthlyRent(room.getMonthlyRent());
-        allocations.put(allocationId, allocation);
+        Allocation allocation;
+        try {
+            allocation = allocateRoom(roomId, studentId, allocationDate);
+        } catch (IllegalStateException e) {
+            System.out.println("Room was allocated by another user in the meantime.");
+            return;
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+            return;
+        }
         
         System.out.println("Room allocated successfully!");
-        System.out.println("Allocation ID: " + allocationId);
+        System.out.println("Allocation ID: " + allocation.getAllocationId());
         System.out.println("Student: " + studentId);
         System.out.println("Room: " + roomId);
-        System.out.println("Monthly Rent: $" + room.getMonthlyRent());
+        System.out.println("Monthly Rent: $" + room.calculateMonthlyRentPerPerson());
     }
     
     private void deallocateRoomInteractive() {
@@ -520,30 +802,21 @@ public class HostelManager implements Manageable<Room> {
             return;
         }
         
-        if (room.getStatus() != RoomStatus.OCCUPIED) {
-            System.out.println("Room is not currently occupied.");
+        String studentId = chooseOccupant(room);
+        if (studentId == null) {
             return;
         }
         
-        System.out.println("Current occupant: " + room.getCurrentOccupant());
-        System.out.print("Are you sure you want to deallocate this room? (yes/no): ");
+        System.out.print("Are you sure you want to deallocate " + studentId + " from this room? (yes/no): ");
         String confirmation = scanner.nextLine();
         
         if ("yes".equalsIgnoreCase(confirmation)) {
-            String studentId = room.getCurrentOccupant();
-            room.deallocateRoom();
-            update(room);
-            
-            // Update allocation record
-            allocations.values().stream()
-                    .filter(alloc -> alloc.getRoomId().equals(roomId) && 
-                                   alloc.getStudentId().equals(studentId) && 
-                                   alloc.getStatus() == AllocationStatus.ACTIVE)
-                    .findFirst()
-                    .ifPresent(alloc -> {
-                        alloc.setStatus(AllocationStatus.TERMINATED);
-                        alloc.setEndDate(LocalDate.now());
-                    });
+            try {
+                vacateRoom(roomId, studentId);
+            } catch (IllegalStateException e) {
+                System.out.println("Error: " + e.getMessage());
+                return;
+            }
             
             System.out.println("Room deallocated successfully!");
         } else {
@@ -616,17 +889,19 @@ public class HostelManager implements Manageable<Room> {
         String currentRoomId = scanner.nextLine();
         
         Room currentRoom = read(currentRoomId);
-        if (currentRoom == null || currentRoom.getStatus() != RoomStatus.OCCUPIED) {
-            System.out.println("Room not found or not occupied.");
+        if (currentRoom == null) {
+            System.out.println("Room not found.");
             return;
         }
         
-        String studentId = currentRoom.getCurrentOccupant();
-        System.out.println("Current occupant: " + studentId);
+        String studentId = chooseOccupant(currentRoom);
+        if (studentId == null) {
+            return;
+        }
         
         // Show available rooms
         List<Room> availableRooms = rooms.values().stream()
-                .filter(room -> room.getStatus() == RoomStatus.AVAILABLE)
+                .filter(room -> room.isAvailable() && !room.getRoomId().equals(currentRoomId))
                 .collect(Collectors.toList());
         
         if (availableRooms.isEmpty()) {
@@ -642,41 +917,45 @@ public class HostelManager implements Manageable<Room> {
         String newRoomId = scanner.nextLine();
         
         Room newRoom = read(newRoomId);
-        if (newRoom == null || newRoom.getStatus() != RoomStatus.AVAILABLE) {
+        if (newRoom == null || !newRoom.isAvailable() || newRoomId.equals(currentRoomId)) {
             System.out.println("New room not found or not available.");
             return;
         }
         
         // Perform transfer
-        currentRoom.deallocateRoom();
-        newRoom.allocateRoom(studentId, LocalDate.now());
-        
-        update(currentRoom);
-        update(newRoom);
-        
-        // Update allocation records
-        allocations.values().stream()
-                .filter(alloc -> alloc.getRoomId().equals(currentRoomId) && 
-                               alloc.getStudentId().equals(studentId) && 
-                               alloc.getStatus() == AllocationStatus.ACTIVE)
-                .findFirst()
-                .ifPres
-                .findFirst()
-                .ifPresent(alloc -> {
-                    alloc.setStatus(AllocationStatus.TERMINATED);
-                    alloc.setEndDate(LocalDate.now());
-                });
-        
-        // Create new allocation record
-        String allocationId = "AL" + String.format("%03d", allocationCounter++);
-        Allocation newAllocation = new Allocation(allocationId, studentId, newRoomId, LocalDate.now());
-        newAllocation.setMonthlyRent(newRoom.getMonthlyRent());
-        allocations.put(allocationId, newAllocation);
+        try {
+            transferRoom(studentId, currentRoomId, newRoomId);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            System.out.println("Transfer failed: " + e.getMessage());
+            return;
+        }
         
         System.out.println("Room transfer completed successfully!");
         System.out.println("Student " + studentId + " transferred from " + currentRoomId + " to " + newRoomId);
     }
     
+    /**
+     * Lists a room's occupants and returns the one to act on, asking only when there is more than one.
+     */
+    private String chooseOccupant(Room room) {
+        List<String> occupants = room.getCurrentOccupants();
+        if (occupants.isEmpty()) {
+            System.out.println("Room is not currently occupied.");
+            return null;
+        }
+        System.out.println("Current occupants: " + String.join(", ", occupants));
+        if (occupants.size() == 1) {
+            return occupants.get(0);
+        }
+        System.out.print("Enter Student ID: ");
+        String studentId = scanner.nextLine().trim();
+        if (!occupants.contains(studentId)) {
+            System.out.println("Student " + studentId + " does not occupy this room.");
+            return null;
+        }
+        return studentId;
+    }
+    
     private void paymentManagementMenu() {
         System.out.println("\n=== PAYMENT MANAGEMENT ===");
         System.out.println("1. Record Payment");
@@ -701,8 +980,6 @@ public class HostelManager implements Manageable<Room> {
     private void recordPaymentInteractive() {
         System.out.println("\n=== RECORD PAYMENT ===");
         
-        String paymentId = "PAY" + String.format("%03d", paymentCounter++);
-        
         System.out.print("Enter Student ID: ");
         String studentId = scanner.nextLine();
         
@@ -730,20 +1007,19 @@ public class HostelManager implements Manageable<Room> {
         
         PaymentType paymentType = types[typeChoice - 1];
         
-        Payment payment = new Payment(paymentId, studentId, amount, paymentType);
-        payment.setPaymentDate(LocalDate.now());
-        payment.setStatus(PaymentStatus.COMPLETED);
+        System.out.print("Enter Payment Method (default Cash): ");
+        String paymentMethod = scanner.nextLine();
         
         System.out.print("Enter Description (optional): ");
         String description = scanner.nextLine();
-        if (!description.trim().isEmpty()) {
-            payment.setDescription(description);
-        }
         
-        payments.put(paymentId, payment);
-        
-        System.out.println("Payment recorded successfully!");
-        payment.displayPaymentInfo();
+        try {
+            Payment payment = recordPayment(studentId, amount, paymentType, paymentMethod, description);
+            System.out.println("Payment recorded successfully!");
+            payment.displayPaymentInfo();
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
     }
     
     private void viewAllPayments() {
@@ -859,9 +1135,9 @@ public class HostelManager implements Manageable<Room> {
         int choice = getChoice();
         
         switch (choice) {
-            case 1: generateMonthlyRevenueReport(); break;
-            case 2: generatePaymentTypeAnalysis(); break;
-            case 3: generateOutstandingPaymentsReport(); break;
+            case 1: metrics.time("hostel.generateMonthlyRevenueReport", this::generateMonthlyRevenueReport); break;
+            case 2: metrics.time("hostel.generatePaymentTypeAnalysis", this::generatePaymentTypeAnalysis); break;
+            case 3: metrics.time("hostel.generateOutstandingPaymentsReport", this::generateOutstandingPaymentsReport); break;
             default: System.out.println("Invalid choice.");
         }
     }
@@ -989,7 +1265,7 @@ public class HostelManager implements Manageable<Room> {
             case 1: viewAllHostelBlocks(); break;
             case 2: addNewHostelBlockInteractive(); break;
             case 3: updateHostelBlockInteractive(); break;
-            case 4: displayBlockStatistics(); break;
+            case 4: metrics.time("hostel.displayBlockStatistics", this::displayBlockStatistics); break;
             default: System.out.println("Invalid choice.");
         }
     }
@@ -1087,20 +1363,24 @@ public class HostelManager implements Manageable<Room> {
         System.out.print("Enter choice: ");
         
         int choice = getChoice();
+        Consumer<HostelBlock> change;
         
         switch (choice) {
             case 1:
                 System.out.print("Enter new block name: ");
-                block.setBlockName(scanner.nextLine());
+                String blockName = scanner.nextLine();
+                change = b -> b.setBlockName(blockName);
                 break;
             case 2:
                 System.out.print("Enter new description: ");
-                block.setDescription(scanner.nextLine());
+                String description = scanner.nextLine();
+                change = b -> b.setDescription(description);
                 break;
             case 3:
                 System.out.print("Enter new total floors: ");
                 try {
-                    block.setTotalFloors(Integer.parseInt(scanner.nextLine()));
+                    int totalFloors = Integer.parseInt(scanner.nextLine());
+                    change = b -> b.setTotalFloors(totalFloors);
                 } catch (NumberFormatException e) {
                     System.out.println("Invalid floor count.");
                     return;
@@ -1109,7 +1389,8 @@ public class HostelManager implements Manageable<Room> {
             case 4:
                 System.out.print("Enter new rooms per floor: ");
                 try {
-                    block.setRoomsPerFloor(Integer.parseInt(scanner.nextLine()));
+                    int roomsPerFloor = Integer.parseInt(scanner.nextLine());
+                    change = b -> b.setRoomsPerFloor(roomsPerFloor);
                 } catch (NumberFormatException e) {
                     System.out.println("Invalid rooms per floor count.");
                     return;
@@ -1120,6 +1401,12 @@ public class HostelManager implements Manageable<Room> {
                 return;
         }
         
+        try {
+            hostelBlocks.update(blockId, change);
+        } catch (NoSuchElementException | IllegalStateException | IllegalArgumentException e) {
+            System.out.println("Update failed: " + e.getMessage());
+            return;
+        }
         System.out.println("Block updated successfully!");
     }
     
@@ -1170,10 +1457,10 @@ public class HostelManager implements Manageable<Room> {
         int choice = getChoice();
         
         switch (choice) {
-            case 1: generateOccupancyReport(); break;
-            case 2: generateRevenueReport(); break;
-            case 3: generateStudentReport(); break;
-            case 4: generateRoomUtilizationReport(); break;
+            case 1: metrics.time("hostel.generateOccupancyReport", this::generateOccupancyReport); break;
+            case 2: metrics.time("hostel.generateRevenueReport", this::generateRevenueReport); break;
+            case 3: metrics.time("hostel.generateStudentReport", this::generateStudentReport); break;
+            case 4: metrics.time("hostel.generateRoomUtilizationReport", this::generateRoomUtilizationReport); break;
             default: System.out.println("Invalid choice.");
         }
     }
@@ -1350,7 +1637,7 @@ public class HostelManager implements Manageable<Room> {
             case 1: markRoomForMaintenanceInteractive(); break;
             case 2: completeMaintenanceInteractive(); break;
             case 3: viewMaintenanceRooms(); break;
-            case 4: generateMaintenanceReport(); break;
+            case 4: metrics.time("hostel.generateMaintenanceReport", this::generateMaintenanceReport); break;
             default: System.out.println("Invalid choice.");
         }
     }
@@ -1509,9 +1796,9 @@ public class HostelManager implements Manageable<Room> {
         System.out.print("Enter Block ID: ");
         String blockId = scanner.nextLine();
         
-        List<Room> results = rooms.values().stream()
-                .filter(room -> room.getBlockId().equalsIgnoreCase(blockId))
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        List<Room> results = roomsByBlock.get(blockId.toLowerCase());
+        metrics.recordSince("hostel.searchRoomsByBlock", start);
         
         displayRoomSearchResults(results, "block '" + blockId + "'");
     }
@@ -1521,9 +1808,9 @@ public class HostelManager implements Manageable<Room> {
         try {
             int floor = Integer.parseInt(scanner.nextLine());
             
-            List<Room> results = rooms.values().stream()
-                    .filter(room -> room.getFloorNumber() == floor)
-                    .collect(Collectors.toList());
+            long start = System.nanoTime();
+            List<Room> results = roomsByFloor.get(floor);
+            metrics.recordSince("hostel.searchRoomsByFloor", start);
             
             displayRoomSearchResults(results, "floor " + floor);
         } catch (NumberFormatException e) {
@@ -1543,9 +1830,9 @@ public class HostelManager implements Manageable<Room> {
         if (choice >= 1 && choice <= types.length) {
             RoomType selectedType = types[choice - 1];
             
-            List<Room> results = rooms.values().stream()
-                    .filter(room -> room.getRoomType() == selectedType)
-                    .collect(Collectors.toList());
+            long start = System.nanoTime();
+            List<Room> results = roomsByType.get(selectedType);
+            metrics.recordSince("hostel.searchRoomsByType", start);
             
             displayRoomSearchResults(results, "type '" + selectedType + "'");
         } else {
@@ -1565,9 +1852,9 @@ public class HostelManager implements Manageable<Room> {
         if (choice >= 1 && choice <= statuses.length) {
             RoomStatus selectedStatus = statuses[choice - 1];
             
-            List<Room> results = rooms.values().stream()
-                    .filter(room -> room.getStatus() == selectedStatus)
-                    .collect(Collectors.toList());
+            long start = System.nanoTime();
+            List<Room> results = roomsByStatus.get(selectedStatus);
+            metrics.recordSince("hostel.searchRoomsByStatus", start);
             
             displayRoomSearchResults(results, "status '" + selectedStatus + "'");
         } else {
@@ -1582,9 +1869,9 @@ public class HostelManager implements Manageable<Room> {
             System.out.print("Enter maximum rent: $");
             double maxRent = Double.parseDouble(scanner.nextLine());
             
-            List<Room> results = rooms.values().stream()
-                    .filter(room -> room.getMonthlyRent() >= minRent && room.getMonthlyRent() <= maxRent)
-                    .collect(Collectors.toList());
+            long start = System.nanoTime();
+            List<Room> results = roomsByRent.range(minRent, maxRent);
+            metrics.recordSince("hostel.searchRoomsByRentRange", start);
             
             displayRoomSearchResults(results, "rent range $" + minRent + " - $" + maxRent);
         } catch (NumberFormatException e) {
@@ -1681,9 +1968,11 @@ public class HostelManager implements Manageable<Room> {
         System.out.print("Enter Student ID: ");
         String studentId = scanner.nextLine();
         
+        long start = System.nanoTime();
         List<Payment> results = payments.values().stream()
                 .filter(payment -> payment.getStudentId().equals(studentId))
                 .collect(Collectors.toList());
+        metrics.recordSince("hostel.searchPaymentsByStudent", start);
         
         displayPaymentSearchResults(results, "student '" + studentId + "'");
     }
@@ -1700,9 +1989,11 @@ public class HostelManager implements Manageable<Room> {
         if (choice >= 1 && choice <= types.length) {
             PaymentType selectedType = types[choice - 1];
             
+            long start = System.nanoTime();
             List<Payment> results = payments.values().stream()
                     .filter(payment -> payment.getPaymentType() == selectedType)
                     .collect(Collectors.toList());
+            metrics.recordSince("hostel.searchPaymentsByType", start);
             
             displayPaymentSearchResults(results, "type '" + selectedType + "'");
         } else {
@@ -1720,11 +2011,9 @@ public class HostelManager implements Manageable<Room> {
             LocalDate startDate = LocalDate.parse(startDateStr);
             LocalDate endDate = LocalDate.parse(endDateStr);
             
-            List<Payment> results = payments.values().stream()
-                    .filter(payment -> payment.getPaymentDate() != null &&
-                                     !payment.getPaymentDate().isBefore(startDate) &&
-                                     !payment.getPaymentDate().isAfter(endDate))
-                    .collect(Collectors.toList());
+            long start = System.nanoTime();
+            List<Payment> results = paymentsByDate.range(startDate, endDate);
+            metrics.recordSince("hostel.searchPaymentsByDateRange", start);
             
             displayPaymentSearchResults(results, "date range " + startDate + " to " + endDate);
         } catch (Exception e) {
@@ -1739,9 +2028,9 @@ public class HostelManager implements Manageable<Room> {
             System.out.print("Enter maximum amount: $");
             double maxAmount = Double.parseDouble(scanner.nextLine());
             
-            List<Payment> results = payments.values().stream()
-                    .filter(payment -> payment.getAmount() >= minAmount && payment.getAmount() <= maxAmount)
-                    .collect(Collectors.toList());
+            long start = System.nanoTime();
+            List<Payment> results = paymentsByAmount.range(minAmount, maxAmount);
+            metrics.recordSince("hostel.searchPaymentsByAmountRange", start);
             
             displayPaymentSearchResults(results, "amount range $" + minAmount + " - $" + maxAmount);
         } catch (NumberFormatException e) {
@@ -1860,8 +2149,8 @@ public class HostelManager implements Manageable<Room> {
     
     // Utility methods for external access
     public int getTotalRooms() { return rooms.size(); }
-    public int getAvailableRooms() { return (int) rooms.values().stream().filter(r -> r.getStatus() == RoomStatus.AVAILABLE).count(); }
-    public int getOccupiedRooms() { return (int) rooms.values().stream().filter(r -> r.getStatus() == RoomStatus.OCCUPIED).count(); }
+    public int getAvailableRooms() { return roomsByStatus.count(RoomStatus.AVAILABLE); }
+    public int getOccupiedRooms() { return roomsByStatus.count(RoomStatus.OCCUPIED); }
     public int getTotalAllocations() { return allocations.size(); }
     public int getActiveAllocations() { return (int) allocations.values().stream().filter(a -> a.getStatus() == AllocationStatus.ACTIVE).count(); }
     
@@ -1884,4 +2173,11 @@ public class HostelManager implements Manageable<Room> {
         long occupied = rooms.values().stream().filter(r -> r.getStatus() == RoomStatus.OCCUPIED).count();
         return (double) occupied / rooms.size() * 100;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Streams the payments without copying them; weakly consistent with concurrent changes.
+     */
+    public Stream<Payment> streamPayments() {
+        return payments.values().stream();
+    }
+}
@@ -9,6 +9,8 @@ import java.util.Objects;
  * Payment class for hostel fee payments
  */
 public class Payment implements Identifiable {
+    private static final long serialVersionUID = 10321876879160482L;
+
     private String paymentId;
     private String studentId;
     private String allocationId;
@@ -8,6 +8,8 @@ import java.util.*;
  * Room class representing hostel rooms
  */
 public class Room implements Identifiable {
+    private static final long serialVersionUID = 5012060061039845296L;
+
     private String roomId;
     private String roomNumber;
     private RoomType roomType;
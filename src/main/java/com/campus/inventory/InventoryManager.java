@@ -1,8 +1,19 @@
 package com.campus.inventory;
 
+import com.campus.domain.*;
+import com.campus.storage.EntityStore;
+import com.campus.storage.RangeIndex;
+import com.campus.storage.StorageManager;
 import com.campus.utils.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.IntStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -11,19 +22,30 @@ import java.time.LocalDateTime;
  */
 public class InventoryManager implements Manageable<Item> {
     private static final Logger logger = Logger.getInstance();
+    private static final DomainEventLog domainEvents = DomainEventLog.getInstance();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private static final CrudMetrics crudMetrics = metrics.crud("inventory.items");
+    private static final StorageManager storage = StorageManager.getInstance();
+    private static final int IMPORT_BATCH_SIZE = 10_000;
     private final Scanner scanner = new Scanner(System.in);
     
-    private Map<String, Item> items;
-    private Map<String, StockTransaction> transactions;
+    private final EntityStore<Item> items;
+    private final EntityStore<StockTransaction> transactions;
+    private final RangeIndex<StockTransaction, LocalDateTime> transactionsByDate;
     private NotificationService notificationService;
-    private int transactionCounter;
+    private final AtomicInteger transactionCounter;
     
     public InventoryManager() {
-        this.items = new HashMap<>();
-        this.transactions = new HashMap<>();
+        this.items = new EntityStore<>("inventory.items");
+        this.transactions = new EntityStore<>("inventory.transactions");
+        this.transactionsByDate = transactions.addIndex(RangeIndex.by(StockTransaction::getTransactionDate));
+        metrics.gauge("inventory.items.count", items::size);
+        metrics.gauge("inventory.transactions.count", transactions::size);
         this.notificationService = NotificationService.getInstance();
-        this.transactionCounter = 1;
-        initializeSampleData();
+        if (items.isEmpty()) {
+            initializeSampleData();
+        }
+        this.transactionCounter = new AtomicInteger(transactions.maxIdNumber("T") + 1);
         logger.log("InventoryManager initialized");
     }
     
@@ -110,7 +132,7 @@ public class InventoryManager implements Manageable<Item> {
                 case 4: reportsMenu(); break;
                 case 5: alertsMenu(); break;
                 case 6: searchMenu(); break;
-                case 7: displaySystemStatistics(); break;
+                case 7: metrics.time("inventory.displaySystemStatistics", this::displaySystemStatistics); break;
                 case 0: return;
                 default: System.out.println("Invalid choice. Please try again.");
             }
@@ -173,35 +195,149 @@ public class InventoryManager implements Manageable<Item> {
     
     @Override
     public void create(Item item) {
-        items.put(item.getItemId(), item);
-        notificationService.notifyObservers("New item added: " + item.getItemName());
-        logger.log("Item created: " + item.getItemId());
+        long start = System.nanoTime();
+        if (!items.replace(item.getItemId(), 0, item)) {
+            throw new IllegalArgumentException("Item with ID " + item.getItemId() + " already exists");
+        }
+        notificationService.notifyObservers(NotificationService.Topic.INVENTORY, "New item added: " + item.getItemName());
+        domainEvents.append(new EntityChanged("Item", item.getItemId(), EntityChanged.ChangeType.CREATED));
+        logger.info("Item created: {}", item.getItemId());
+        crudMetrics.create().recordSince(start);
     }
     
     @Override
     public Item read(String itemId) {
-        return items.get(itemId);
+        long start = System.nanoTime();
+        Item item = items.get(itemId);
+        crudMetrics.read().recordSince(start);
+        return item;
     }
     
     @Override
     public void update(Item item) {
+        long start = System.nanoTime();
         items.put(item.getItemId(), item);
-        notificationService.notifyObservers("Item updated: " + item.getItemName());
-        logger.log("Item updated: " + item.getItemId());
+        updated(item, start);
+    }
+    
+    @Override
+    public Item update(String itemId, Consumer<Item> change) {
+        long start = System.nanoTime();
+        Item item = items.update(itemId, change);
+        updated(item, start);
+        return item;
+    }
+    
+    private void updated(Item item, long start) {
+        notificationService.notifyObservers(NotificationService.Topic.INVENTORY, "Item updated: " + item.getItemName());
+        domainEvents.append(new EntityChanged("Item", item.getItemId(), EntityChanged.ChangeType.UPDATED));
+        logger.info("Item updated: {}", item.getItemId());
+        crudMetrics.update().recordSince(start);
     }
     
     @Override
     public void delete(String itemId) {
+        long start = System.nanoTime();
         Item item = items.remove(itemId);
         if (item != null) {
-            notificationService.notifyObservers("Item deleted: " + item.getItemName());
-            logger.log("Item deleted: " + itemId);
+            notificationService.notifyObservers(NotificationService.Topic.INVENTORY, "Item deleted: " + item.getItemName());
+            domainEvents.append(new EntityChanged("Item", itemId, EntityChanged.ChangeType.DELETED));
+            logger.info("Item deleted: {}", itemId);
         }
+        crudMetrics.delete().recordSince(start);
     }
     
     @Override
     public List<Item> getAll() {
-        return new ArrayList<>(items.values());
+        long start = System.nanoTime();
+        List<Item> all = new ArrayList<>(items.values());
+        crudMetrics.getAll().recordSince(start);
+        return all;
+    }
+    
+    /**
+     * Receives stock for an item and records a STOCK_IN transaction.
+     *
+     * @throws NoSuchElementException if the item does not exist
+     * @throws IllegalArgumentException if the quantity is not positive
+     */
+    public StockTransaction addStock(String itemId, int quantity, double unitPrice, String performedBy, String reason) {
+        return storage.atomically(List.of(items.lockKey(itemId)), () -> {
+            Item item = requireItem(itemId);
+            item.addStock(quantity);
+            update(item);
+            return recordTransaction(itemId, TransactionType.STOCK_IN, quantity, unitPrice, performedBy, reason);
+        });
+    }
+    
+    /**
+     * Issues stock of an item and records a STOCK_OUT transaction, raising a low stock
+     * notification if the item drops to its minimum level.
+     *
+     * @throws NoSuchElementException if the item does not exist
+     * @throws IllegalArgumentException if the quantity is not positive
+     * @throws IllegalStateException if there is not enough stock
+     */
+    public StockTransaction removeStock(String itemId, int quantity, String performedBy, String reason) {
+        StockTransaction transaction = storage.atomically(List.of(items.lockKey(itemId)), () -> {
+            Item item = requireItem(itemId);
+            item.removeStock(quantity);
+            update(item);
+            return recordTransaction(itemId, TransactionType.STOCK_OUT, quantity, item.getUnitPrice(), performedBy, reason);
+        });
+        Item item = read(itemId);
+        if (item != null && item.isLowStock()) {
+            notificationService.notifyObservers(NotificationService.Topic.INVENTORY, "Low stock alert: " + item.getItemName());
+        }
+        return transaction;
+    }
+    
+    /**
+     * Moves an item to a new location and records a TRANSFER transaction.
+     *
+     * @throws NoSuchElementException if the item does not exist
+     * @throws IllegalStateException if the quantity exceeds the stock on hand
+     */
+    public StockTransaction transferStock(String itemId, String newLocation, int quantity, String recipient, String performedBy) {
+        return storage.atomically(List.of(items.lockKey(itemId)), () -> {
+            Item item = requireItem(itemId);
+            if (quantity > item.getQuantity()) {
+                throw new IllegalStateException("Insufficient stock for transfer. Available: " + item.getQuantity());
+            }
+            item.relocate(newLocation);
+            update(item);
+            
+            StockTransaction transaction = recordTransaction(itemId, TransactionType.TRANSFER, quantity,
+                    item.getUnitPrice(), performedBy, "Transfer to " + newLocation);
+            transaction.setRecipient(recipient);
+            transactions.put(transaction.getTransactionId(), transaction);
+            return transaction;
+        });
+    }
+    
+    /**
+     * Sets an item's stock to a counted quantity and records the difference as an ADJUSTMENT.
+     *
+     * @throws NoSuchElementException if the item does not exist
+     * @throws IllegalArgumentException if the quantity is negative
+     */
+    public StockTransaction adjustStock(String itemId, int newQuantity, String performedBy, String reason) {
+        return storage.atomically(List.of(items.lockKey(itemId)), () -> {
+            Item item = requireItem(itemId);
+            int difference = newQuantity - item.getQuantity();
+            item.updateStock(newQuantity);
+            update(item);
+            return recordTransaction(itemId, TransactionType.ADJUSTMENT, Math.abs(difference),
+                    item.getUnitPrice(), performedBy, reason);
+        });
+    }
+    
+    private Item requireItem(String itemId) {
+        Item item = read(itemId);
+        if (item == null) {
+            throw new NoSuchElementException("Item not found: " + itemId);
+        }
+        return item;
     }
     
     private void addItemInteractive() {
@@ -376,21 +512,24 @@ public class InventoryManager implements Manageable<Item> {
         System.out.print("Enter choice: ");
         
         int choice = getChoice();
+        Consumer<Item> change;
         
         switch (choice) {
             case 1:
                 System.out.print("Enter new name: ");
-                item.setItemName(scanner.nextLine());
+                String name = scanner.nextLine();
+                change = i -> i.setItemName(name);
                 break;
             case 2:
                 System.out.print("Enter new description: ");
-                item.setDescription(scanner.nextLine());
+                String description = scanner.nextLine();
+                change = i -> i.setDescription(description);
                 break;
             case 3:
                 System.out.print("Enter new price: ");
                 try {
                     double price = Double.parseDouble(scanner.nextLine());
-                    item.updatePrice(price);
+                    change = i -> i.updatePrice(price);
                 } catch (NumberFormatException e) {
                     System.out.println("Invalid price.");
                     return;
@@ -398,16 +537,19 @@ public class InventoryManager implements Manageable<Item> {
                 break;
             case 4:
                 System.out.print("Enter new location: ");
-                item.setLocation(scanner.nextLine());
+                String location = scanner.nextLine();
+                change = i -> i.setLocation(location);
                 break;
             case 5:
                 System.out.print("Enter minimum stock level: ");
                 try {
                     int minStock = Integer.parseInt(scanner.nextLine());
-                    item.setMinStockLevel(minStock);
                     System.out.print("Enter maximum stock level: ");
                     int maxStock = Integer.parseInt(scanner.nextLine());
-                    item.setMaxStockLevel(maxStock);
+                    change = i -> {
+                        i.setMinStockLevel(minStock);
+                        i.setMaxStockLevel(maxStock);
+                    };
                 } catch (NumberFormatException e) {
                     System.out.println("Invalid stock level.");
                     return;
@@ -415,21 +557,27 @@ public class InventoryManager implements Manageable<Item> {
                 break;
             case 6:
                 System.out.print("Enter tag to add: ");
-                item.addTag(scanner.nextLine());
+                String tag = scanner.nextLine();
+                change = i -> i.addTag(tag);
                 break;
             case 7:
                 System.out.print("Enter specification key: ");
                 String key = scanner.nextLine();
                 System.out.print("Enter specification value: ");
                 String value = scanner.nextLine();
-                item.addSpecification(key, value);
+                change = i -> i.addSpecification(key, value);
                 break;
             default:
                 System.out.println("Invalid choice.");
                 return;
         }
         
-        update(item);
+        try {
+            update(itemId, change);
+        } catch (NoSuchElementException | IllegalStateException | IllegalArgumentException e) {
+            System.out.println("Update failed: " + e.getMessage());
+            return;
+        }
         System.out.println("Item updated successfully!");
     }
     
@@ -460,44 +608,116 @@ public class InventoryManager implements Manageable<Item> {
     
     private void bulkImportItems() {
         System.out.println("\n=== BULK IMPORT ITEMS ===");
-        System.out.println("This feature would typically import from CSV/Excel files.");
-        System.out.println("For demonstration, adding sample items...");
-        
-        // Add some sample items for bulk import demo
-        String[][] sampleItems = {
-            {"I100", "Whiteboard Marker", "STATIONERY", "100", "2.50", "Pilot", "Office Store"},
-            {"I101", "USB Flash Drive", "ELECTRONICS", "50", "15.00", "SanDisk", "IT Store"},
-            {"I102", "Office Chair", "FURNITURE", "30", "120.00", "Herman Miller", "Furniture Store"},
-            {"I103", "Calculator", "ELECTRONICS", "75", "25.00", "Casio", "Office Store"},
-            {"I104", "Notebook", "STATIONERY", "200", "3.00", "Moleskine", "Stationery Store"}
-        };
-        
-        int imported = 0;
-        for (String[] itemData : sampleItems) {
-            try {
-                String itemId = itemData[0];
-                if (!items.containsKey(itemId)) {
-                    Item item = new Item(itemId, itemData[1], 
-                                       ItemCategory.valueOf(itemData[2]), 
-                                       Integer.parseInt(itemData[3]), 
-                                       Double.parseDouble(itemData[4]));
-                    item.setBrand(itemData[5]);
-                    item.setLocation(itemData[6]);
-                    
-                    create(item);
-                    recordTransaction(itemId, TransactionType.STOCK_IN, 
-                                   Integer.parseInt(itemData[3]), 
-                                   Double.parseDouble(itemData[4]), 
-                                   "System", "Bulk import");
-                    imported++;
+        System.out.println("CSV header must name the columns itemId, itemName, category, quantity, unitPrice");
+        System.out.println("(optional: description, brand, model, supplier, location, minStockLevel, maxStockLevel, expiryDate)");
+        System.out.print("Enter CSV file path: ");
+        String path = scanner.nextLine().trim();
+        
+        try {
+            ImportReport report = importItems(Paths.get(path), "System");
+            System.out.println("Bulk import completed. " + report);
+            report.getErrors().stream().limit(20).forEach(error -> System.out.println("  " + error));
+            if (report.getRejected() > 20) {
+                System.out.println("  ... and " + (report.getRejected() - 20) + " more rejected rows");
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Import failed: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Imports new items from a CSV file (see {@link ItemCsvFormat} for the columns), each with
+     * an opening STOCK_IN transaction. The file is streamed in batches; the rows of a batch are
+     * parsed and validated in parallel and then stored together, with one log line per batch.
+     * Malformed rows, item ids that already exist and ids repeated later in the file are
+     * rejected and reported by line number without stopping the import; of several rows with
+     * the same id the first one is kept.
+     *
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the header lacks a required column
+     */
+    public ImportReport importItems(Path file, String performedBy) throws IOException {
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport(String.valueOf(file.getFileName()));
+        try (CsvReader reader = new CsvReader(file)) {
+            CsvReader.Batch batch = reader.nextBatch(1);
+            if (!batch.isEmpty()) {
+                ItemCsvFormat format = ItemCsvFormat.fromHeader(batch.record(0));
+                String reason = "Bulk import from " + file.getFileName();
+                while (!(batch = reader.nextBatch(IMPORT_BATCH_SIZE)).isEmpty()) {
+                    importBatch(batch, format, performedBy, reason, report);
                 }
-            } catch (Exception e) {
-                System.out.println("Error importing item: " + itemData[1]);
             }
         }
+        report.finish(System.nanoTime() - start);
+        metrics.recordSince("inventory.import", start);
+        metrics.counter("inventory.imported").add(report.getImported());
+        if (report.getImported() > 0) {
+            notificationService.notifyObservers(NotificationService.Topic.INVENTORY,
+                    "Bulk import added " + report.getImported() + " items");
+        }
+        logger.info("Bulk import finished: {}", report);
+        return report;
+    }
+    
+    private void importBatch(CsvReader.Batch batch, ItemCsvFormat format, String performedBy, String reason,
+                             ImportReport report) {
+        long start = System.nanoTime();
+        int size = batch.size();
+        Item[] parsed = new Item[size];
+        Item[] inserted = new Item[size];
+        String[] errors = new String[size];
+        IntStream.range(0, size).parallel().forEach(i -> {
+            try {
+                parsed[i] = format.parse(batch.record(i));
+            } catch (IllegalArgumentException e) {
+                errors[i] = e.getMessage();
+            }
+        });
+        // the first row with an id wins; settling that in file order keeps the outcome deterministic
+        Set<String> seen = new HashSet<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            if (parsed[i] != null && !seen.add(parsed[i].getItemId())) {
+                errors[i] = "duplicate item ID in file: " + parsed[i].getItemId();
+                parsed[i] = null;
+            }
+        }
+        // ids are unique within the batch now; replace(id, 0, item) still refuses ids already stored
+        IntStream.range(0, size).parallel().forEach(i -> {
+            Item item = parsed[i];
+            if (item == null) return;
+            if (items.replace(item.getItemId(), 0, item)) {
+                inserted[i] = item;
+            } else {
+                errors[i] = "item already exists: " + item.getItemId();
+            }
+        });
         
-        System.out.println("Bulk import completed. " + imported + " items imported.");
-        logger.log("Bulk import completed: " + imported + " items");
+        // opening transactions and events follow the file order
+        int created = 0;
+        for (int i = 0; i < size; i++) {
+            Item item = inserted[i];
+            if (item == null) {
+                report.reject(batch.lineNumber(i), errors[i]);
+                continue;
+            }
+            created++;
+            String transactionId = "T" + String.format("%06d", transactionCounter.getAndIncrement());
+            StockTransaction transaction = new StockTransaction(transactionId, item.getItemId(),
+                    TransactionType.STOCK_IN, item.getQuantity(), item.getUnitPrice(), performedBy);
+            transaction.setReason(reason);
+            transaction.approve("System");
+            if (!transactions.replace(transactionId, 0, transaction)) {
+                throw new IllegalStateException("Transaction ID already in use: " + transactionId);
+            }
+            domainEvents.append(new EntityChanged("Item", item.getItemId(), EntityChanged.ChangeType.CREATED));
+            domainEvents.append(new StockMoved(transactionId, item.getItemId(), TransactionType.STOCK_IN.toString(),
+                    item.getQuantity(), item.getQuantity()));
+        }
+        report.rowsRead(size);
+        report.imported(created);
+        logger.info("Imported {} of {} rows up to line {} in {} ms", created, size, batch.lineNumber(size - 1),
+                (System.nanoTime() - start) / 1_000_000);
     }
     
     private void addStockInteractive() {
@@ -521,11 +741,7 @@ public class InventoryManager implements Manageable<Item> {
             System.out.print("Enter reason: ");
             String reason = scanner.nextLine();
             
-            item.addStock(quantity);
-            update(item);
-            
-            recordTransaction(itemId, TransactionType.STOCK_IN, quantity, unitPrice, 
-                             "Admin", reason);
+            addStock(itemId, quantity, unitPrice, "Admin", reason);
             
             System.out.println("Stock added successfully!");
             System.out.println("New stock level: " + item.getQuantity());
@@ -556,19 +772,13 @@ public class InventoryManager implements Manageable<Item> {
             System.out.print("Enter reason: ");
             String reason = scanner.nextLine();
             
-            item.removeStock(quantity);
-            update(item);
-            
-            recordTransaction(itemId, TransactionType.STOCK_OUT, quantity, item.getUnitPrice(), 
-                             "Admin", reason);
+            removeStock(itemId, quantity, "Admin", reason);
             
             System.out.println("Stock removed successfully!");
             System.out.println("New stock level: " + item.getQuantity());
             
-            // Check for low stock alert
             if (item.isLowStock()) {
                 System.out.println("WARNING: Item is now at low stock level!");
-                notificationService.notifyObservers("Low stock alert: " + item.getItemName());
             }
             
         } catch (NumberFormatException e) {
@@ -599,26 +809,14 @@ public class InventoryManager implements Manageable<Item> {
             System.out.print("Enter recipient: ");
             String recipient = scanner.nextLine();
             
-            if (quantity > item.getQuantity()) {
-                System.out.println("Insufficient stock for transfer.");
-                return;
-            }
-            
-            item.relocate(newLocation);
-            update(item);
-            
-            recordTransaction(itemId, TransactionType.TRANSFER, quantity, item.getUnitPrice(), 
-                             "Admin", "Transfer to " + newLocation);
-            
-            StockTransaction transaction = transactions.get("T" + String.format("%06d", transactionCounter - 1));
-            if (transaction != null) {
-                transaction.setRecipient(recipient);
-            }
+            transferStock(itemId, newLocation, quantity, recipient, "Admin");
             
             System.out.println("Stock transfer completed successfully!");
             
         } catch (NumberFormatException e) {
             System.out.println("Invalid quantity.");
+        } catch (IllegalStateException e) {
+            System.out.println("Insufficient stock for transfer.");
         }
     }
     
@@ -642,11 +840,7 @@ public class InventoryManager implements Manageable<Item> {
             String reason = scanner.nextLine();
             
             int difference = newQuantity - item.getQuantity();
-            item.updateStock(newQuantity);
-            update(item);
-            
-            recordTransaction(itemId, TransactionType.ADJUSTMENT, Math.abs(difference), 
-                             item.getUnitPrice(), "Admin", reason);
+            adjustStock(itemId, newQuantity, "Admin", reason);
             
             System.out.println("Stock adjustment completed!");
             System.out.println("Stock changed by: " + (difference >= 0 ? "+" : "") + difference);
@@ -654,6 +848,8 @@ public class InventoryManager implements Manageable<Item> {
             
         } catch (NumberFormatException e) {
             System.out.println("Invalid quantity.");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
         }
     }
     
@@ -709,16 +905,22 @@ public class InventoryManager implements Manageable<Item> {
         System.out.println("\nTotal overstock items: " + overstockItems.size());
     }
     
-    private void recordTransaction(String itemId, TransactionType type, int quantity, 
+    private StockTransaction recordTransaction(String itemId, TransactionType type, int quantity, 
                                  double unitPrice, String performedBy, String reason) {
-        String transactionId = "T" + String.format("%06d", transactionCounter++);
+        String transactionId = "T" + String.format("%06d", transactionCounter.getAndIncrement());
         StockTransaction transaction = new StockTransaction(transactionId, itemId, type, 
                                                           quantity, unitPrice, performedBy);
         transaction.setReason(reason);
         transaction.approve("System"); // Auto-approve for demo
         
-        transactions.put(transactionId, transaction);
-        logger.log("Transaction recorded: " + transactionId);
+        if (!transactions.replace(transactionId, 0, transaction)) {
+            throw new IllegalStateException("Transaction ID already in use: " + transactionId);
+        }
+        Item item = items.get(itemId);
+        domainEvents.append(new StockMoved(transactionId, itemId, type.toString(), quantity,
+                item != null ? item.getQuantity() : 0));
+        logger.info("Transaction recorded: {}", transactionId);
+        return transaction;
     }
     
     private List<StockTransaction> getItemTransactions(String itemId) {
@@ -862,10 +1064,7 @@ public class InventoryManager implements Manageable<Item> {
         System.out.println("For demonstration, showing transactions from last 7 days:");
         
         LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
-        List<StockTransaction> recentTransactions = transactions.values().stream()
-                .filter(t -> t.getTransactionDate().isAfter(weekAgo))
-                .sorted((t1, t2) -> t2.getTransactionDate().compareTo(t1.getTransactionDate()))
-                .collect(Collectors.toList());
+        List<StockTransaction> recentTransactions = transactionsByDate.descendingRange(weekAgo, null);
         
         if (recentTransactions.isEmpty()) {
             System.out.println("No transactions found in the last 7 days.");
@@ -950,11 +1149,11 @@ public class InventoryManager implements Manageable<Item> {
         int choice = getChoice();
         
         switch (choice) {
-            case 1: generateInventorySummaryReport(); break;
-            case 2: generateCategoryAnalysis(); break;
-            case 3: generateStockMovementReport(); break;
-            case 4: generateValueAnalysis(); break;
-            case 5: generateExpiryReport(); break;
+            case 1: metrics.time("inventory.generateInventorySummaryReport", this::generateInventorySummaryReport); break;
+            case 2: metrics.time("inventory.generateCategoryAnalysis", this::generateCategoryAnalysis); break;
+            case 3: metrics.time("inventory.generateStockMovementReport", this::generateStockMovementReport); break;
+            case 4: metrics.time("inventory.generateValueAnalysis", this::generateValueAnalysis); break;
+            case 5: metrics.time("inventory.generateExpiryReport", this::generateExpiryReport); break;
             default: System.out.println("Invalid choice.");
         }
     }
@@ -1254,9 +1453,11 @@ public class InventoryManager implements Manageable<Item> {
         System.out.print("Enter search term: ");
         String searchTerm = scanner.nextLine().toLowerCase();
         
+        long start = System.nanoTime();
         List<Item> results = items.values().stream()
                 .filter(item -> item.getItemName().toLowerCase().contains(searchTerm))
                 .collect(Collectors.toList());
+        metrics.recordSince("inventory.searchByName", start);
         
         displaySearchResults(results, "name containing '" + searchTerm + "'");
     }
@@ -1277,9 +1478,11 @@ public class InventoryManager implements Manageable<Item> {
         }
         
         ItemCategory selectedCategory = categories[choice - 1];
+        long start = System.nanoTime();
         List<Item> results = items.values().stream()
                 .filter(item -> item.getCategory() == selectedCategory)
                 .collect(Collectors.toList());
+        metrics.recordSince("inventory.searchByCategory", start);
         
         displaySearchResults(results, "category '" + selectedCategory + "'");
     }
@@ -1289,10 +1492,12 @@ public class InventoryManager implements Manageable<Item> {
         System.out.print("Enter location: ");
         String location = scanner.nextLine().toLowerCase();
         
+        long start = System.nanoTime();
         List<Item> results = items.values().stream()
                 .filter(item -> item.getLocation() != null && 
                                item.getLocation().toLowerCase().contains(location))
                 .collect(Collectors.toList());
+        metrics.recordSince("inventory.searchByLocation", start);
         
         displaySearchResults(results, "location containing '" + location + "'");
     }
@@ -1302,10 +1507,12 @@ public class InventoryManager implements Manageable<Item> {
         System.out.print("Enter tag: ");
         String tag = scanner.nextLine().toLowerCase();
         
+        long start = System.nanoTime();
         List<Item> results = items.values().stream()
                 .filter(item -> item.getTags().stream()
                                    .anyMatch(t -> t.toLowerCase().contains(tag)))
                 .collect(Collectors.toList());
+        metrics.recordSince("inventory.searchByTag", start);
         
         displaySearchResults(results, "tag containing '" + tag + "'");
     }
@@ -1412,6 +1619,8 @@ public class InventoryManager implements Manageable<Item> {
     // Getters for external access
     public Map<String, Item> getAllItems() { return new HashMap<>(items); }
     public Map<String, StockTransaction> getAllTransactions() { return new HashMap<>(transactions); }
+    /** Streams the transactions without copying them; weakly consistent with concurrent changes. */
+    public Stream<StockTransaction> streamTransactions() { return transactions.values().stream(); }
     public int getTotalItems() { return items.size(); }
     public int getActiveItems() { return (int) items.values().stream().filter(Item::isActive).count(); }
     public int getLowStockCount() { return getLowStockItems().size(); }
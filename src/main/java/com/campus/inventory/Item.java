@@ -9,6 +9,8 @@ import java.util.*;
  * Item class representing inventory items
  */
 public class Item implements Identifiable {
+    private static final long serialVersionUID = -4486136033243982935L;
+
     private String itemId;
     private String itemName;
     private String description;
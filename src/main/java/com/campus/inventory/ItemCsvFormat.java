@@ -0,0 +1,91 @@
+package com.campus.inventory;
+
+import com.campus.utils.CsvReader;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Column layout of an item CSV file, taken from its header row. Column names are matched
+ * ignoring case: itemId, itemName, category, quantity and unitPrice are required;
+ * description, brand, model, supplier, location, minStockLevel, maxStockLevel and
+ * expiryDate are optional.
+ */
+class ItemCsvFormat {
+    private static final String[] REQUIRED = {"itemid", "itemname", "category", "quantity", "unitprice"};
+    private static final ItemCategory[] CATEGORIES = ItemCategory.values();
+
+    private final int itemId, itemName, category, quantity, unitPrice;
+    private final int description, brand, model, supplier, location, minStockLevel, maxStockLevel, expiryDate;
+
+    private ItemCsvFormat(Map<String, Integer> columns) {
+        this.itemId = columns.get("itemid");
+        this.itemName = columns.get("itemname");
+        this.category = columns.get("category");
+        this.quantity = columns.get("quantity");
+        this.unitPrice = columns.get("unitprice");
+        this.description = columns.getOrDefault("description", -1);
+        this.brand = columns.getOrDefault("brand", -1);
+        this.model = columns.getOrDefault("model", -1);
+        this.supplier = columns.getOrDefault("supplier", -1);
+        this.location = columns.getOrDefault("location", -1);
+        this.minStockLevel = columns.getOrDefault("minstocklevel", -1);
+        this.maxStockLevel = columns.getOrDefault("maxstocklevel", -1);
+        this.expiryDate = columns.getOrDefault("expirydate", -1);
+    }
+
+    /**
+     * @throws IllegalArgumentException if a required column is missing
+     */
+    static ItemCsvFormat fromHeader(CsvReader.Record header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i);
+            if (name != null) {
+                columns.putIfAbsent(name.toLowerCase(Locale.ROOT), i);
+            }
+        }
+        for (String required : REQUIRED) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing the '" + required + "' column");
+            }
+        }
+        return new ItemCsvFormat(columns);
+    }
+
+    /**
+     * Builds the item described by a row.
+     *
+     * @throws IllegalArgumentException if a field is missing or invalid
+     */
+    Item parse(CsvReader.Record row) {
+        String id = row.get(itemId);
+        String name = row.get(itemName);
+        if (id == null) throw new IllegalArgumentException("itemId is required");
+        if (name == null) throw new IllegalArgumentException("itemName is required");
+        int stock = row.getInt(quantity);
+        double price = row.getDouble(unitPrice);
+        if (stock < 0) throw new IllegalArgumentException("quantity cannot be negative");
+        if (!Double.isFinite(price) || price < 0) throw new IllegalArgumentException("unitPrice must be a non-negative number");
+
+        Item item = new Item(id, name, row.getEnum(category, CATEGORIES), stock, price);
+        if (!row.isBlank(description)) item.setDescription(row.get(description));
+        if (!row.isBlank(brand)) item.setBrand(row.get(brand));
+        if (!row.isBlank(model)) item.setModel(row.get(model));
+        if (!row.isBlank(supplier)) item.setSupplier(row.get(supplier));
+        if (!row.isBlank(location)) item.setLocation(row.get(location));
+        if (!row.isBlank(minStockLevel)) item.setMinStockLevel(nonNegative(row.getInt(minStockLevel), "minStockLevel"));
+        if (!row.isBlank(maxStockLevel)) item.setMaxStockLevel(nonNegative(row.getInt(maxStockLevel), "maxStockLevel"));
+        if (item.getMinStockLevel() > item.getMaxStockLevel()) {
+            throw new IllegalArgumentException("minStockLevel exceeds maxStockLevel");
+        }
+        if (!row.isBlank(expiryDate)) item.setExpiryDate(row.getDate(expiryDate));
+        return item;
+    }
+
+    private static int nonNegative(int value, String column) {
+        if (value < 0) throw new IllegalArgumentException(column + " cannot be negative");
+        return value;
+    }
+}
@@ -8,6 +8,8 @@ import java.util.Objects;
  * StockTransaction class for tracking inventory movements
  */
 public class StockTransaction implements Identifiable {
+    private static final long serialVersionUID = 4672223484103481013L;
+
     private String transactionId;
     private String itemId;
     private TransactionType transactionType;
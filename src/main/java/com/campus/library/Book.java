@@ -1,15 +1,35 @@
 package com.campus.library;
 
 import com.campus.utils.Identifiable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * Book entity class representing library books
  * Demonstrates encapsulation and composition
+ * Copy counts change by compare-and-set, so desks issuing and returning the same title
+ * never hand out more copies than are on the shelf and never wait on a lock. Members can
+ * place a hold when every copy is out; copies coming back go to the holds in order.
  */
 public class Book implements Identifiable {
+    // The value Book had before holds were added, so books stored before then still load
+    private static final long serialVersionUID = 3756683200117622910L;
+    private static final AtomicIntegerFieldUpdater<Book> AVAILABLE =
+            AtomicIntegerFieldUpdater.newUpdater(Book.class, "availableCopies");
+    private static final AtomicIntegerFieldUpdater<Book> TOTAL =
+            AtomicIntegerFieldUpdater.newUpdater(Book.class, "totalCopies");
+    private static final AtomicReferenceFieldUpdater<Book, BookStatus> STATUS =
+            AtomicReferenceFieldUpdater.newUpdater(Book.class, BookStatus.class, "status");
+    
     private String bookId;
     private String isbn;
     private String title;
@@ -17,11 +37,13 @@ public class Book implements Identifiable {
     private String publisher;
     private LocalDate publicationDate;
     private BookCategory category;
-    private BookStatus status;
+    private volatile BookStatus status;
     private String location;
     private double price;
-    private int totalCopies;
-    private int availableCopies;
+    private volatile int totalCopies;
+    private volatile int availableCopies;
+    // Member IDs waiting for a copy, first come first served
+    private Queue<String> holds = new ConcurrentLinkedQueue<>();
     private String description;
     private String language;
     private int pages;
@@ -48,52 +70,161 @@ public class Book implements Identifiable {
         return availableCopies > 0 && status == BookStatus.AVAILABLE;
     }
     
+    /**
+     * Takes a copy for a borrower with no hold on the book.
+     *
+     * @throws IllegalStateException if no copy is free
+     */
     public void issueBook() {
-        if (!isAvailable()) {
+        if (!tryIssue(null)) {
             throw new IllegalStateException("Book is not available for issue");
         }
-        availableCopies--;
-        if (availableCopies == 0) {
-            status = BookStatus.ISSUED;
-        }
-        lastUpdated = LocalDateTime.now();
     }
     
-    public void returnBook() {
-        if (availableCopies >= totalCopies) {
-            throw new IllegalStateException("All copies are already available");
+    /**
+     * Takes a copy for the member if one is free for them: copies on the shelf go to the
+     * members holding the book first, in the order they placed their holds, and a member
+     * who gets a copy leaves the hold queue.
+     *
+     * @param memberId the borrower, or null for an anonymous issue
+     * @return false if no copy is free for this member
+     */
+    public boolean tryIssue(String memberId) {
+        if (status != BookStatus.AVAILABLE && status != BookStatus.ISSUED) {
+            return false;
         }
-        availableCopies++;
-        if (status == BookStatus.ISSUED && availableCopies > 0) {
-            status = BookStatus.AVAILABLE;
+        int position = holds.isEmpty() ? -1 : holdPosition(memberId);
+        int reserved = position >= 0 ? position : holds.size();
+        int available;
+        do {
+            available = availableCopies;
+            if (available <= reserved) {
+                return false;
+            }
+        } while (!AVAILABLE.compareAndSet(this, available, available - 1));
+        if (position >= 0) {
+            holds.remove(memberId);
         }
-        lastUpdated = LocalDateTime.now();
+        copiesChanged();
+        return true;
+    }
+    
+    /**
+     * Puts a copy back on the shelf.
+     *
+     * @throws IllegalStateException if every copy is already on the shelf
+     */
+    public void returnBook() {
+        int available;
+        do {
+            available = availableCopies;
+            if (available >= totalCopies) {
+                throw new IllegalStateException("All copies are already available");
+            }
+        } while (!AVAILABLE.compareAndSet(this, available, available + 1));
+        copiesChanged();
     }
     
     public void addCopies(int copies) {
         if (copies <= 0) {
             throw new IllegalArgumentException("Number of copies must be positive");
         }
-        totalCopies += copies;
-        availableCopies += copies;
-        if (status == BookStatus.ISSUED && availableCopies > 0) {
-            status = BookStatus.AVAILABLE;
-        }
-        lastUpdated = LocalDateTime.now();
+        // total first, so a concurrent return never sees more copies available than owned
+        TOTAL.addAndGet(this, copies);
+        AVAILABLE.addAndGet(this, copies);
+        copiesChanged();
     }
     
     public void removeCopies(int copies) {
         if (copies <= 0) {
             throw new IllegalArgumentException("Number of copies must be positive");
         }
-        if (copies > availableCopies) {
-            throw new IllegalStateException("Cannot remove more copies than available");
+        int available;
+        do {
+            available = availableCopies;
+            if (copies > available) {
+                throw new IllegalStateException("Cannot remove more copies than available");
+            }
+        } while (!AVAILABLE.compareAndSet(this, available, available - copies));
+        TOTAL.addAndGet(this, -copies);
+        copiesChanged();
+    }
+    
+    /**
+     * Queues the member for the next free copy.
+     *
+     * @return the member's place in the queue, 1 being next
+     * @throws IllegalStateException if a copy is free for the member now
+     */
+    public int placeHold(String memberId) {
+        Objects.requireNonNull(memberId, "memberId");
+        int position = holdPosition(memberId);
+        if (position >= 0) {
+            return position + 1;
         }
-        totalCopies -= copies;
-        availableCopies -= copies;
-        if (availableCopies == 0) {
-            status = BookStatus.ISSUED;
+        if (availableCopies > holds.size()) {
+            throw new IllegalStateException("A copy is available; borrow it instead of placing a hold");
         }
+        holds.add(memberId);
+        lastUpdated = LocalDateTime.now();
+        return holdPosition(memberId) + 1;
+    }
+    
+    /**
+     * @return false if the member had no hold on the book
+     */
+    public boolean cancelHold(String memberId) {
+        boolean removed = holds.remove(memberId);
+        if (removed) {
+            lastUpdated = LocalDateTime.now();
+        }
+        return removed;
+    }
+    
+    /**
+     * Members holding the book, next in line first.
+     */
+    public List<String> getHolds() {
+        return new ArrayList<>(holds);
+    }
+    
+    /**
+     * The member who gets the next free copy, or null if nobody is waiting.
+     */
+    public String getNextHold() {
+        return holds.peek();
+    }
+    
+    private int holdPosition(String memberId) {
+        if (memberId == null) {
+            return -1;
+        }
+        int position = 0;
+        for (String holder : holds) {
+            if (holder.equals(memberId)) {
+                return position;
+            }
+            position++;
+        }
+        return -1;
+    }
+    
+    /**
+     * Flips the status between AVAILABLE and ISSUED to match the copy count. A concurrent
+     * issue or return can change the count between reading it and setting the status, so the
+     * count is read again after; the last thread to change the count always sets the status
+     * that matches it.
+     */
+    private void copiesChanged() {
+        int available;
+        do {
+            available = availableCopies;
+            if (available == 0) {
+                STATUS.compareAndSet(this, BookStatus.AVAILABLE, BookStatus.ISSUED);
+            } else {
+                STATUS.compareAndSet(this, BookStatus.ISSUED, BookStatus.AVAILABLE);
+            }
+        } while (available != availableCopies);
         lastUpdated = LocalDateTime.now();
     }
     
@@ -118,6 +249,14 @@ public class Book implements Identifiable {
         System.out.println("Last Updated: " + lastUpdated);
     }
     
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // streams written before holds existed skip the field initializer
+        if (holds == null) {
+            holds = new ConcurrentLinkedQueue<>();
+        }
+    }
+    
     // Getters and Setters
     @Override
     public String getId() { return bookId; }
@@ -183,7 +322,17 @@ public class Book implements Identifiable {
     }
     
     public int getTotalCopies() { return totalCopies; }
+    public void setTotalCopies(int totalCopies) { 
+        this.totalCopies = totalCopies;
+        this.lastUpdated = LocalDateTime.now();
+    }
+    
     public int getAvailableCopies() { return availableCopies; }
+    // Overwrites the count; circulation goes through tryIssue and returnBook instead
+    public void setAvailableCopies(int availableCopies) { 
+        this.availableCopies = availableCopies;
+        copiesChanged();
+    }
     
     public String getDescription() { return description; }
     public void setDescription(String description) { 
@@ -0,0 +1,201 @@
+package com.campus.library;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * The library's borrow records, with the active loans kept apart from the returned ones.
+ * Active loans are indexed by (student, book), by student and by book, and queued by due
+ * date, so returns, renewals and overdue listings cost O(1) or O(matches) however long the
+ * return history grows. Returned records are kept in return-date order, and
+ * per-book and per-student borrow counts and the fines charged are kept as running totals
+ * for reports.
+ * Methods are synchronized; records must not be changed except through the ledger while
+ * they are active.
+ */
+class BorrowLedger {
+    private static final Comparator<BorrowRecord> DUE_ORDER =
+            Comparator.comparing(BorrowRecord::getDueDate).thenComparing(BorrowRecord::getRecordId);
+    private static final Comparator<BorrowRecord> RETURN_ORDER =
+            Comparator.comparing(BorrowRecord::getReturnDate, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(BorrowRecord::getRecordId);
+
+    private final Map<String, BorrowRecord> activeByLoan = new HashMap<>();
+    private final Map<String, Set<BorrowRecord>> activeByStudent = new HashMap<>();
+    private final Map<String, Set<BorrowRecord>> activeByBook = new HashMap<>();
+    private final NavigableSet<BorrowRecord> dueQueue = new TreeSet<>(DUE_ORDER);
+    private final NavigableSet<BorrowRecord> history = new TreeSet<>(RETURN_ORDER);
+    private final Map<String, Integer> borrowsByBook = new HashMap<>();
+    private final Map<String, Integer> borrowsByStudent = new HashMap<>();
+    private double finesCharged;
+
+    /**
+     * Adds a record in either state: open loans become active, returned ones go straight to
+     * the history.
+     */
+    synchronized void add(BorrowRecord record) {
+        borrowsByBook.merge(record.getBookId(), 1, Integer::sum);
+        borrowsByStudent.merge(record.getStudentId(), 1, Integer::sum);
+        if (record.getStatus() == BorrowStatus.BORROWED) {
+            activeByLoan.putIfAbsent(loanKey(record.getStudentId(), record.getBookId()), record);
+            activeByStudent.computeIfAbsent(record.getStudentId(), k -> new LinkedHashSet<>()).add(record);
+            activeByBook.computeIfAbsent(record.getBookId(), k -> new LinkedHashSet<>()).add(record);
+            dueQueue.add(record);
+        } else {
+            addToHistory(record);
+        }
+    }
+
+    /**
+     * The student's active loan of the book, the oldest one if they have several copies out.
+     */
+    synchronized BorrowRecord findActive(String studentId, String bookId) {
+        return activeByLoan.get(loanKey(studentId, bookId));
+    }
+
+    /**
+     * Closes an active loan and moves it to the history.
+     *
+     * @return false if the record was not active
+     */
+    synchronized boolean close(BorrowRecord record, LocalDate returnDate, double fine) {
+        if (!dueQueue.remove(record)) {
+            return false;
+        }
+        Set<BorrowRecord> studentLoans = activeByStudent.get(record.getStudentId());
+        removeFrom(activeByStudent, record.getStudentId(), record);
+        removeFrom(activeByBook, record.getBookId(), record);
+        String key = loanKey(record.getStudentId(), record.getBookId());
+        if (activeByLoan.remove(key, record) && studentLoans != null) {
+            for (BorrowRecord other : studentLoans) {
+                if (other.getBookId().equals(record.getBookId())) {
+                    activeByLoan.put(key, other);
+                    break;
+                }
+            }
+        }
+        record.setReturnDate(returnDate);
+        record.setFineAmount(fine);
+        record.setStatus(BorrowStatus.RETURNED);
+        addToHistory(record);
+        return true;
+    }
+
+    /**
+     * Moves an active loan's due date, keeping the due-date queue in order.
+     */
+    synchronized void renew(BorrowRecord record, LocalDate dueDate) {
+        boolean active = dueQueue.remove(record);
+        record.setDueDate(dueDate);
+        record.setRenewed(true);
+        if (active) {
+            dueQueue.add(record);
+        }
+    }
+
+    /**
+     * Active loans, soonest due first.
+     */
+    synchronized List<BorrowRecord> active() {
+        return new ArrayList<>(dueQueue);
+    }
+
+    synchronized List<BorrowRecord> activeForStudent(String studentId) {
+        Set<BorrowRecord> loans = activeByStudent.get(studentId);
+        return loans != null ? new ArrayList<>(loans) : new ArrayList<>();
+    }
+
+    synchronized List<BorrowRecord> activeForBook(String bookId) {
+        Set<BorrowRecord> loans = activeByBook.get(bookId);
+        return loans != null ? new ArrayList<>(loans) : new ArrayList<>();
+    }
+
+    /**
+     * Active loans due before the given day, most overdue first. Reads only the head of the
+     * due-date queue, so the cost is proportional to the number of overdue loans.
+     */
+    synchronized List<BorrowRecord> overdue(LocalDate today) {
+        List<BorrowRecord> overdue = new ArrayList<>();
+        for (BorrowRecord record : dueQueue) {
+            if (!record.getDueDate().isBefore(today)) break;
+            overdue.add(record);
+        }
+        return overdue;
+    }
+
+    /**
+     * Up to {@code limit} returned records, most recently returned first.
+     */
+    synchronized List<BorrowRecord> recentReturns(int limit) {
+        List<BorrowRecord> recent = new ArrayList<>(Math.min(limit, history.size()));
+        Iterator<BorrowRecord> newestFirst = history.descendingIterator();
+        while (newestFirst.hasNext() && recent.size() < limit) {
+            recent.add(newestFirst.next());
+        }
+        return recent;
+    }
+
+    /**
+     * Every record, active loans first.
+     */
+    synchronized List<BorrowRecord> all() {
+        List<BorrowRecord> all = new ArrayList<>(dueQueue.size() + history.size());
+        all.addAll(dueQueue);
+        all.addAll(history);
+        return all;
+    }
+
+    synchronized int size() {
+        return dueQueue.size() + history.size();
+    }
+
+    synchronized int activeCount() {
+        return dueQueue.size();
+    }
+
+    synchronized int returnedCount() {
+        return history.size();
+    }
+
+    synchronized int activeCountForStudent(String studentId) {
+        Set<BorrowRecord> loans = activeByStudent.get(studentId);
+        return loans != null ? loans.size() : 0;
+    }
+
+    /**
+     * Number of times each book has been borrowed, returned loans included.
+     */
+    synchronized Map<String, Integer> borrowCountsByBook() {
+        return new HashMap<>(borrowsByBook);
+    }
+
+    /**
+     * Number of loans each student has taken, returned loans included.
+     */
+    synchronized Map<String, Integer> borrowCountsByStudent() {
+        return new HashMap<>(borrowsByStudent);
+    }
+
+    /**
+     * Total of the fines charged on returned loans.
+     */
+    synchronized double finesCharged() {
+        return finesCharged;
+    }
+
+    private void addToHistory(BorrowRecord record) {
+        finesCharged += record.getFineAmount();
+        history.add(record);
+    }
+
+    private static void removeFrom(Map<String, Set<BorrowRecord>> index, String key, BorrowRecord record) {
+        Set<BorrowRecord> records = index.get(key);
+        if (records != null && records.remove(record) && records.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static String loanKey(String studentId, String bookId) {
+        return studentId + '\u0000' + bookId;
+    }
+}
@@ -0,0 +1,85 @@
+package com.campus.library;
+
+import com.campus.utils.Identifiable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * BorrowRecord class representing one loan of a book to a student
+ */
+public class BorrowRecord implements Identifiable {
+    private static final long serialVersionUID = -8425821035426321444L;
+
+    private String recordId;
+    private String studentId;
+    private String bookId;
+    private LocalDate borrowDate;
+    private LocalDate dueDate;
+    private LocalDate returnDate;
+    private BorrowStatus status;
+    private double fineAmount;
+    private boolean renewed;
+    
+    public BorrowRecord(String recordId, String studentId, String bookId, LocalDate borrowDate) {
+        this.recordId = recordId;
+        this.studentId = studentId;
+        this.bookId = bookId;
+        this.borrowDate = borrowDate;
+        this.dueDate = borrowDate.plusDays(14); // 2 weeks default
+        this.status = BorrowStatus.BORROWED;
+        this.fineAmount = 0.0;
+    }
+    
+    public boolean isOverdue(LocalDate today) {
+        return status == BorrowStatus.BORROWED && dueDate != null && dueDate.isBefore(today);
+    }
+    
+    // Getters and Setters
+    @Override
+    public String getId() { return recordId; }
+    
+    public String getRecordId() { return recordId; }
+    public String getStudentId() { return studentId; }
+    public String getBookId() { return bookId; }
+    public LocalDate getBorrowDate() { return borrowDate; }
+    
+    public LocalDate getDueDate() { return dueDate; }
+    // Active records are ordered by due date in the library's ledger; renew through LibraryManager
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+    
+    public LocalDate getReturnDate() { return returnDate; }
+    public void setReturnDate(LocalDate returnDate) { this.returnDate = returnDate; }
+    
+    public BorrowStatus getStatus() { return status; }
+    public void setStatus(BorrowStatus status) { this.status = status; }
+    
+    public double getFineAmount() { return fineAmount; }
+    public void setFineAmount(double fineAmount) { this.fineAmount = fineAmount; }
+    
+    public boolean isRenewed() { return renewed; }
+    public void setRenewed(boolean renewed) { this.renewed = renewed; }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BorrowRecord that = (BorrowRecord) o;
+        return Objects.equals(recordId, that.recordId);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(recordId);
+    }
+    
+    @Override
+    public String toString() {
+        return "BorrowRecord{" +
+                "recordId='" + recordId + '\'' +
+                ", studentId='" + studentId + '\'' +
+                ", bookId='" + bookId + '\'' +
+                ", dueDate=" + dueDate +
+                ", status=" + status +
+                '}';
+    }
+}
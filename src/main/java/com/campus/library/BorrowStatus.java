@@ -0,0 +1,20 @@
+package com.campus.library;
+
+/**
+ * Enumeration for borrow record status
+ */
+public enum BorrowStatus {
+    BORROWED("Borrowed"),
+    RETURNED("Returned");
+    
+    private final String displayName;
+    
+    BorrowStatus(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() { return displayName; }
+    
+    @Override
+    public String toString() { return displayName; }
+}
@@ -1,6 +1,8 @@
 package com.campus.library;
 
 import com.campus.utils.Logger;
+import com.campus.utils.MetricsRegistry;
+import com.campus.utils.RadixTrie;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -10,40 +12,96 @@ import java.util.stream.Collectors;
  */
 public class CatalogManager {
     private static final Logger logger = Logger.getInstance();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    
+    private static final int TITLE_WEIGHT = 3;
+    private static final int AUTHOR_WEIGHT = 2;
+    private static final int ISBN_WEIGHT = 2;
+    private static final int PUBLISHER_WEIGHT = 1;
+    // Removed books stay in the posting lists as tombstones until there are this many of
+    // them and they make up a quarter of all ordinals; then the indexes are rebuilt
+    private static final int MIN_TOMBSTONES_TO_REBUILD = 1024;
+    private static final int ISBN_PREFIX_LIMIT = 1000;
     
     private Map<String, Book> bookCatalog;
-    private Map<String, List<Book>> authorIndex;
-    private Map<String, List<Book>> titleIndex;
-    private Map<BookCategory, List<Book>> categoryIndex;
-    private Map<String, List<Book>> publisherIndex;
+    private Map<BookCategory, PostingList> categoryIndex;
+    // Search indexes refer to books by ordinal: the position of the book in this list,
+    // which is left empty once the book is removed
+    private List<Book> books;
+    private int tombstones;
+    private Map<String, Integer> ordinals;
+    private TrigramIndex titleIndex;
+    private TrigramIndex authorIndex;
+    private TrigramIndex isbnIndex;
+    private TrigramIndex publisherIndex;
+    // Normalized ISBN to the ordinals of the books that have it, for exact lookups, and
+    // the same keys in a trie for partial ISBNs and publisher prefixes
+    private Map<String, PostingList> isbnOrdinals;
+    private RadixTrie isbnKeys;
+    // Normalized ISBN each ordinal was indexed under; the book may have been edited since
+    private List<String> indexedIsbns;
     
     public CatalogManager() {
         this.bookCatalog = new HashMap<>();
-        this.authorIndex = new HashMap<>();
-        this.titleIndex = new HashMap<>();
-        this.categoryIndex = new HashMap<>();
-        this.publisherIndex = new HashMap<>();
         initializeIndexes();
         logger.log("CatalogManager initialized");
     }
     
     private void initializeIndexes() {
+        this.categoryIndex = new EnumMap<>(BookCategory.class);
+        this.books = new ArrayList<>();
+        this.ordinals = new HashMap<>();
+        this.tombstones = 0;
+        this.titleIndex = new TrigramIndex();
+        this.authorIndex = new TrigramIndex();
+        this.isbnIndex = new TrigramIndex();
+        this.publisherIndex = new TrigramIndex();
+        this.isbnOrdinals = new HashMap<>();
+        this.isbnKeys = new RadixTrie();
+        this.indexedIsbns = new ArrayList<>();
         for (BookCategory category : BookCategory.values()) {
-            categoryIndex.put(category, new ArrayList<>());
+            categoryIndex.put(category, new PostingList());
         }
     }
     
+    /**
+     * Renumbers the books without the tombstoned ordinals.
+     */
+    private void rebuildIndexes() {
+        long start = System.nanoTime();
+        int removed = tombstones;
+        initializeIndexes();
+        for (Book book : bookCatalog.values()) {
+            updateIndexes(book, true);
+        }
+        metrics.recordSince("catalog.rebuildIndexes", start);
+        logger.info("Catalog indexes rebuilt, {} tombstones dropped", removed);
+    }
+    
     public void addBook(Book book) {
-        bookCatalog.put(book.getBookId(), book);
+        Book previous = bookCatalog.put(book.getBookId(), book);
+        if (previous != null) {
+            updateIndexes(previous, false);
+        }
         updateIndexes(book, true);
-        logger.log("Book added to catalog: " + book.getBookId());
+        logger.info("Book added to catalog: {}", book.getBookId());
+        if (previous != null) {
+            rebuildIfMostlyTombstones();
+        }
     }
     
     public void removeBook(String bookId) {
         Book book = bookCatalog.remove(bookId);
         if (book != null) {
             updateIndexes(book, false);
-            logger.log("Book removed from catalog: " + bookId);
+            logger.info("Book removed from catalog: {}", bookId);
+            rebuildIfMostlyTombstones();
+        }
+    }
+    
+    private void rebuildIfMostlyTombstones() {
+        if (tombstones >= MIN_TOMBSTONES_TO_REBUILD && tombstones * 4L >= books.size()) {
+            rebuildIndexes();
         }
     }
     
@@ -57,84 +115,233 @@ public class CatalogManager {
     
     private void updateIndexes(Book book, boolean add) {
         if (add) {
-            // Add to indexes
-            authorIndex.computeIfAbsent(book.getAuthor().toLowerCase(), k -> new ArrayList<>()).add(book);
-            titleIndex.computeIfAbsent(book.getTitle().toLowerCase(), k -> new ArrayList<>()).add(book);
-            categoryIndex.get(book.getCategory()).add(book);
-            publisherIndex.computeIfAbsent(book.getPublisher().toLowerCase(), k -> new ArrayList<>()).add(book);
+            int ordinal = books.size();
+            books.add(book);
+            ordinals.put(book.getBookId(), ordinal);
+            titleIndex.add(ordinal, book.getTitle());
+            authorIndex.add(ordinal, book.getAuthor());
+            isbnIndex.add(ordinal, book.getIsbn());
+            publisherIndex.add(ordinal, book.getPublisher());
+            String isbn = Isbn.normalize(book.getIsbn());
+            indexedIsbns.add(isbn);
+            if (isbn != null) {
+                isbnOrdinals.computeIfAbsent(isbn, k -> {
+                    isbnKeys.add(k);
+                    return new PostingList();
+                }).add(ordinal);
+            }
+            categoryIndex.get(book.getCategory()).add(ordinal);
         } else {
-            // Remove from indexes
-            removeFromIndex(authorIndex, book.getAuthor().toLowerCase(), book);
-            removeFromIndex(titleIndex, book.getTitle().toLowerCase(), book);
-            categoryIndex.get(book.getCategory()).remove(book);
-            removeFromIndex(publisherIndex, book.getPublisher().toLowerCase(), book);
+            Integer ordinal = ordinals.remove(book.getBookId());
+            if (ordinal != null) {
+                books.set(ordinal, null);
+                titleIndex.remove(ordinal);
+                authorIndex.remove(ordinal);
+                isbnIndex.remove(ordinal);
+                publisherIndex.remove(ordinal);
+                removeIsbn(indexedIsbns.set(ordinal, null));
+                tombstones++;
+            }
+        }
+    }
+    
+    /**
+     * Drops the ISBN from the exact map and the trie once no live book has it.
+     */
+    private void removeIsbn(String isbn) {
+        PostingList list = isbn != null ? isbnOrdinals.get(isbn) : null;
+        if (list == null) {
+            return;
+        }
+        for (int ordinal : list.toArray()) {
+            if (books.get(ordinal) != null) {
+                return;
+            }
         }
+        isbnOrdinals.remove(isbn);
+        isbnKeys.remove(isbn);
     }
     
-    private void removeFromIndex(Map<String, List<Book>> index, String key, Book book) {
-        List<Book> books = index.get(key);
-        if (books != null) {
-            books.remove(book);
-            if (books.isEmpty()) {
-                index.remove(key);
+    private void addLiveBooks(PostingList list, List<Book> results) {
+        for (int ordinal : list.toArray()) {
+            Book book = books.get(ordinal);
+            if (book != null) {
+                results.add(book);
             }
         }
     }
     
     public List<Book> searchByTitle(String title) {
-        String searchKey = title.toLowerCase();
-        return titleIndex.entrySet().stream()
-                .filter(entry -> entry.getKey().contains(searchKey))
-                .flatMap(entry -> entry.getValue().stream())
-                .distinct()
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        List<Book> results = search(titleIndex, title);
+        metrics.recordSince("catalog.searchByTitle", start);
+        return results;
     }
     
     public List<Book> searchByAuthor(String author) {
-        String searchKey = author.toLowerCase();
-        return authorIndex.entrySet().stream()
-                .filter(entry -> entry.getKey().contains(searchKey))
-                .flatMap(entry -> entry.getValue().stream())
-                .distinct()
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        List<Book> results = search(authorIndex, author);
+        metrics.recordSince("catalog.searchByAuthor", start);
+        return results;
     }
     
+    /**
+     * Finds books by ISBN-10 or ISBN-13, hyphenated or not. A full ISBN is looked up in
+     * constant time; a partial one, such as a publisher prefix, lists the ISBNs starting with
+     * it from the trie. Anything else falls back to a "contains" search.
+     */
     public List<Book> searchByISBN(String isbn) {
-        return bookCatalog.values().stream()
-                .filter(book -> book.getIsbn().contains(isbn))
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        List<Book> results = new ArrayList<>();
+        PostingList exact = isbnOrdinals.get(Isbn.normalize(isbn));
+        if (exact != null) {
+            addLiveBooks(exact, results);
+        } else {
+            for (String prefix : Isbn.prefixes(isbn)) {
+                for (String key : isbnKeys.keysWithPrefix(prefix, ISBN_PREFIX_LIMIT)) {
+                    addLiveBooks(isbnOrdinals.get(key), results);
+                }
+            }
+            if (results.isEmpty()) {
+                results = search(isbnIndex, isbn);
+            }
+        }
+        metrics.recordSince("catalog.searchByISBN", start);
+        return results;
     }
     
     public List<Book> searchByCategory(BookCategory category) {
-        return new ArrayList<>(categoryIndex.get(category));
+        long start = System.nanoTime();
+        List<Book> results = new ArrayList<>();
+        for (int ordinal : categoryIndex.get(category).toArray()) {
+            Book book = books.get(ordinal);
+            if (book != null) {
+                results.add(book);
+            }
+        }
+        metrics.recordSince("catalog.searchByCategory", start);
+        return results;
     }
     
     public List<Book> searchByPublisher(String publisher) {
-        String searchKey = publisher.toLowerCase();
-        return publisherIndex.entrySet().stream()
-                .filter(entry -> entry.getKey().contains(searchKey))
-                .flatMap(entry -> entry.getValue().stream())
-                .distinct()
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        List<Book> results = search(publisherIndex, publisher);
+        metrics.recordSince("catalog.searchByPublisher", start);
+        return results;
     }
     
+    /**
+     * Finds books matching every word of the search term in their title, author, ISBN or
+     * publisher, best matches first. Title matches count most, then author and ISBN, then
+     * publisher; whole words and prefixes rank above matches inside a word.
+     */
     public List<Book> searchBooks(String searchTerm) {
-        String term = searchTerm.toLowerCase();
-        Set<Book> results = new HashSet<>();
-        
-        // Search in title
-        results.addAll(searchByTitle(term));
-        
-        // Search in author
-        results.addAll(searchByAuthor(term));
+        long start = System.nanoTime();
+        String normalized = TrigramIndex.normalize(searchTerm);
+        Set<String> terms = TrigramIndex.terms(normalized);
+        if (terms.isEmpty()) {
+            terms = Collections.singleton(normalized);
+        }
+        TrigramIndex[] fields = {titleIndex, authorIndex, isbnIndex, publisherIndex};
+        int[] weights = {TITLE_WEIGHT, AUTHOR_WEIGHT, ISBN_WEIGHT, PUBLISHER_WEIGHT};
         
-        // Search in ISBN
-        results.addAll(searchByISBN(term));
+        // A book must match each term in some field, so the matches are the intersection over
+        // terms of the union over fields. Longer terms are usually more selective and go first,
+        // so later terms only check the books the earlier ones left.
+        List<String> byLength = new ArrayList<>(terms);
+        byLength.sort((a, b) -> Integer.compare(b.length(), a.length()));
+        int[] found = null;
+        for (String term : byLength) {
+            int[] termMatches = new int[0];
+            for (TrigramIndex field : fields) {
+                termMatches = PostingList.union(termMatches, field.matches(term, found));
+            }
+            found = termMatches;
+            if (found.length == 0) {
+                break;
+            }
+        }
         
-        // Search in publisher
-        results.addAll(searchByPublisher(term));
+        List<Match> matches = new ArrayList<>(found.length);
+        for (int ordinal : found) {
+            int score = 0;
+            for (String term : terms) {
+                int best = 0;
+                for (int f = 0; f < fields.length; f++) {
+                    best = Math.max(best, weights[f] * relevance(fields[f].value(ordinal), term));
+                }
+                score += best;
+            }
+            if (terms.size() > 1) {
+                score += TITLE_WEIGHT * relevance(titleIndex.value(ordinal), normalized);
+            }
+            matches.add(new Match(ordinal, score, titleIndex.value(ordinal).length()));
+        }
+        List<Book> results = ranked(matches);
+        metrics.recordSince("catalog.searchBooks", start);
+        return results;
+    }
+    
+    /**
+     * Books whose field contains the query, best matches first.
+     */
+    private List<Book> search(TrigramIndex index, String query) {
+        String normalized = TrigramIndex.normalize(query);
+        int[] found = index.matches(normalized);
+        List<Match> matches = new ArrayList<>(found.length);
+        for (int ordinal : found) {
+            String value = index.value(ordinal);
+            matches.add(new Match(ordinal, relevance(value, normalized), value.length()));
+        }
+        return ranked(matches);
+    }
+    
+    /**
+     * 0 if the normalized value does not contain the query; otherwise higher the more of the
+     * value the query covers: an exact match, then a whole word, then a word prefix.
+     */
+    private static int relevance(String value, String query) {
+        if (value == null) {
+            return 0;
+        }
+        int index = value.indexOf(query);
+        if (index < 0) {
+            return 0;
+        }
+        if (value.length() == query.length()) {
+            return 8;
+        }
+        int end = index + query.length();
+        boolean wordStart = index == 0 || !Character.isLetterOrDigit(value.charAt(index - 1));
+        boolean wordEnd = end == value.length() || !Character.isLetterOrDigit(value.charAt(end));
+        int score = 1;
+        if (wordStart) score += 2;
+        if (wordStart && wordEnd) score += 2;
+        if (index == 0) score += 1;
+        return score;
+    }
+    
+    private List<Book> ranked(List<Match> matches) {
+        matches.sort((a, b) -> a.score != b.score ? Integer.compare(b.score, a.score)
+                : a.length != b.length ? Integer.compare(a.length, b.length)
+                : Integer.compare(a.ordinal, b.ordinal));
+        List<Book> results = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            results.add(books.get(match.ordinal));
+        }
+        return results;
+    }
+    
+    private static final class Match {
+        final int ordinal;
+        final int score;
+        final int length;
         
-        return new ArrayList<>(results);
+        Match(int ordinal, int score, int length) {
+            this.ordinal = ordinal;
+            this.score = score;
+            this.length = length;
+        }
     }
     
     public List<Book> getAvailableBooks() {
@@ -192,17 +399,36 @@ public class CatalogManager {
         getStatusStatistics().forEach((status, count) -> 
             System.out.println("- " + status + ": " + count));
         
-        System.out.println("\nTotal Authors: " + authorIndex.size());
-        System.out.println("Total Publishers: " + publisherIndex.size());
+        System.out.println("\nTotal Authors: " + authorIndex.distinctValues());
+        System.out.println("Total Publishers: " + publisherIndex.distinctValues());
+        System.out.println("Search Index Size: " + getIndexMemoryBytes() / 1024 + " KB");
     }
     
     public boolean bookExists(String bookId) {
         return bookCatalog.containsKey(bookId);
     }
     
+    /**
+     * Whether a book has this ISBN, in either its ISBN-10 or its ISBN-13 form.
+     */
     public boolean isbnExists(String isbn) {
-        return bookCatalog.values().stream()
-                .anyMatch(book -> book.getIsbn().equals(isbn));
+        String normalized = Isbn.normalize(isbn);
+        return normalized != null && isbnOrdinals.containsKey(normalized);
+    }
+    
+    /**
+     * Approximate heap footprint of the search indexes.
+     */
+    public long getIndexMemoryBytes() {
+        long bytes = titleIndex.memoryBytes() + authorIndex.memoryBytes() + isbnIndex.memoryBytes()
+                + publisherIndex.memoryBytes() + 4L * books.size();
+        for (Map.Entry<String, PostingList> entry : isbnOrdinals.entrySet()) {
+            bytes += 96 + 2L * entry.getKey().length() + entry.getValue().memoryBytes();
+        }
+        for (PostingList list : categoryIndex.values()) {
+            bytes += list.memoryBytes();
+        }
+        return bytes;
     }
     
     public int getTotalBooks() {
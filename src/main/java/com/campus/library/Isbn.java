@@ -0,0 +1,82 @@
+package com.campus.library;
+
+/**
+ * ISBN normalization for lookups. Hyphens and spaces are dropped and ISBN-10s are converted
+ * to their ISBN-13 form (978 prefix, recomputed check digit), so a book catalogued as
+ * "0-13-235088-2" is found by scanning the "9780132350884" barcode and the other way round.
+ */
+public final class Isbn {
+
+    private Isbn() {
+    }
+
+    /**
+     * The canonical form of an ISBN: 13 digits for valid ISBN-10 and ISBN-13 input, otherwise
+     * the input without separators. Returns null for null or blank input.
+     */
+    public static String normalize(String isbn) {
+        String compact = compact(isbn);
+        if (compact == null) {
+            return null;
+        }
+        if (compact.length() == 10 && isIsbn10(compact)) {
+            String body = "978" + compact.substring(0, 9);
+            return body + checkDigit13(body);
+        }
+        return compact;
+    }
+
+    /**
+     * The forms a partial ISBN can take as a prefix of normalized ISBNs: the digits as typed,
+     * plus the 978-prefixed form when they could be the start of an ISBN-10.
+     */
+    static String[] prefixes(String partial) {
+        String compact = compact(partial);
+        if (compact == null) {
+            return new String[0];
+        }
+        if (compact.length() < 10 && !compact.startsWith("97")) {
+            return new String[] {compact, "978" + compact};
+        }
+        String normalized = normalize(compact);
+        return new String[] {normalized};
+    }
+
+    private static String compact(String isbn) {
+        if (isbn == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(isbn.length());
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c == '-' || c == ' ') continue;
+            digits.append(c == 'x' ? 'X' : c);
+        }
+        return digits.length() > 0 ? digits.toString() : null;
+    }
+
+    private static boolean isIsbn10(String compact) {
+        int sum = 0;
+        for (int i = 0; i < 10; i++) {
+            char c = compact.charAt(i);
+            int value;
+            if (c >= '0' && c <= '9') {
+                value = c - '0';
+            } else if (c == 'X' && i == 9) {
+                value = 10;
+            } else {
+                return false;
+            }
+            sum += (10 - i) * value;
+        }
+        return sum % 11 == 0;
+    }
+
+    private static char checkDigit13(String first12) {
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += (first12.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return (char) ('0' + (10 - sum % 10) % 10);
+    }
+}
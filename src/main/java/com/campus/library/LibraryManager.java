@@ -1,7 +1,13 @@
 package com.campus.library;
 
+import com.campus.domain.*;
+import com.campus.storage.EntityStore;
+import com.campus.storage.PrefixIndex;
+import com.campus.storage.StorageManager;
 import com.campus.utils.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.time.LocalDate;
 
@@ -10,19 +16,34 @@ import java.time.LocalDate;
  */
 public class LibraryManager implements Manageable<Book> {
     private static final Logger logger = Logger.getInstance();
+    private static final DomainEventLog domainEvents = DomainEventLog.getInstance();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private static final CrudMetrics crudMetrics = metrics.crud("library.books");
     private final Scanner scanner = new Scanner(System.in);
 
-    private Map<String, Book> books;
-    private Map<String, BorrowRecord> borrowRecords;
+    private final EntityStore<Book> books;
+    private final PrefixIndex<Book> booksByIsbn;
+    private final EntityStore<BorrowRecord> loans;
+    private final BorrowLedger borrowRecords;
     private NotificationService notificationService;
-    private int borrowCounter;
+    private final AtomicInteger borrowCounter;
 
     public LibraryManager() {
-        this.books = new HashMap<>();
-        this.borrowRecords = new HashMap<>();
+        this.books = new EntityStore<>("library.books");
+        this.booksByIsbn = books.addIndex(PrefixIndex.by(book -> Isbn.normalize(book.getIsbn())));
+        this.loans = new EntityStore<>("library.loans");
+        this.borrowRecords = new BorrowLedger();
+        // the ledger's indexes are in memory only, so rebuild them from the restored loans
+        loans.values().stream()
+                .sorted(Comparator.comparing(BorrowRecord::getBorrowDate).thenComparing(BorrowRecord::getRecordId))
+                .forEach(borrowRecords::add);
+        metrics.gauge("library.books.count", books::size);
+        metrics.gauge("library.loans.active", borrowRecords::activeCount);
         this.notificationService = NotificationService.getInstance();
-        this.borrowCounter = 1;
-        initializeSampleData();
+        if (books.isEmpty()) {
+            initializeSampleData();
+        }
+        this.borrowCounter = new AtomicInteger(loans.maxIdNumber("BR") + 1);
         logger.log("LibraryManager initialized");
     }
 
@@ -73,14 +94,18 @@ public class LibraryManager implements Manageable<Book> {
         book5.setAvailableCopies(4);
         books.put("B005", book5);
 
-        // Create sample borrow records
-        BorrowRecord record1 = new BorrowRecord("BR001", "S001", "B001", LocalDate.now().minusDays(10));
-        record1.setStatus(BorrowStatus.BORROWED);
-        borrowRecords.put("BR001", record1);
-
-        BorrowRecord record2 = new BorrowRecord("BR002", "S002", "B004", LocalDate.now().minusDays(5));
-        record2.setStatus(BorrowStatus.BORROWED);
-        borrowRecords.put("BR002", record2);
+        // Create sample borrow records, unless loans were restored on their own
+        if (loans.isEmpty()) {
+            BorrowRecord record1 = new BorrowRecord("BR001", "S001", "B001", LocalDate.now().minusDays(10));
+            record1.setStatus(BorrowStatus.BORROWED);
+            loans.put("BR001", record1);
+            borrowRecords.add(record1);
+
+            BorrowRecord record2 = new BorrowRecord("BR002", "S002", "B004", LocalDate.now().minusDays(5));
+            record2.setStatus(BorrowStatus.BORROWED);
+            loans.put("BR002", record2);
+            borrowRecords.add(record2);
+        }
 
         logger.log("Sample library data initialized");
     }
@@ -107,7 +132,7 @@ public class LibraryManager implements Manageable<Book> {
                 case 4: viewAllBooks(); break;
                 case 5: borrowRecordsMenu(); break;
                 case 6: libraryReportsMenu(); break;
-                case 7: displayLibraryStatistics(); break;
+                case 7: metrics.time("library.displayLibraryStatistics", this::displayLibraryStatistics); break;
                 case 0: return;
                 default: System.out.println("Invalid choice. Please try again.");
             }
@@ -124,35 +149,276 @@ public class LibraryManager implements Manageable<Book> {
 
     @Override
     public void create(Book book) {
-        books.put(book.getBookId(), book);
-        notificationService.notifyObservers("New book added: " + book.getTitle());
-        logger.log("Book created: " + book.getBookId());
+        long start = System.nanoTime();
+        if (!books.replace(book.getBookId(), 0, book)) {
+            throw new IllegalArgumentException("Book with ID " + book.getBookId() + " already exists");
+        }
+        notificationService.notifyObservers(NotificationService.Topic.LIBRARY, "New book added: " + book.getTitle());
+        domainEvents.append(new EntityChanged("Book", book.getBookId(), EntityChanged.ChangeType.CREATED));
+        logger.info("Book created: {}", book.getBookId());
+        crudMetrics.create().recordSince(start);
     }
 
     @Override
     public Book read(String bookId) {
-        return books.get(bookId);
+        long start = System.nanoTime();
+        Book book = books.get(bookId);
+        crudMetrics.read().recordSince(start);
+        return book;
     }
 
     @Override
     public void update(Book book) {
+        long start = System.nanoTime();
         books.put(book.getBookId(), book);
-        notificationService.notifyObservers("Book updated: " + book.getTitle());
-        logger.log("Book updated: " + book.getBookId());
+        updated(book, start);
+    }
+    
+    @Override
+    public Book update(String bookId, Consumer<Book> change) {
+        long start = System.nanoTime();
+        Book book = books.update(bookId, change);
+        updated(book, start);
+        return book;
+    }
+    
+    private void updated(Book book, long start) {
+        notificationService.notifyObservers(NotificationService.Topic.LIBRARY, "Book updated: " + book.getTitle());
+        domainEvents.append(new EntityChanged("Book", book.getBookId(), EntityChanged.ChangeType.UPDATED));
+        logger.info("Book updated: {}", book.getBookId());
+        crudMetrics.update().recordSince(start);
     }
 
     @Override
     public void delete(String bookId) {
+        long start = System.nanoTime();
         Book book = books.remove(bookId);
         if (book != null) {
-            notificationService.notifyObservers("Book deleted: " + book.getTitle());
-            logger.log("Book deleted: " + bookId);
+            notificationService.notifyObservers(NotificationService.Topic.LIBRARY, "Book deleted: " + book.getTitle());
+            domainEvents.append(new EntityChanged("Book", bookId, EntityChanged.ChangeType.DELETED));
+            logger.info("Book deleted: {}", bookId);
         }
+        crudMetrics.delete().recordSince(start);
     }
 
     @Override
     public List<Book> getAll() {
-        return new ArrayList<>(books.values());
+        long start = System.nanoTime();
+        List<Book> all = new ArrayList<>(books.values());
+        crudMetrics.getAll().recordSince(start);
+        return all;
+    }
+
+    /**
+     * Lends a copy of a book to a student for the standard two week loan period. Copies
+     * on the shelf are kept for students holding the book, in the order the holds were placed.
+     *
+     * @throws NoSuchElementException if the book does not exist
+     * @throws IllegalStateException if no copies are available to this student
+     */
+    public BorrowRecord borrowBook(String studentId, String bookId) {
+        String recordId = "BR" + String.format("%03d", borrowCounter.getAndIncrement());
+        BorrowRecord record = StorageManager.getInstance().atomically(
+                List.of(books.lockKey(bookId), loans.lockKey(recordId)), () -> {
+            Book book = requireBook(bookId);
+            if (loans.getVersion(recordId) != 0) {
+                throw new IllegalStateException("Borrow record ID already in use: " + recordId);
+            }
+            // the count itself is a CAS on the book; the stripe keeps the journaled copy in order
+            if (!book.tryIssue(studentId)) {
+                throw new IllegalStateException("No copies available for borrowing: " + bookId);
+            }
+            BorrowRecord created = new BorrowRecord(recordId, studentId, bookId, LocalDate.now());
+            created.setDueDate(LocalDate.now().plusDays(14)); // 2 weeks loan period
+            created.setStatus(BorrowStatus.BORROWED);
+
+            loans.put(recordId, created);
+            update(book);
+            borrowRecords.add(created);
+            return created;
+        });
+        domainEvents.append(new BookIssued(recordId, bookId, studentId, record.getDueDate()));
+        return record;
+    }
+
+    /**
+     * Takes back a borrowed book, charging $0.50 per day if it is overdue. The student next
+     * in line for the book, if any, is told a copy is waiting.
+     *
+     * @return the closed borrow record, with any fine set
+     * @throws NoSuchElementException if the student has no active loan of the book
+     */
+    public BorrowRecord returnBook(String studentId, String bookId) {
+        BorrowRecord record = requireActiveRecord(studentId, bookId);
+        StorageManager.getInstance().atomically(List.of(books.lockKey(bookId), loans.lockKey(record.getRecordId())), () -> {
+            LocalDate today = LocalDate.now();
+            double fine = 0.0;
+            if (record.getDueDate().isBefore(today)) {
+                long daysOverdue = today.toEpochDay() - record.getDueDate().toEpochDay();
+                fine = daysOverdue * 0.50; // $0.50 per day
+            }
+            if (!borrowRecords.close(record, today, fine)) {
+                throw new NoSuchElementException("No active borrow record found for this student and book.");
+            }
+            loans.put(record.getRecordId(), record);
+            Book book = read(bookId);
+            if (book != null) {
+                book.returnBook();
+                update(book);
+            }
+        });
+        domainEvents.append(new BookReturned(record.getRecordId(), bookId, studentId, record.getFineAmount()));
+        Book book = read(bookId);
+        String nextHold = book != null ? book.getNextHold() : null;
+        if (nextHold != null) {
+            notificationService.notifyObservers(NotificationService.Topic.LIBRARY,
+                    "Book on hold is ready for " + nextHold + ": " + book.getTitle());
+        }
+        return record;
+    }
+
+    /**
+     * Extends an active loan by another 14 days. A loan can be renewed once.
+     *
+     * @throws NoSuchElementException if the student has no active loan of the book
+     * @throws IllegalStateException if the loan has already been renewed
+     */
+    public BorrowRecord renewBook(String studentId, String bookId) {
+        BorrowRecord record = requireActiveRecord(studentId, bookId);
+        return StorageManager.getInstance().atomically(List.of(books.lockKey(bookId), loans.lockKey(record.getRecordId())), () -> {
+            if (record.isRenewed()) {
+                throw new IllegalStateException("Book has already been renewed once. Cannot renew again.");
+            }
+            borrowRecords.renew(record, record.getDueDate().plusDays(14));
+            loans.put(record.getRecordId(), record);
+            return record;
+        });
+    }
+
+    /**
+     * Queues the student for the next copy of a book that is out.
+     *
+     * @return the student's place in the queue, 1 being next
+     * @throws NoSuchElementException if the book does not exist
+     * @throws IllegalStateException if a copy is available to borrow now
+     */
+    public int placeHold(String studentId, String bookId) {
+        return StorageManager.getInstance().atomically(List.of(books.lockKey(bookId)), () -> {
+            Book book = requireBook(bookId);
+            int position = book.placeHold(studentId);
+            update(book);
+            return position;
+        });
+    }
+
+    /**
+     * @return false if the student had no hold on the book
+     * @throws NoSuchElementException if the book does not exist
+     */
+    public boolean cancelHold(String studentId, String bookId) {
+        return StorageManager.getInstance().atomically(List.of(books.lockKey(bookId)), () -> {
+            Book book = requireBook(bookId);
+            boolean cancelled = book.cancelHold(studentId);
+            if (cancelled) {
+                update(book);
+            }
+            return cancelled;
+        });
+    }
+
+    /**
+     * Looks up a book by ISBN-10 or ISBN-13, with or without hyphens, in constant time.
+     *
+     * @return the book, or null if no book has that ISBN
+     */
+    public Book findByIsbn(String isbn) {
+        long start = System.nanoTime();
+        List<Book> matches = booksByIsbn.get(Isbn.normalize(isbn));
+        metrics.recordSince("library.findByIsbn", start);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    /**
+     * Finds books by a full ISBN or by the start of one, such as a publisher prefix;
+     * a partial ISBN-10 also matches the ISBN-13 form. Reads at most {@code limit} ISBNs.
+     */
+    public List<Book> searchByIsbnPrefix(String isbn, int limit) {
+        long start = System.nanoTime();
+        List<Book> results = booksByIsbn.get(Isbn.normalize(isbn));
+        if (results.isEmpty()) {
+            for (String prefix : Isbn.prefixes(isbn)) {
+                results.addAll(booksByIsbn.withPrefix(prefix, limit));
+            }
+        }
+        metrics.recordSince("library.searchByIsbn", start);
+        return results;
+    }
+
+    /**
+     * Lends the book with a scanned ISBN barcode.
+     *
+     * @throws NoSuchElementException if no book has the ISBN
+     * @throws IllegalStateException if no copies are available
+     */
+    public BorrowRecord borrowBookByIsbn(String studentId, String isbn) {
+        Book book = findByIsbn(isbn);
+        if (book == null) {
+            throw new NoSuchElementException("No book with ISBN: " + isbn);
+        }
+        return borrowBook(studentId, book.getBookId());
+    }
+
+    private Book requireBook(String bookId) {
+        Book book = read(bookId);
+        if (book == null) {
+            throw new NoSuchElementException("Book not found: " + bookId);
+        }
+        return book;
+    }
+
+    private BorrowRecord requireActiveRecord(String studentId, String bookId) {
+        BorrowRecord record = borrowRecords.findActive(studentId, bookId);
+        if (record == null) {
+            throw new NoSuchElementException("No active borrow record found for this student and book.");
+        }
+        return record;
+    }
+
+    /**
+     * Loads a past or open loan, such as one from a generated dataset, without changing copy
+     * counts: the book's available copies are expected to account for it already.
+     *
+     * @param returnDate null while the loan is open
+     */
+    public BorrowRecord importLoan(String recordId, String studentId, String bookId,
+                                   LocalDate borrowDate, LocalDate dueDate, LocalDate returnDate) {
+        BorrowRecord record = new BorrowRecord(recordId, studentId, bookId, borrowDate);
+        if (dueDate != null) {
+            record.setDueDate(dueDate);
+        }
+        if (returnDate != null) {
+            record.setReturnDate(returnDate);
+            record.setStatus(BorrowStatus.RETURNED);
+        }
+        if (!loans.replace(recordId, 0, record)) {
+            throw new IllegalArgumentException("Borrow record with ID " + recordId + " already exists");
+        }
+        borrowRecords.add(record);
+        return record;
+    }
+
+    /**
+     * The student's active loans.
+     */
+    public List<BorrowRecord> getActiveBorrows(String studentId) {
+        return borrowRecords.activeForStudent(studentId);
+    }
+
+    /**
+     * Active loans of the book, one per copy out.
+     */
+    public List<BorrowRecord> getActiveBorrowsForBook(String bookId) {
+        return borrowRecords.activeForBook(bookId);
     }
 
     // Utility methods for external access
@@ -177,10 +443,7 @@ public class LibraryManager implements Manageable<Book> {
     }
 
     public List<Book> getOverdueBooks() {
-        LocalDate today = LocalDate.now();
-        return borrowRecords.values().stream()
-                .filter(record -> record.getStatus() == BorrowStatus.BORROWED)
-                .filter(record -> record.getDueDate() != null && record.getDueDate().isBefore(today))
+        return borrowRecords.overdue(LocalDate.now()).stream()
                 .map(record -> books.get(record.getBookId()))
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
@@ -297,19 +560,23 @@ public class LibraryManager implements Manageable<Book> {
         System.out.print("Enter choice: ");
 
         int choice = getChoice();
+        Consumer<Book> change;
 
         switch (choice) {
             case 1:
                 System.out.print("Enter new title: ");
-                book.setTitle(scanner.nextLine());
+                String title = scanner.nextLine();
+                change = b -> b.setTitle(title);
                 break;
             case 2:
                 System.out.print("Enter new author: ");
-                book.setAuthor(scanner.nextLine());
+                String author = scanner.nextLine();
+                change = b -> b.setAuthor(author);
                 break;
             case 3:
                 System.out.print("Enter new ISBN: ");
-                book.setIsbn(scanner.nextLine());
+                String isbn = scanner.nextLine();
+                change = b -> b.setIsbn(isbn);
                 break;
             case 4:
                 System.out.println("Select new category:");
@@ -320,7 +587,8 @@ public class LibraryManager implements Manageable<Book> {
                 System.out.print("Enter choice: ");
                 int categoryChoice = getChoice();
                 if (categoryChoice >= 1 && categoryChoice <= categories.length) {
-                    book.setCategory(categories[categoryChoice - 1]);
+                    BookCategory category = categories[categoryChoice - 1];
+                    change = b -> b.setCategory(category);
                 } else {
                     System.out.println("Invalid choice.");
                     return;
@@ -328,12 +596,14 @@ public class LibraryManager implements Manageable<Book> {
                 break;
             case 5:
                 System.out.print("Enter new publisher: ");
-                book.setPublisher(scanner.nextLine());
+                String publisher = scanner.nextLine();
+                change = b -> b.setPublisher(publisher);
                 break;
             case 6:
                 System.out.print("Enter new publication year: ");
                 try {
-                    book.setPublicationYear(Integer.parseInt(scanner.nextLine()));
+                    int year = Integer.parseInt(scanner.nextLine());
+                    change = b -> b.setPublicationYear(year);
                 } catch (NumberFormatException e) {
                     System.out.println("Invalid year format.");
                     return;
@@ -343,14 +613,16 @@ public class LibraryManager implements Manageable<Book> {
                 System.out.print("Enter new total copies: ");
                 try {
                     int newTotal = Integer.parseInt(scanner.nextLine());
-                    int currentBorrowed = book.getTotalCopies() - book.getAvailableCopies();
-                    if (newTotal >= currentBorrowed) {
-                        book.setTotalCopies(newTotal);
-                        book.setAvailableCopies(newTotal - currentBorrowed);
-                    } else {
-                        System.out.println("Cannot reduce copies below currently borrowed amount (" + currentBorrowed + ").");
-                        return;
-                    }
+                    // checked against the copy being changed, so a loan made meanwhile is counted
+                    change = b -> {
+                        int currentBorrowed = b.getTotalCopies() - b.getAvailableCopies();
+                        if (newTotal < currentBorrowed) {
+                            throw new IllegalArgumentException(
+                                    "Cannot reduce copies below currently borrowed amount (" + currentBorrowed + ").");
+                        }
+                        b.setTotalCopies(newTotal);
+                        b.setAvailableCopies(newTotal - currentBorrowed);
+                    };
                 } catch (NumberFormatException e) {
                     System.out.println("Invalid number format.");
                     return;
@@ -361,7 +633,12 @@ public class LibraryManager implements Manageable<Book> {
                 return;
         }
 
-        update(book);
+        try {
+            update(bookId, change);
+        } catch (NoSuchElementException | IllegalStateException | IllegalArgumentException e) {
+            System.out.println("Update failed: " + e.getMessage());
+            return;
+        }
         System.out.println("Book updated successfully!");
     }
 
@@ -435,34 +712,37 @@ public class LibraryManager implements Manageable<Book> {
         System.out.print("Enter Student ID: ");
         String studentId = scanner.nextLine();
 
-        System.out.print("Enter Book ID: ");
+        System.out.print("Enter Book ID or scan ISBN: ");
         String bookId = scanner.nextLine();
 
         Book book = read(bookId);
+        if (book == null) {
+            book = findByIsbn(bookId);
+        }
         if (book == null) {
             System.out.println("Book not found.");
             return;
         }
 
-        if (book.getAvailableCopies() <= 0) {
+        BorrowRecord record;
+        try {
+            record = borrowBook(studentId, book.getBookId());
+        } catch (IllegalStateException e) {
             System.out.println("No copies available for borrowing.");
+            System.out.print("Place a hold? (y/n): ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("y")) {
+                try {
+                    int position = placeHold(studentId, book.getBookId());
+                    System.out.println("Hold placed. Position in queue: " + position);
+                } catch (IllegalStateException held) {
+                    System.out.println(held.getMessage());
+                }
+            }
             return;
         }
 
-        // Create borrow record
-        String recordId = "BR" + String.format("%03d", borrowCounter++);
-        BorrowRecord record = new BorrowRecord(recordId, studentId, bookId, LocalDate.now());
-        record.setDueDate(LocalDate.now().plusDays(14)); // 2 weeks loan period
-        record.setStatus(BorrowStatus.BORROWED);
-
-        // Update book availability
-        book.setAvailableCopies(book.getAvailableCopies() - 1);
-        update(book);
-
-        borrowRecords.put(recordId, record);
-
         System.out.println("Book borrowed successfully!");
-        System.out.println("Borrow Record ID: " + recordId);
+        System.out.println("Borrow Record ID: " + record.getRecordId());
         System.out.println("Due Date: " + record.getDueDate());
     }
 
@@ -475,39 +755,17 @@ public class LibraryManager implements Manageable<Book> {
         System.out.print("Enter Book ID: ");
         String bookId = scanner.nextLine();
 
-        // Find active borrow record
-        BorrowRecord activeRecord = borrowRecords.values().stream()
-                .filter(record -> record.getStudentId().equals(studentId) &&
-                        record.getBookId().equals(bookId) &&
-                        record.getStatus() == BorrowStatus.BORROWED)
-                .findFirst()
-                .orElse(null);
-
-        if (activeRecord == null) {
-            System.out.println("No active borrow record found for this student and book.");
+        BorrowRecord record;
+        try {
+            record = returnBook(studentId, bookId);
+        } catch (NoSuchElementException e) {
+            System.out.println(e.getMessage());
             return;
         }
 
-        Book book = read(bookId);
-        if (book != null) {
-            // Update book availability
-            book.setAvailableCopies(book.getAvailableCopies() + 1);
-            update(book);
-
-            // Update borrow record
-            activeRecord.setReturnDate(LocalDate.now());
-            activeRecord.setStatus(BorrowStatus.RETURNED);
-
-            // Calculate fine if overdue
-            if (activeRecord.getDueDate().isBefore(LocalDate.now())) {
-                long daysOverdue = LocalDate.now().toEpochDay() - activeRecord.getDueDate().toEpochDay();
-                double fine = daysOverdue * 0.50; // $0.50 per day
-                activeRecord.setFineAmount(fine);
-                System.out.println("Book returned successfully!");
-                System.out.println("Overdue fine: $" + String.format("%.2f", fine));
-            } else {
-                System.out.println("Book returned successfully!");
-            }
+        System.out.println("Book returned successfully!");
+        if (record.getFineAmount() > 0) {
+            System.out.println("Overdue fine: $" + String.format("%.2f", record.getFineAmount()));
         }
     }
 
@@ -520,41 +778,23 @@ public class LibraryManager implements Manageable<Book> {
         System.out.print("Enter Book ID: ");
         String bookId = scanner.nextLine();
 
-        // Find active borrow record
-        BorrowRecord activeRecord = borrowRecords.values().stream()
-                .filter(record -> record.getStudentId().equals(studentId) &&
-                        record.getBookId().equals(bookId) &&
-                        record.getStatus() == BorrowStatus.BORROWED)
-                .findFirst()
-                .orElse(null);
-
-        if (activeRecord == null) {
-            System.out.println("No active borrow record found for this student and book.");
-            return;
-        }
-
-        // Check if already renewed
-        if (activeRecord.isRenewed()) {
-            System.out.println("Book has already been renewed once. Cannot renew again.");
+        BorrowRecord record;
+        try {
+            record = renewBook(studentId, bookId);
+        } catch (NoSuchElementException | IllegalStateException e) {
+            System.out.println(e.getMessage());
             return;
         }
 
-        // Renew for another 14 days
-        activeRecord.setDueDate(activeRecord.getDueDate().plusDays(14));
-        activeRecord.setRenewed(true);
-
         System.out.println("Book renewed successfully!");
-        System.out.println("New due date: " + activeRecord.getDueDate());
+        System.out.println("New due date: " + record.getDueDate());
     }
 
     private void viewBorrowedBooksInteractive() {
         System.out.print("Enter Student ID: ");
         String studentId = scanner.nextLine();
 
-        List<BorrowRecord> studentRecords = borrowRecords.values().stream()
-                .filter(record -> record.getStudentId().equals(studentId) &&
-                        record.getStatus() == BorrowStatus.BORROWED)
-                .collect(Collectors.toList());
+        List<BorrowRecord> studentRecords = borrowRecords.activeForStudent(studentId);
 
         System.out.println("\n=== BORROWED BOOKS ===");
         System.out.println("Student ID: " + studentId);
@@ -605,9 +845,11 @@ public class LibraryManager implements Manageable<Book> {
         System.out.print("Enter title to search: ");
         String searchTerm = scanner.nextLine().toLowerCase();
 
+        long start = System.nanoTime();
         List<Book> results = books.values().stream()
                 .filter(book -> book.getTitle().toLowerCase().contains(searchTerm))
                 .collect(Collectors.toList());
+        metrics.recordSince("library.searchByTitle", start);
 
         displaySearchResults(results, "title containing '" + searchTerm + "'");
     }
@@ -616,9 +858,11 @@ public class LibraryManager implements Manageable<Book> {
         System.out.print("Enter author to search: ");
         String searchTerm = scanner.nextLine().toLowerCase();
 
+        long start = System.nanoTime();
         List<Book> results = books.values().stream()
                 .filter(book -> book.getAuthor().toLowerCase().contains(searchTerm))
                 .collect(Collectors.toList());
+        metrics.recordSince("library.searchByAuthor", start);
 
         displaySearchResults(results, "author containing '" + searchTerm + "'");
     }
@@ -635,9 +879,11 @@ public class LibraryManager implements Manageable<Book> {
         if (choice >= 1 && choice <= categories.length) {
             BookCategory selectedCategory = categories[choice - 1];
 
+            long start = System.nanoTime();
             List<Book> results = books.values().stream()
                     .filter(book -> book.getCategory() == selectedCategory)
                     .collect(Collectors.toList());
+            metrics.recordSince("library.searchByCategory", start);
 
             displaySearchResults(results, "category '" + selectedCategory + "'");
         } else {
@@ -649,11 +895,9 @@ public class LibraryManager implements Manageable<Book> {
         System.out.print("Enter ISBN to search: ");
         String isbn = scanner.nextLine();
 
-        List<Book> results = books.values().stream()
-                .filter(book -> book.getIsbn() != null && book.getIsbn().contains(isbn))
-                .collect(Collectors.toList());
+        List<Book> results = searchByIsbnPrefix(isbn, 100);
 
-        displaySearchResults(results, "ISBN containing '" + isbn + "'");
+        displaySearchResults(results, "ISBN starting with '" + isbn + "'");
     }
 
     private void advancedSearch() {
@@ -761,7 +1005,7 @@ public class LibraryManager implements Manageable<Book> {
 
     private void viewAllBorrowRecords() {
         System.out.println("\n=== ALL BORROW RECORDS ===");
-        if (borrowRecords.isEmpty()) {
+        if (borrowRecords.size() == 0) {
             System.out.println("No borrow records found.");
             return;
         }
@@ -770,7 +1014,7 @@ public class LibraryManager implements Manageable<Book> {
                 "Record", "Student", "Book", "Borrow Date", "Due Date", "Return Date", "Status");
         System.out.println("-".repeat(85));
 
-        borrowRecords.values().stream()
+        borrowRecords.all().stream()
                 .sorted((r1, r2) -> r2.getBorrowDate().compareTo(r1.getBorrowDate()))
                 .forEach(record -> {
                     System.out.printf("%-8s %-10s %-8s %-12s %-12s %-12s %-10s%n",
@@ -790,9 +1034,7 @@ public class LibraryManager implements Manageable<Book> {
     private void viewActiveBorrows() {
         System.out.println("\n=== ACTIVE BORROWS ===");
 
-        List<BorrowRecord> activeRecords = borrowRecords.values().stream()
-                .filter(record -> record.getStatus() == BorrowStatus.BORROWED)
-                .collect(Collectors.toList());
+        List<BorrowRecord> activeRecords = borrowRecords.active();
 
         if (activeRecords.isEmpty()) {
             System.out.println("No active borrows found.");
@@ -825,10 +1067,7 @@ public class LibraryManager implements Manageable<Book> {
         System.out.println("\n=== OVERDUE BOOKS ===");
 
         LocalDate today = LocalDate.now();
-        List<BorrowRecord> overdueRecords = borrowRecords.values().stream()
-                .filter(record -> record.getStatus() == BorrowStatus.BORROWED)
-                .filter(record -> record.getDueDate().isBefore(today))
-                .collect(Collectors.toList());
+        List<BorrowRecord> overdueRecords = borrowRecords.overdue(today);
 
         if (overdueRecords.isEmpty()) {
             System.out.println("No overdue books found.");
@@ -861,10 +1100,7 @@ public class LibraryManager implements Manageable<Book> {
     private void viewReturnHistory() {
         System.out.println("\n=== RETURN HISTORY ===");
 
-        List<BorrowRecord> returnedRecords = borrowRecords.values().stream()
-                .filter(record -> record.getStatus() == BorrowStatus.RETURNED)
-                .sorted((r1, r2) -> r2.getReturnDate().compareTo(r1.getReturnDate()))
-                .collect(Collectors.toList());
+        List<BorrowRecord> returnedRecords = borrowRecords.recentReturns(20);
 
         if (returnedRecords.isEmpty()) {
             System.out.println("No return history found.");
@@ -875,7 +1111,7 @@ public class LibraryManager implements Manageable<Book> {
                 "Record", "Student", "Book Title", "Return Date", "Days Held", "Fine");
         System.out.println("-".repeat(80));
 
-        returnedRecords.stream().limit(20).forEach(record -> {
+        returnedRecords.forEach(record -> {
             Book book = books.get(record.getBookId());
             String title = book != null ? book.getTitle() : "Unknown";
             long daysHeld = record.getReturnDate().toEpochDay() - record.getBorrowDate().toEpochDay();
@@ -890,7 +1126,7 @@ public class LibraryManager implements Manageable<Book> {
         });
 
         System.out.println("-".repeat(80));
-        System.out.println("Showing last 20 returns. Total returned: " + returnedRecords.size());
+        System.out.println("Showing last 20 returns. Total returned: " + borrowRecords.returnedCount());
     }
 
     private void libraryReportsMenu() {
@@ -904,10 +1140,10 @@ public class LibraryManager implements Manageable<Book> {
         int choice = getChoice();
 
         switch (choice) {
-            case 1: generatePopularBooksReport(); break;
-            case 2: generateCategoryAnalysis(); break;
-            case 3: generateStudentActivityReport(); break;
-            case 4: generateFineCollectionReport(); break;
+            case 1: metrics.time("library.generatePopularBooksReport", this::generatePopularBooksReport); break;
+            case 2: metrics.time("library.generateCategoryAnalysis", this::generateCategoryAnalysis); break;
+            case 3: metrics.time("library.generateStudentActivityReport", this::generateStudentActivityReport); break;
+            case 4: metrics.time("library.generateFineCollectionReport", this::generateFineCollectionReport); break;
             default: System.out.println("Invalid choice.");
         }
     }
@@ -915,14 +1151,13 @@ public class LibraryManager implements Manageable<Book> {
     private void generatePopularBooksReport() {
         System.out.println("\n=== POPULAR BOOKS REPORT ===");
 
-        Map<String, Long> borrowCounts = borrowRecords.values().stream()
-                .collect(Collectors.groupingBy(BorrowRecord::getBookId, Collectors.counting()));
+        Map<String, Integer> borrowCounts = borrowRecords.borrowCountsByBook();
 
         System.out.printf("%-8s %-30s %-15s %-10s%n", "Book ID", "Title", "Author", "Borrows");
         System.out.println("-".repeat(70));
 
         borrowCounts.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
                 .limit(10)
                 .forEach(entry -> {
                     Book book = books.get(entry.getKey());
@@ -970,22 +1205,18 @@ public class LibraryManager implements Manageable<Book> {
     private void generateStudentActivityReport() {
         System.out.println("\n=== STUDENT ACTIVITY REPORT ===");
 
-        Map<String, Long> studentActivity = borrowRecords.values().stream()
-                .collect(Collectors.groupingBy(BorrowRecord::getStudentId, Collectors.counting()));
+        Map<String, Integer> studentActivity = borrowRecords.borrowCountsByStudent();
 
         System.out.printf("%-12s %-15s %-15s%n", "Student ID", "Total Borrows", "Currently Has");
         System.out.println("-".repeat(45));
 
         studentActivity.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
                 .limit(15)
                 .forEach(entry -> {
                     String studentId = entry.getKey();
-                    Long totalBorrows = entry.getValue();
-                    long currentBorrows = borrowRecords.values().stream()
-                            .filter(record -> record.getStudentId().equals(studentId) &&
-                                    record.getStatus() == BorrowStatus.BORROWED)
-                            .count();
+                    Integer totalBorrows = entry.getValue();
+                    int currentBorrows = borrowRecords.activeCountForStudent(studentId);
 
                     System.out.printf("%-12s %-15d %-15d%n",
                             studentId,
@@ -997,23 +1228,17 @@ public class LibraryManager implements Manageable<Book> {
     private void generateFineCollectionReport() {
         System.out.println("\n=== FINE COLLECTION REPORT ===");
 
-        double totalFines = borrowRecords.values().stream()
-                .mapToDouble(BorrowRecord::getFineAmount)
-                .sum();
+        double totalFines = borrowRecords.finesCharged();
 
-        long overdueCount = borrowRecords.values().stream()
-                .filter(record -> record.getStatus() == BorrowStatus.BORROWED)
-                .filter(record -> record.getDueDate().isBefore(LocalDate.now()))
-                .count();
+        List<BorrowRecord> overdueRecords = borrowRecords.overdue(LocalDate.now());
+        long overdueCount = overdueRecords.size();
 
         System.out.println("FINE SUMMARY:");
         System.out.println("- Total Fines Collected: $" + String.format("%.2f", totalFines));
         System.out.println("- Current Overdue Books: " + overdueCount);
 
         // Calculate potential fines from current overdue books
-        double potentialFines = borrowRecords.values().stream()
-                .filter(record -> record.getStatus() == BorrowStatus.BORROWED)
-                .filter(record -> record.getDueDate().isBefore(LocalDate.now()))
+        double potentialFines = overdueRecords.stream()
                 .mapToDouble(record -> {
                     long daysLate = LocalDate.now().toEpochDay() - record.getDueDate().toEpochDay();
                     return daysLate * 0.50;
@@ -1046,8 +1271,7 @@ public class LibraryManager implements Manageable<Book> {
         // Borrowing statistics
         System.out.println("\nBORROWING STATISTICS:");
         System.out.println("- Total Borrow Records: " + borrowRecords.size());
-        System.out.println("- Active Borrows: " +
-                borrowRecords.values().stream().filter(r -> r.getStatus() == BorrowStatus.BORROWED).count());
+        System.out.println("- Active Borrows: " + borrowRecords.activeCount());
         System.out.println("- Overdue Books: " + getOverdueBooks().size());
 
         // Utilization rate
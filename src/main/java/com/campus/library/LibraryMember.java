@@ -12,6 +12,8 @@ import java.util.Objects;
  * Library member class representing users who can borrow books
  */
 public class LibraryMember implements Identifiable {
+    private static final long serialVersionUID = -1963998893617942682L;
+
     private String memberId;
     private User user;
     private LocalDate membershipDate;
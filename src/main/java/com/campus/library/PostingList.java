@@ -0,0 +1,198 @@
+package com.campus.library;
+
+import java.util.Arrays;
+
+/**
+ * Append-only, compressed list of catalog ordinals in increasing order. Ordinals are stored
+ * as variable-length gaps from the previous one, so the dense lists of common trigrams take
+ * about a byte per book instead of four, plus a skip entry every {@value #BLOCK_SIZE}
+ * ordinals that lets an intersection jump straight to the block holding its next target.
+ * Nothing is ever removed from a list: removed books are tombstoned by their owner and
+ * filtered out of the results, and the lists are rebuilt when tombstones pile up.
+ */
+class PostingList {
+    private static final int BLOCK_SIZE = 128;
+
+    private byte[] gaps = new byte[8];
+    private int length;
+    private int[] blockFirst = new int[1];
+    private int[] blockOffset = new int[1];
+    private int size;
+    private int last = -1;
+
+    /**
+     * @throws IllegalArgumentException if the ordinal is not above every ordinal in the list
+     */
+    void add(int ordinal) {
+        if (ordinal <= last) {
+            throw new IllegalArgumentException("Ordinal " + ordinal + " added after " + last);
+        }
+        if (size % BLOCK_SIZE == 0) {
+            int block = size / BLOCK_SIZE;
+            if (block == blockFirst.length) {
+                blockFirst = Arrays.copyOf(blockFirst, block * 2);
+                blockOffset = Arrays.copyOf(blockOffset, block * 2);
+            }
+            blockFirst[block] = ordinal;
+            blockOffset[block] = length;
+        } else {
+            writeGap(ordinal - last);
+        }
+        last = ordinal;
+        size++;
+    }
+
+    /**
+     * Number of ordinals in the list, tombstoned ones included.
+     */
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Approximate heap footprint, for statistics.
+     */
+    long memoryBytes() {
+        return 48L + gaps.length + 8L * blockFirst.length;
+    }
+
+    int[] toArray() {
+        int[] result = new int[size];
+        int count = 0;
+        for (int block = 0; block * BLOCK_SIZE < size; block++) {
+            int value = blockFirst[block];
+            int pos = blockOffset[block];
+            result[count++] = value;
+            int end = Math.min(size, (block + 1) * BLOCK_SIZE);
+            while (count < end) {
+                int gap = 0;
+                for (int shift = 0; ; shift += 7) {
+                    byte b = gaps[pos++];
+                    gap |= (b & 0x7F) << shift;
+                    if (b >= 0) break;
+                }
+                value += gap;
+                result[count++] = value;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The ordinals present both here and in the sorted array. Targets far apart skip whole
+     * blocks through the block index, so a short array intersects a long list in
+     * O(short × (log blocks + block size)) without decoding the rest of the list.
+     */
+    int[] retainAll(int[] sorted) {
+        int[] result = new int[Math.min(size, sorted.length)];
+        int count = 0;
+        int blocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int block = -1;
+        int value = -1;
+        int pos = 0;
+        int index = 0;
+        int blockEnd = 0;
+        for (int target : sorted) {
+            if (target > value) {
+                int found = lastBlockAtMost(target, Math.max(block, 0), blocks);
+                if (found < 0) continue;
+                if (found != block) {
+                    block = found;
+                    value = blockFirst[block];
+                    pos = blockOffset[block];
+                    index = block * BLOCK_SIZE;
+                    blockEnd = Math.min(size, index + BLOCK_SIZE);
+                }
+                while (value < target && index + 1 < blockEnd) {
+                    int gap = 0;
+                    for (int shift = 0; ; shift += 7) {
+                        byte b = gaps[pos++];
+                        gap |= (b & 0x7F) << shift;
+                        if (b >= 0) break;
+                    }
+                    value += gap;
+                    index++;
+                }
+            }
+            if (value == target) {
+                result[count++] = target;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Merges two sorted ordinal arrays, dropping duplicates.
+     */
+    static int[] union(int[] a, int[] b) {
+        if (a.length == 0) return b;
+        if (b.length == 0) return a;
+        int[] result = new int[a.length + b.length];
+        int i = 0, j = 0, count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                result[count++] = a[i++];
+            } else if (a[i] > b[j]) {
+                result[count++] = b[j++];
+            } else {
+                result[count++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) result[count++] = a[i++];
+        while (j < b.length) result[count++] = b[j++];
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * The ordinals present in both sorted arrays.
+     */
+    static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[count++] = a[i++];
+                j++;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * The last block at or after {@code from} whose first ordinal is not above the target,
+     * or {@code from - 1} if there is none.
+     */
+    private int lastBlockAtMost(int target, int from, int blocks) {
+        int low = from;
+        int high = blocks - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (blockFirst[mid] <= target) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    private void writeGap(int gap) {
+        if (length + 5 > gaps.length) {
+            gaps = Arrays.copyOf(gaps, Math.max(length + 5, gaps.length + (gaps.length >> 1)));
+        }
+        while ((gap & ~0x7F) != 0) {
+            gaps[length++] = (byte) ((gap & 0x7F) | 0x80);
+            gap >>>= 7;
+        }
+        gaps[length++] = (byte) gap;
+    }
+}
@@ -9,6 +9,8 @@ import java.util.Objects;
  * Transaction class representing library book transactions
  */
 public class Transaction implements Identifiable {
+    private static final long serialVersionUID = 8262505643092099781L;
+
     private String transactionId;
     private LibraryMember member;
     private Book book;
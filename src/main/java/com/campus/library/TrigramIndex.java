@@ -0,0 +1,294 @@
+package com.campus.library;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Substring index over one text field of the catalog. Values are normalized (lower case,
+ * accents removed, whitespace collapsed) and stored once per distinct value, each with a
+ * posting list of the ordinals of the books that have it. Every three-character sequence of
+ * a value gets a posting list of the values containing it, so a "contains" search
+ * intersects the lists of the query's trigrams, checks the few distinct values left, and
+ * only then expands them to books. Authors and publishers repeat across many books, so
+ * both the checking and the memory scale with distinct values rather than with books.
+ */
+class TrigramIndex {
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final Map<Long, PostingList> trigramValues = new HashMap<>();
+    // Open-addressing hash table of value id + 1, keyed by the value's text
+    private int[] valueTable = new int[512];
+    private String[] values = new String[256];
+    // Most values belong to a single book, so the first ordinal is kept inline and a posting
+    // list is only allocated for values shared by several books
+    private int[] firstOrdinals = new int[256];
+    private PostingList[] valueOrdinals = new PostingList[256];
+    private int[] liveOrdinals = new int[256];
+    private int valueCount;
+    // value id + 1 for each ordinal; 0 once the ordinal is removed
+    private int[] ordinalValues = new int[1024];
+
+    void add(int ordinal, String value) {
+        String normalized = normalize(value);
+        int slot = slotOf(normalized);
+        int id;
+        if (valueTable[slot] == 0) {
+            id = addValue(normalized);
+            valueTable[slot] = id + 1;
+            firstOrdinals[id] = ordinal;
+            if (valueCount * 2 > valueTable.length) {
+                resizeValueTable();
+            }
+        } else {
+            id = valueTable[slot] - 1;
+            if (valueOrdinals[id] == null) {
+                valueOrdinals[id] = new PostingList();
+                valueOrdinals[id].add(firstOrdinals[id]);
+            }
+            valueOrdinals[id].add(ordinal);
+        }
+        liveOrdinals[id]++;
+        if (ordinal >= ordinalValues.length) {
+            ordinalValues = Arrays.copyOf(ordinalValues, Math.max(ordinal + 1, ordinalValues.length * 2));
+        }
+        ordinalValues[ordinal] = id + 1;
+    }
+
+    /**
+     * Tombstones the ordinal in O(1): the posting lists keep it, but every search skips it
+     * until the catalog rebuilds its indexes.
+     */
+    void remove(int ordinal) {
+        if (ordinal < ordinalValues.length && ordinalValues[ordinal] != 0) {
+            liveOrdinals[ordinalValues[ordinal] - 1]--;
+            ordinalValues[ordinal] = 0;
+        }
+    }
+
+    /**
+     * The normalized value stored for the ordinal, or null if it has none.
+     */
+    String value(int ordinal) {
+        return ordinal < ordinalValues.length && ordinalValues[ordinal] != 0 ? values[ordinalValues[ordinal] - 1] : null;
+    }
+
+    /**
+     * Sorted ordinals whose value contains the normalized query.
+     */
+    int[] matches(String normalizedQuery) {
+        return matches(normalizedQuery, null);
+    }
+
+    /**
+     * Like {@link #matches(String)}, but only among the given sorted ordinals when they are
+     * not null. Checking a short list of ordinals found by an earlier, more selective term
+     * avoids expanding values that many books share.
+     */
+    int[] matches(String normalizedQuery, int[] within) {
+        boolean[] matching = matchingValues(normalizedQuery);
+        if (within != null) {
+            int[] result = new int[within.length];
+            int count = 0;
+            for (int ordinal : within) {
+                int id = ordinal < ordinalValues.length ? ordinalValues[ordinal] - 1 : -1;
+                if (id >= 0 && matching[id]) {
+                    result[count++] = ordinal;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+        // Expanding through a bitmap keeps the result sorted without merging the lists
+        long[] bitmap = new long[(ordinalValues.length + 63) >>> 6];
+        int total = 0;
+        for (int id = 0; id < valueCount; id++) {
+            if (!matching[id] || liveOrdinals[id] == 0) continue;
+            int[] ordinals = valueOrdinals[id] != null ? valueOrdinals[id].toArray() : new int[] {firstOrdinals[id]};
+            for (int ordinal : ordinals) {
+                if (ordinalValues[ordinal] == id + 1) {
+                    bitmap[ordinal >>> 6] |= 1L << ordinal;
+                    total++;
+                }
+            }
+        }
+        int[] result = new int[total];
+        int count = 0;
+        for (int word = 0; word < bitmap.length && count < total; word++) {
+            long bits = bitmap[word];
+            while (bits != 0) {
+                result[count++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Flags, by value id, the values containing the query. Queries of three or more characters
+     * only check the values that have all of their trigrams; shorter ones check every value.
+     */
+    private boolean[] matchingValues(String normalizedQuery) {
+        boolean[] matching = new boolean[valueCount];
+        if (normalizedQuery.length() < 3) {
+            for (int id = 0; id < valueCount; id++) {
+                matching[id] = values[id].contains(normalizedQuery);
+            }
+            return matching;
+        }
+        long[] queryTrigrams = trigrams(normalizedQuery);
+        PostingList[] lists = new PostingList[queryTrigrams.length];
+        for (int i = 0; i < queryTrigrams.length; i++) {
+            lists[i] = trigramValues.get(queryTrigrams[i]);
+            if (lists[i] == null) {
+                return matching;
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+        int[] candidates = lists[0].toArray();
+        for (int i = 1; i < lists.length && candidates.length > 0; i++) {
+            candidates = lists[i].retainAll(candidates);
+        }
+        for (int id : candidates) {
+            matching[id] = values[id].contains(normalizedQuery);
+        }
+        return matching;
+    }
+
+    private int addValue(String normalized) {
+        int id = valueCount++;
+        if (id == values.length) {
+            values = Arrays.copyOf(values, id * 2);
+            firstOrdinals = Arrays.copyOf(firstOrdinals, id * 2);
+            valueOrdinals = Arrays.copyOf(valueOrdinals, id * 2);
+            liveOrdinals = Arrays.copyOf(liveOrdinals, id * 2);
+        }
+        values[id] = normalized;
+        for (long trigram : trigrams(normalized)) {
+            trigramValues.computeIfAbsent(trigram, k -> new PostingList()).add(id);
+        }
+        return id;
+    }
+
+    /**
+     * The slot holding the value in the value table, or the empty slot where it belongs.
+     */
+    private int slotOf(String value) {
+        int mask = valueTable.length - 1;
+        int hash = value.hashCode() * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (valueTable[slot] != 0 && !values[valueTable[slot] - 1].equals(value)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resizeValueTable() {
+        valueTable = new int[valueTable.length * 2];
+        for (int id = 0; id < valueCount; id++) {
+            valueTable[slotOf(values[id])] = id + 1;
+        }
+    }
+
+    /**
+     * Number of distinct values held by at least one book.
+     */
+    long distinctValues() {
+        long count = 0;
+        for (int id = 0; id < valueCount; id++) {
+            if (liveOrdinals[id] > 0) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Approximate heap footprint, for statistics.
+     */
+    long memoryBytes() {
+        long bytes = 4L * ordinalValues.length + 4L * valueTable.length + 16L * values.length;
+        for (PostingList list : trigramValues.values()) {
+            bytes += 64 + list.memoryBytes();
+        }
+        for (int id = 0; id < valueCount; id++) {
+            bytes += 40 + values[id].length() + (valueOrdinals[id] != null ? valueOrdinals[id].memoryBytes() : 0);
+        }
+        return bytes;
+    }
+
+    /**
+     * Lower-cases, strips accents and collapses runs of whitespace, so that "Café  Society"
+     * and "cafe society" index and search alike.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            if (lower.charAt(i) >= 0x80) {
+                lower = COMBINING_MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+                break;
+            }
+        }
+        StringBuilder result = new StringBuilder(lower.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = result.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                result.append(' ');
+                pendingSpace = false;
+            }
+            result.append(c);
+        }
+        String normalized = result.toString();
+        return normalized.equals(text) ? text : normalized;
+    }
+
+    /**
+     * Splits normalized text into its distinct words.
+     */
+    static Set<String> terms(String normalized) {
+        Set<String> terms = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * The distinct trigrams of the text, each packed into a long, in ascending order.
+     */
+    private static long[] trigrams(String normalized) {
+        if (normalized.length() < 3) {
+            return new long[0];
+        }
+        long[] trigrams = new long[normalized.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) normalized.charAt(i) << 32) | ((long) normalized.charAt(i + 1) << 16)
+                    | normalized.charAt(i + 2);
+        }
+        Arrays.sort(trigrams);
+        int distinct = 1;
+        for (int i = 1; i < trigrams.length; i++) {
+            if (trigrams[i] != trigrams[distinct - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return distinct == trigrams.length ? trigrams : Arrays.copyOf(trigrams, distinct);
+    }
+}
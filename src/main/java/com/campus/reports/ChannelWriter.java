@@ -0,0 +1,129 @@
+package com.campus.reports;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Writer that encodes UTF-8 straight into a direct buffer and writes the buffer to a channel
+ * whenever it fills up, so output of any size goes through the same 64 KB. Buffers are pooled
+ * and reused by later writers once this one is closed.
+ */
+class ChannelWriter extends Writer {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final ConcurrentLinkedQueue<ByteBuffer> BUFFER_POOL = new ConcurrentLinkedQueue<>();
+
+    private final WritableByteChannel channel;
+    private ByteBuffer buffer;
+    private char highSurrogate;
+    private long bytesWritten;
+
+    ChannelWriter(WritableByteChannel channel) {
+        this.channel = channel;
+        ByteBuffer pooled = BUFFER_POOL.poll();
+        this.buffer = pooled != null ? pooled : ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.buffer.clear();
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        encode((char) c);
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            encode(chars[i]);
+        }
+    }
+
+    @Override
+    public void write(String text, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            encode(text.charAt(i));
+        }
+    }
+
+    /**
+     * Bytes handed to the channel so far, before any compression it applies.
+     */
+    long getBytesWritten() {
+        return bytesWritten + (buffer != null ? buffer.position() : 0);
+    }
+
+    private void encode(char c) throws IOException {
+        ensureOpen();
+        if (buffer.remaining() < 4) {
+            drain();
+        }
+        if (highSurrogate != 0) {
+            char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+                return;
+            }
+            buffer.put((byte) '?');
+        }
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | (c >> 6)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            buffer.put((byte) '?');
+        } else {
+            buffer.put((byte) (0xE0 | (c >> 12)));
+            buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (buffer == null) {
+            throw new IOException("Writer is closed");
+        }
+    }
+
+    /**
+     * Writes out the buffered bytes. Whatever the channel itself buffers is written on close.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer == null) return;
+        try {
+            drain();
+            if (highSurrogate != 0) {
+                highSurrogate = 0;
+                buffer.put((byte) '?');
+                drain();
+            }
+        } finally {
+            BUFFER_POOL.offer(buffer);
+            buffer = null;
+            channel.close();
+        }
+    }
+}
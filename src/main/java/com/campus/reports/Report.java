@@ -3,11 +3,17 @@ package com.campus.reports;
 import com.campus.utils.Identifiable;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * Report class representing system reports
  */
 public class Report implements Identifiable {
+    private static final long serialVersionUID = -4449337961048083190L;
+
+    private static final AtomicReferenceFieldUpdater<Report, ReportStatus> STATUS =
+            AtomicReferenceFieldUpdater.newUpdater(Report.class, ReportStatus.class, "status");
+    
     private String reportId;
     private String reportName;
     private String description;
@@ -16,7 +22,7 @@ public class Report implements Identifiable {
     private String generatedBy;
     private LocalDateTime generatedAt;
     private LocalDateTime scheduledAt;
-    private ReportStatus status;
+    private volatile ReportStatus status;
     private String filePath;
     private String fileName;
     private ReportFormat format;
@@ -38,7 +44,7 @@ public class Report implements Identifiable {
         this.reportType = reportType;
         this.category = category;
         this.status = ReportStatus.PENDING;
-        this.format = ReportFormat.PDF;
+        this.format = ReportFormat.TXT;
         this.parameters = new HashMap<>();
         this.recipients = new ArrayList<>();
         this.metadata = new HashMap<>();
@@ -48,34 +54,57 @@ public class Report implements Identifiable {
         this.lastModified = LocalDateTime.now();
     }
     
+    /**
+     * Builds the content on the calling thread. Only one caller can move the report into
+     * GENERATING; a report cancelled or failed by someone else while it was being built
+     * keeps that status. Use a {@link ReportJobQueue} to build reports off the caller's thread.
+     *
+     * @throws IllegalStateException if the report is already being generated
+     */
     public void generateReport() {
-        if (status == ReportStatus.GENERATING) {
+        ReportStatus current = status;
+        if (current == ReportStatus.GENERATING || !STATUS.compareAndSet(this, current, ReportStatus.GENERATING)) {
             throw new IllegalStateException("Report is already being generated");
         }
         
-        this.status = ReportStatus.GENERATING;
         this.generatedAt = LocalDateTime.now();
         this.lastModified = LocalDateTime.now();
         
         try {
-            // Simulate report generation
-            Thread.sleep(1000); // Simulate processing time
-            
-            this.content = generateReportContent();
+            String generated = generateReportContent();
+            this.content = generated;
             this.fileName = generateFileName();
             this.filePath = "/reports/" + fileName;
-            this.fileSize = content.length();
-            this.status = ReportStatus.COMPLETED;
-            this.executionCount++;
-            
-        } catch (Exception e) {
-            this.status = ReportStatus.FAILED;
+            this.fileSize = generated.length();
+            if (STATUS.compareAndSet(this, ReportStatus.GENERATING, ReportStatus.COMPLETED)) {
+                this.executionCount++;
+            }
+        } catch (RuntimeException e) {
             this.errorMessage = e.getMessage();
+            STATUS.compareAndSet(this, ReportStatus.GENERATING, ReportStatus.FAILED);
         }
         
         this.lastModified = LocalDateTime.now();
     }
     
+    /**
+     * Moves a pending or generating report to CANCELLED or FAILED, recording the reason.
+     * Returns false if the report had already finished.
+     */
+    boolean abort(ReportStatus outcome, String reason) {
+        for (ReportStatus current = status; ; current = status) {
+            if (current != ReportStatus.PENDING && current != ReportStatus.SCHEDULED
+                    && current != ReportStatus.GENERATING) {
+                return false;
+            }
+            if (STATUS.compareAndSet(this, current, outcome)) {
+                this.errorMessage = reason;
+                this.lastModified = LocalDateTime.now();
+                return true;
+            }
+        }
+    }
+    
     private String generateReportContent() {
         StringBuilder content = new StringBuilder();
         
@@ -377,6 +406,23 @@ public class Report implements Identifiable {
     public void setScheduledAt(LocalDateTime scheduledAt) { this.scheduledAt = scheduledAt; }
     
     public ReportStatus getStatus() { return status; }
+    
+    /**
+     * Sets the status without checking the transition; callers outside this package use
+     * {@link #compareAndSetStatus} so a cancelled or failed report is never overwritten.
+     */
+    void setStatus(ReportStatus status) { 
+        this.status = status;
+        this.lastModified = LocalDateTime.now();
+    }
+    
+    public boolean compareAndSetStatus(ReportStatus expected, ReportStatus status) {
+        if (!STATUS.compareAndSet(this, expected, status)) {
+            return false;
+        }
+        this.lastModified = LocalDateTime.now();
+        return true;
+    }
     public String getFilePath() { return filePath; }
     public String getFileName() { return fileName; }
     
@@ -0,0 +1,218 @@
+package com.campus.reports;
+
+import com.campus.utils.CsvWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes reports to files as CSV, fixed-width text or Excel (SpreadsheetML 2003 XML).
+ * Rows are formatted one at a time straight into a pooled direct buffer that is flushed to
+ * the file's channel, so the whole content is never built in memory. Files whose name ends
+ * in .gz are gzip-compressed.
+ */
+public class ReportExporter {
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Exports every row of the table and returns how many were written.
+     *
+     * @throws IllegalArgumentException if the format is not CSV, TXT or EXCEL
+     * @throws IOException if the file cannot be written
+     */
+    public <T> long export(ReportTable<T> table, ReportFormat format, Path file) throws IOException {
+        requireSupported(format);
+        try (Writer out = open(file); Stream<T> rows = table.rows()) {
+            switch (format) {
+                case CSV: return writeCsv(table, rows.iterator(), out);
+                case TXT: return writeText(table, rows.iterator(), out);
+                default: return writeExcel(table, rows.iterator(), out);
+            }
+        }
+    }
+
+    /**
+     * Exports a generated report: text exports contain its heading and content as is,
+     * CSV and Excel exports a Field/Value table of its details followed by one row per content line.
+     *
+     * @throws IllegalArgumentException if the format is not CSV, TXT or EXCEL
+     * @throws IOException if the file cannot be written
+     */
+    public void export(Report report, ReportFormat format, Path file) throws IOException {
+        requireSupported(format);
+        if (format == ReportFormat.TXT) {
+            try (Writer out = open(file)) {
+                out.write(report.getReportName() + "\n");
+                out.write("Report ID: " + report.getReportId() + "\n");
+                out.write("Generated: " + report.getGeneratedAt() + "\n\n");
+                String content = report.getContent();
+                if (content != null) {
+                    out.write(content);
+                }
+            }
+            return;
+        }
+        ReportTable<String[]> table = new ReportTable<String[]>(report.getReportName(), () -> Stream.concat(
+                Stream.of(new String[] {"Report ID", report.getReportId()},
+                        new String[] {"Type", String.valueOf(report.getReportType())},
+                        new String[] {"Category", String.valueOf(report.getCategory())},
+                        new String[] {"Generated By", report.getGeneratedBy()},
+                        new String[] {"Generated At", String.valueOf(report.getGeneratedAt())}),
+                report.getContent() != null
+                        ? report.getContent().lines().map(line -> new String[] {"Content", line})
+                        : Stream.empty()))
+                .column("Field", 12, row -> row[0])
+                .column("Value", 40, row -> row[1]);
+        export(table, format, file);
+    }
+
+    private static void requireSupported(ReportFormat format) {
+        if (format != ReportFormat.CSV && format != ReportFormat.TXT && format != ReportFormat.EXCEL) {
+            throw new IllegalArgumentException("Export to " + format + " is not supported; use CSV, Text or Excel");
+        }
+    }
+
+    private static Writer open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        WritableByteChannel target = channel;
+        if (String.valueOf(file.getFileName()).endsWith(".gz")) {
+            try {
+                target = Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(channel), GZIP_BUFFER_SIZE));
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+        return new ChannelWriter(target);
+    }
+
+    private static <T> long writeCsv(ReportTable<T> table, Iterator<T> rows, Writer out) throws IOException {
+        CsvWriter csv = new CsvWriter(out);
+        List<ReportTable.Column<T>> columns = table.getColumns();
+        for (ReportTable.Column<T> column : columns) {
+            csv.field(column.getName());
+        }
+        csv.endRecord();
+        long count = 0;
+        while (rows.hasNext()) {
+            T row = rows.next();
+            for (ReportTable.Column<T> column : columns) {
+                csv.field(format(column.valueOf(row)));
+            }
+            csv.endRecord();
+            count++;
+        }
+        return count;
+    }
+
+    private static <T> long writeText(ReportTable<T> table, Iterator<T> rows, Writer out) throws IOException {
+        List<ReportTable.Column<T>> columns = table.getColumns();
+        out.write(table.getTitle());
+        out.write("\n\n");
+        int lineWidth = 0;
+        for (ReportTable.Column<T> column : columns) {
+            pad(out, column.getName(), column.getWidth());
+            lineWidth += column.getWidth() + 1;
+        }
+        out.write('\n');
+        for (int i = 0; i < lineWidth; i++) {
+            out.write('-');
+        }
+        out.write('\n');
+        long count = 0;
+        while (rows.hasNext()) {
+            T row = rows.next();
+            for (ReportTable.Column<T> column : columns) {
+                pad(out, format(column.valueOf(row)), column.getWidth());
+            }
+            out.write('\n');
+            count++;
+        }
+        out.write("\n" + count + " rows\n");
+        return count;
+    }
+
+    private static void pad(Writer out, String value, int width) throws IOException {
+        out.write(value);
+        for (int i = value.length(); i <= width; i++) {
+            out.write(' ');
+        }
+    }
+
+    private static <T> long writeExcel(ReportTable<T> table, Iterator<T> rows, Writer out) throws IOException {
+        List<ReportTable.Column<T>> columns = table.getColumns();
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<?mso-application progid=\"Excel.Sheet\"?>\n");
+        out.write("<Workbook xmlns=\"urn:schemas-microsoft-com:office:spreadsheet\" "
+                + "xmlns:ss=\"urn:schemas-microsoft-com:office:spreadsheet\">\n");
+        out.write("<Worksheet ss:Name=\"");
+        // sheet names are limited to 31 characters
+        escapeXml(out, table.getTitle().length() > 31 ? table.getTitle().substring(0, 31) : table.getTitle());
+        out.write("\">\n<Table>\n<Row>");
+        for (ReportTable.Column<T> column : columns) {
+            out.write("<Cell><Data ss:Type=\"String\">");
+            escapeXml(out, column.getName());
+            out.write("</Data></Cell>");
+        }
+        out.write("</Row>\n");
+        long count = 0;
+        while (rows.hasNext()) {
+            T row = rows.next();
+            out.write("<Row>");
+            for (ReportTable.Column<T> column : columns) {
+                Object value = column.valueOf(row);
+                if (value == null) {
+                    out.write("<Cell/>");
+                    continue;
+                }
+                boolean numeric = value instanceof Number && Double.isFinite(((Number) value).doubleValue());
+                out.write(numeric ? "<Cell><Data ss:Type=\"Number\">" : "<Cell><Data ss:Type=\"String\">");
+                escapeXml(out, format(value));
+                out.write("</Data></Cell>");
+            }
+            out.write("</Row>\n");
+            count++;
+        }
+        out.write("</Table>\n</Worksheet>\n</Workbook>\n");
+        return count;
+    }
+
+    private static void escapeXml(Writer out, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&': out.write("&amp;"); break;
+                case '<': out.write("&lt;"); break;
+                case '>': out.write("&gt;"); break;
+                case '"': out.write("&quot;"); break;
+                default:
+                    if (c < 0x20 && c != '\t' && c != '\n' && c != '\r') break; // not allowed in XML 1.0
+                    out.write(c);
+            }
+        }
+    }
+
+    /**
+     * Decimals are written in plain notation so that large amounts do not turn into exponents.
+     */
+    private static String format(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            return Double.isFinite(number) ? BigDecimal.valueOf(number).toPlainString() : String.valueOf(number);
+        }
+        return value.toString();
+    }
+}
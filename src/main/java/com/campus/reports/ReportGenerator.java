@@ -8,9 +8,16 @@ import com.campus.hostel.HostelManager;
 import com.campus.inventory.InventoryManager;
 import com.campus.exams.ExamManager;
 import com.campus.events.EventManager;
+import com.campus.exams.ExamResult;
+import com.campus.hostel.Payment;
+import com.campus.inventory.StockTransaction;
 import com.campus.utils.Logger;
+import com.campus.utils.MetricsRegistry;
 import com.campus.utils.DateUtils;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.util.Map;
 import java.util.HashMap;
@@ -22,6 +29,7 @@ import java.util.ArrayList;
  */
 public class ReportGenerator {
     private static final Logger logger = Logger.getInstance();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
     
     private StudentManager studentManager;
     private CourseManager courseManager;
@@ -31,6 +39,7 @@ public class ReportGenerator {
     private InventoryManager inventoryManager;
     private ExamManager examManager;
     private EventManager eventManager;
+    private final ReportExporter exporter = new ReportExporter();
     
     public ReportGenerator(StudentManager studentManager, CourseManager courseManager,
                           LibraryManager libraryManager, TransportManager transportManager,
@@ -50,6 +59,7 @@ public class ReportGenerator {
      * Generate comprehensive system overview report
      */
     public Report generateSystemOverviewReport() {
+        long start = System.nanoTime();
         Report report = new Report("SYS-001", "System Overview Report", ReportType.SYSTEM, 
                                   ReportCategory.OVERVIEW, "System Administrator");
         
@@ -90,9 +100,11 @@ public class ReportGenerator {
         content.append("Recent Graduations: ").append(getRecentGraduations()).append("\n\n");
         
         report.setContent(content.toString());
-        report.setStatus(ReportStatus.COMPLETED);
+        report.compareAndSetStatus(ReportStatus.PENDING, ReportStatus.COMPLETED);
         
         logger.log("System overview report generated");
+        metrics.recordSince("reports.generateSystemOverviewReport", start);
+        metrics.counter("reports.generated").increment();
         return report;
     }
     
@@ -100,6 +112,7 @@ public class ReportGenerator {
      * Generate student performance report
      */
     public Report generateStudentPerformanceReport() {
+        long start = System.nanoTime();
         Report report = new Report("STU-001", "Student Performance Report", ReportType.ACADEMIC, 
                                   ReportCategory.PERFORMANCE, "Academic Office");
         
@@ -127,9 +140,11 @@ public class ReportGenerator {
         });
         
         report.setContent(content.toString());
-        report.setStatus(ReportStatus.COMPLETED);
+        report.compareAndSetStatus(ReportStatus.PENDING, ReportStatus.COMPLETED);
         
         logger.log("Student performance report generated");
+        metrics.recordSince("reports.generateStudentPerformanceReport", start);
+        metrics.counter("reports.generated").increment();
         return report;
     }
     
@@ -137,6 +152,7 @@ public class ReportGenerator {
      * Generate financial report
      */
     public Report generateFinancialReport() {
+        long start = System.nanoTime();
         Report report = new Report("FIN-001", "Financial Report", ReportType.FINANCIAL, 
                                   ReportCategory.REVENUE, "Finance Office");
         
@@ -165,9 +181,11 @@ public class ReportGenerator {
         content.append("Total System Revenue: $").append(String.format("%.2f", totalRevenue)).append("\n");
         
         report.setContent(content.toString());
-        report.setStatus(ReportStatus.COMPLETED);
+        report.compareAndSetStatus(ReportStatus.PENDING, ReportStatus.COMPLETED);
         
         logger.log("Financial report generated");
+        metrics.recordSince("reports.generateFinancialReport", start);
+        metrics.counter("reports.generated").increment();
         return report;
     }
     
@@ -175,6 +193,7 @@ public class ReportGenerator {
      * Generate inventory report
      */
     public Report generateInventoryReport() {
+        long start = System.nanoTime();
         Report report = new Report("INV-001", "Inventory Status Report", ReportType.INVENTORY, 
                                   ReportCategory.STOCK, "Inventory Manager");
         
@@ -194,9 +213,11 @@ public class ReportGenerator {
         });
         
         report.setContent(content.toString());
-        report.setStatus(ReportStatus.COMPLETED);
+        report.compareAndSetStatus(ReportStatus.PENDING, ReportStatus.COMPLETED);
         
         logger.log("Inventory report generated");
+        metrics.recordSince("reports.generateInventoryReport", start);
+        metrics.counter("reports.generated").increment();
         return report;
     }
     
@@ -204,6 +225,7 @@ public class ReportGenerator {
      * Generate attendance report
      */
     public Report generateAttendanceReport() {
+        long start = System.nanoTime();
         Report report = new Report("ATT-001", "Attendance Report", ReportType.ACADEMIC, 
                                   ReportCategory.ATTENDANCE, "Academic Office");
         
@@ -224,9 +246,11 @@ public class ReportGenerator {
         });
         
         report.setContent(content.toString());
-        report.setStatus(ReportStatus.COMPLETED);
+        report.compareAndSetStatus(ReportStatus.PENDING, ReportStatus.COMPLETED);
         
         logger.log("Attendance report generated");
+        metrics.recordSince("reports.generateAttendanceReport", start);
+        metrics.counter("reports.generated").increment();
         return report;
     }
     
@@ -236,6 +260,7 @@ public class ReportGenerator {
     public Report generateCustomReport(String reportId, String title, ReportType type, 
                                      ReportCategory category, String requestedBy, 
                                      Map<String, Object> parameters) {
+        long start = System.nanoTime();
         Report report = new Report(reportId, title, type, category, requestedBy);
         
         StringBuilder content = new StringBuilder();
@@ -262,9 +287,11 @@ public class ReportGenerator {
         }
         
         report.setContent(content.toString());
-        report.setStatus(ReportStatus.COMPLETED);
+        report.compareAndSetStatus(ReportStatus.PENDING, ReportStatus.COMPLETED);
         
-        logger.log("Custom report generated: " + title);
+        logger.info("Custom report generated: {}", title);
+        metrics.recordSince("reports.generateCustomReport", start);
+        metrics.counter("reports.generated").increment();
         return report;
     }
     
@@ -377,13 +404,14 @@ public class ReportGenerator {
     }
     
     /**
-     * Export report to different formats
+     * Export report to different formats. A file path ending in .gz is gzip-compressed.
+     *
+     * @throws IllegalArgumentException if the format cannot be exported
+     * @throws IOException if the file cannot be written
      */
-    public void exportReport(Report report, ReportFormat format, String filePath) {
+    public void exportReport(Report report, ReportFormat format, String filePath) throws IOException {
+        long start = System.nanoTime();
         switch (format) {
-            case PDF:
-                exportToPDF(report, filePath);
-                break;
             case EXCEL:
                 exportToExcel(report, filePath);
                 break;
@@ -394,27 +422,77 @@ public class ReportGenerator {
                 exportToText(report, filePath);
                 break;
             default:
-                logger.log("Unsupported export format: " + format);
+                throw new IllegalArgumentException("Unsupported export format: " + format);
         }
+        metrics.recordSince("reports.export", start);
+        logger.info("Report {} exported to {}: {}", report.getReportId(), format, filePath);
+    }
+    
+    private void exportToExcel(Report report, String filePath) throws IOException {
+        exporter.export(report, ReportFormat.EXCEL, Paths.get(filePath));
     }
     
-    private void exportToPDF(Report report, String filePath) {
-        // PDF export implementation would go here
-        logger.log("Report exported to PDF: " + filePath);
+    private void exportToCSV(Report report, String filePath) throws IOException {
+        exporter.export(report, ReportFormat.CSV, Paths.get(filePath));
     }
     
-    private void exportToExcel(Report report, String filePath) {
-        // Excel export implementation would go here
-        logger.log("Report exported to Excel: " + filePath);
+    private void exportToText(Report report, String filePath) throws IOException {
+        exporter.export(report, ReportFormat.TXT, Paths.get(filePath));
+    }
+    
+    /**
+     * Streams every hostel payment to the file and returns the number of rows written.
+     */
+    public long exportPaymentReport(ReportFormat format, Path file) throws IOException {
+        return exportTable(new ReportTable<Payment>("Hostel Payments", hostelManager::streamPayments)
+                .column("Payment ID", 10, Payment::getPaymentId)
+                .column("Student ID", 10, Payment::getStudentId)
+                .column("Type", 12, Payment::getPaymentType)
+                .column("Amount", 10, Payment::getAmount)
+                .column("Final Amount", 12, Payment::getFinalAmount)
+                .column("Status", 10, Payment::getStatus)
+                .column("Due Date", 10, Payment::getDueDate)
+                .column("Paid On", 10, Payment::getPaymentDate)
+                .column("Receipt", 12, Payment::getReceiptNumber), format, file);
     }
     
-    private void exportToCSV(Report report, String filePath) {
-        // CSV export implementation would go here
-        logger.log("Report exported to CSV: " + filePath);
+    /**
+     * Streams every inventory stock transaction to the file and returns the number of rows written.
+     */
+    public long exportStockTransactionReport(ReportFormat format, Path file) throws IOException {
+        return exportTable(new ReportTable<StockTransaction>("Stock Transactions", inventoryManager::streamTransactions)
+                .column("Transaction ID", 10, StockTransaction::getTransactionId)
+                .column("Item ID", 8, StockTransaction::getItemId)
+                .column("Type", 12, StockTransaction::getTransactionType)
+                .column("Quantity", 8, StockTransaction::getQuantity)
+                .column("Unit Price", 10, StockTransaction::getUnitPrice)
+                .column("Total", 12, StockTransaction::getTotalAmount)
+                .column("Performed By", 12, StockTransaction::getPerformedBy)
+                .column("Date", 19, StockTransaction::getTransactionDate)
+                .column("Reason", 20, StockTransaction::getReason), format, file);
+    }
+    
+    /**
+     * Streams every exam result to the file and returns the number of rows written.
+     */
+    public long exportExamResultReport(ReportFormat format, Path file) throws IOException {
+        return exportTable(new ReportTable<ExamResult>("Exam Results", examManager::streamResults)
+                .column("Exam ID", 8, ExamResult::getExamId)
+                .column("Student ID", 10, ExamResult::getStudentId)
+                .column("Marks", 5, ExamResult::getMarksObtained)
+                .column("Max", 5, ExamResult::getMaxMarks)
+                .column("Percentage", 10, ExamResult::getPercentage)
+                .column("Grade", 5, ExamResult::getGrade)
+                .column("Grade Points", 12, ExamResult::getGradePoints), format, file);
     }
     
-    private void exportToText(Report report, String filePath) {
-        // Text export implementation would go here
-        logger.log("Report exported to Text: " + filePath);
+    private <T> long exportTable(ReportTable<T> table, ReportFormat format, Path file) throws IOException {
+        long start = System.nanoTime();
+        long rows = exporter.export(table, format, file);
+        metrics.recordSince("reports.export", start);
+        metrics.counter("reports.exportedRows").add(rows);
+        logger.info("{} exported to {} ({} rows) in {} ms", table.getTitle(), file, rows,
+                (System.nanoTime() - start) / 1_000_000);
+        return rows;
     }
 }
\ No newline at end of file
@@ -0,0 +1,297 @@
+package com.campus.reports;
+
+import com.campus.utils.Logger;
+import com.campus.utils.MetricsRegistry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Builds reports on a small pool of background workers so that menus never wait for them.
+ * Submitting returns a {@link ReportJob} straight away; a report submitted under the key of
+ * a job that is still queued or running joins that job instead of being built twice.
+ * Jobs can be cancelled and fail once their timeout passes, interrupting the worker.
+ * The pool size, queue capacity and default timeout are set with {@value #WORKERS_PROPERTY},
+ * {@value #QUEUE_CAPACITY_PROPERTY} and {@value #TIMEOUT_PROPERTY}; once the queue is full
+ * further submissions are refused. Finished jobs stay available for {@value #RETENTION_PROPERTY}
+ * minutes and are then forgotten.
+ */
+public class ReportJobQueue {
+    public static final String WORKERS_PROPERTY = "campus.reports.workers";
+    public static final String QUEUE_CAPACITY_PROPERTY = "campus.reports.queueCapacity";
+    public static final String TIMEOUT_PROPERTY = "campus.reports.timeoutSeconds";
+    public static final String RETENTION_PROPERTY = "campus.reports.retentionMinutes";
+    private static final Logger logger = Logger.getInstance();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+
+    private final ThreadPoolExecutor workers;
+    private final ScheduledThreadPoolExecutor timeouts;
+    private final Duration defaultTimeout;
+    private final Duration retention;
+    private final ConcurrentHashMap<String, ReportJob> jobs = new ConcurrentHashMap<>();
+
+    public ReportJobQueue() {
+        this(Integer.getInteger(WORKERS_PROPERTY, Math.min(4, Runtime.getRuntime().availableProcessors())),
+                Integer.getInteger(QUEUE_CAPACITY_PROPERTY, 64),
+                Duration.ofSeconds(Long.getLong(TIMEOUT_PROPERTY, 60)));
+    }
+
+    public ReportJobQueue(int workerCount, int queueCapacity, Duration defaultTimeout) {
+        this(workerCount, queueCapacity, defaultTimeout, Duration.ofMinutes(Long.getLong(RETENTION_PROPERTY, 30)));
+    }
+
+    public ReportJobQueue(int workerCount, int queueCapacity, Duration defaultTimeout, Duration retention) {
+        int poolSize = Math.max(1, workerCount);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "report-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.workers.allowCoreThreadTimeOut(true);
+        this.timeouts = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "report-timeouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timeouts.setRemoveOnCancelPolicy(true);
+        this.defaultTimeout = defaultTimeout;
+        this.retention = retention;
+        metrics.gauge("reports.jobs.queued", () -> workers.getQueue().size());
+        metrics.gauge("reports.jobs.running", workers::getActiveCount);
+    }
+
+    /**
+     * Generates the report in the background, deduplicated by report id.
+     */
+    public ReportJob submit(Report report) {
+        return submit(report.getReportId(), () -> {
+            report.generateReport();
+            if (report.getStatus() == ReportStatus.FAILED) {
+                throw new IllegalStateException(report.getErrorMessage());
+            }
+            return report;
+        }, defaultTimeout, report);
+    }
+
+    public ReportJob submit(String key, Callable<Report> builder) {
+        return submit(key, builder, defaultTimeout);
+    }
+
+    /**
+     * Queues a report build and returns its job, or the job already queued or running under
+     * the same key.
+     *
+     * @throws IllegalStateException if the queue is full or has been shut down
+     */
+    public ReportJob submit(String key, Callable<Report> builder, Duration timeout) {
+        return submit(key, builder, timeout, null);
+    }
+
+    private ReportJob submit(String key, Callable<Report> builder, Duration timeout, Report target) {
+        ReportJob created = new ReportJob(key, target);
+        ReportJob job = jobs.compute(key, (k, existing) -> existing != null && !existing.isDone() ? existing : created);
+        if (job != created) {
+            metrics.counter("reports.jobs.deduplicated").increment();
+            return job;
+        }
+        created.result.whenComplete((result, error) -> {
+            ScheduledFuture<?> timer = created.timer;
+            if (timer != null) timer.cancel(false);
+            metrics.recordSince("reports.job", created.submittedNanos);
+            evictAfterRetention(created);
+        });
+        try {
+            created.task = workers.submit(() -> created.run(builder));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(key, created);
+            created.finish(ReportStatus.FAILED, new IllegalStateException("Report queue is full"));
+            metrics.counter("reports.jobs.rejected").increment();
+            throw new IllegalStateException("Report queue is full; try again once running reports finish");
+        }
+        if (!timeout.isZero() && !timeout.isNegative()) {
+            created.timer = timeouts.schedule(() -> {
+                if (created.finish(ReportStatus.FAILED,
+                        new TimeoutException("Report timed out after " + timeout.toMillis() + " ms"))) {
+                    metrics.counter("reports.jobs.timedOut").increment();
+                    logger.warn("Report job {} timed out after {} ms", key, timeout.toMillis());
+                }
+            }, timeout.toNanos(), TimeUnit.NANOSECONDS);
+            if (created.isDone()) created.timer.cancel(false);
+        }
+        metrics.counter("reports.jobs.submitted").increment();
+        logger.info("Queued report job {}", key);
+        return created;
+    }
+
+    /**
+     * Forgets a finished job once the retention period has passed, unless a newer job has
+     * taken its key by then.
+     */
+    private void evictAfterRetention(ReportJob job) {
+        if (retention.isZero() || retention.isNegative()) {
+            jobs.remove(job.key, job);
+            return;
+        }
+        try {
+            timeouts.schedule(() -> {
+                if (jobs.remove(job.key, job)) {
+                    metrics.counter("reports.jobs.evicted").increment();
+                }
+            }, retention.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.key, job); // shutting down
+        }
+    }
+
+    /**
+     * The most recent job submitted under the key, or null if it is unknown or was finished
+     * longer ago than the retention period.
+     */
+    public ReportJob getJob(String key) {
+        return jobs.get(key);
+    }
+
+    public List<ReportJob> getJobs() {
+        List<ReportJob> all = new ArrayList<>(jobs.values());
+        all.sort((a, b) -> Long.compare(a.submittedNanos, b.submittedNanos));
+        return all;
+    }
+
+    /**
+     * @return true if the job was found and had not finished yet
+     */
+    public boolean cancel(String key) {
+        ReportJob job = jobs.get(key);
+        return job != null && job.cancel();
+    }
+
+    /**
+     * Stops accepting jobs and cancels everything queued or running.
+     */
+    public void shutdown() {
+        workers.shutdown();
+        for (ReportJob job : jobs.values()) {
+            job.cancel();
+        }
+        timeouts.shutdownNow();
+    }
+
+    /**
+     * Handle to a queued report build. The status moves from PENDING to GENERATING and then
+     * to exactly one of COMPLETED, FAILED or CANCELLED; whichever of completion, cancellation
+     * and timeout happens first decides which.
+     */
+    public static final class ReportJob {
+        private final String key;
+        private final LocalDateTime submittedAt;
+        private final long submittedNanos;
+        private final AtomicReference<ReportStatus> status = new AtomicReference<>(ReportStatus.PENDING);
+        private final CompletableFuture<Report> result = new CompletableFuture<>();
+        private final Report target;
+        private volatile Future<?> task;
+        private volatile ScheduledFuture<?> timer;
+        private volatile String errorMessage;
+
+        private ReportJob(String key, Report target) {
+            this.key = key;
+            this.target = target;
+            this.submittedAt = LocalDateTime.now();
+            this.submittedNanos = System.nanoTime();
+        }
+
+        private void run(Callable<Report> builder) {
+            if (!status.compareAndSet(ReportStatus.PENDING, ReportStatus.GENERATING)) {
+                return; // cancelled or timed out while queued
+            }
+            try {
+                Report report = builder.call();
+                if (status.compareAndSet(ReportStatus.GENERATING, ReportStatus.COMPLETED)) {
+                    result.complete(report);
+                }
+            } catch (Exception e) {
+                finish(ReportStatus.FAILED, e);
+            }
+        }
+
+        /**
+         * Ends the job with the outcome unless it has already finished, interrupting the
+         * worker if it is running.
+         */
+        private boolean finish(ReportStatus outcome, Throwable error) {
+            for (ReportStatus current = status.get(); ; current = status.get()) {
+                if (current != ReportStatus.PENDING && current != ReportStatus.GENERATING) {
+                    return false;
+                }
+                if (status.compareAndSet(current, outcome)) {
+                    break;
+                }
+            }
+            errorMessage = error.getMessage();
+            if (target != null) {
+                target.abort(outcome, errorMessage);
+            }
+            Future<?> running = task;
+            if (running != null) {
+                running.cancel(true);
+            }
+            if (outcome == ReportStatus.CANCELLED) {
+                result.cancel(false);
+            } else {
+                result.completeExceptionally(error);
+            }
+            return true;
+        }
+
+        /**
+         * @return true if the job had not finished yet
+         */
+        public boolean cancel() {
+            return finish(ReportStatus.CANCELLED, new IllegalStateException("Report cancelled"));
+        }
+
+        public String getKey() { return key; }
+        public LocalDateTime getSubmittedAt() { return submittedAt; }
+        public ReportStatus getStatus() { return status.get(); }
+        public String getErrorMessage() { return errorMessage; }
+
+        public boolean isDone() {
+            return result.isDone();
+        }
+
+        /**
+         * The finished report, or null while it is still being built or if the job did not complete.
+         */
+        public Report getReport() {
+            return result.isDone() && !result.isCompletedExceptionally() ? result.join() : null;
+        }
+
+        /**
+         * A future that completes with the report; cancelling it does not cancel the job.
+         */
+        public CompletableFuture<Report> future() {
+            return result.copy();
+        }
+
+        @Override
+        public String toString() {
+            return key + " [" + getStatus() + (errorMessage != null ? ": " + errorMessage : "") + "]";
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.campus.reports;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A tabular report whose rows are pulled from a stream only while it is being exported,
+ * so exporting it never holds more than one row at a time.
+ */
+public class ReportTable<T> {
+    private final String title;
+    private final Supplier<Stream<T>> rows;
+    private final List<Column<T>> columns;
+
+    public ReportTable(String title, Supplier<Stream<T>> rows) {
+        this.title = title;
+        this.rows = rows;
+        this.columns = new ArrayList<>();
+    }
+
+    /**
+     * Adds a column; the width is the minimum column width in text exports.
+     */
+    public ReportTable<T> column(String name, int width, Function<? super T, ?> value) {
+        columns.add(new Column<>(name, width, value));
+        return this;
+    }
+
+    public String getTitle() { return title; }
+    public List<Column<T>> getColumns() { return Collections.unmodifiableList(columns); }
+
+    /**
+     * A fresh stream of the rows; the caller must close it.
+     */
+    public Stream<T> rows() {
+        return rows.get();
+    }
+
+    public static class Column<T> {
+        private final String name;
+        private final int width;
+        private final Function<? super T, ?> value;
+
+        Column(String name, int width, Function<? super T, ?> value) {
+            this.name = name;
+            this.width = Math.max(width, name.length());
+            this.value = value;
+        }
+
+        public String getName() { return name; }
+        public int getWidth() { return width; }
+
+        public Object valueOf(T row) {
+            return value.apply(row);
+        }
+    }
+}
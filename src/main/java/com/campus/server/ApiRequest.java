@@ -0,0 +1,109 @@
+package com.campus.server;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A parsed API call: path parameters, query parameters and the JSON body.
+ * The typed accessors throw IllegalArgumentException for missing or malformed values,
+ * which the router reports as 400 Bad Request.
+ */
+public class ApiRequest {
+    private final String method;
+    private final Map<String, String> pathParameters;
+    private final Map<String, String> queryParameters;
+    private final Map<String, Object> body;
+
+    ApiRequest(String method, Map<String, String> pathParameters, Map<String, String> queryParameters,
+               Map<String, Object> body) {
+        this.method = method;
+        this.pathParameters = pathParameters;
+        this.queryParameters = queryParameters;
+        this.body = body;
+    }
+
+    public String getMethod() { return method; }
+
+    public String path(String name) {
+        return pathParameters.get(name);
+    }
+
+    public String query(String name) {
+        return queryParameters.get(name);
+    }
+
+    public int queryInt(String name, int defaultValue) {
+        String value = queryParameters.get(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Query parameter '" + name + "' must be an integer");
+        }
+    }
+
+    public <E extends Enum<E>> E queryEnum(String name, Class<E> type) {
+        String value = queryParameters.get(name);
+        return value == null || value.isEmpty() ? null : toEnum(name, value, type);
+    }
+
+    public String string(String name) {
+        Object value = body.get(name);
+        if (value == null || value.toString().trim().isEmpty()) {
+            throw new IllegalArgumentException("Field '" + name + "' is required");
+        }
+        return value.toString();
+    }
+
+    public String optionalString(String name) {
+        Object value = body.get(name);
+        return value != null ? value.toString() : null;
+    }
+
+    public int integer(String name) {
+        Object value = body.get(name);
+        if (value instanceof Long) {
+            long number = (Long) value;
+            if (number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) {
+                return (int) number;
+            }
+        }
+        throw new IllegalArgumentException("Field '" + name + "' must be an integer");
+    }
+
+    public double decimal(String name) {
+        Object value = body.get(name);
+        if (!(value instanceof Number)) {
+            throw new IllegalArgumentException("Field '" + name + "' must be a number");
+        }
+        return ((Number) value).doubleValue();
+    }
+
+    public LocalDate optionalDate(String name, LocalDate defaultValue) {
+        String value = optionalString(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Field '" + name + "' must be a date (YYYY-MM-DD)");
+        }
+    }
+
+    public <E extends Enum<E>> E enumValue(String name, Class<E> type) {
+        return toEnum(name, string(name), type);
+    }
+
+    private static <E extends Enum<E>> E toEnum(String name, String value, Class<E> type) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("'" + name + "' must be one of " + Arrays.toString(type.getEnumConstants()));
+        }
+    }
+}
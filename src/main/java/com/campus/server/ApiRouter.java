@@ -0,0 +1,289 @@
+package com.campus.server;
+
+import com.campus.utils.Logger;
+import com.campus.utils.MetricsRegistry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * Dispatches API calls to registered routes and writes their results as JSON.
+ * Paths may contain {name} segments, which are passed to the handler as path parameters.
+ * Listings (collections or streams) are written element by element with chunked transfer
+ * encoding and honour the optional offset and limit query parameters.
+ * Handler exceptions map to status codes: NoSuchElementException to 404,
+ * IllegalArgumentException to 400 and IllegalStateException to 409.
+ * Calls other than GET must send the shared token as {@code Authorization: Bearer <token>},
+ * otherwise they are answered with 401.
+ */
+class ApiRouter implements HttpHandler {
+    private static final Logger logger = Logger.getInstance();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private static final int MAX_BODY_BYTES = 1 << 20;
+    private static final int RESPONSE_BUFFER_SIZE = 16 * 1024;
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final int ABORTED = -1;
+
+    @FunctionalInterface
+    interface Handler {
+        Object handle(ApiRequest request);
+    }
+
+    private final List<Route> routes = new ArrayList<>();
+    private final byte[] mutationToken;
+
+    ApiRouter(String mutationToken) {
+        this.mutationToken = mutationToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    ApiRouter get(String pattern, Handler handler) {
+        return add("GET", pattern, 200, handler);
+    }
+
+    ApiRouter post(String pattern, Handler handler) {
+        return add("POST", pattern, 201, handler);
+    }
+
+    ApiRouter put(String pattern, Handler handler) {
+        return add("PUT", pattern, 200, handler);
+    }
+
+    ApiRouter delete(String pattern, Handler handler) {
+        return add("DELETE", pattern, 200, handler);
+    }
+
+    /**
+     * POST that acts on an existing resource instead of creating one, so it answers 200.
+     */
+    ApiRouter action(String pattern, Handler handler) {
+        return add("POST", pattern, 200, handler);
+    }
+
+    private ApiRouter add(String method, String pattern, int successStatus, Handler handler) {
+        routes.add(new Route(method, pattern, successStatus, handler));
+        return this;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        String method = exchange.getRequestMethod();
+        String[] segments = split(exchange.getRequestURI().getPath());
+        String metricName = "http.unmatched";
+        int status;
+        boolean aborted = false;
+        try {
+            Route route = null;
+            Map<String, String> pathParameters = null;
+            boolean pathMatched = false;
+            for (Route candidate : routes) {
+                Map<String, String> matched = candidate.match(segments);
+                if (matched == null) continue;
+                pathMatched = true;
+                if (candidate.method.equals(method)) {
+                    route = candidate;
+                    pathParameters = matched;
+                    break;
+                }
+            }
+            if (route == null) {
+                status = pathMatched ? 405 : 404;
+                sendError(exchange, status, pathMatched ? "Method not allowed" : "No such endpoint");
+            } else {
+                metricName = "http." + route.method + " " + route.pattern;
+                if (!"GET".equals(route.method) && !authorized(exchange)) {
+                    exchange.getResponseHeaders().set("WWW-Authenticate", "Bearer");
+                    status = sendError(exchange, 401, "Missing or invalid API token");
+                } else {
+                    status = dispatch(exchange, route, pathParameters);
+                    aborted = status == ABORTED;
+                }
+            }
+        } finally {
+            if (!aborted) {
+                exchange.close();
+            }
+        }
+        if (aborted) {
+            metrics.counter("http.requests").increment();
+            metrics.counter("http.errors").increment();
+            metrics.recordSince(metricName, start);
+            // Closing the exchange would end the chunked body and pass the partial listing off
+            // as complete; failing the handler instead makes the server drop the connection
+            throw new IOException("Aborted response to " + method + " " + exchange.getRequestURI());
+        }
+        metrics.counter("http.requests").increment();
+        if (status >= 500) {
+            metrics.counter("http.errors").increment();
+        }
+        metrics.recordSince(metricName, start);
+        logger.debug("{} {} -> {}", method, exchange.getRequestURI(), status);
+    }
+
+    private int dispatch(HttpExchange exchange, Route route, Map<String, String> pathParameters) throws IOException {
+        Object result;
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        try {
+            Map<String, Object> body = hasBody(route.method) ? JsonParser.parseObject(readBody(exchange)) : Map.of();
+            result = route.handler.handle(new ApiRequest(route.method, pathParameters, query, body));
+        } catch (NoSuchElementException e) {
+            return sendError(exchange, 404, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return sendError(exchange, 400, e.getMessage());
+        } catch (IllegalStateException e) {
+            return sendError(exchange, 409, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Request " + route.method + " " + exchange.getRequestURI() + " failed: " + e);
+            return sendError(exchange, 500, "Internal server error");
+        }
+
+        if (result == null) {
+            exchange.sendResponseHeaders(204, -1);
+            return 204;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(route.successStatus, 0);
+        Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8),
+                RESPONSE_BUFFER_SIZE);
+        try {
+            JsonWriter json = new JsonWriter(out);
+            if (result instanceof Collection || result instanceof Stream) {
+                Stream<?> elements = result instanceof Stream ? (Stream<?>) result : ((Collection<?>) result).stream();
+                int offset = Math.max(0, parseInt(query.get("offset"), 0));
+                int limit = parseInt(query.get("limit"), -1);
+                elements = elements.skip(offset);
+                if (limit >= 0) {
+                    elements = elements.limit(limit);
+                }
+                json.array(elements.iterator());
+            } else {
+                json.value(result);
+            }
+            out.close();
+        } catch (IOException e) {
+            logger.debug("Client went away during {} {}: {}", route.method, exchange.getRequestURI(), e.getMessage());
+        } catch (RuntimeException e) {
+            // the success status is already on the wire, so the body cannot become an error response
+            logger.error("Response to {} {} failed while streaming: {}", route.method, exchange.getRequestURI(), e);
+            return ABORTED;
+        }
+        return route.successStatus;
+    }
+
+    private boolean authorized(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return false;
+        }
+        byte[] presented = header.substring(BEARER_PREFIX.length()).trim().getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(presented, mutationToken);
+    }
+
+    static int sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringWriter body = new StringWriter();
+        body.write("{\"status\":" + status + ",\"error\":");
+        new JsonWriter(body).string(message != null ? message : "");
+        body.write('}');
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        return status;
+    }
+
+    private static boolean hasBody(String method) {
+        return "POST".equals(method) || "PUT".equals(method);
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) {
+                throw new IllegalArgumentException("Request body exceeds " + MAX_BODY_BYTES + " bytes");
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator >= 0 ? pair.substring(0, separator) : pair;
+            String value = separator >= 0 ? pair.substring(separator + 1) : "";
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static String[] split(String path) {
+        String trimmed = path.replaceAll("^/+|/+$", "");
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/+");
+    }
+
+    private static class Route {
+        private final String method;
+        private final String pattern;
+        private final String[] segments;
+        private final int successStatus;
+        private final Handler handler;
+
+        Route(String method, String pattern, int successStatus, Handler handler) {
+            this.method = method;
+            this.pattern = pattern;
+            this.segments = split(pattern);
+            this.successStatus = successStatus;
+            this.handler = handler;
+        }
+
+        /**
+         * Returns the path parameters if the request path fits this route, otherwise null.
+         */
+        Map<String, String> match(String[] path) {
+            if (path.length != segments.length) {
+                return null;
+            }
+            Map<String, String> parameters = new HashMap<>();
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.startsWith("{") && segment.endsWith("}")) {
+                    parameters.put(segment.substring(1, segment.length() - 1),
+                            URLDecoder.decode(path[i], StandardCharsets.UTF_8));
+                } else if (!segment.equals(path[i])) {
+                    return null;
+                }
+            }
+            return parameters;
+        }
+    }
+}
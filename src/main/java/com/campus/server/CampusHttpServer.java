@@ -0,0 +1,339 @@
+package com.campus.server;
+
+import com.campus.domain.DomainEventLog;
+import com.campus.events.EventManager;
+import com.campus.events.EventStatus;
+import com.campus.exams.ExamManager;
+import com.campus.exams.ExamStatus;
+import com.campus.hostel.HostelManager;
+import com.campus.hostel.PaymentType;
+import com.campus.inventory.InventoryManager;
+import com.campus.library.LibraryManager;
+import com.campus.storage.StorageManager;
+import com.campus.students.StudentManager;
+import com.campus.transport.TransportManager;
+import com.campus.utils.Logger;
+import com.campus.utils.MetricsRegistry;
+import com.campus.utils.NotificationService;
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded HTTP/JSON front end for the campus managers, so several staff members can
+ * work with the same data at once. Built on the JDK's com.sun.net.httpserver; each request
+ * runs on its own virtual thread when the runtime supports them (Java 21+) and otherwise
+ * on a bounded worker pool sized by {@value #THREADS_PROPERTY}. Requests the pool cannot
+ * take are answered 503 with Retry-After.
+ * All operations go through the managers' non-interactive methods.
+ * The server listens on the loopback interface unless {@value #HOST_PROPERTY} names another
+ * address. Calls that change data must carry the shared token from {@value #TOKEN_PROPERTY};
+ * if none is configured a random one is generated at start-up.
+ */
+public class CampusHttpServer {
+    public static final String HOST_PROPERTY = "campus.server.host";
+    public static final String PORT_PROPERTY = "campus.server.port";
+    public static final String TOKEN_PROPERTY = "campus.server.token";
+    public static final String THREADS_PROPERTY = "campus.server.threads";
+    public static final String BACKLOG_PROPERTY = "campus.server.backlog";
+    private static final Logger logger = Logger.getInstance();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+
+    private final StudentManager studentManager;
+    private final HostelManager hostelManager;
+    private final LibraryManager libraryManager;
+    private final ExamManager examManager;
+    private final EventManager eventManager;
+    private final InventoryManager inventoryManager;
+    private final TransportManager transportManager;
+    private HttpServer server;
+    private ExecutorService executor;
+    private String token;
+
+    public CampusHttpServer(StudentManager studentManager, HostelManager hostelManager, LibraryManager libraryManager,
+                            ExamManager examManager, EventManager eventManager, InventoryManager inventoryManager,
+                            TransportManager transportManager) {
+        this.studentManager = studentManager;
+        this.hostelManager = hostelManager;
+        this.libraryManager = libraryManager;
+        this.examManager = examManager;
+        this.eventManager = eventManager;
+        this.inventoryManager = inventoryManager;
+        this.transportManager = transportManager;
+    }
+
+    public synchronized void start(int port) throws IOException {
+        start(System.getProperty(HOST_PROPERTY, "127.0.0.1"), port);
+    }
+
+    public synchronized void start(String host, int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Server already started");
+        }
+        String configuredToken = System.getProperty(TOKEN_PROPERTY);
+        this.token = configuredToken != null && !configuredToken.isBlank() ? configuredToken.trim() : newToken();
+        ApiRouter router = new ApiRouter(token);
+        registerStudentRoutes(router);
+        registerHostelRoutes(router);
+        registerLibraryRoutes(router);
+        registerExamRoutes(router);
+        registerEventRoutes(router);
+        registerInventoryRoutes(router);
+        registerTransportRoutes(router);
+
+        this.server = HttpServer.create(new InetSocketAddress(host, port), Integer.getInteger(BACKLOG_PROPERTY, 1024));
+        this.executor = newRequestExecutor(Integer.getInteger(THREADS_PROPERTY, 256));
+        LoadSheddingExecutor shedder = new LoadSheddingExecutor(executor);
+        Filter shedding = shedder.filter();
+        server.setExecutor(shedder);
+        server.createContext("/api/", router).getFilters().add(shedding);
+        server.createContext("/metrics", exchange -> {
+            byte[] body = metrics.dumpJson().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        }).getFilters().add(shedding);
+        server.start();
+        logger.info("HTTP server listening on {}:{}", host, getPort());
+    }
+
+    /**
+     * Stops accepting requests and waits up to the given number of seconds for running ones to finish.
+     */
+    public synchronized void stop(int graceSeconds) {
+        if (server == null) return;
+        server.stop(graceSeconds);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(graceSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+        logger.info("HTTP server stopped");
+    }
+
+    public int getPort() {
+        return server != null ? server.getAddress().getPort() : -1;
+    }
+
+    /**
+     * The token that POST, PUT and DELETE calls must send as {@code Authorization: Bearer <token>}.
+     */
+    public synchronized String getToken() {
+        return token;
+    }
+
+    private void registerStudentRoutes(ApiRouter router) {
+        router.get("/api/students", request -> {
+            String department = request.query("department");
+            int year = request.queryInt("year", 0);
+            if (department != null) return studentManager.getStudentsByDepartment(department);
+            if (year > 0) return studentManager.getStudentsByYear(year);
+            return studentManager.getAll();
+        });
+        router.get("/api/students/top", request -> studentManager.getTopPerformers(request.queryInt("limit", 10)));
+        router.get("/api/students/stats", request -> stats(
+                "total", studentManager.getTotalStudents(),
+                "averageGpa", studentManager.getAverageGPA()));
+        router.get("/api/students/{id}", request -> found(studentManager.read(request.path("id")), "Student", request.path("id")));
+        router.delete("/api/students/{id}", request -> {
+            found(studentManager.read(request.path("id")), "Student", request.path("id"));
+            studentManager.delete(request.path("id"));
+            return null;
+        });
+    }
+
+    private void registerHostelRoutes(ApiRouter router) {
+        router.get("/api/hostel/rooms", request -> hostelManager.getAll());
+        router.get("/api/hostel/stats", request -> stats(
+                "totalRooms", hostelManager.getTotalRooms(),
+                "availableRooms", hostelManager.getAvailableRooms(),
+                "occupiedRooms", hostelManager.getOccupiedRooms(),
+                "activeAllocations", hostelManager.getActiveAllocations(),
+                "occupancyRate", hostelManager.getOccupancyRate(),
+                "totalRevenue", hostelManager.getTotalRevenue()));
+        router.get("/api/hostel/rooms/{id}", request -> found(hostelManager.read(request.path("id")), "Room", request.path("id")));
+        router.action("/api/hostel/rooms/{id}/vacate", request -> hostelManager.vacateRoom(request.path("id"), request.string("studentId")));
+        router.post("/api/hostel/allocations", request -> hostelManager.allocateRoom(
+                request.string("roomId"), request.string("studentId"),
+                request.optionalDate("startDate", LocalDate.now())));
+        router.post("/api/hostel/payments", request -> hostelManager.recordPayment(
+                request.string("studentId"), request.decimal("amount"),
+                request.enumValue("type", PaymentType.class), request.optionalString("method"),
+                request.optionalString("description")));
+    }
+
+    private void registerLibraryRoutes(ApiRouter router) {
+        router.get("/api/library/books", request -> libraryManager.getAll());
+        router.get("/api/library/books/overdue", request -> libraryManager.getOverdueBooks());
+        router.get("/api/library/stats", request -> stats(
+                "titles", libraryManager.getTotalTitles(),
+                "copies", libraryManager.getTotalBooks(),
+                "available", libraryManager.getAvailableBooks(),
+                "borrowed", libraryManager.getBorrowedBooks()));
+        router.get("/api/library/books/{id}", request -> found(libraryManager.read(request.path("id")), "Book", request.path("id")));
+        router.post("/api/library/loans", request -> libraryManager.borrowBook(request.string("studentId"), request.string("bookId")));
+        router.action("/api/library/returns", request -> libraryManager.returnBook(request.string("studentId"), request.string("bookId")));
+        router.action("/api/library/renewals", request -> libraryManager.renewBook(request.string("studentId"), request.string("bookId")));
+    }
+
+    private void registerExamRoutes(ApiRouter router) {
+        router.get("/api/exams", request -> {
+            ExamStatus status = request.queryEnum("status", ExamStatus.class);
+            return status != null ? examManager.getExamsByStatus(status) : examManager.getAll();
+        });
+        router.get("/api/exams/upcoming", request -> examManager.getUpcomingExams());
+        router.get("/api/exams/{id}", request -> found(examManager.read(request.path("id")), "Exam", request.path("id")));
+        router.action("/api/exams/{id}/enrollments", request -> examManager.enrollStudent(request.path("id"), request.string("studentId")));
+        router.delete("/api/exams/{id}/enrollments/{studentId}",
+                request -> examManager.unenrollStudent(request.path("id"), request.path("studentId")));
+        router.post("/api/exams/{id}/results", request -> examManager.recordResult(request.path("id"),
+                request.string("studentId"), request.integer("marks"), request.string("grade")));
+        router.put("/api/exams/{id}/results/{studentId}", request -> examManager.updateResult(request.path("id"),
+                request.path("studentId"), request.integer("marks"), request.string("grade")));
+    }
+
+    private void registerEventRoutes(ApiRouter router) {
+        router.get("/api/events", request -> {
+            EventStatus status = request.queryEnum("status", EventStatus.class);
+            return status != null ? eventManager.getEventsByStatus(status) : eventManager.getAll();
+        });
+        router.get("/api/events/upcoming", request -> eventManager.getUpcomingEvents());
+        router.get("/api/events/{id}", request -> found(eventManager.read(request.path("id")), "Event", request.path("id")));
+        router.action("/api/events/{id}/registrations",
+                request -> eventManager.registerParticipant(request.path("id"), request.string("participantId")));
+        router.delete("/api/events/{id}/registrations/{participantId}",
+                request -> eventManager.unregisterParticipant(request.path("id"), request.path("participantId")));
+        router.action("/api/events/{id}/attendance", request -> stats(
+                "marked", eventManager.markAttendance(request.path("id"), request.string("participantId"))));
+    }
+
+    private void registerInventoryRoutes(ApiRouter router) {
+        router.get("/api/inventory/items", request -> inventoryManager.getAll());
+        router.get("/api/inventory/items/low-stock", request -> inventoryManager.getLowStockItems());
+        router.get("/api/inventory/stats", request -> stats(
+                "items", inventoryManager.getTotalItems(),
+                "activeItems", inventoryManager.getActiveItems(),
+                "lowStock", inventoryManager.getLowStockCount(),
+                "totalValue", inventoryManager.getTotalInventoryValue()));
+        router.get("/api/inventory/items/{id}", request -> found(inventoryManager.read(request.path("id")), "Item", request.path("id")));
+        router.post("/api/inventory/items/{id}/stock-in", request -> inventoryManager.addStock(request.path("id"),
+                request.integer("quantity"), request.decimal("unitPrice"), performedBy(request), request.optionalString("reason")));
+        router.post("/api/inventory/items/{id}/stock-out", request -> inventoryManager.removeStock(request.path("id"),
+                request.integer("quantity"), performedBy(request), request.optionalString("reason")));
+        router.post("/api/inventory/items/{id}/transfer", request -> inventoryManager.transferStock(request.path("id"),
+                request.string("location"), request.integer("quantity"), request.optionalString("recipient"), performedBy(request)));
+        router.post("/api/inventory/items/{id}/adjustment", request -> inventoryManager.adjustStock(request.path("id"),
+                request.integer("quantity"), performedBy(request), request.optionalString("reason")));
+    }
+
+    private void registerTransportRoutes(ApiRouter router) {
+        router.get("/api/transport/vehicles", request -> transportManager.getAll());
+        router.get("/api/transport/stats", request -> stats(
+                "vehicles", transportManager.getTotalVehicles(),
+                "active", transportManager.getActiveVehicles(),
+                "inMaintenance", transportManager.getMaintenanceVehicles(),
+                "routes", transportManager.getTotalRoutes(),
+                "drivers", transportManager.getTotalDrivers()));
+        router.get("/api/transport/vehicles/{id}",
+                request -> found(transportManager.read(request.path("id")), "Vehicle", request.path("id")));
+    }
+
+    private static <T> T found(T entity, String type, String id) {
+        if (entity == null) {
+            throw new NoSuchElementException(type + " not found: " + id);
+        }
+        return entity;
+    }
+
+    private static String performedBy(ApiRequest request) {
+        String performedBy = request.optionalString("performedBy");
+        return performedBy != null ? performedBy : "API";
+    }
+
+    private static Map<String, Object> stats(Object... namesAndValues) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            stats.put((String) namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return stats;
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[24];
+        new SecureRandom().nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Uses Executors.newVirtualThreadPerTaskExecutor when the runtime has it. It is looked up
+     * reflectively so the code still compiles and runs on Java 17, where requests fall back to a
+     * fixed pool with a bounded queue. Once the queue is full the pool rejects requests rather
+     * than running them on the dispatcher thread, and {@link LoadSheddingExecutor} answers 503.
+     */
+    private static ExecutorService newRequestExecutor(int threads) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService virtualThreads = (ExecutorService) factory.invoke(null);
+            logger.info("HTTP requests run on virtual threads");
+            return virtualThreads;
+        } catch (ReflectiveOperationException e) {
+            int poolSize = Math.max(1, threads);
+            AtomicInteger threadCount = new AtomicInteger();
+            logger.info("HTTP requests run on a pool of {} threads", poolSize);
+            return new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(poolSize * 16), runnable -> {
+                        Thread thread = new Thread(runnable, "http-worker-" + threadCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String host = System.getProperty(HOST_PROPERTY, "127.0.0.1");
+        int port = Integer.getInteger(PORT_PROPERTY, 8080);
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if ("--host".equals(args[i])) {
+                host = args[i + 1];
+            } else if ("--port".equals(args[i])) {
+                port = Integer.parseInt(args[i + 1]);
+            }
+        }
+
+        CampusHttpServer server = new CampusHttpServer(new StudentManager(), new HostelManager(), new LibraryManager(),
+                new ExamManager(), new EventManager(), new InventoryManager(), new TransportManager());
+        metrics.gauge("domain.events.endOffset", DomainEventLog.getInstance()::getEndOffset);
+        metrics.startReporting();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(5);
+            NotificationService.getInstance().shutdown();
+            StorageManager.getInstance().shutdown();
+            metrics.stopReporting();
+            logger.shutdown();
+        }, "http-server-shutdown"));
+        server.start(host, port);
+        System.out.println("Campus API listening on http://" + host + ":" + server.getPort() + "/api/");
+        if (System.getProperty(TOKEN_PROPERTY, "").isBlank()) {
+            System.out.println("API token for POST, PUT and DELETE: " + server.getToken());
+        }
+    }
+}
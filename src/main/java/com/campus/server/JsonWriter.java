@@ -0,0 +1,197 @@
+package com.campus.server;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streaming JSON writer. Values are written straight to the underlying writer as they
+ * are produced, so a large listing never has to be held in memory as one document.
+ * Domain objects are written as their public getters, which are looked up once per class.
+ */
+class JsonWriter {
+    private static final int MAX_DEPTH = 4;
+    private static final Map<Class<?>, List<Property>> properties = new ConcurrentHashMap<>();
+
+    private final Writer out;
+
+    JsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    void value(Object value) throws IOException {
+        value(value, 0);
+    }
+
+    /**
+     * Writes the elements as a JSON array, one at a time.
+     */
+    void array(Iterator<?> elements) throws IOException {
+        out.write('[');
+        boolean first = true;
+        while (elements.hasNext()) {
+            if (!first) out.write(',');
+            value(elements.next(), 1);
+            first = false;
+        }
+        out.write(']');
+    }
+
+    private void value(Object value, int depth) throws IOException {
+        if (value == null) {
+            out.write("null");
+        } else if (value instanceof String || value instanceof Character) {
+            string(value.toString());
+        } else if (value instanceof Number) {
+            number((Number) value);
+        } else if (value instanceof Boolean) {
+            out.write(value.toString());
+        } else if (value instanceof Enum) {
+            string(((Enum<?>) value).name());
+        } else if (value instanceof TemporalAccessor) {
+            string(value.toString());
+        } else if (value instanceof Map) {
+            map((Map<?, ?>) value, depth);
+        } else if (value instanceof Collection) {
+            collection((Collection<?>) value, depth);
+        } else if (value.getClass().isArray()) {
+            array(value, depth);
+        } else if (value.getClass().getName().startsWith("java.") || depth >= MAX_DEPTH) {
+            string(value.toString());
+        } else {
+            bean(value, depth);
+        }
+    }
+
+    private void number(Number number) throws IOException {
+        if (number instanceof Double || number instanceof Float) {
+            double d = number.doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                out.write("null");
+                return;
+            }
+        }
+        out.write(number.toString());
+    }
+
+    private void map(Map<?, ?> map, int depth) throws IOException {
+        out.write('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) out.write(',');
+            string(entry.getKey() instanceof Enum ? ((Enum<?>) entry.getKey()).name() : String.valueOf(entry.getKey()));
+            out.write(':');
+            value(entry.getValue(), depth + 1);
+            first = false;
+        }
+        out.write('}');
+    }
+
+    private void collection(Collection<?> values, int depth) throws IOException {
+        out.write('[');
+        boolean first = true;
+        for (Object element : values) {
+            if (!first) out.write(',');
+            value(element, depth + 1);
+            first = false;
+        }
+        out.write(']');
+    }
+
+    private void array(Object array, int depth) throws IOException {
+        out.write('[');
+        for (int i = 0; i < Array.getLength(array); i++) {
+            if (i > 0) out.write(',');
+            value(Array.get(array, i), depth + 1);
+        }
+        out.write(']');
+    }
+
+    private void bean(Object bean, int depth) throws IOException {
+        out.write('{');
+        boolean first = true;
+        for (Property property : propertiesOf(bean.getClass())) {
+            Object propertyValue;
+            try {
+                propertyValue = property.getter.invoke(bean);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                continue; // derived getters may not apply to every state, e.g. a fine on an open loan
+            }
+            if (!first) out.write(',');
+            string(property.name);
+            out.write(':');
+            value(propertyValue, depth + 1);
+            first = false;
+        }
+        out.write('}');
+    }
+
+    void string(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': out.write("\\\""); break;
+                case '\\': out.write("\\\\"); break;
+                case '\n': out.write("\\n"); break;
+                case '\r': out.write("\\r"); break;
+                case '\t': out.write("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+
+    private static List<Property> propertiesOf(Class<?> type) {
+        return properties.computeIfAbsent(type, JsonWriter::findProperties);
+    }
+
+    private static List<Property> findProperties(Class<?> type) {
+        List<Property> found = new ArrayList<>();
+        for (Method method : type.getMethods()) {
+            if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers())
+                    || method.getDeclaringClass() == Object.class || method.getReturnType() == void.class) {
+                continue;
+            }
+            String name = method.getName();
+            String propertyName = null;
+            if (name.startsWith("get") && name.length() > 3) {
+                propertyName = name.substring(3);
+            } else if (name.startsWith("is") && name.length() > 2
+                    && (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class)) {
+                propertyName = name.substring(2);
+            }
+            if (propertyName != null) {
+                method.setAccessible(true);
+                found.add(new Property(Character.toLowerCase(propertyName.charAt(0)) + propertyName.substring(1), method));
+            }
+        }
+        found.sort(Comparator.comparing(property -> property.name));
+        return found;
+    }
+
+    private static class Property {
+        private final String name;
+        private final Method getter;
+
+        Property(String name, Method getter) {
+            this.name = name;
+            this.getter = getter;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.campus.server;
+
+import com.campus.utils.MetricsRegistry;
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Hands exchanges to the request executor and sheds load when it rejects them.
+ * The HttpServer only passes the executor an opaque task, so a rejected task still runs on
+ * the dispatcher thread, but flagged so that {@link #filter()} answers 503 with Retry-After
+ * before any handler work instead of serving the request there.
+ */
+class LoadSheddingExecutor implements Executor {
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private static final ThreadLocal<Boolean> shedding = new ThreadLocal<>();
+    private static final int RETRY_AFTER_SECONDS = 1;
+
+    private final ExecutorService delegate;
+
+    LoadSheddingExecutor(ExecutorService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        try {
+            delegate.execute(task);
+        } catch (RejectedExecutionException e) {
+            metrics.counter("http.rejected").increment();
+            shedding.set(Boolean.TRUE);
+            try {
+                task.run();
+            } finally {
+                shedding.remove();
+            }
+        }
+    }
+
+    /**
+     * Filter to install on every context; it passes exchanges through unless they were rejected.
+     */
+    Filter filter() {
+        return new Filter() {
+            @Override
+            public void doFilter(HttpExchange exchange, Chain chain) throws IOException {
+                if (shedding.get() == null) {
+                    chain.doFilter(exchange);
+                    return;
+                }
+                try {
+                    exchange.getResponseHeaders().set("Retry-After", Integer.toString(RETRY_AFTER_SECONDS));
+                    ApiRouter.sendError(exchange, 503, "Server is busy, retry later");
+                } finally {
+                    exchange.close();
+                }
+            }
+
+            @Override
+            public String description() {
+                return "Answers 503 to requests the request executor rejected";
+            }
+        };
+    }
+}
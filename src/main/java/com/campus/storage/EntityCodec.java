@@ -0,0 +1,48 @@
+package com.campus.storage;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+
+/**
+ * Utility class for converting entities to and from their stored binary form
+ */
+public class EntityCodec {
+
+    public static byte[] encode(Serializable entity) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(entity);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode " + entity.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Deep copy made by a round trip through the stored form.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Serializable> T copy(T entity) {
+        return (T) decode(encode(entity));
+    }
+
+    public static Object decode(byte[] data) {
+        return decode(new ByteArrayInputStream(data));
+    }
+
+    public static Object decode(ByteBuffer data) {
+        return decode(new Snapshot.ByteBufferInputStream(data.duplicate()));
+    }
+
+    private static Object decode(InputStream data) {
+        try (ObjectInputStream in = new ObjectInputStream(data)) {
+            return in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode stored entity", e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Stored entity class not found: " + e.getMessage(), e);
+        }
+    }
+}
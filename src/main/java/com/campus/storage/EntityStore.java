@@ -0,0 +1,262 @@
+package com.campus.storage;
+
+import com.campus.utils.Identifiable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Concurrent map of entities keyed by ID whose mutations are recorded in the storage journal.
+ * Managers use it in place of a plain HashMap; on construction it is restored
+ * from whatever the storage holds for the store's name.
+ * Reads are lock-free. Writes to a key are serialized on that key's lock stripe so the
+ * journal order always matches the map, and every write bumps the entity's version
+ * for optimistic concurrency control through {@link #replace(String, long, Identifiable)}.
+ */
+public class EntityStore<T extends Identifiable> extends AbstractMap<String, T> {
+    private static final long PARALLEL_INDEX_THRESHOLD = 10000;
+    private static final int MAX_UPDATE_ATTEMPTS = 16;
+    private final String name;
+    private final ConcurrentHashMap<String, Versioned<T>> entities;
+    private final StorageManager storage;
+    private final List<StoreIndex<T>> indexes;
+
+    public EntityStore(String name) {
+        this.name = name;
+        this.entities = new ConcurrentHashMap<>();
+        this.indexes = new CopyOnWriteArrayList<>();
+        this.storage = StorageManager.getInstance();
+        storage.restore(this);
+    }
+
+    void load(String key, T entity) {
+        entities.put(key, new Versioned<>(entity, 1));
+    }
+
+    public String getName() { return name; }
+
+    /**
+     * Registers an index, builds it from the current contents and keeps it
+     * up to date on every subsequent put and remove.
+     */
+    public <I extends StoreIndex<T>> I addIndex(I index) {
+        // index updates for distinct ids are safe to run concurrently, so large stores build in parallel
+        entities.forEach(PARALLEL_INDEX_THRESHOLD, (key, current) -> index.update(key, current.entity));
+        indexes.add(index);
+        return index;
+    }
+
+    /**
+     * Key used with {@link StorageManager#atomically} to lock an entity of this store.
+     */
+    public String lockKey(String id) {
+        return name + ':' + id;
+    }
+
+    @Override
+    public T get(Object key) {
+        Versioned<T> current = entities.get(key);
+        return current != null ? current.entity : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return entities.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return entities.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return entities.isEmpty();
+    }
+
+    /**
+     * The largest number that follows the prefix in a key, or 0 if no key is the prefix
+     * followed by digits. Generated IDs are seeded from it rather than from the size, which
+     * stops bounding the numbers in use once records have been deleted.
+     */
+    public int maxIdNumber(String prefix) {
+        int max = 0;
+        for (String key : entities.keySet()) {
+            // nine digits always fit in an int
+            if (!key.startsWith(prefix) || key.length() == prefix.length() || key.length() > prefix.length() + 9) {
+                continue;
+            }
+            int number = 0;
+            for (int i = prefix.length(); i < key.length() && number >= 0; i++) {
+                char c = key.charAt(i);
+                number = c >= '0' && c <= '9' ? number * 10 + (c - '0') : -1;
+            }
+            max = Math.max(max, number);
+        }
+        return max;
+    }
+
+    /**
+     * Returns the entity's current version, or 0 if it does not exist.
+     */
+    public long getVersion(String key) {
+        Versioned<T> current = entities.get(key);
+        return current != null ? current.version : 0;
+    }
+
+    @Override
+    public T put(String key, T entity) {
+        Objects.requireNonNull(entity, "entity");
+        ReentrantLock stripe = lock(key);
+        try {
+            return apply(key, entity);
+        } finally {
+            unlock(stripe);
+        }
+    }
+
+    /**
+     * Stores the entity only if its current version still equals the expected one.
+     * An expected version of 0 means the entity must not exist yet.
+     */
+    public boolean replace(String key, long expectedVersion, T entity) {
+        Objects.requireNonNull(entity, "entity");
+        ReentrantLock stripe = lock(key);
+        try {
+            if (getVersion(key) != expectedVersion) {
+                return false;
+            }
+            apply(key, entity);
+            return true;
+        } finally {
+            unlock(stripe);
+        }
+    }
+
+    /**
+     * Read-modify-write under optimistic concurrency control. The change is applied to a
+     * private copy of the stored entity, and the copy is stored through {@link #replace}
+     * only if no other write landed in between; otherwise the change is re-applied to the
+     * newer entity. The entity held by the store is never modified.
+     *
+     * @return the stored copy
+     * @throws NoSuchElementException if the entity does not exist
+     * @throws IllegalStateException if concurrent writers won every attempt
+     */
+    public T update(String key, Consumer<? super T> change) {
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            Versioned<T> copy = copyOf(key);
+            if (copy == null) {
+                throw new NoSuchElementException(name + " has no entity " + key);
+            }
+            change.accept(copy.entity);
+            if (replace(key, copy.version, copy.entity)) {
+                return copy.entity;
+            }
+        }
+        throw new IllegalStateException("Update of " + lockKey(key) + " kept conflicting with concurrent writes");
+    }
+
+    private Versioned<T> copyOf(String key) {
+        // taken under the stripe so an entity being changed in place by an atomically block is never copied half-done
+        ReentrantLock stripe = storage.lockFor(lockKey(key));
+        stripe.lock();
+        try {
+            Versioned<T> current = entities.get(key);
+            return current != null ? new Versioned<>(EntityCodec.copy(current.entity), current.version) : null;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public T remove(Object key) {
+        if (!(key instanceof String)) return null;
+        String id = (String) key;
+        ReentrantLock stripe = lock(id);
+        try {
+            Versioned<T> removed = entities.remove(id);
+            if (removed == null) return null;
+            for (StoreIndex<T> index : indexes) {
+                index.remove(id);
+            }
+            storage.recordRemove(name, id);
+            return removed.entity;
+        } finally {
+            unlock(stripe);
+        }
+    }
+
+    private T apply(String key, T entity) {
+        Versioned<T> current = entities.get(key);
+        long version = current != null ? current.version : 0;
+        entities.put(key, new Versioned<>(entity, version + 1));
+        for (StoreIndex<T> index : indexes) {
+            index.update(key, entity);
+        }
+        storage.recordPut(name, key, entity);
+        return current != null ? current.entity : null;
+    }
+
+    private ReentrantLock lock(String key) {
+        ReentrantLock stripe = storage.lockFor(lockKey(key));
+        stripe.lock();
+        storage.lockMutations();
+        return stripe;
+    }
+
+    private void unlock(ReentrantLock stripe) {
+        storage.unlockMutations();
+        stripe.unlock();
+    }
+
+    /**
+     * Weakly consistent view: iteration never throws ConcurrentModificationException
+     * and reflects some state of the store at or after the iterator's creation.
+     */
+    @Override
+    public Set<Entry<String, T>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, T>> iterator() {
+                Iterator<Entry<String, Versioned<T>>> delegate = entities.entrySet().iterator();
+                return new Iterator<>() {
+                    private String currentKey;
+
+                    @Override
+                    public boolean hasNext() { return delegate.hasNext(); }
+
+                    @Override
+                    public Entry<String, T> next() {
+                        Entry<String, Versioned<T>> next = delegate.next();
+                        currentKey = next.getKey();
+                        return new SimpleImmutableEntry<>(currentKey, next.getValue().entity);
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (currentKey == null) throw new IllegalStateException();
+                        EntityStore.this.remove(currentKey);
+                        currentKey = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() { return entities.size(); }
+        };
+    }
+
+    private static class Versioned<T> {
+        private final T entity;
+        private final long version;
+
+        Versioned(T entity, long version) {
+            this.entity = entity;
+            this.version = version;
+        }
+    }
+}
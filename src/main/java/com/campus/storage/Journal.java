@@ -0,0 +1,270 @@
+package com.campus.storage;
+
+import com.campus.utils.Logger;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary journal of entity store mutations.
+ * Appends are queued and written by a background flusher thread that
+ * forces the whole pending batch to disk with a single fsync (group commit).
+ */
+public class Journal implements AutoCloseable {
+    private static final Logger logger = Logger.getInstance();
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_PENDING_RECORDS = 65536;
+    private static final long IDLE_WAIT_MILLIS = 100;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ReentrantLock lock;
+    private final Condition recordsPending;
+    private final Condition batchFlushed;
+    private final Thread flusher;
+    private List<byte[]> pending;
+    private long appendedCount;
+    private long durableCount;
+    private IOException failure;
+    private boolean closed;
+
+    public Journal(Path path, long validLength) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.channel.truncate(validLength);
+        this.channel.position(validLength);
+        this.lock = new ReentrantLock();
+        this.recordsPending = lock.newCondition();
+        this.batchFlushed = lock.newCondition();
+        this.pending = new ArrayList<>();
+        this.flusher = new Thread(this::flushLoop, "journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queues a record for the next group commit and returns without waiting for the fsync.
+     * Blocks only when the flusher has fallen more than MAX_PENDING_RECORDS behind.
+     */
+    public void append(Operation operation, String store, String key, byte[] payload) {
+        byte[] frame = encode(operation, store, key, payload);
+        lock.lock();
+        try {
+            while (pending.size() >= MAX_PENDING_RECORDS && failure == null && !closed) {
+                batchFlushed.awaitUninterruptibly();
+            }
+            if (failure != null) {
+                throw new IllegalStateException("Journal is unavailable: " + failure.getMessage(), failure);
+            }
+            if (closed) {
+                throw new IllegalStateException("Journal is closed: " + path);
+            }
+            pending.add(frame);
+            appendedCount++;
+            recordsPending.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until every record appended before this call is durable on disk.
+     */
+    public void sync() {
+        lock.lock();
+        try {
+            long target = appendedCount;
+            while (durableCount < target && failure == null) {
+                recordsPending.signal();
+                batchFlushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            recordsPending.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.error("Failed to close journal " + path + ": " + e.getMessage());
+        }
+    }
+
+    public Path getPath() { return path; }
+
+    private void flushLoop() {
+        while (true) {
+            List<byte[]> batch;
+            lock.lock();
+            try {
+                while (pending.isEmpty() && !closed) {
+                    recordsPending.await(IDLE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                if (pending.isEmpty()) {
+                    batchFlushed.signalAll();
+                    return;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                writeBatch(batch);
+            } catch (IOException e) {
+                error = e;
+                logger.error("Journal write failed for " + path + ": " + e.getMessage());
+            }
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durableCount += batch.size();
+                }
+                batchFlushed.signalAll();
+                if (failure != null) return;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void writeBatch(List<byte[]> batch) throws IOException {
+        ByteBuffer[] buffers = new ByteBuffer[batch.size()];
+        long remaining = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = ByteBuffer.wrap(batch.get(i));
+            remaining += buffers[i].remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+        channel.force(false);
+    }
+
+    private static byte[] encode(Operation operation, String store, String key, byte[] payload) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE + 32 + payload.length);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeByte(operation.ordinal());
+            out.writeUTF(store);
+            out.writeUTF(key);
+            out.writeInt(payload.length);
+            out.write(payload);
+            byte[] frame = bytes.toByteArray();
+
+            CRC32 crc = new CRC32();
+            crc.update(frame, HEADER_SIZE, frame.length - HEADER_SIZE);
+            ByteBuffer header = ByteBuffer.wrap(frame);
+            header.putInt(0, frame.length - HEADER_SIZE);
+            header.putInt(4, (int) crc.getValue());
+            return frame;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads every intact record in the journal file, in append order.
+     * Stops at the first torn or corrupt record (e.g. after a crash mid-write)
+     * and returns the length of the valid prefix so it can be truncated.
+     */
+    public static long replay(Path path, Consumer<Entry> consumer) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        long validLength = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            CRC32 crc = new CRC32();
+            while (true) {
+                int length;
+                int checksum;
+                byte[] body;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    if (length <= 0) break;
+                    body = new byte[length];
+                    in.readFully(body);
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(body, 0, body.length);
+                if ((int) crc.getValue() != checksum) {
+                    logger.warn("Corrupt journal record at offset " + validLength + " in " + path);
+                    break;
+                }
+                consumer.accept(decode(body));
+                validLength += HEADER_SIZE + length;
+            }
+        }
+        return validLength;
+    }
+
+    private static Entry decode(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        Operation operation = Operation.values()[in.readUnsignedByte()];
+        String store = in.readUTF();
+        String key = in.readUTF();
+        byte[] payload = new byte[in.readInt()];
+        in.readFully(payload);
+        return new Entry(operation, store, key, payload);
+    }
+
+    public enum Operation {
+        PUT, REMOVE
+    }
+
+    public static class Entry {
+        private final Operation operation;
+        private final String store;
+        private final String key;
+        private final byte[] payload;
+
+        public Entry(Operation operation, String store, String key, byte[] payload) {
+            this.operation = operation;
+            this.store = store;
+            this.key = key;
+            this.payload = payload;
+        }
+
+        public Operation getOperation() { return operation; }
+        public String getStore() { return store; }
+        public String getKey() { return key; }
+        public byte[] getPayload() { return payload; }
+    }
+}
@@ -0,0 +1,61 @@
+package com.campus.storage;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of reentrant locks selected by key hash.
+ * Multi-key acquisition always takes stripes in ascending index order so that
+ * overlapping atomic operations cannot deadlock.
+ */
+class LockStripes {
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    LockStripes(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.locks = new ReentrantLock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    ReentrantLock lockFor(Object key) {
+        int hash = key.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    /**
+     * Returns the distinct stripes for the keys, sorted by stripe index.
+     */
+    int[] stripesFor(Collection<?> keys) {
+        boolean[] selected = new boolean[locks.length];
+        int count = 0;
+        for (Object key : keys) {
+            int hash = key.hashCode();
+            int index = (hash ^ (hash >>> 16)) & mask;
+            if (!selected[index]) {
+                selected[index] = true;
+                count++;
+            }
+        }
+        int[] stripes = new int[count];
+        for (int i = 0, n = 0; i < selected.length; i++) {
+            if (selected[i]) stripes[n++] = i;
+        }
+        return stripes;
+    }
+
+    void lockAll(int[] stripes) {
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+        }
+    }
+
+    void unlockAll(int[] stripes) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            locks[stripes[i]].unlock();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.campus.storage;
+
+import com.campus.utils.Identifiable;
+import com.campus.utils.RadixTrie;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Index on a string attribute such as an ISBN or code, answering exact lookups from a hash
+ * map in O(1) and prefix lookups from a {@link RadixTrie} of the distinct keys in
+ * O(prefix + results). The extractor should return the attribute in a canonical form;
+ * queries are expected in the same form.
+ * Exact lookups are lock-free; the trie is guarded by a read-write lock.
+ */
+public class PrefixIndex<T extends Identifiable> extends StoreIndex<T> {
+    private final Function<T, String> extractor;
+    private final Map<String, Map<String, T>> exact;
+    private final Map<String, String> indexedKeys;
+    private final RadixTrie keys;
+    private final ReadWriteLock trieLock;
+
+    private PrefixIndex(Function<T, String> extractor) {
+        this.extractor = extractor;
+        this.exact = new ConcurrentHashMap<>();
+        this.indexedKeys = new ConcurrentHashMap<>();
+        this.keys = new RadixTrie();
+        this.trieLock = new ReentrantReadWriteLock();
+    }
+
+    public static <T extends Identifiable> PrefixIndex<T> by(Function<T, String> extractor) {
+        return new PrefixIndex<>(extractor);
+    }
+
+    /**
+     * Returns the entities indexed under exactly this key.
+     */
+    public List<T> get(String key) {
+        if (key == null) return new ArrayList<>();
+        Map<String, T> bucket = exact.get(key);
+        return bucket != null ? new ArrayList<>(bucket.values()) : new ArrayList<>();
+    }
+
+    /**
+     * Returns the entities whose key starts with the prefix, ordered by key, reading at most
+     * {@code limit} distinct keys.
+     */
+    public List<T> withPrefix(String prefix, int limit) {
+        if (prefix == null) return new ArrayList<>();
+        List<String> matching;
+        trieLock.readLock().lock();
+        try {
+            matching = keys.keysWithPrefix(prefix, limit);
+        } finally {
+            trieLock.readLock().unlock();
+        }
+        List<T> results = new ArrayList<>(matching.size());
+        for (String key : matching) {
+            Map<String, T> bucket = exact.get(key);
+            if (bucket != null) results.addAll(bucket.values());
+        }
+        return results;
+    }
+
+    public int distinctKeys() {
+        trieLock.readLock().lock();
+        try {
+            return keys.size();
+        } finally {
+            trieLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    void update(String id, T entity) {
+        String newKey = extractor.apply(entity);
+        String oldKey = newKey != null ? indexedKeys.put(id, newKey) : indexedKeys.remove(id);
+        if (oldKey != null && !oldKey.equals(newKey)) {
+            detach(oldKey, id);
+        }
+        if (newKey != null) {
+            attach(newKey, id, entity);
+        }
+    }
+
+    @Override
+    void remove(String id) {
+        String oldKey = indexedKeys.remove(id);
+        if (oldKey != null) {
+            detach(oldKey, id);
+        }
+    }
+
+    private void attach(String key, String id, T entity) {
+        // the trie is updated inside compute so that it changes in step with the bucket
+        exact.compute(key, (k, bucket) -> {
+            Map<String, T> target = bucket != null ? bucket : new ConcurrentHashMap<>();
+            target.put(id, entity);
+            if (bucket == null) {
+                withTrie(trie -> trie.add(key));
+            }
+            return target;
+        });
+    }
+
+    private void detach(String key, String id) {
+        exact.computeIfPresent(key, (k, bucket) -> {
+            bucket.remove(id);
+            if (!bucket.isEmpty()) {
+                return bucket;
+            }
+            withTrie(trie -> trie.remove(key));
+            return null;
+        });
+    }
+
+    private void withTrie(Consumer<RadixTrie> change) {
+        trieLock.writeLock().lock();
+        try {
+            change.accept(keys);
+        } finally {
+            trieLock.writeLock().unlock();
+        }
+    }
+}
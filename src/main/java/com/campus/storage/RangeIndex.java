@@ -0,0 +1,131 @@
+package com.campus.storage;
+
+import com.campus.utils.Identifiable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * Ordered index on a comparable attribute such as a date, price or amount.
+ * Entries are kept in a skip list sorted by (value, entity ID), so a range query
+ * costs O(log n + k) for k results instead of a scan of the whole store, and
+ * entities sharing a value never contend on a shared bucket.
+ */
+public class RangeIndex<T extends Identifiable, K extends Comparable<? super K>> extends StoreIndex<T> {
+    private final Function<T, K> extractor;
+    private final ConcurrentSkipListMap<Slot<K>, T> entries;
+    private final Map<String, K> indexedKeys;
+
+    private RangeIndex(Function<T, K> extractor) {
+        this.extractor = extractor;
+        this.entries = new ConcurrentSkipListMap<>();
+        this.indexedKeys = new ConcurrentHashMap<>();
+    }
+
+    public static <T extends Identifiable, K extends Comparable<? super K>> RangeIndex<T, K> by(
+            Function<T, K> extractor) {
+        return new RangeIndex<>(extractor);
+    }
+
+    /**
+     * Returns the entities whose value lies between the bounds (both inclusive),
+     * in ascending order. A null bound leaves that end of the range open.
+     */
+    public List<T> range(K from, K to) {
+        return range(from, true, to, true);
+    }
+
+    public List<T> range(K from, boolean fromInclusive, K to, boolean toInclusive) {
+        return new ArrayList<>(view(from, fromInclusive, to, toInclusive).values());
+    }
+
+    /**
+     * Same as {@link #range(Comparable, Comparable)} but newest/largest first.
+     */
+    public List<T> descendingRange(K from, K to) {
+        return new ArrayList<>(view(from, true, to, true).descendingMap().values());
+    }
+
+    public int count(K from, K to) {
+        return view(from, true, to, true).size();
+    }
+
+    public Optional<K> min() {
+        Map.Entry<Slot<K>, T> first = entries.firstEntry();
+        return first != null ? Optional.of(first.getKey().key) : Optional.empty();
+    }
+
+    public Optional<K> max() {
+        Map.Entry<Slot<K>, T> last = entries.lastEntry();
+        return last != null ? Optional.of(last.getKey().key) : Optional.empty();
+    }
+
+    private ConcurrentNavigableMap<Slot<K>, T> view(K from, boolean fromInclusive, K to, boolean toInclusive) {
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            return new ConcurrentSkipListMap<>();
+        }
+        ConcurrentNavigableMap<Slot<K>, T> view = entries;
+        if (from != null) {
+            view = view.tailMap(fromInclusive ? Slot.lowerBound(from) : Slot.upperBound(from), false);
+        }
+        if (to != null) {
+            view = view.headMap(toInclusive ? Slot.upperBound(to) : Slot.lowerBound(to), false);
+        }
+        return view;
+    }
+
+    @Override
+    void update(String id, T entity) {
+        K newKey = extractor.apply(entity);
+        K oldKey = newKey != null ? indexedKeys.put(id, newKey) : indexedKeys.remove(id);
+        if (oldKey != null && (newKey == null || oldKey.compareTo(newKey) != 0)) {
+            entries.remove(new Slot<>(oldKey, id, 0));
+        }
+        if (newKey != null) {
+            entries.put(new Slot<>(newKey, id, 0), entity);
+        }
+    }
+
+    @Override
+    void remove(String id) {
+        K oldKey = indexedKeys.remove(id);
+        if (oldKey != null) {
+            entries.remove(new Slot<>(oldKey, id, 0));
+        }
+    }
+
+    /**
+     * Composite skip list key. Bound slots carry no ID and sort before (-1) or
+     * after (+1) every real slot with the same value.
+     */
+    private static final class Slot<K extends Comparable<? super K>> implements Comparable<Slot<K>> {
+        private final K key;
+        private final String id;
+        private final int bound;
+
+        Slot(K key, String id, int bound) {
+            this.key = key;
+            this.id = id;
+            this.bound = bound;
+        }
+
+        static <K extends Comparable<? super K>> Slot<K> lowerBound(K key) {
+            return new Slot<>(key, null, -1);
+        }
+
+        static <K extends Comparable<? super K>> Slot<K> upperBound(K key) {
+            return new Slot<>(key, null, 1);
+        }
+
+        @Override
+        public int compareTo(Slot<K> other) {
+            int result = key.compareTo(other.key);
+            if (result != 0) return result;
+            if (bound != other.bound) return Integer.compare(bound, other.bound);
+            return bound == 0 ? id.compareTo(other.id) : 0;
+        }
+    }
+}
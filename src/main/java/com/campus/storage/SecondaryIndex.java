@@ -0,0 +1,119 @@
+package com.campus.storage;
+
+import com.campus.utils.Identifiable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Secondary index from an attribute of an entity to the entities holding that value.
+ * Registered on an {@link EntityStore}, which keeps it current on every put and remove.
+ * Enum attributes use a pre-filled EnumMap of buckets; other attributes use a hash map.
+ * Lookups cost O(result) instead of a scan of the whole store.
+ */
+public class SecondaryIndex<T extends Identifiable, K> extends StoreIndex<T> {
+    private final Function<T, K> extractor;
+    private final Map<K, Map<String, T>> buckets;
+    private final boolean fixedKeys;
+    private final Map<String, K> indexedKeys;
+
+    private SecondaryIndex(Function<T, K> extractor, Map<K, Map<String, T>> buckets, boolean fixedKeys) {
+        this.extractor = extractor;
+        this.buckets = buckets;
+        this.fixedKeys = fixedKeys;
+        this.indexedKeys = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Index on an enum attribute such as a status, type or category.
+     */
+    public static <T extends Identifiable, K extends Enum<K>> SecondaryIndex<T, K> byEnum(
+            Class<K> keyType, Function<T, K> extractor) {
+        Map<K, Map<String, T>> buckets = new EnumMap<>(keyType);
+        for (K key : keyType.getEnumConstants()) {
+            buckets.put(key, new ConcurrentHashMap<>());
+        }
+        return new SecondaryIndex<>(extractor, buckets, true);
+    }
+
+    /**
+     * Hash index on any attribute with proper equals/hashCode, e.g. a course ID or department.
+     */
+    public static <T extends Identifiable, K> SecondaryIndex<T, K> byKey(Function<T, K> extractor) {
+        return new SecondaryIndex<>(extractor, new ConcurrentHashMap<>(), false);
+    }
+
+    /**
+     * Returns the entities currently indexed under the key.
+     */
+    public List<T> get(K key) {
+        if (key == null) return new ArrayList<>();
+        Map<String, T> bucket = buckets.get(key);
+        return bucket != null ? new ArrayList<>(bucket.values()) : new ArrayList<>();
+    }
+
+    public int count(K key) {
+        if (key == null) return 0;
+        Map<String, T> bucket = buckets.get(key);
+        return bucket != null ? bucket.size() : 0;
+    }
+
+    /**
+     * Returns every key that currently has at least one entity.
+     */
+    public Set<K> keys() {
+        Set<K> keys = new HashSet<>();
+        for (Map.Entry<K, Map<String, T>> bucket : buckets.entrySet()) {
+            if (!bucket.getValue().isEmpty()) keys.add(bucket.getKey());
+        }
+        return keys;
+    }
+
+    /**
+     * Re-indexes one entity. The key it was last indexed under is remembered, so entities
+     * mutated in place are moved correctly when they are written back to the store.
+     */
+    @Override
+    void update(String id, T entity) {
+        K newKey = extractor.apply(entity);
+        K oldKey = newKey != null ? indexedKeys.put(id, newKey) : indexedKeys.remove(id);
+        if (oldKey != null && !oldKey.equals(newKey)) {
+            detach(oldKey, id);
+        }
+        if (newKey != null) {
+            attach(newKey, id, entity);
+        }
+    }
+
+    @Override
+    void remove(String id) {
+        K oldKey = indexedKeys.remove(id);
+        if (oldKey != null) {
+            detach(oldKey, id);
+        }
+    }
+
+    private void attach(K key, String id, T entity) {
+        if (fixedKeys) {
+            buckets.get(key).put(id, entity);
+            return;
+        }
+        buckets.compute(key, (k, bucket) -> {
+            Map<String, T> target = bucket != null ? bucket : new ConcurrentHashMap<>();
+            target.put(id, entity);
+            return target;
+        });
+    }
+
+    private void detach(K key, String id) {
+        if (fixedKeys) {
+            buckets.get(key).remove(id);
+            return;
+        }
+        buckets.computeIfPresent(key, (k, bucket) -> {
+            bucket.remove(id);
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+}
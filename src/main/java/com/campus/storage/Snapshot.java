@@ -0,0 +1,244 @@
+package com.campus.storage;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Compact columnar snapshot of every entity store.
+ * Each store is written as three contiguous columns (payload blob, keys,
+ * payload lengths) followed by a directory and trailer at the end of the
+ * file, so a snapshot can be streamed out without buffering payloads and
+ * loaded back through memory-mapped slices without copying them.
+ */
+public class Snapshot {
+    private static final int MAGIC = 0x43534E50;
+    private static final int VERSION = 1;
+    private static final int TRAILER_SIZE = 12;
+    // Largest region one MappedByteBuffer can address
+    private static final long MAX_CHUNK_BYTES = Integer.MAX_VALUE;
+
+    /**
+     * Writes the given stores to a temporary file and atomically moves it over the target.
+     * Values may be live entities (encoded on the fly) or already-encoded ByteBuffers.
+     */
+    public static void write(Path target, Map<String, ? extends Map<String, ?>> stores) throws IOException {
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        List<StoreSection> sections = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            for (Map.Entry<String, ? extends Map<String, ?>> store : stores.entrySet()) {
+                StoreSection section = new StoreSection(store.getKey());
+                List<String> keys = new ArrayList<>(store.getValue().size());
+                int[] lengths = new int[store.getValue().size()];
+
+                out.flush();
+                section.payloadOffset = channel.position();
+                for (Map.Entry<String, ?> record : store.getValue().entrySet()) {
+                    if (keys.size() == lengths.length) {
+                        lengths = Arrays.copyOf(lengths, lengths.length * 2 + 1);
+                    }
+                    lengths[keys.size()] = writePayload(out, record.getValue());
+                    keys.add(record.getKey());
+                }
+                section.count = keys.size();
+
+                out.flush();
+                section.keysOffset = channel.position();
+                for (String key : keys) {
+                    byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+                    out.writeShort(bytes.length);
+                    out.write(bytes);
+                }
+
+                out.flush();
+                section.lengthsOffset = channel.position();
+                for (int i = 0; i < section.count; i++) {
+                    out.writeInt(lengths[i]);
+                }
+                out.flush();
+                section.endOffset = channel.position();
+                sections.add(section);
+            }
+
+            out.flush();
+            long directoryOffset = channel.position();
+            out.writeInt(sections.size());
+            for (StoreSection section : sections) {
+                out.writeUTF(section.name);
+                out.writeInt(section.count);
+                out.writeLong(section.payloadOffset);
+                out.writeLong(section.keysOffset);
+                out.writeLong(section.lengthsOffset);
+                out.writeLong(section.endOffset);
+            }
+            out.writeLong(directoryOffset);
+            out.writeInt(MAGIC);
+            out.flush();
+            channel.force(true);
+        }
+
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int writePayload(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof ByteBuffer) {
+            ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+            int length = buffer.remaining();
+            if (buffer.hasArray()) {
+                out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+            } else {
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                out.write(bytes);
+            }
+            return length;
+        }
+        byte[] bytes = EntityCodec.encode((Serializable) value);
+        out.write(bytes);
+        return bytes.length;
+    }
+
+    /**
+     * Maps the snapshot file and returns, per store, the encoded payload of each key.
+     * Payloads are read-only slices of the mapping and are not copied.
+     */
+    public static Map<String, Map<String, ByteBuffer>> load(Path path) throws IOException {
+        Map<String, Map<String, ByteBuffer>> stores = new LinkedHashMap<>();
+        if (!Files.exists(path)) {
+            return stores;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 8 + TRAILER_SIZE) {
+                throw new IOException("Snapshot too small: " + path);
+            }
+            ByteBuffer trailer = ByteBuffer.allocate(TRAILER_SIZE);
+            channel.read(trailer, size - TRAILER_SIZE);
+            trailer.flip();
+            long directoryOffset = trailer.getLong();
+            if (trailer.getInt() != MAGIC) {
+                throw new IOException("Snapshot trailer missing, file is incomplete: " + path);
+            }
+
+            MappedByteBuffer directoryMap = channel.map(FileChannel.MapMode.READ_ONLY, directoryOffset,
+                    size - TRAILER_SIZE - directoryOffset);
+            DataInputStream directory = new DataInputStream(new ByteBufferInputStream(directoryMap));
+            int storeCount = directory.readInt();
+            for (int s = 0; s < storeCount; s++) {
+                String name = directory.readUTF();
+                int count = directory.readInt();
+                long payloadOffset = directory.readLong();
+                long keysOffset = directory.readLong();
+                long lengthsOffset = directory.readLong();
+                long endOffset = directory.readLong();
+                stores.put(name, loadStore(channel, name, count, payloadOffset, keysOffset, lengthsOffset, endOffset));
+            }
+        }
+        return stores;
+    }
+
+    private static Map<String, ByteBuffer> loadStore(FileChannel channel, String name, int count, long payloadOffset,
+                                                     long keysOffset, long lengthsOffset, long endOffset) throws IOException {
+        Map<String, ByteBuffer> records = new LinkedHashMap<>(Math.max(16, (int) (count / 0.75f) + 1));
+        if (count == 0) {
+            return records;
+        }
+        if (payloadOffset < 0 || payloadOffset > keysOffset || keysOffset > lengthsOffset
+                || lengthsOffset > endOffset || endOffset > channel.size()) {
+            throw new IOException("Snapshot section for store " + name + " has invalid offsets: payload "
+                    + payloadOffset + ", keys " + keysOffset + ", lengths " + lengthsOffset + ", end " + endOffset);
+        }
+        if (endOffset - keysOffset > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot key index for store " + name + " exceeds 2 GB");
+        }
+        // Keys and lengths are mapped on their own; the payloads, which can exceed what one
+        // buffer addresses, are mapped in chunks that each end on a record boundary
+        ByteBuffer keys = channel.map(FileChannel.MapMode.READ_ONLY, keysOffset, lengthsOffset - keysOffset);
+        ByteBuffer lengths = channel.map(FileChannel.MapMode.READ_ONLY, lengthsOffset, endOffset - lengthsOffset);
+
+        long payloadPosition = payloadOffset;
+        long chunkStart = payloadOffset;
+        MappedByteBuffer chunk = null;
+        byte[] keyBytes = new byte[256];
+        for (int i = 0; i < count; i++) {
+            int keyLength = keys.getShort() & 0xFFFF;
+            if (keyLength > keyBytes.length) {
+                keyBytes = new byte[keyLength];
+            }
+            keys.get(keyBytes, 0, keyLength);
+            String key = new String(keyBytes, 0, keyLength, StandardCharsets.UTF_8);
+
+            int length = lengths.getInt();
+            if (length < 0 || payloadPosition + length > keysOffset) {
+                throw new IOException("Snapshot record " + key + " in store " + name + " runs past its section");
+            }
+            if (chunk == null || payloadPosition + length > chunkStart + chunk.capacity()) {
+                chunkStart = payloadPosition;
+                chunk = channel.map(FileChannel.MapMode.READ_ONLY, chunkStart,
+                        Math.min(MAX_CHUNK_BYTES, keysOffset - chunkStart));
+            }
+            int position = (int) (payloadPosition - chunkStart);
+            ByteBuffer payload = chunk.duplicate().position(position).limit(position + length).slice();
+            records.put(key, payload.asReadOnlyBuffer());
+            payloadPosition += length;
+        }
+        return records;
+    }
+
+    private static class StoreSection {
+        private final String name;
+        private int count;
+        private long payloadOffset;
+        private long keysOffset;
+        private long lengthsOffset;
+        private long endOffset;
+
+        StoreSection(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * InputStream view over a ByteBuffer, used to decode payloads in place
+     */
+    static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) return -1;
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.campus.storage;
+
+import com.campus.utils.Identifiable;
+import com.campus.utils.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Singleton StorageManager that owns the journal and snapshot and restores entity stores on startup.
+ * State is recovered from the last snapshot plus the journal written since; a background
+ * checkpoint periodically writes a new snapshot and discards the journal it covers.
+ */
+public class StorageManager {
+    public static final String DATA_DIR_PROPERTY = "campus.data.dir";
+    public static final String ENABLED_PROPERTY = "campus.storage.enabled";
+    public static final String SNAPSHOT_INTERVAL_PROPERTY = "campus.snapshot.interval.minutes";
+    private static final String JOURNAL_FILE = "campus.journal";
+    private static final String ARCHIVED_JOURNAL_FILE = "campus.journal.archived";
+    private static final String SNAPSHOT_FILE = "campus.snapshot";
+    private static final String QUARANTINE_DIR = "quarantine";
+    private static final int PARALLEL_DECODE_THRESHOLD = 10000;
+    private static final int LOCK_STRIPES = 1024;
+
+    private static volatile StorageManager instance;
+    private static final Logger logger = Logger.getInstance();
+
+    private final Path dataDirectory;
+    private final Map<String, Map<String, ByteBuffer>> recoveredState;
+    private final Map<String, EntityStore<?>> stores;
+    private final ReentrantReadWriteLock mutationLock;
+    private final LockStripes lockStripes;
+    private final Object checkpointMonitor;
+    private ScheduledExecutorService snapshotScheduler;
+    private volatile Journal journal;
+
+    private StorageManager() {
+        this.dataDirectory = Paths.get(System.getProperty(DATA_DIR_PROPERTY, "campus-data"));
+        this.recoveredState = new ConcurrentHashMap<>();
+        this.stores = new ConcurrentHashMap<>();
+        this.mutationLock = new ReentrantReadWriteLock();
+        this.lockStripes = new LockStripes(LOCK_STRIPES);
+        this.checkpointMonitor = new Object();
+        if (Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"))) {
+            openStorage();
+        } else {
+            logger.info("Persistent storage disabled, running in memory only");
+        }
+    }
+
+    public static StorageManager getInstance() {
+        if (instance == null) {
+            synchronized (StorageManager.class) {
+                if (instance == null) {
+                    instance = new StorageManager();
+                }
+            }
+        }
+        return instance;
+    }
+
+    private void openStorage() {
+        try {
+            Files.createDirectories(dataDirectory);
+            long start = System.nanoTime();
+
+            recoveredState.putAll(Snapshot.load(dataDirectory.resolve(SNAPSHOT_FILE)));
+            long snapshotRecords = recoveredState.values().stream().mapToLong(Map::size).sum();
+
+            long[] journalRecords = new long[1];
+            Path archivedPath = dataDirectory.resolve(ARCHIVED_JOURNAL_FILE);
+            if (Files.exists(archivedPath)) {
+                Journal.replay(archivedPath, entry -> {
+                    journalRecords[0]++;
+                    applyRecovered(entry);
+                });
+            }
+            Path journalPath = dataDirectory.resolve(JOURNAL_FILE);
+            long validLength = Journal.replay(journalPath, entry -> {
+                journalRecords[0]++;
+                applyRecovered(entry);
+            });
+            this.journal = new Journal(journalPath, validLength);
+
+            Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "storage-shutdown"));
+            startSnapshotScheduler();
+            logger.info("Storage opened at {} ({} snapshot records, {} journal records) in {} ms",
+                    dataDirectory, snapshotRecords, journalRecords[0], (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            logger.error("Persistent storage unavailable, running in memory only: " + e.getMessage());
+            this.journal = null;
+        }
+    }
+
+    private void applyRecovered(Journal.Entry entry) {
+        Map<String, ByteBuffer> state = recoveredState.computeIfAbsent(entry.getStore(), k -> new LinkedHashMap<>());
+        if (entry.getOperation() == Journal.Operation.PUT) {
+            state.put(entry.getKey(), ByteBuffer.wrap(entry.getPayload()));
+        } else {
+            state.remove(entry.getKey());
+        }
+    }
+
+    private void startSnapshotScheduler() {
+        long interval = Long.getLong(SNAPSHOT_INTERVAL_PROPERTY, 15);
+        if (interval <= 0) return;
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "storage-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotScheduler.scheduleWithFixedDelay(this::checkpointQuietly, interval, interval, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Loads the recovered state for the store's name into it without re-journaling.
+     */
+    @SuppressWarnings("unchecked")
+    <T extends Identifiable> void restore(EntityStore<T> store) {
+        Map<String, ByteBuffer> state;
+        mutationLock.writeLock().lock();
+        try {
+            stores.put(store.getName(), store);
+            state = recoveredState.remove(store.getName());
+        } finally {
+            mutationLock.writeLock().unlock();
+        }
+        if (state == null) return;
+
+        // decoding dominates restore time; the store's map takes concurrent loads, so both run in parallel
+        List<Map.Entry<String, ByteBuffer>> records = new ArrayList<>(state.entrySet());
+        long start = System.nanoTime();
+        IntStream indexes = IntStream.range(0, records.size());
+        if (records.size() >= PARALLEL_DECODE_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        AtomicInteger skipped = new AtomicInteger();
+        indexes.forEach(i -> {
+            String key = records.get(i).getKey();
+            ByteBuffer payload = records.get(i).getValue();
+            T entity;
+            try {
+                entity = (T) EntityCodec.decode(payload);
+            } catch (RuntimeException e) {
+                // one unreadable record, e.g. from an incompatible class version, must not stop startup
+                skipped.incrementAndGet();
+                quarantine(store.getName(), key, payload, e);
+                return;
+            }
+            store.load(key, entity);
+        });
+        logger.info("Restored {} records into {} in {} ms", records.size() - skipped.get(), store.getName(),
+                (System.nanoTime() - start) / 1_000_000);
+        if (skipped.get() > 0) {
+            logger.error("Skipped {} unreadable records in {}; their payloads are in {}", skipped.get(),
+                    store.getName(), dataDirectory.resolve(QUARANTINE_DIR));
+        }
+    }
+
+    /**
+     * Keeps the payload of a record that could not be decoded, since the next checkpoint
+     * would otherwise drop it for good.
+     */
+    private void quarantine(String storeName, String key, ByteBuffer payload, RuntimeException cause) {
+        logger.warn("Cannot decode record {} in {}: {}", key, storeName,
+                cause.getCause() != null ? cause.getCause().toString() : cause.toString());
+        try {
+            Path directory = Files.createDirectories(dataDirectory.resolve(QUARANTINE_DIR).resolve(storeName));
+            String fileName = key.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + System.currentTimeMillis() + ".ser";
+            try (FileChannel channel = FileChannel.open(directory.resolve(fileName),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer bytes = payload.duplicate();
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Could not quarantine record {} in {}: {}", key, storeName, e.getMessage());
+        }
+    }
+
+    ReentrantLock lockFor(String lockKey) {
+        return lockStripes.lockFor(lockKey);
+    }
+
+    /**
+     * Runs the action while holding the locks of every listed entity, so that a
+     * multi-entity change (e.g. a room update plus its allocation record) is applied
+     * atomically with respect to other writers of those entities.
+     * Lock keys come from {@link EntityStore#lockKey(String)}; the action should only
+     * write entities it listed.
+     */
+    public <R> R atomically(Collection<String> lockKeys, Supplier<R> action) {
+        int[] stripes = lockStripes.stripesFor(lockKeys);
+        lockStripes.lockAll(stripes);
+        try {
+            return action.get();
+        } finally {
+            lockStripes.unlockAll(stripes);
+        }
+    }
+
+    public void atomically(Collection<String> lockKeys, Runnable action) {
+        atomically(lockKeys, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    void lockMutations() {
+        mutationLock.readLock().lock();
+    }
+
+    void unlockMutations() {
+        mutationLock.readLock().unlock();
+    }
+
+    void recordPut(String store, String key, Identifiable entity) {
+        Journal journal = this.journal;
+        if (journal == null) return;
+        journal.append(Journal.Operation.PUT, store, key, EntityCodec.encode(entity));
+    }
+
+    void recordRemove(String store, String key) {
+        Journal journal = this.journal;
+        if (journal == null) return;
+        journal.append(Journal.Operation.REMOVE, store, key, new byte[0]);
+    }
+
+    /**
+     * Writes a snapshot of every store and truncates the journal it supersedes.
+     * Writers are only paused while the journal is rotated. The stores are then read
+     * through their weakly consistent views while writers continue: anything changed
+     * after the rotation is also in the new journal, and replaying it over the
+     * snapshot yields the latest state.
+     */
+    public void checkpoint() throws IOException {
+        synchronized (checkpointMonitor) {
+            if (journal == null) return;
+            Path journalPath = dataDirectory.resolve(JOURNAL_FILE);
+            Path archivedPath = dataDirectory.resolve(ARCHIVED_JOURNAL_FILE);
+            Map<String, Map<String, ?>> image = new LinkedHashMap<>();
+            long start = System.nanoTime();
+
+            mutationLock.writeLock().lock();
+            try {
+                image.putAll(stores);
+                for (Map.Entry<String, Map<String, ByteBuffer>> pending : recoveredState.entrySet()) {
+                    image.putIfAbsent(pending.getKey(), pending.getValue());
+                }
+                journal.sync();
+                journal.close();
+                archiveJournal(journalPath, archivedPath);
+                journal = new Journal(journalPath, 0);
+            } finally {
+                mutationLock.writeLock().unlock();
+            }
+
+            Snapshot.write(dataDirectory.resolve(SNAPSHOT_FILE), image);
+            Files.deleteIfExists(archivedPath);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            logger.info(() -> "Snapshot written (" + image.values().stream().mapToLong(Map::size).sum()
+                    + " records) in " + elapsedMillis + " ms");
+        }
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Background snapshot failed, journal kept: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves the live journal aside; if an earlier checkpoint never completed its
+     * archived journal is still needed, so the live journal is appended to it instead.
+     */
+    private void archiveJournal(Path journalPath, Path archivedPath) throws IOException {
+        if (!Files.exists(archivedPath)) {
+            Files.move(journalPath, archivedPath);
+            return;
+        }
+        try (FileChannel source = FileChannel.open(journalPath, StandardOpenOption.READ);
+             FileChannel target = FileChannel.open(archivedPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long position = 0;
+            long size = source.size();
+            while (position < size) {
+                position += source.transferTo(position, size - position, target);
+            }
+            target.force(false);
+        }
+        Files.delete(journalPath);
+    }
+
+    /**
+     * Blocks until all journaled mutations so far are durable.
+     */
+    public void sync() {
+        Journal journal = this.journal;
+        if (journal != null) {
+            journal.sync();
+        }
+    }
+
+    public void shutdown() {
+        synchronized (checkpointMonitor) {
+            if (snapshotScheduler != null) {
+                snapshotScheduler.shutdownNow();
+            }
+            if (journal != null) {
+                journal.sync();
+                journal.close();
+                journal = null;
+                logger.info("Storage shut down");
+            }
+        }
+    }
+
+    public boolean isPersistent() { return journal != null; }
+    public Path getDataDirectory() { return dataDirectory; }
+}
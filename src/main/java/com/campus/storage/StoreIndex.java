@@ -0,0 +1,15 @@
+package com.campus.storage;
+
+import com.campus.utils.Identifiable;
+
+/**
+ * Base class for indexes maintained by an {@link EntityStore}.
+ * The store calls update/remove under the entity's stripe lock, so
+ * implementations only need to tolerate concurrent changes to different IDs.
+ */
+public abstract class StoreIndex<T extends Identifiable> {
+
+    abstract void update(String id, T entity);
+
+    abstract void remove(String id);
+}
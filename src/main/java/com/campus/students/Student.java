@@ -11,6 +11,8 @@ import java.util.List;
  * Student class representing a student in the campus management system
  */
 public class Student implements Identifiable {
+    private static final long serialVersionUID = 3402780915123012800L;
+
     private String studentId;
     private String firstName;
     private String lastName;
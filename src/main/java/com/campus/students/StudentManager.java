@@ -1,7 +1,12 @@
 package com.campus.students;
 
+import com.campus.domain.*;
+import com.campus.storage.EntityStore;
+import com.campus.storage.SecondaryIndex;
 import com.campus.utils.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.time.LocalDate;
 
@@ -10,17 +15,27 @@ import java.time.LocalDate;
  */
 public class StudentManager implements Manageable<Student> {
     private static final Logger logger = Logger.getInstance();
+    private static final DomainEventLog domainEvents = DomainEventLog.getInstance();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private static final CrudMetrics crudMetrics = metrics.crud("students");
     private final Scanner scanner = new Scanner(System.in);
     
-    private Map<String, Student> students;
+    private final EntityStore<Student> students;
+    private final SecondaryIndex<Student, String> studentsByDepartment;
+    private final SecondaryIndex<Student, Integer> studentsByYear;
     private NotificationService notificationService;
-    private int studentCounter;
+    private final AtomicInteger studentCounter;
     
     public StudentManager() {
-        this.students = new HashMap<>();
+        this.students = new EntityStore<>("students");
+        this.studentsByDepartment = students.addIndex(SecondaryIndex.byKey(Student::getDepartment));
+        this.studentsByYear = students.addIndex(SecondaryIndex.byKey(Student::getYear));
+        metrics.gauge("students.count", students::size);
         this.notificationService = NotificationService.getInstance();
-        this.studentCounter = 1;
-        initializeSampleData();
+        if (students.isEmpty()) {
+            initializeSampleData();
+        }
+        this.studentCounter = new AtomicInteger(students.maxIdNumber("S") + 1);
         logger.log("StudentManager initialized");
     }
     
@@ -98,7 +113,7 @@ public class StudentManager implements Manageable<Student> {
                 case 5: deleteStudentInteractive(); break;
                 case 6: studentReportsMenu(); break;
                 case 7: academicRecordsMenu(); break;
-                case 8: displayStudentStatistics(); break;
+                case 8: metrics.time("students.displayStudentStatistics", this::displayStudentStatistics); break;
                 case 0: return;
                 default: System.out.println("Invalid choice. Please try again.");
             }
@@ -115,41 +130,70 @@ public class StudentManager implements Manageable<Student> {
     
     @Override
     public void create(Student student) {
-        students.put(student.getStudentId(), student);
-        notificationService.notifyObservers("New student registered: " + student.getFullName());
-        logger.log("Student created: " + student.getStudentId());
+        long start = System.nanoTime();
+        if (!students.replace(student.getStudentId(), 0, student)) {
+            throw new IllegalArgumentException("Student with ID " + student.getStudentId() + " already exists");
+        }
+        notificationService.notifyObservers(NotificationService.Topic.STUDENTS, "New student registered: " + student.getFullName());
+        domainEvents.append(new EntityChanged("Student", student.getStudentId(), EntityChanged.ChangeType.CREATED));
+        logger.info("Student created: {}", student.getStudentId());
+        crudMetrics.create().recordSince(start);
     }
     
     @Override
     public Student read(String studentId) {
-        return students.get(studentId);
+        long start = System.nanoTime();
+        Student student = students.get(studentId);
+        crudMetrics.read().recordSince(start);
+        return student;
     }
     
     @Override
     public void update(Student student) {
+        long start = System.nanoTime();
         students.put(student.getStudentId(), student);
-        notificationService.notifyObservers("Student updated: " + student.getFullName());
-        logger.log("Student updated: " + student.getStudentId());
+        updated(student, start);
+    }
+    
+    @Override
+    public Student update(String studentId, Consumer<Student> change) {
+        long start = System.nanoTime();
+        Student student = students.update(studentId, change);
+        updated(student, start);
+        return student;
+    }
+    
+    private void updated(Student student, long start) {
+        notificationService.notifyObservers(NotificationService.Topic.STUDENTS, "Student updated: " + student.getFullName());
+        domainEvents.append(new EntityChanged("Student", student.getStudentId(), EntityChanged.ChangeType.UPDATED));
+        logger.info("Student updated: {}", student.getStudentId());
+        crudMetrics.update().recordSince(start);
     }
     
     @Override
     public void delete(String studentId) {
+        long start = System.nanoTime();
         Student student = students.remove(studentId);
         if (student != null) {
-            notificationService.notifyObservers("Student deleted: " + student.getFullName());
-            logger.log("Student deleted: " + studentId);
+            notificationService.notifyObservers(NotificationService.Topic.STUDENTS, "Student deleted: " + student.getFullName());
+            domainEvents.append(new EntityChanged("Student", studentId, EntityChanged.ChangeType.DELETED));
+            logger.info("Student deleted: {}", studentId);
         }
+        crudMetrics.delete().recordSince(start);
     }
     
     @Override
     public List<Student> getAll() {
-        return new ArrayList<>(students.values());
+        long start = System.nanoTime();
+        List<Student> all = new ArrayList<>(students.values());
+        crudMetrics.getAll().recordSince(start);
+        return all;
     }
     
     private void registerStudentInteractive() {
         System.out.println("\n=== STUDENT REGISTRATION ===");
         
-        String studentId = "S" + String.format("%03d", studentCounter++);
+        String studentId = "S" + String.format("%03d", studentCounter.getAndIncrement());
         
         System.out.print("Enter First Name: ");
         String firstName = scanner.nextLine();
@@ -263,9 +307,11 @@ public class StudentManager implements Manageable<Student> {
         System.out.print("Enter name to search: ");
         String searchTerm = scanner.nextLine().toLowerCase();
         
+        long start = System.nanoTime();
         List<Student> results = students.values().stream()
                 .filter(student -> student.getFullName().toLowerCase().contains(searchTerm))
                 .collect(Collectors.toList());
+        metrics.recordSince("students.searchByName", start);
         
         displaySearchResults(results, "name containing '" + searchTerm + "'");
     }
@@ -274,10 +320,12 @@ public class StudentManager implements Manageable<Student> {
         System.out.print("Enter department to search: ");
         String department = scanner.nextLine().toLowerCase();
         
+        long start = System.nanoTime();
         List<Student> results = students.values().stream()
                 .filter(student -> student.getDepartment() != null && 
                                  student.getDepartment().toLowerCase().contains(department))
                 .collect(Collectors.toList());
+        metrics.recordSince("students.searchByDepartment", start);
         
         displaySearchResults(results, "department containing '" + department + "'");
     }
@@ -287,9 +335,9 @@ public class StudentManager implements Manageable<Student> {
         try {
             int year = Integer.parseInt(scanner.nextLine());
             
-            List<Student> results = students.values().stream()
-                    .filter(student -> student.getYear() == year)
-                    .collect(Collectors.toList());
+            long start = System.nanoTime();
+            List<Student> results = getStudentsByYear(year);
+            metrics.recordSince("students.searchByYear", start);
             
             displaySearchResults(results, "year " + year);
         } catch (NumberFormatException e) {
@@ -304,9 +352,11 @@ public class StudentManager implements Manageable<Student> {
             System.out.print("Enter maximum GPA: ");
             double maxGpa = Double.parseDouble(scanner.nextLine());
             
+            long start = System.nanoTime();
             List<Student> results = students.values().stream()
                     .filter(student -> student.getGpa() >= minGpa && student.getGpa() <= maxGpa)
                     .collect(Collectors.toList());
+            metrics.recordSince("students.searchByGpaRange", start);
             
             displaySearchResults(results, "GPA between " + minGpa + " and " + maxGpa);
         } catch (NumberFormatException e) {
@@ -365,6 +415,7 @@ public class StudentManager implements Manageable<Student> {
         System.out.print("Enter choice: ");
         
         int choice = getChoice();
+        Consumer<Student> change;
         
         switch (choice) {
             case 1:
@@ -372,14 +423,16 @@ public class StudentManager implements Manageable<Student> {
                 String firstName = scanner.nextLine();
                 System.out.print("Enter new last name: ");
                 String lastName = scanner.nextLine();
-                student.setFirstName(firstName);
-                student.setLastName(lastName);
+                change = s -> {
+                    s.setFirstName(firstName);
+                    s.setLastName(lastName);
+                };
                 break;
             case 2:
                 System.out.print("Enter new email: ");
                 String email = scanner.nextLine();
                 if (ValidationUtils.isValidEmail(email)) {
-                    student.setEmail(email);
+                    change = s -> s.setEmail(email);
                 } else {
                     System.out.println("Invalid email format.");
                     return;
@@ -387,22 +440,25 @@ public class StudentManager implements Manageable<Student> {
                 break;
             case 3:
                 System.out.print("Enter new phone: ");
-                student.setPhone(scanner.nextLine());
+                String phone = scanner.nextLine();
+                change = s -> s.setPhone(phone);
                 break;
             case 4:
                 System.out.print("Enter new address: ");
-                student.setAddress(scanner.nextLine());
+                String address = scanner.nextLine();
+                change = s -> s.setAddress(address);
                 break;
             case 5:
                 System.out.print("Enter new department: ");
-                student.setDepartment(scanner.nextLine());
+                String department = scanner.nextLine();
+                change = s -> s.setDepartment(department);
                 break;
             case 6:
                 System.out.print("Enter new year (1-4): ");
                 try {
                     int year = Integer.parseInt(scanner.nextLine());
                     if (year >= 1 && year <= 4) {
-                        student.setYear(year);
+                        change = s -> s.setYear(year);
                     } else {
                         System.out.println("Invalid year. Must be 1-4.");
                         return;
@@ -417,7 +473,7 @@ public class StudentManager implements Manageable<Student> {
                 try {
                     double gpa = Double.parseDouble(scanner.nextLine());
                     if (ValidationUtils.isValidGPA(gpa)) {
-                        student.setGpa(gpa);
+                        change = s -> s.setGpa(gpa);
                     } else {
                         System.out.println("Invalid GPA. Must be 0.0-4.0.");
                         return;
@@ -432,7 +488,12 @@ public class StudentManager implements Manageable<Student> {
                 return;
         }
         
-        update(student);
+        try {
+            update(studentId, change);
+        } catch (NoSuchElementException | IllegalStateException e) {
+            System.out.println("Update failed: " + e.getMessage());
+            return;
+        }
         System.out.println("Student updated successfully!");
     }
     
@@ -472,10 +533,10 @@ public class StudentManager implements Manageable<Student> {
         int choice = getChoice();
         
         switch (choice) {
-            case 1: generateDepartmentWiseReport(); break;
-            case 2: generateYearWiseReport(); break;
-            case 3: generateGpaAnalysisReport(); break;
-            case 4: generateTopPerformersReport(); break;
+            case 1: metrics.time("students.generateDepartmentWiseReport", this::generateDepartmentWiseReport); break;
+            case 2: metrics.time("students.generateYearWiseReport", this::generateYearWiseReport); break;
+            case 3: metrics.time("students.generateGpaAnalysisReport", this::generateGpaAnalysisReport); break;
+            case 4: metrics.time("students.generateTopPerformersReport", this::generateTopPerformersReport); break;
             default: System.out.println("Invalid choice.");
         }
     }
@@ -604,7 +665,7 @@ public class StudentManager implements Manageable<Student> {
         switch (choice) {
             case 1: viewStudentAcademicRecord(); break;
             case 2: updateStudentGpa(); break;
-            case 3: generateAcademicStandingReport(); break;
+            case 3: metrics.time("students.generateAcademicStandingReport", this::generateAcademicStandingReport); break;
             default: System.out.println("Invalid choice.");
         }
     }
@@ -727,22 +788,21 @@ public class StudentManager implements Manageable<Student> {
     public int getActiveStudents() { return students.size(); } // All students are considered active in this implementation
     
     public List<Student> getStudentsByDepartment(String department) {
-        return students.values().stream()
-                .filter(student -> department.equals(student.getDepartment()))
-                .collect(Collectors.toList());
+        return studentsByDepartment.get(department);
     }
     
     public List<Student> getStudentsByYear(int year) {
-        return students.values().stream()
-                .filter(student -> student.getYear() == year)
-                .collect(Collectors.toList());
+        return studentsByYear.get(year);
     }
     
     public List<Student> getTopPerformers(int limit) {
-        return students.values().stream()
+        long start = System.nanoTime();
+        List<Student> results = students.values().stream()
                 .sorted((s1, s2) -> Double.compare(s2.getGpa(), s1.getGpa()))
                 .limit(limit)
                 .collect(Collectors.toList());
+        metrics.recordSince("students.getTopPerformers", start);
+        return results;
     }
     
     public double getAverageGPA() {
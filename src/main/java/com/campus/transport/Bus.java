@@ -9,6 +9,8 @@ import java.util.List;
  * Demonstrates inheritance and polymorphism
  */
 public class Bus extends Vehicle {
+    private static final long serialVersionUID = 1161039479178548803L;
+
     private int standingCapacity;
     private boolean hasAirConditioning;
     private boolean hasWiFi;
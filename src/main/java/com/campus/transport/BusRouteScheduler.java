@@ -1,6 +1,7 @@
 package com.campus.transport;
 
 import com.campus.utils.Logger;
+import com.campus.utils.MetricsRegistry;
 import java.time.LocalTime;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -11,8 +12,9 @@ import java.util.stream.Collectors;
  * Demonstrates Singleton pattern and complex scheduling algorithms
  */
 public class BusRouteScheduler {
-    private static BusRouteScheduler instance;
+    private static volatile BusRouteScheduler instance;
     private static final Logger logger = Logger.getInstance();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
     
     private Map<String, Route> routes;
     private Map<String, List<String>> routeVehicleAssignments;
@@ -40,7 +42,7 @@ public class BusRouteScheduler {
         routes.put(route.getRouteId(), route);
         routeVehicleAssignments.put(route.getRouteId(), new ArrayList<>());
         generateRouteSchedule(route.getRouteId());
-        logger.log("Route added to scheduler: " + route.getRouteId());
+        logger.info("Route added to scheduler: {}", route.getRouteId());
     }
     
     public void removeRoute(String routeId) {
@@ -48,7 +50,7 @@ public class BusRouteScheduler {
         if (route != null) {
             routeVehicleAssignments.remove(routeId);
             dailySchedules.remove(routeId);
-            logger.log("Route removed from scheduler: " + routeId);
+            logger.info("Route removed from scheduler: {}", routeId);
         }
     }
     
@@ -58,7 +60,7 @@ public class BusRouteScheduler {
             if (!vehicles.contains(vehicleId)) {
                 vehicles.add(vehicleId);
                 generateRouteSchedule(routeId);
-                logger.log("Vehicle " + vehicleId + " assigned to route " + routeId);
+                logger.info("Vehicle {} assigned to route {}", vehicleId, routeId);
             }
         }
     }
@@ -67,19 +69,19 @@ public class BusRouteScheduler {
         List<String> vehicles = routeVehicleAssignments.get(routeId);
         if (vehicles != null && vehicles.remove(vehicleId)) {
             generateRouteSchedule(routeId);
-            logger.log("Vehicle " + vehicleId + " unassigned from route " + routeId);
+            logger.info("Vehicle {} unassigned from route {}", vehicleId, routeId);
         }
     }
     
     public void assignDriverToVehicle(String vehicleId, String driverId) {
         vehicleDriverAssignments.put(vehicleId, driverId);
-        logger.log("Driver " + driverId + " assigned to vehicle " + vehicleId);
+        logger.info("Driver {} assigned to vehicle {}", driverId, vehicleId);
     }
     
     public void unassignDriverFromVehicle(String vehicleId) {
         String driverId = vehicleDriverAssignments.remove(vehicleId);
         if (driverId != null) {
-            logger.log("Driver " + driverId + " unassigned from vehicle " + vehicleId);
+            logger.info("Driver {} unassigned from vehicle {}", driverId, vehicleId);
         }
     }
     
@@ -115,9 +117,11 @@ public class BusRouteScheduler {
     }
     
     public void generateAllSchedules() {
+        long start = System.nanoTime();
         for (String routeId : routes.keySet()) {
             generateRouteSchedule(routeId);
         }
+        metrics.recordSince("transport.generateAllSchedules", start);
         logger.log("All route schedules regenerated");
     }
     
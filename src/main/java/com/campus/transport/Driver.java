@@ -10,6 +10,8 @@ import java.util.*;
  * Driver class representing vehicle drivers
  */
 public class Driver implements Identifiable {
+    private static final long serialVersionUID = -1463789344737709941L;
+
     private String driverId;
     private User user;
     private String licenseNumber;
@@ -9,6 +9,8 @@ import java.util.Objects;
  * MaintenanceRecord class for tracking vehicle maintenance
  */
 public class MaintenanceRecord implements Identifiable {
+    private static final long serialVersionUID = 6879025125883023290L;
+
     private String recordId;
     private String vehicleId;
     private String maintenanceType;
@@ -8,6 +8,8 @@ import java.util.*;
  * Route class representing bus routes in the transport system
  */
 public class Route implements Identifiable {
+    private static final long serialVersionUID = -2465145569126605368L;
+
     private String routeId;
     private String routeName;
     private String startPoint;
@@ -1,7 +1,11 @@
 package com.campus.transport;
 
+import com.campus.domain.*;
+import com.campus.storage.EntityStore;
 import com.campus.utils.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -11,25 +15,33 @@ import java.time.LocalTime;
  */
 public class TransportManager implements Manageable<Vehicle> {
     private static final Logger logger = Logger.getInstance();
+    private static final DomainEventLog domainEvents = DomainEventLog.getInstance();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private static final CrudMetrics crudMetrics = metrics.crud("transport.vehicles");
     private final Scanner scanner = new Scanner(System.in);
 
-    private Map<String, Vehicle> vehicles;
-    private Map<String, Route> routes;
-    private Map<String, Driver> drivers;
-    private Map<String, MaintenanceRecord> maintenanceRecords;
+    private final EntityStore<Vehicle> vehicles;
+    private final EntityStore<Route> routes;
+    private final EntityStore<Driver> drivers;
+    private final EntityStore<MaintenanceRecord> maintenanceRecords;
     private NotificationService notificationService;
     private BusRouteScheduler scheduler;
-    private int maintenanceCounter;
+    private final AtomicInteger maintenanceCounter;
 
     public TransportManager() {
-        this.vehicles = new HashMap<>();
-        this.routes = new HashMap<>();
-        this.drivers = new HashMap<>();
-        this.maintenanceRecords = new HashMap<>();
+        this.vehicles = new EntityStore<>("transport.vehicles");
+        this.routes = new EntityStore<>("transport.routes");
+        this.drivers = new EntityStore<>("transport.drivers");
+        this.maintenanceRecords = new EntityStore<>("transport.maintenance");
+        metrics.gauge("transport.vehicles.count", vehicles::size);
+        metrics.gauge("transport.routes.count", routes::size);
+        metrics.gauge("transport.drivers.count", drivers::size);
         this.notificationService = NotificationService.getInstance();
         this.scheduler = new BusRouteScheduler();
-        this.maintenanceCounter = 1;
-        initializeSampleData();
+        if (vehicles.isEmpty()) {
+            initializeSampleData();
+        }
+        this.maintenanceCounter = new AtomicInteger(maintenanceRecords.maxIdNumber("M") + 1);
         logger.log("TransportManager initialized");
     }
 
@@ -140,35 +152,73 @@ public class TransportManager implements Manageable<Vehicle> {
 
     @Override
     public void create(Vehicle vehicle) {
-        vehicles.put(vehicle.getVehicleId(), vehicle);
-        notificationService.notifyObservers("New vehicle added: " + vehicle.getModel());
-        logger.log("Vehicle created: " + vehicle.getVehicleId());
+        long start = System.nanoTime();
+        if (!vehicles.replace(vehicle.getVehicleId(), 0, vehicle)) {
+            throw new IllegalArgumentException("Vehicle with ID " + vehicle.getVehicleId() + " already exists");
+        }
+        notificationService.notifyObservers(NotificationService.Topic.TRANSPORT, "New vehicle added: " + vehicle.getModel());
+        domainEvents.append(new EntityChanged("Vehicle", vehicle.getVehicleId(), EntityChanged.ChangeType.CREATED));
+        logger.info("Vehicle created: {}", vehicle.getVehicleId());
+        crudMetrics.create().recordSince(start);
     }
 
     @Override
     public Vehicle read(String vehicleId) {
-        return vehicles.get(vehicleId);
+        long start = System.nanoTime();
+        Vehicle vehicle = vehicles.get(vehicleId);
+        crudMetrics.read().recordSince(start);
+        return vehicle;
     }
 
     @Override
     public void update(Vehicle vehicle) {
+        long start = System.nanoTime();
         vehicles.put(vehicle.getVehicleId(), vehicle);
-        notificationService.notifyObservers("Vehicle updated: " + vehicle.getModel());
-        logger.log("Vehicle updated: " + vehicle.getVehicleId());
+        updated(vehicle, start);
+    }
+    
+    @Override
+    public Vehicle update(String vehicleId, Consumer<Vehicle> change) {
+        long start = System.nanoTime();
+        Vehicle vehicle = vehicles.update(vehicleId, change);
+        updated(vehicle, start);
+        return vehicle;
+    }
+    
+    private void updated(Vehicle vehicle, long start) {
+        notificationService.notifyObservers(NotificationService.Topic.TRANSPORT, "Vehicle updated: " + vehicle.getModel());
+        domainEvents.append(new EntityChanged("Vehicle", vehicle.getVehicleId(), EntityChanged.ChangeType.UPDATED));
+        logger.info("Vehicle updated: {}", vehicle.getVehicleId());
+        crudMetrics.update().recordSince(start);
     }
 
     @Override
     public void delete(String vehicleId) {
+        long start = System.nanoTime();
         Vehicle vehicle = vehicles.remove(vehicleId);
         if (vehicle != null) {
-            notificationService.notifyObservers("Vehicle deleted: " + vehicle.getModel());
-            logger.log("Vehicle deleted: " + vehicleId);
+            notificationService.notifyObservers(NotificationService.Topic.TRANSPORT, "Vehicle deleted: " + vehicle.getModel());
+            domainEvents.append(new EntityChanged("Vehicle", vehicleId, EntityChanged.ChangeType.DELETED));
+            logger.info("Vehicle deleted: {}", vehicleId);
         }
+        crudMetrics.delete().recordSince(start);
     }
 
     @Override
     public List<Vehicle> getAll() {
-        return new ArrayList<>(vehicles.values());
+        long start = System.nanoTime();
+        List<Vehicle> all = new ArrayList<>(vehicles.values());
+        crudMetrics.getAll().recordSince(start);
+        return all;
+    }
+
+    /**
+     * Stores a route produced outside the interactive flow, e.g. by an import or the data generator.
+     */
+    public void addRoute(Route route) {
+        routes.put(route.getRouteId(), route);
+        domainEvents.append(new EntityChanged("Route", route.getRouteId(), EntityChanged.ChangeType.CREATED));
+        logger.debug("Route added: {}", route.getRouteId());
     }
 
     // Utility methods for external access
@@ -350,20 +400,24 @@ public class TransportManager implements Manageable<Vehicle> {
         System.out.print("Enter choice: ");
 
         int choice = getChoice();
+        Consumer<Vehicle> change;
 
         switch (choice) {
             case 1:
                 System.out.print("Enter new model: ");
-                vehicle.setModel(scanner.nextLine());
+                String model = scanner.nextLine();
+                change = v -> v.setModel(model);
                 break;
             case 2:
                 System.out.print("Enter new license plate: ");
-                vehicle.setLicensePlate(scanner.nextLine());
+                String licensePlate = scanner.nextLine();
+                change = v -> v.setLicensePlate(licensePlate);
                 break;
             case 3:
                 System.out.print("Enter new capacity: ");
                 try {
-                    vehicle.setCapacity(Integer.parseInt(scanner.nextLine()));
+                    int capacity = Integer.parseInt(scanner.nextLine());
+                    change = v -> v.setCapacity(capacity);
                 } catch (NumberFormatException e) {
                     System.out.println("Invalid capacity.");
                     return;
@@ -371,12 +425,14 @@ public class TransportManager implements Manageable<Vehicle> {
                 break;
             case 4:
                 System.out.print("Enter new fuel type: ");
-                vehicle.setFuelType(scanner.nextLine());
+                String fuelType = scanner.nextLine();
+                change = v -> v.setFuelType(fuelType);
                 break;
             case 5:
                 System.out.print("Enter new mileage: ");
                 try {
-                    vehicle.setMileage(Integer.parseInt(scanner.nextLine()));
+                    int mileage = Integer.parseInt(scanner.nextLine());
+                    change = v -> v.setMileage(mileage);
                 } catch (NumberFormatException e) {
                     System.out.println("Invalid mileage.");
                     return;
@@ -391,7 +447,8 @@ public class TransportManager implements Manageable<Vehicle> {
                 System.out.print("Enter choice: ");
                 int statusChoice = getChoice();
                 if (statusChoice >= 1 && statusChoice <= statuses.length) {
-                    vehicle.setStatus(statuses[statusChoice - 1]);
+                    VehicleStatus status = statuses[statusChoice - 1];
+                    change = v -> v.setStatus(status);
                 } else {
                     System.out.println("Invalid choice.");
                     return;
@@ -402,7 +459,12 @@ public class TransportManager implements Manageable<Vehicle> {
                 return;
         }
 
-        update(vehicle);
+        try {
+            update(vehicleId, change);
+        } catch (NoSuchElementException | IllegalStateException | IllegalArgumentException e) {
+            System.out.println("Update failed: " + e.getMessage());
+            return;
+        }
         System.out.println("Vehicle updated successfully!");
     }
 
@@ -643,20 +705,24 @@ public class TransportManager implements Manageable<Vehicle> {
         System.out.print("Enter choice: ");
 
         int choice = getChoice();
+        Consumer<Route> change;
 
         switch (choice) {
             case 1:
                 System.out.print("Enter new route name: ");
-                route.setRouteName(scanner.nextLine());
+                String routeName = scanner.nextLine();
+                change = r -> r.setRouteName(routeName);
                 break;
             case 2:
                 System.out.print("Enter new description: ");
-                route.setDescription(scanner.nextLine());
+                String description = scanner.nextLine();
+                change = r -> r.setDescription(description);
                 break;
             case 3:
                 System.out.print("Enter new distance (km): ");
                 try {
-                    route.setDistance(Double.parseDouble(scanner.nextLine()));
+                    double distance = Double.parseDouble(scanner.nextLine());
+                    change = r -> r.setDistance(distance);
                 } catch (NumberFormatException e) {
                     System.out.println("Invalid distance.");
                     return;
@@ -665,7 +731,8 @@ public class TransportManager implements Manageable<Vehicle> {
             case 4:
                 System.out.print("Enter new duration (minutes): ");
                 try {
-                    route.setEstimatedDuration(Integer.parseInt(scanner.nextLine()));
+                    int duration = Integer.parseInt(scanner.nextLine());
+                    change = r -> r.setEstimatedDuration(duration);
                 } catch (NumberFormatException e) {
                     System.out.println("Invalid duration.");
                     return;
@@ -673,19 +740,27 @@ public class TransportManager implements Manageable<Vehicle> {
                 break;
             case 5:
                 System.out.print("Enter stop name to add: ");
-                route.addStop(scanner.nextLine());
+                String newStop = scanner.nextLine();
+                change = r -> r.addStop(newStop);
                 break;
             case 6:
                 System.out.println("Current stops:");
                 route.getStops().forEach(stop -> System.out.println("- " + stop));
                 System.out.print("Enter stop name to remove: ");
-                route.removeStop(scanner.nextLine());
+                String oldStop = scanner.nextLine();
+                change = r -> r.removeStop(oldStop);
                 break;
             default:
                 System.out.println("Invalid choice.");
                 return;
         }
 
+        try {
+            routes.update(routeId, change);
+        } catch (NoSuchElementException | IllegalStateException | IllegalArgumentException e) {
+            System.out.println("Update failed: " + e.getMessage());
+            return;
+        }
         System.out.println("Route updated successfully!");
     }
 
@@ -857,6 +932,7 @@ public class TransportManager implements Manageable<Vehicle> {
         System.out.print("Enter choice: ");
 
         int choice = getChoice();
+        Consumer<Driver> change;
 
         switch (choice) {
             case 1:
@@ -864,21 +940,26 @@ public class TransportManager implements Manageable<Vehicle> {
                 String firstName = scanner.nextLine();
                 System.out.print("Enter new last name: ");
                 String lastName = scanner.nextLine();
-                driver.setFirstName(firstName);
-                driver.setLastName(lastName);
+                change = d -> {
+                    d.setFirstName(firstName);
+                    d.setLastName(lastName);
+                };
                 break;
             case 2:
                 System.out.print("Enter new license number: ");
-                driver.setLicenseNumber(scanner.nextLine());
+                String licenseNumber = scanner.nextLine();
+                change = d -> d.setLicenseNumber(licenseNumber);
                 break;
             case 3:
                 System.out.print("Enter new phone: ");
-                driver.setPhone(scanner.nextLine());
+                String phone = scanner.nextLine();
+                change = d -> d.setPhone(phone);
                 break;
             case 4:
                 System.out.print("Enter new experience (years): ");
                 try {
-                    driver.setExperience(Integer.parseInt(scanner.nextLine()));
+                    int experience = Integer.parseInt(scanner.nextLine());
+                    change = d -> d.setExperience(experience);
                 } catch (NumberFormatException e) {
                     System.out.println("Invalid experience.");
                     return;
@@ -889,6 +970,12 @@ public class TransportManager implements Manageable<Vehicle> {
                 return;
         }
 
+        try {
+            drivers.update(driverId, change);
+        } catch (NoSuchElementException | IllegalStateException | IllegalArgumentException e) {
+            System.out.println("Update failed: " + e.getMessage());
+            return;
+        }
         System.out.println("Driver updated successfully!");
     }
 
@@ -1063,7 +1150,7 @@ public class TransportManager implements Manageable<Vehicle> {
             return;
         }
 
-        String recordId = "M" + String.format("%03d", maintenanceCounter++);
+        String recordId = "M" + String.format("%03d", maintenanceCounter.getAndIncrement());
 
         System.out.print("Enter maintenance type: ");
         String maintenanceType = scanner.nextLine();
@@ -1086,7 +1173,9 @@ public class TransportManager implements Manageable<Vehicle> {
         record.setCost(cost);
         record.setStatus("Scheduled");
 
-        maintenanceRecords.put(recordId, record);
+        if (!maintenanceRecords.replace(recordId, 0, record)) {
+            throw new IllegalStateException("Maintenance record ID already in use: " + recordId);
+        }
 
         // Set vehicle status to maintenance
         vehicle.setStatus(VehicleStatus.MAINTENANCE);
@@ -1145,6 +1234,8 @@ public class TransportManager implements Manageable<Vehicle> {
         System.out.print("Enter choice: ");
 
         int choice = getChoice();
+        Consumer<MaintenanceRecord> change;
+        boolean completed = false;
 
         switch (choice) {
             case 1:
@@ -1157,16 +1248,9 @@ public class TransportManager implements Manageable<Vehicle> {
                 int statusChoice = getChoice();
                 String[] statuses = {"Scheduled", "In Progress", "Completed", "Cancelled"};
                 if (statusChoice >= 1 && statusChoice <= 4) {
-                    record.setStatus(statuses[statusChoice - 1]);
-
-                    // If completed, set vehicle back to active
-                    if (statusChoice == 3) {
-                        Vehicle vehicle = read(record.getVehicleId());
-                        if (vehicle != null) {
-                            vehicle.setStatus(VehicleStatus.ACTIVE);
-                            update(vehicle);
-                        }
-                    }
+                    String status = statuses[statusChoice - 1];
+                    change = r -> r.setStatus(status);
+                    completed = statusChoice == 3;
                 } else {
                     System.out.println("Invalid choice.");
                     return;
@@ -1175,7 +1259,8 @@ public class TransportManager implements Manageable<Vehicle> {
             case 2:
                 System.out.print("Enter new cost: $");
                 try {
-                    record.setCost(Double.parseDouble(scanner.nextLine()));
+                    double cost = Double.parseDouble(scanner.nextLine());
+                    change = r -> r.setCost(cost);
                 } catch (NumberFormatException e) {
                     System.out.println("Invalid cost.");
                     return;
@@ -1183,13 +1268,24 @@ public class TransportManager implements Manageable<Vehicle> {
                 break;
             case 3:
                 System.out.print("Enter new description: ");
-                record.setDescription(scanner.nextLine());
+                String description = scanner.nextLine();
+                change = r -> r.setDescription(description);
                 break;
             default:
                 System.out.println("Invalid choice.");
                 return;
         }
 
+        try {
+            maintenanceRecords.update(recordId, change);
+            // If completed, set vehicle back to active
+            if (completed && read(record.getVehicleId()) != null) {
+                update(record.getVehicleId(), vehicle -> vehicle.setStatus(VehicleStatus.ACTIVE));
+            }
+        } catch (NoSuchElementException | IllegalStateException | IllegalArgumentException e) {
+            System.out.println("Update failed: " + e.getMessage());
+            return;
+        }
         System.out.println("Maintenance record updated successfully!");
     }
 
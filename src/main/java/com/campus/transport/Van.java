@@ -9,6 +9,8 @@ import java.util.List;
  * Demonstrates inheritance and specialized functionality
  */
 public class Van extends Vehicle {
+    private static final long serialVersionUID = 6843551987573326559L;
+
     private boolean hasCargoSpace;
     private double cargoCapacity; // in cubic meters
     private boolean hasSlidingDoors;
@@ -12,6 +12,8 @@ import java.util.Objects;
  * Demonstrates inheritance and abstraction
  */
 public abstract class Vehicle implements Identifiable {
+    private static final long serialVersionUID = 3383418087264479352L;
+
     protected String vehicleId;
     protected String registrationNumber;
     protected String model;
@@ -9,6 +9,8 @@ import java.util.List;
  * Demonstrates inheritance and polymorphism
  */
 public class Admin extends User {
+    private static final long serialVersionUID = 5465439187866866308L;
+
     private static final Logger logger = Logger.getInstance();
     private List<String> adminPermissions;
     private String adminLevel;
@@ -17,14 +19,14 @@ public class Admin extends User {
         super(userId, firstName, lastName, email, UserRole.ADMIN);
         this.adminLevel = "SUPER_ADMIN";
         initializePermissions();
-        logger.log("Admin created: " + getFullName());
+        logger.info("Admin created: {}", getFullName());
     }
     
     public Admin(String userId, String firstName, String lastName, String email, String adminLevel) {
         super(userId, firstName, lastName, email, UserRole.ADMIN);
         this.adminLevel = adminLevel;
         initializePermissions();
-        logger.log("Admin created: " + getFullName() + " with level: " + adminLevel);
+        logger.info("Admin created: {} with level: {}", getFullName(), adminLevel);
     }
     
     private void initializePermissions() {
@@ -73,37 +75,37 @@ public class Admin extends User {
     
     public void manageSystemSettings() {
         System.out.println("Managing system configuration settings...");
-        logger.log("Admin " + userId + " accessed system settings");
+        logger.info("Admin {} accessed system settings", userId);
     }
     
     public void generateSystemReports() {
         System.out.println("Generating comprehensive system reports...");
-        logger.log("Admin " + userId + " generated system reports");
+        logger.info("Admin {} generated system reports", userId);
     }
     
     public void monitorSystemHealth() {
         System.out.println("Monitoring system health and performance...");
-        logger.log("Admin " + userId + " checked system health");
+        logger.info("Admin {} checked system health", userId);
     }
     
     public void createUser(User user) {
         System.out.println("Creating new user: " + user.getFullName());
-        logger.log("Admin " + userId + " created user: " + user.getUserId());
+        logger.info("Admin {} created user: {}", userId, user.getUserId());
     }
     
     public void deleteUser(String userId) {
         System.out.println("Deleting user: " + userId);
-        logger.log("Admin " + this.userId + " deleted user: " + userId);
+        logger.info("Admin {} deleted user: {}", this.userId, userId);
     }
     
     public void backupSystem() {
         System.out.println("Initiating system backup...");
-        logger.log("Admin " + userId + " initiated system backup");
+        logger.info("Admin {} initiated system backup", userId);
     }
     
     public void restoreSystem(String backupId) {
         System.out.println("Restoring system from backup: " + backupId);
-        logger.log("Admin " + userId + " restored system from backup: " + backupId);
+        logger.info("Admin {} restored system from backup: {}", userId, backupId);
     }
     
     // Getters and Setters
@@ -26,7 +26,7 @@ public class AuthenticationService {
     
     public User authenticate(String userId, String password, Map<String, User> users) {
         if (!users.containsKey(userId)) {
-            logger.log("Authentication failed: User not found - " + userId);
+            logger.info("Authentication failed: User not found - {}", userId);
             return null;
         }
         
@@ -38,32 +38,32 @@ public class AuthenticationService {
         
         if (storedPassword.equals(password)) {
             User user = users.get(userId);
-            logger.log("Authentication successful: " + userId);
+            logger.info("Authentication successful: {}", userId);
             return user;
         } else {
-            logger.log("Authentication failed: Invalid password - " + userId);
+            logger.info("Authentication failed: Invalid password - {}", userId);
             return null;
         }
     }
     
     public void setPassword(String userId, String password) {
         userCredentials.put(userId, password);
-        logger.log("Password updated for user: " + userId);
+        logger.info("Password updated for user: {}", userId);
     }
     
     public boolean changePassword(String userId, String oldPassword, String newPassword) {
         String currentPassword = userCredentials.get(userId);
         if (currentPassword != null && currentPassword.equals(oldPassword)) {
             userCredentials.put(userId, newPassword);
-            logger.log("Password changed for user: " + userId);
+            logger.info("Password changed for user: {}", userId);
             return true;
         }
-        logger.log("Password change failed for user: " + userId);
+        logger.info("Password change failed for user: {}", userId);
         return false;
     }
     
     public void resetPassword(String userId) {
         userCredentials.put(userId, "reset123");
-        logger.log("Password reset for user: " + userId);
+        logger.info("Password reset for user: {}", userId);
     }
 }
\ No newline at end of file
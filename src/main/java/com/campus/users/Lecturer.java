@@ -11,6 +11,8 @@ import java.time.LocalDate;
  * Demonstrates inheritance and polymorphism
  */
 public class Lecturer extends User {
+    private static final long serialVersionUID = 6719565952435561096L;
+
     private static final Logger logger = Logger.getInstance();
     
     private String employeeId;
@@ -34,7 +36,7 @@ public class Lecturer extends User {
         this.assignedCourses = new ArrayList<>();
         this.experienceYears = 0;
         initializePermissions();
-        logger.log("Lecturer created: " + getFullName() + " (" + employeeId + ")");
+        logger.info("Lecturer created: {} ({})", getFullName(), employeeId);
     }
     
     private void initializePermissions() {
@@ -87,7 +89,7 @@ public class Lecturer extends User {
             assignedCourses.add(course);
             course.setInstructor(this);
             System.out.println("Successfully assigned to course: " + course.getCourseName());
-            logger.log("Lecturer " + employeeId + " assigned to course: " + course.getCourseId());
+            logger.info("Lecturer {} assigned to course: {}", employeeId, course.getCourseId());
         } else {
             System.out.println("Already assigned to this course.");
         }
@@ -97,7 +99,7 @@ public class Lecturer extends User {
         if (assignedCourses.remove(course)) {
             course.setInstructor(null);
             System.out.println("Successfully removed from course: " + course.getCourseName());
-            logger.log("Lecturer " + employeeId + " removed from course: " + course.getCourseId());
+            logger.info("Lecturer {} removed from course: {}", employeeId, course.getCourseId());
         } else {
             System.out.println("Not assigned to this course.");
         }
@@ -130,18 +132,18 @@ public class Lecturer extends User {
     public void takeAttendance(Course course, List<Student> presentStudents) {
         System.out.println("Taking attendance for: " + course.getCourseName());
         System.out.println("Present students: " + presentStudents.size());
-        logger.log("Lecturer " + employeeId + " took attendance for course: " + course.getCourseId());
+        logger.info("Lecturer {} took attendance for course: {}", employeeId, course.getCourseId());
     }
     
     public void createAssignment(Course course, String assignmentTitle, String description) {
         System.out.println("Creating assignment: " + assignmentTitle + " for " + course.getCourseName());
-        logger.log("Lecturer " + employeeId + " created assignment: " + assignmentTitle);
+        logger.info("Lecturer {} created assignment: {}", employeeId, assignmentTitle);
     }
     
     public void scheduleClass(Course course, String dateTime, String venue) {
         System.out.println("Scheduling class for " + course.getCourseName());
         System.out.println("Date/Time: " + dateTime + ", Venue: " + venue);
-        logger.log("Lecturer " + employeeId + " scheduled class for course: " + course.getCourseId());
+        logger.info("Lecturer {} scheduled class for course: {}", employeeId, course.getCourseId());
     }
     
     // Getters and Setters
@@ -11,6 +11,8 @@ import java.time.LocalDate;
  * Library Staff user class with library-specific functionality
  */
 public class LibraryStaff extends User {
+    private static final long serialVersionUID = 5899715890231685718L;
+
     private static final Logger logger = Logger.getInstance();
     
     private String employeeId;
@@ -30,7 +32,7 @@ public class LibraryStaff extends User {
         this.workShift = "DAY";
         this.booksProcessedToday = 0;
         initializePermissions();
-        logger.log("Library Staff created: " + getFullName() + " (" + employeeId + ")");
+        logger.info("Library Staff created: {} ({})", getFullName(), employeeId);
     }
     
     private void initializePermissions() {
@@ -78,30 +80,30 @@ public class LibraryStaff extends User {
     public void issueBook(Book book, User member) {
         System.out.println("Issuing book: " + book.getTitle() + " to " + member.getFullName());
         booksProcessedToday++;
-        logger.log("Library Staff " + employeeId + " issued book: " + book.getIsbn() + " to user: " + member.getUserId());
+        logger.info("Library Staff {} issued book: {} to user: {}", employeeId, book.getIsbn(), member.getUserId());
     }
     
     public void returnBook(Book book, User member) {
         System.out.println("Processing return of book: " + book.getTitle() + " from " + member.getFullName());
         booksProcessedToday++;
-        logger.log("Library Staff " + employeeId + " processed return of book: " + book.getIsbn() + " from user: " + member.getUserId());
+        logger.info("Library Staff {} processed return of book: {} from user: {}", employeeId, book.getIsbn(), member.getUserId());
     }
     
     public void addBookToCatalog(Book book) {
         System.out.println("Adding new book to catalog: " + book.getTitle());
-        logger.log("Library Staff " + employeeId + " added book to catalog: " + book.getIsbn());
+        logger.info("Library Staff {} added book to catalog: {}", employeeId, book.getIsbn());
     }
     
     public void removeBookFromCatalog(Book book) {
         System.out.println("Removing book from catalog: " + book.getTitle());
-        logger.log("Library Staff " + employeeId + " removed book from catalog: " + book.getIsbn());
+        logger.info("Library Staff {} removed book from catalog: {}", employeeId, book.getIsbn());
     }
     
     public double calculateFine(Transaction transaction) {
         System.out.println("Calculating fine for transaction: " + transaction.getTransactionId());
         // Fine calculation logic would be here
         double fine = 0.0; // Placeholder
-        logger.log("Library Staff " + employeeId + " calculated fine: $" + fine);
+        logger.info("Library Staff {} calculated fine: ${}", employeeId, fine);
         return fine;
     }
     
@@ -124,12 +126,12 @@ public class LibraryStaff extends User {
         System.out.println("=== DAILY REPORT ===");
         System.out.println("Books processed today: " + booksProcessedToday);
         System.out.println("Generating detailed daily report...");
-        logger.log("Library Staff " + employeeId + " generated daily report");
+        logger.info("Library Staff {} generated daily report", employeeId);
     }
     
     public void reserveBook(Book book, User member) {
         System.out.println("Reserving book: " + book.getTitle() + " for " + member.getFullName());
-        logger.log("Library Staff " + employeeId + " reserved book: " + book.getIsbn() + " for user: " + member.getUserId());
+        logger.info("Library Staff {} reserved book: {} for user: {}", employeeId, book.getIsbn(), member.getUserId());
     }
     
     // Getters and Setters
@@ -11,6 +11,8 @@ import java.time.LocalDate;
  * Demonstrates inheritance and encapsulation
  */
 public class Student extends User {
+    private static final long serialVersionUID = 9001486738226818354L;
+
     private static final Logger logger = Logger.getInstance();
     
     private String studentId;
@@ -35,7 +37,7 @@ public class Student extends User {
         this.enrolledCourses = new ArrayList<>();
         this.status = StudentStatus.ACTIVE;
         initializePermissions();
-        logger.log("Student created: " + getFullName() + " (" + studentId + ")");
+        logger.info("Student created: {} ({})", getFullName(), studentId);
     }
     
     private void initializePermissions() {
@@ -86,7 +88,7 @@ public class Student extends User {
         if (!enrolledCourses.contains(course)) {
             enrolledCourses.add(course);
             System.out.println("Successfully enrolled in: " + course.getCourseName());
-            logger.log("Student " + studentId + " enrolled in course: " + course.getCourseId());
+            logger.info("Student {} enrolled in course: {}", studentId, course.getCourseId());
         } else {
             System.out.println("Already enrolled in this course.");
         }
@@ -95,7 +97,7 @@ public class Student extends User {
     public void dropCourse(Course course) {
         if (enrolledCourses.remove(course)) {
             System.out.println("Successfully dropped course: " + course.getCourseName());
-            logger.log("Student " + studentId + " dropped course: " + course.getCourseId());
+            logger.info("Student {} dropped course: {}", studentId, course.getCourseId());
         } else {
             System.out.println("Not enrolled in this course.");
         }
@@ -127,12 +129,12 @@ public class Student extends User {
     
     public void updateGPA(double newGPA) {
         this.gpa = newGPA;
-        logger.log("GPA updated for student " + studentId + ": " + newGPA);
+        logger.info("GPA updated for student {}: {}", studentId, newGPA);
     }
     
     public void promoteToNextSemester() {
         this.semester++;
-        logger.log("Student " + studentId + " promoted to semester " + semester);
+        logger.info("Student {} promoted to semester {}", studentId, semester);
     }
     
     // Getters and Setters
@@ -9,6 +9,8 @@ import java.util.Objects;
  * Demonstrates inheritance and encapsulation principles
  */
 public abstract class User implements Identifiable {
+    private static final long serialVersionUID = -1989301015034060198L;
+
     protected String userId;
     protected String firstName;
     protected String lastName;
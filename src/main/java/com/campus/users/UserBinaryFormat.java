@@ -0,0 +1,174 @@
+package com.campus.users;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary user file: a header (magic number and version) followed by one
+ * length-prefixed record per user. The length prefix lets an import read records off
+ * the stream sequentially and decode them in parallel. Lengths are varints (7 bits per
+ * byte); strings are UTF-8 preceded by their length plus one, so that 0 encodes null
+ * and short strings cost a single byte of overhead.
+ */
+class UserBinaryFormat {
+    private static final int MAGIC = 0x43555352; // "CUSR"
+    private static final int VERSION = 1;
+    private static final int MAX_STRING_BYTES = 1 << 16;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+
+    static void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the stream is not a user file of a supported version
+     */
+    static void readHeader(DataInputStream in) throws IOException {
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a user export file");
+            }
+            int version = in.readUnsignedShort();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported user file version " + version);
+            }
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Not a user export file");
+        }
+    }
+
+    /**
+     * Reads the next record, or returns null at the end of the file.
+     */
+    static byte[] readRecord(DataInputStream in) throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+        int length = readVarint(in, first);
+        if (length < 0 || length > MAX_RECORD_BYTES) {
+            throw new IOException("Corrupt user file: record length " + length);
+        }
+        byte[] record = new byte[length];
+        in.readFully(record);
+        return record;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the record is malformed or names an unsupported role
+     */
+    static User decode(byte[] record, UserFactory factory) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            UserRole role = UserRole.valueOf(readRequired(in));
+            String userId = readRequired(in);
+            String firstName = readRequired(in);
+            String lastName = readRequired(in);
+            String email = readRequired(in);
+            String phoneNumber = readString(in);
+            String address = readString(in);
+            boolean active = in.readBoolean();
+            String[] attributes = new String[in.readUnsignedByte()];
+            for (int i = 0; i < attributes.length; i++) {
+                attributes[i] = readString(in);
+            }
+            User user = factory.createUser(role, userId, firstName, lastName, email, attributes);
+            user.setPhoneNumber(phoneNumber);
+            user.setAddress(address);
+            user.setActive(active);
+            return user;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("malformed record: " + e.getMessage());
+        }
+    }
+
+    private static String readRequired(DataInputStream in) throws IOException {
+        String value = readString(in);
+        if (value == null) {
+            throw new IOException("missing required field");
+        }
+        return value;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readVarint(in, in.readUnsignedByte());
+        if (length == 0) {
+            return null;
+        }
+        if (length < 0 || length - 1 > MAX_STRING_BYTES) {
+            throw new IOException("string length " + (length - 1));
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readVarint(DataInputStream in, int first) throws IOException {
+        int value = first & 0x7F;
+        int b = first;
+        for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+            if (shift > 28) throw new IOException("varint overflow");
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+        }
+        return value;
+    }
+
+    private static void writeVarint(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Encodes users into a reusable buffer and writes them with their length prefix.
+     * Not thread-safe.
+     */
+    static class Encoder {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        private final DataOutputStream fields = new DataOutputStream(buffer);
+
+        void write(DataOutputStream out, User user) throws IOException {
+            buffer.reset();
+            writeString(user.getRole().name());
+            writeString(user.getUserId());
+            writeString(nullToEmpty(user.getFirstName()));
+            writeString(nullToEmpty(user.getLastName()));
+            writeString(nullToEmpty(user.getEmail()));
+            writeString(user.getPhoneNumber());
+            writeString(user.getAddress());
+            fields.writeBoolean(user.isActive());
+            String[] attributes = UserFactory.roleAttributeValues(user);
+            fields.writeByte(attributes.length);
+            for (String attribute : attributes) {
+                writeString(attribute);
+            }
+            writeVarint(out, buffer.size());
+            buffer.writeTo(out);
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                writeVarint(fields, 0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > MAX_STRING_BYTES) {
+                throw new IllegalArgumentException("String field longer than " + MAX_STRING_BYTES + " bytes");
+            }
+            writeVarint(fields, bytes.length + 1);
+            fields.write(bytes);
+        }
+
+        private static String nullToEmpty(String value) {
+            return value != null ? value : "";
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.campus.users;
+
+import com.campus.utils.CsvReader;
+import com.campus.utils.CsvWriter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Column layout of a user CSV file. Exports write every column; imports take the layout
+ * from the header row, matching names ignoring case. userId, role, firstName, lastName
+ * and email are required; the role-specific columns are only read for the roles that use them.
+ */
+class UserCsvFormat {
+    private static final String[] COLUMNS = {"userId", "role", "firstName", "lastName", "email",
+            "phoneNumber", "address", "active"};
+    private static final String[] ROLE_COLUMNS = {"studentId", "employeeId", "program", "department",
+            "designation", "position", "adminLevel"};
+    private static final String[] REQUIRED = {"userid", "role", "firstname", "lastname", "email"};
+    private static final UserRole[] ROLES = UserRole.values();
+
+    private final Map<String, Integer> columns;
+    private final int userId, role, firstName, lastName, email, phoneNumber, address, active;
+
+    private UserCsvFormat(Map<String, Integer> columns) {
+        this.columns = columns;
+        this.userId = columns.get("userid");
+        this.role = columns.get("role");
+        this.firstName = columns.get("firstname");
+        this.lastName = columns.get("lastname");
+        this.email = columns.get("email");
+        this.phoneNumber = columns.getOrDefault("phonenumber", -1);
+        this.address = columns.getOrDefault("address", -1);
+        this.active = columns.getOrDefault("active", -1);
+    }
+
+    static void writeHeader(CsvWriter out) throws IOException {
+        for (String column : COLUMNS) out.field(column);
+        for (String column : ROLE_COLUMNS) out.field(column);
+        out.endRecord();
+    }
+
+    static void write(CsvWriter out, User user) throws IOException {
+        out.field(user.getUserId())
+                .field(user.getRole().name())
+                .field(user.getFirstName())
+                .field(user.getLastName())
+                .field(user.getEmail())
+                .field(user.getPhoneNumber())
+                .field(user.getAddress())
+                .field(user.isActive());
+        List<String> attributes = UserFactory.roleAttributes(user.getRole());
+        String[] values = UserFactory.roleAttributeValues(user);
+        for (String column : ROLE_COLUMNS) {
+            int index = attributes.indexOf(column);
+            out.field(index >= 0 && index < values.length ? values[index] : null);
+        }
+        out.endRecord();
+    }
+
+    /**
+     * @throws IllegalArgumentException if a required column is missing
+     */
+    static UserCsvFormat fromHeader(CsvReader.Record header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i);
+            if (name != null) {
+                columns.putIfAbsent(name.toLowerCase(Locale.ROOT), i);
+            }
+        }
+        for (String required : REQUIRED) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing the '" + required + "' column");
+            }
+        }
+        return new UserCsvFormat(columns);
+    }
+
+    /**
+     * Builds the user described by a row.
+     *
+     * @throws IllegalArgumentException if a field is missing or invalid
+     */
+    User parse(CsvReader.Record row, UserFactory factory) {
+        String id = required(row, userId, "userId");
+        UserRole userRole = row.getEnum(role, ROLES);
+        List<String> attributeNames = UserFactory.roleAttributes(userRole);
+        String[] attributes = new String[attributeNames.size()];
+        for (int i = 0; i < attributes.length; i++) {
+            attributes[i] = row.get(columns.getOrDefault(attributeNames.get(i).toLowerCase(Locale.ROOT), -1));
+        }
+        User user = factory.createUser(userRole, id, required(row, firstName, "firstName"),
+                required(row, lastName, "lastName"), required(row, email, "email"), attributes);
+        user.setPhoneNumber(row.get(phoneNumber));
+        user.setAddress(row.get(address));
+        if (!row.isBlank(active)) {
+            String value = row.get(active);
+            if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+                throw new IllegalArgumentException("active must be true or false");
+            }
+            user.setActive(Boolean.parseBoolean(value));
+        }
+        return user;
+    }
+
+    private static String required(CsvReader.Record row, int column, String name) {
+        String value = row.get(column);
+        if (value == null) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+}
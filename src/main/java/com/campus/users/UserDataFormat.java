@@ -0,0 +1,30 @@
+package com.campus.users;
+
+import java.nio.file.Path;
+
+/**
+ * File formats for bulk user export and import
+ */
+public enum UserDataFormat {
+    CSV("CSV"),
+    BINARY("Binary");
+    
+    private final String displayName;
+    
+    UserDataFormat(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    public String getDisplayName() { return displayName; }
+    
+    /**
+     * CSV for files ending in .csv, the binary format otherwise.
+     */
+    public static UserDataFormat forFile(Path file) {
+        String name = String.valueOf(file.getFileName());
+        return name.toLowerCase().endsWith(".csv") ? CSV : BINARY;
+    }
+    
+    @Override
+    public String toString() { return displayName; }
+}
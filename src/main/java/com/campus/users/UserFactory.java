@@ -1,5 +1,8 @@
 package com.campus.users;
 
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 
 /**
@@ -7,6 +10,13 @@ import java.util.Scanner;
  * Demonstrates Factory Design Pattern
  */
 public class UserFactory {
+    private static final Map<UserRole, List<String>> ROLE_ATTRIBUTES = new EnumMap<>(UserRole.class);
+    static {
+        ROLE_ATTRIBUTES.put(UserRole.STUDENT, List.of("studentId", "program", "department"));
+        ROLE_ATTRIBUTES.put(UserRole.LECTURER, List.of("employeeId", "department", "designation"));
+        ROLE_ATTRIBUTES.put(UserRole.LIBRARY_STAFF, List.of("employeeId", "position"));
+        ROLE_ATTRIBUTES.put(UserRole.ADMIN, List.of("adminLevel"));
+    }
     
     public User createUser(int userType, String userId, String firstName, String lastName, 
                           String email, Scanner scanner) {
@@ -70,4 +80,64 @@ public class UserFactory {
         
         return new Admin(userId, firstName, lastName, email, adminLevel);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Names of the role-specific attributes a user of this role is created from, in order.
+     * Empty for roles that have no user type of their own.
+     */
+    public static List<String> roleAttributes(UserRole role) {
+        return ROLE_ATTRIBUTES.getOrDefault(role, List.of());
+    }
+    
+    /**
+     * The user's role-specific attribute values, in the order of {@link #roleAttributes}.
+     */
+    public static String[] roleAttributeValues(User user) {
+        if (user instanceof Student) {
+            Student student = (Student) user;
+            return new String[] {student.getStudentId(), student.getProgram(), student.getDepartment()};
+        }
+        if (user instanceof Lecturer) {
+            Lecturer lecturer = (Lecturer) user;
+            return new String[] {lecturer.getEmployeeId(), lecturer.getDepartment(), lecturer.getDesignation()};
+        }
+        if (user instanceof LibraryStaff) {
+            LibraryStaff staff = (LibraryStaff) user;
+            return new String[] {staff.getEmployeeId(), staff.getPosition()};
+        }
+        if (user instanceof Admin) {
+            return new String[] {((Admin) user).getAdminLevel()};
+        }
+        return new String[0];
+    }
+    
+    /**
+     * Creates a user without prompting, from the role-specific attribute values
+     * in the order of {@link #roleAttributes}; missing trailing values are null.
+     *
+     * @throws IllegalArgumentException if the role has no user type
+     */
+    public User createUser(UserRole role, String userId, String firstName, String lastName,
+                           String email, String... attributes) {
+        switch (role) {
+            case STUDENT:
+                return new Student(userId, firstName, lastName, email,
+                        attribute(attributes, 0), attribute(attributes, 1), attribute(attributes, 2));
+            case LECTURER:
+                return new Lecturer(userId, firstName, lastName, email,
+                        attribute(attributes, 0), attribute(attributes, 1), attribute(attributes, 2));
+            case LIBRARY_STAFF:
+                return new LibraryStaff(userId, firstName, lastName, email, attribute(attributes, 0), attribute(attributes, 1));
+            case ADMIN:
+                String adminLevel = attribute(attributes, 0);
+                return adminLevel != null ? new Admin(userId, firstName, lastName, email, adminLevel)
+                        : new Admin(userId, firstName, lastName, email);
+            default:
+                throw new IllegalArgumentException("Unsupported user role: " + role.name());
+        }
+    }
+    
+    private static String attribute(String[] attributes, int index) {
+        return index < attributes.length ? attributes[index] : null;
+    }
+}
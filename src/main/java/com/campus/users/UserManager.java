@@ -1,8 +1,23 @@
 package com.campus.users;
 
+import com.campus.domain.*;
+import com.campus.storage.EntityStore;
 import com.campus.utils.*;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.IntToLongFunction;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Manager class for handling all user operations
@@ -10,19 +25,27 @@ import java.util.stream.Collectors;
  */
 public class UserManager implements Manageable<User> {
     private static final Logger logger = Logger.getInstance();
+    private static final DomainEventLog domainEvents = DomainEventLog.getInstance();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+    private static final CrudMetrics crudMetrics = metrics.crud("users");
+    private static final int IMPORT_BATCH_SIZE = 5_000;
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
     private final Scanner scanner = new Scanner(System.in);
     
-    private Map<String, User> users;
+    private final EntityStore<User> users;
     private UserFactory userFactory;
     private AuthenticationService authService;
     private NotificationService notificationService;
     
     public UserManager() {
-        this.users = new HashMap<>();
+        this.users = new EntityStore<>("users");
         this.userFactory = new UserFactory();
         this.authService = new AuthenticationService();
+        metrics.gauge("users.count", users::size);
         this.notificationService = NotificationService.getInstance();
-        initializeDefaultUsers();
+        if (users.isEmpty()) {
+            initializeDefaultUsers();
+        }
         logger.log("UserManager initialized");
     }
     
@@ -68,7 +91,7 @@ public class UserManager implements Manageable<User> {
                 case 5: deleteUserInteractive(); break;
                 case 6: loginUserInteractive(); break;
                 case 7: viewUserProfileInteractive(); break;
-                case 8: generateUserReport(); break;
+                case 8: metrics.time("users.generateUserReport", this::generateUserReport); break;
                 case 9: bulkUserOperations(); break;
                 case 0: return;
                 default: System.out.println("Invalid choice. Please try again.");
@@ -86,43 +109,69 @@ public class UserManager implements Manageable<User> {
     
     @Override
     public void create(User user) {
-        if (users.containsKey(user.getUserId())) {
+        long start = System.nanoTime();
+        if (!users.replace(user.getUserId(), 0, user)) {
             throw new IllegalArgumentException("User with ID " + user.getUserId() + " already exists");
         }
-        users.put(user.getUserId(), user);
-        notificationService.notifyObservers("User created: " + user.getFullName());
-        logger.log("User created: " + user.getUserId());
+        notificationService.notifyObservers(NotificationService.Topic.USERS, "User created: " + user.getFullName());
+        domainEvents.append(new EntityChanged("User", user.getUserId(), EntityChanged.ChangeType.CREATED));
+        logger.info("User created: {}", user.getUserId());
+        crudMetrics.create().recordSince(start);
     }
     
     @Override
     public User read(String userId) {
-        return users.get(userId);
+        long start = System.nanoTime();
+        User user = users.get(userId);
+        crudMetrics.read().recordSince(start);
+        return user;
     }
     
     @Override
     public void update(User user) {
+        long start = System.nanoTime();
         if (!users.containsKey(user.getUserId())) {
             throw new IllegalArgumentException("User with ID " + user.getUserId() + " does not exist");
         }
         users.put(user.getUserId(), user);
-        notificationService.notifyObservers("User updated: " + user.getFullName());
-        logger.log("User updated: " + user.getUserId());
+        updated(user, start);
+    }
+    
+    @Override
+    public User update(String userId, Consumer<User> change) {
+        long start = System.nanoTime();
+        User user = users.update(userId, change);
+        updated(user, start);
+        return user;
+    }
+    
+    private void updated(User user, long start) {
+        notificationService.notifyObservers(NotificationService.Topic.USERS, "User updated: " + user.getFullName());
+        domainEvents.append(new EntityChanged("User", user.getUserId(), EntityChanged.ChangeType.UPDATED));
+        logger.info("User updated: {}", user.getUserId());
+        crudMetrics.update().recordSince(start);
     }
     
     @Override
     public void delete(String userId) {
+        long start = System.nanoTime();
         User removedUser = users.remove(userId);
         if (removedUser != null) {
-            notificationService.notifyObservers("User deleted: " + removedUser.getFullName());
-            logger.log("User deleted: " + userId);
+            notificationService.notifyObservers(NotificationService.Topic.USERS, "User deleted: " + removedUser.getFullName());
+            domainEvents.append(new EntityChanged("User", userId, EntityChanged.ChangeType.DELETED));
+            logger.info("User deleted: {}", userId);
         } else {
             throw new IllegalArgumentException("User with ID " + userId + " does not exist");
         }
+        crudMetrics.delete().recordSince(start);
     }
     
     @Override
     public List<User> getAll() {
-        return new ArrayList<>(users.values());
+        long start = System.nanoTime();
+        List<User> all = new ArrayList<>(users.values());
+        crudMetrics.getAll().recordSince(start);
+        return all;
     }
     
     public void createUserInteractive() {
@@ -197,12 +246,15 @@ public class UserManager implements Manageable<User> {
     }
     
     public List<User> searchUsers(String searchTerm) {
-        return users.values().stream()
+        long start = System.nanoTime();
+        List<User> results = users.values().stream()
                 .filter(user -> 
                     user.getUserId().toLowerCase().contains(searchTerm) ||
                     user.getFullName().toLowerCase().contains(searchTerm) ||
                     user.getEmail().toLowerCase().contains(searchTerm))
                 .collect(Collectors.toList());
+        metrics.recordSince("users.searchUsers", start);
+        return results;
     }
     
     public void updateUserInteractive() {
@@ -374,15 +426,171 @@ public class UserManager implements Manageable<User> {
     }
     
     private void exportUserData() {
-        System.out.println("Exporting user data...");
-        // Export implementation would be here
-        logger.log("User data exported");
+        System.out.print("Enter export file path (.csv for CSV, anything else for binary): ");
+        Path file = Paths.get(scanner.nextLine().trim());
+        UserDataFormat format = UserDataFormat.forFile(file);
+        try {
+            long exported = exportUsers(file, format);
+            System.out.println("Exported " + exported + " users to " + file + " (" + format + ")");
+        } catch (IOException e) {
+            System.out.println("Export failed: " + e.getMessage());
+        }
     }
     
     private void importUserData() {
-        System.out.println("Importing user data...");
-        // Import implementation would be here
-        logger.log("User data imported");
+        System.out.print("Enter import file path (.csv for CSV, anything else for binary): ");
+        Path file = Paths.get(scanner.nextLine().trim());
+        try {
+            ImportReport report = importUsers(file, UserDataFormat.forFile(file));
+            System.out.println("Import completed. " + report);
+            report.getErrors().stream().limit(20).forEach(error -> System.out.println("  " + error));
+            if (report.getRejected() > 20) {
+                System.out.println("  ... and " + (report.getRejected() - 20) + " more rejected rows");
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Import failed: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Streams every user to the file, one record at a time, and returns how many were written.
+     * Passwords are not exported.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public long exportUsers(Path file, UserDataFormat format) throws IOException {
+        long start = System.nanoTime();
+        long exported = 0;
+        if (format == UserDataFormat.CSV) {
+            try (CsvWriter out = new CsvWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+                UserCsvFormat.writeHeader(out);
+                for (User user : users.values()) {
+                    UserCsvFormat.write(out, user);
+                    exported++;
+                }
+            }
+        } else {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(file), IO_BUFFER_SIZE))) {
+                UserBinaryFormat.writeHeader(out);
+                UserBinaryFormat.Encoder encoder = new UserBinaryFormat.Encoder();
+                for (User user : users.values()) {
+                    encoder.write(out, user);
+                    exported++;
+                }
+            }
+        }
+        metrics.recordSince("users.export", start);
+        logger.info("Exported {} users to {} in {} ms", exported, file, (System.nanoTime() - start) / 1_000_000);
+        return exported;
+    }
+    
+    /**
+     * Imports new users from a file written by {@link #exportUsers} (or, for CSV, any file
+     * whose header names the columns {@link UserCsvFormat} reads). The file is streamed in
+     * batches; the records of a batch are decoded and validated in parallel and then stored
+     * together. Invalid records, user ids that already exist and ids repeated later in the
+     * file are rejected and reported without stopping the import; of several rows with the
+     * same id the first one is kept. Imported users sign in with the default password.
+     *
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the CSV header lacks a required column or the
+     *         binary file is not a user export
+     */
+    public ImportReport importUsers(Path file, UserDataFormat format) throws IOException {
+        long start = System.nanoTime();
+        String source = String.valueOf(file.getFileName());
+        ImportReport report;
+        if (format == UserDataFormat.CSV) {
+            report = new ImportReport(source, "line");
+            try (CsvReader reader = new CsvReader(file)) {
+                CsvReader.Batch batch = reader.nextBatch(1);
+                if (!batch.isEmpty()) {
+                    UserCsvFormat csv = UserCsvFormat.fromHeader(batch.record(0));
+                    while (!(batch = reader.nextBatch(IMPORT_BATCH_SIZE)).isEmpty()) {
+                        CsvReader.Batch rows = batch;
+                        importBatch(rows.size(), i -> csv.parse(rows.record(i), userFactory), rows::lineNumber, report);
+                    }
+                }
+            }
+        } else {
+            report = new ImportReport(source, "record");
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(file), IO_BUFFER_SIZE))) {
+                UserBinaryFormat.readHeader(in);
+                byte[][] records = new byte[IMPORT_BATCH_SIZE][];
+                long firstRecord = 1;
+                int count;
+                do {
+                    count = 0;
+                    byte[] record;
+                    while (count < records.length && (record = UserBinaryFormat.readRecord(in)) != null) {
+                        records[count++] = record;
+                    }
+                    long batchStart = firstRecord;
+                    importBatch(count, i -> UserBinaryFormat.decode(records[i], userFactory), i -> batchStart + i, report);
+                    firstRecord += count;
+                } while (count == records.length);
+            }
+        }
+        report.finish(System.nanoTime() - start);
+        metrics.recordSince("users.import", start);
+        if (report.getImported() > 0) {
+            notificationService.notifyObservers(NotificationService.Topic.USERS,
+                    "Bulk import added " + report.getImported() + " users");
+        }
+        logger.info("User import finished: {}", report);
+        return report;
+    }
+    
+    private void importBatch(int size, IntFunction<User> decoder, IntToLongFunction position, ImportReport report) {
+        if (size == 0) return;
+        long start = System.nanoTime();
+        User[] decoded = new User[size];
+        User[] created = new User[size];
+        String[] errors = new String[size];
+        IntStream.range(0, size).parallel().forEach(i -> {
+            try {
+                User user = decoder.apply(i);
+                if (!ValidationUtils.isValidEmail(user.getEmail())) {
+                    errors[i] = "invalid email: " + user.getEmail();
+                } else {
+                    decoded[i] = user;
+                }
+            } catch (IllegalArgumentException e) {
+                errors[i] = e.getMessage();
+            }
+        });
+        // the first row with an id wins; settling that in file order keeps the outcome deterministic
+        Set<String> seen = new HashSet<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            if (decoded[i] != null && !seen.add(decoded[i].getUserId())) {
+                errors[i] = "duplicate user ID in file: " + decoded[i].getUserId();
+                decoded[i] = null;
+            }
+        }
+        // ids are unique within the batch now; replace(id, 0, user) still refuses ids already stored
+        IntStream.range(0, size).parallel().forEach(i -> {
+            User user = decoded[i];
+            if (user == null) return;
+            if (users.replace(user.getUserId(), 0, user)) {
+                created[i] = user;
+            } else {
+                errors[i] = "user already exists: " + user.getUserId();
+            }
+        });
+        int imported = 0;
+        for (int i = 0; i < size; i++) {
+            if (created[i] != null) {
+                imported++;
+                domainEvents.append(new EntityChanged("User", created[i].getUserId(), EntityChanged.ChangeType.CREATED));
+            } else {
+                report.reject(position.applyAsLong(i), errors[i]);
+            }
+        }
+        report.rowsRead(size);
+        report.imported(imported);
+        logger.info("Imported {} of {} users in {} ms", imported, size, (System.nanoTime() - start) / 1_000_000);
     }
     
     // Utility methods
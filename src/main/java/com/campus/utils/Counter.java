@@ -0,0 +1,31 @@
+package com.campus.utils;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic event counter. Backed by a LongAdder, so concurrent increments
+ * from many threads do not contend on a single memory location.
+ */
+public class Counter {
+    private final String name;
+    private final LongAdder value;
+
+    Counter(String name) {
+        this.name = name;
+        this.value = new LongAdder();
+    }
+
+    public String getName() { return name; }
+
+    public void increment() {
+        if (MetricsRegistry.ENABLED) value.increment();
+    }
+
+    public void add(long amount) {
+        if (MetricsRegistry.ENABLED) value.add(amount);
+    }
+
+    public long getCount() {
+        return value.sum();
+    }
+}
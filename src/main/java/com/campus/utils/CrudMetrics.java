@@ -0,0 +1,27 @@
+package com.campus.utils;
+
+/**
+ * Latency histograms for the five {@link Manageable} operations of one manager,
+ * resolved once so the CRUD hot paths skip the registry lookup.
+ */
+public class CrudMetrics {
+    private final LatencyHistogram create;
+    private final LatencyHistogram read;
+    private final LatencyHistogram update;
+    private final LatencyHistogram delete;
+    private final LatencyHistogram getAll;
+
+    CrudMetrics(MetricsRegistry registry, String prefix) {
+        this.create = registry.histogram(prefix + ".create");
+        this.read = registry.histogram(prefix + ".read");
+        this.update = registry.histogram(prefix + ".update");
+        this.delete = registry.histogram(prefix + ".delete");
+        this.getAll = registry.histogram(prefix + ".getAll");
+    }
+
+    public LatencyHistogram create() { return create; }
+    public LatencyHistogram read() { return read; }
+    public LatencyHistogram update() { return update; }
+    public LatencyHistogram delete() { return delete; }
+    public LatencyHistogram getAll() { return getAll; }
+}
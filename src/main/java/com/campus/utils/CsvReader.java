@@ -0,0 +1,382 @@
+package com.campus.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+/**
+ * Streams records out of a UTF-8 CSV file: comma separated, with optionally double-quoted
+ * fields that may contain commas, line breaks and doubled quotes. The file is read through
+ * a FileChannel into one reusable buffer and handed out in batches of complete records.
+ * Fields are located and parsed straight from the buffer bytes, so numbers, dates and enum
+ * constants are decoded without creating intermediate strings, and the records of a batch
+ * can be parsed on several threads at once. A batch is only valid until the next call to
+ * {@link #nextBatch(int)}.
+ */
+public class CsvReader implements Closeable {
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private ByteBuffer buffer;
+    private long lineNumber = 1;
+    private boolean endOfFile;
+
+    public CsvReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        this.buffer.flip();
+    }
+
+    /**
+     * Reads up to maxRecords further records; an empty batch means the end of the file.
+     * Blank lines are skipped.
+     */
+    public Batch nextBatch(int maxRecords) throws IOException {
+        buffer.compact().flip();
+        int[] starts = new int[Math.min(maxRecords, 1024)];
+        int[] ends = new int[starts.length];
+        long[] lines = new long[starts.length];
+        int count = 0;
+        int recordStart = 0;
+        int scan = 0;
+        boolean inQuotes = false;
+        long recordLine = lineNumber;
+        byte[] data = buffer.array();
+
+        while (count < maxRecords) {
+            int limit = buffer.limit();
+            for (; scan < limit && count < maxRecords; scan++) {
+                byte b = data[scan];
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                } else if (b == '\n') {
+                    lineNumber++;
+                    if (inQuotes) continue;
+                    int end = scan > recordStart && data[scan - 1] == '\r' ? scan - 1 : scan;
+                    if (end > recordStart) {
+                        if (count == starts.length) {
+                            int capacity = Math.min(maxRecords, count * 2);
+                            starts = Arrays.copyOf(starts, capacity);
+                            ends = Arrays.copyOf(ends, capacity);
+                            lines = Arrays.copyOf(lines, capacity);
+                        }
+                        starts[count] = recordStart;
+                        ends[count] = end;
+                        lines[count] = recordLine;
+                        count++;
+                    }
+                    recordStart = scan + 1;
+                    recordLine = lineNumber;
+                }
+            }
+            if (count == maxRecords) {
+                break;
+            }
+            if (endOfFile) {
+                if (limit > recordStart) {
+                    if (count == starts.length) {
+                        starts = Arrays.copyOf(starts, count + 1);
+                        ends = Arrays.copyOf(ends, count + 1);
+                        lines = Arrays.copyOf(lines, count + 1);
+                    }
+                    int end = data[limit - 1] == '\r' ? limit - 1 : limit;
+                    starts[count] = recordStart;
+                    ends[count] = end;
+                    lines[count] = recordLine;
+                    count++;
+                    recordStart = limit;
+                }
+                break;
+            }
+            if (limit == buffer.capacity()) {
+                if (recordStart > 0) {
+                    break;
+                }
+                // a single record larger than the buffer
+                buffer = ByteBuffer.wrap(Arrays.copyOf(data, data.length * 2), 0, limit);
+                data = buffer.array();
+            }
+            buffer.position(limit).limit(buffer.capacity());
+            int read = channel.read(buffer);
+            buffer.limit(buffer.position()).position(0);
+            if (read < 0) {
+                endOfFile = true;
+            }
+        }
+        // the unfinished record is scanned again by the next call
+        buffer.position(recordStart);
+        lineNumber = recordLine;
+        return new Batch(data, starts, ends, lines, count);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Complete records sharing the reader's buffer.
+     */
+    public static final class Batch {
+        private final byte[] data;
+        private final int[] starts;
+        private final int[] ends;
+        private final long[] lineNumbers;
+        private final int size;
+
+        private Batch(byte[] data, int[] starts, int[] ends, long[] lineNumbers, int size) {
+            this.data = data;
+            this.starts = starts;
+            this.ends = ends;
+            this.lineNumbers = lineNumbers;
+            this.size = size;
+        }
+
+        public int size() { return size; }
+        public boolean isEmpty() { return size == 0; }
+
+        /**
+         * Line of the file on which the record starts, counting from 1.
+         */
+        public long lineNumber(int index) {
+            return lineNumbers[index];
+        }
+
+        /**
+         * Splits the record into fields. Safe to call concurrently for different records.
+         */
+        public Record record(int index) {
+            return Record.parse(data, starts[index], ends[index]);
+        }
+    }
+
+    /**
+     * The fields of one record, as offsets into the batch bytes. The typed accessors throw
+     * IllegalArgumentException for malformed values.
+     */
+    public static final class Record {
+        private final byte[] data;
+        private final int[] fieldStarts;
+        private final int[] fieldEnds;
+        private final boolean[] escaped;
+        private final int size;
+
+        private Record(byte[] data, int[] fieldStarts, int[] fieldEnds, boolean[] escaped, int size) {
+            this.data = data;
+            this.fieldStarts = fieldStarts;
+            this.fieldEnds = fieldEnds;
+            this.escaped = escaped;
+            this.size = size;
+        }
+
+        private static Record parse(byte[] data, int start, int end) {
+            int capacity = 8;
+            int[] fieldStarts = new int[capacity];
+            int[] fieldEnds = new int[capacity];
+            boolean[] escaped = new boolean[capacity];
+            int count = 0;
+            int position = start;
+            while (true) {
+                if (count == capacity) {
+                    capacity *= 2;
+                    fieldStarts = Arrays.copyOf(fieldStarts, capacity);
+                    fieldEnds = Arrays.copyOf(fieldEnds, capacity);
+                    escaped = Arrays.copyOf(escaped, capacity);
+                }
+                if (position < end && data[position] == '"') {
+                    int fieldStart = ++position;
+                    int fieldEnd = end;
+                    while (position < end) {
+                        if (data[position] == '"') {
+                            if (position + 1 < end && data[position + 1] == '"') {
+                                escaped[count] = true;
+                                position += 2;
+                                continue;
+                            }
+                            fieldEnd = position;
+                            break;
+                        }
+                        position++;
+                    }
+                    fieldStarts[count] = fieldStart;
+                    fieldEnds[count] = fieldEnd;
+                    while (position < end && data[position] != ',') position++;
+                } else {
+                    fieldStarts[count] = position;
+                    while (position < end && data[position] != ',') position++;
+                    fieldEnds[count] = position;
+                }
+                count++;
+                if (position >= end) break;
+                position++;
+            }
+            return new Record(data, fieldStarts, fieldEnds, escaped, count);
+        }
+
+        public int size() { return size; }
+
+        /**
+         * True if the field is missing from the record or contains only spaces.
+         */
+        public boolean isBlank(int index) {
+            if (index < 0 || index >= size) return true;
+            for (int i = fieldStarts[index]; i < fieldEnds[index]; i++) {
+                if (data[i] != ' ') return false;
+            }
+            return true;
+        }
+
+        /**
+         * The trimmed field, or null if it is blank or missing.
+         */
+        public String get(int index) {
+            if (isBlank(index)) return null;
+            int start = fieldStarts[index];
+            int end = fieldEnds[index];
+            while (data[start] == ' ') start++;
+            while (data[end - 1] == ' ') end--;
+            String value = new String(data, start, end - start, StandardCharsets.UTF_8);
+            return escaped[index] ? value.replace("\"\"", "\"") : value;
+        }
+
+        public int getInt(int index) {
+            long value = getLong(index);
+            if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("value out of range in column " + (index + 1));
+            }
+            return (int) value;
+        }
+
+        public long getLong(int index) {
+            int start = trimmedStart(index);
+            int end = trimmedEnd(index);
+            boolean negative = data[start] == '-';
+            if (negative || data[start] == '+') start++;
+            if (start == end || end - start > 18) {
+                throw malformed(index, "an integer");
+            }
+            long value = 0;
+            for (int i = start; i < end; i++) {
+                int digit = data[i] - '0';
+                if (digit < 0 || digit > 9) throw malformed(index, "an integer");
+                value = value * 10 + digit;
+            }
+            return negative ? -value : value;
+        }
+
+        /**
+         * Plain decimals of up to 15 significant digits are converted exactly from the bytes;
+         * anything else (exponents, longer mantissas) falls back to Double.parseDouble.
+         */
+        public double getDouble(int index) {
+            int start = trimmedStart(index);
+            int end = trimmedEnd(index);
+            int position = start;
+            boolean negative = data[position] == '-';
+            if (negative || data[position] == '+') position++;
+            long mantissa = 0;
+            int digits = 0;
+            int fractionDigits = -1;
+            for (; position < end; position++) {
+                byte b = data[position];
+                if (b == '.' && fractionDigits < 0) {
+                    fractionDigits = 0;
+                } else if (b >= '0' && b <= '9') {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (fractionDigits >= 0) fractionDigits++;
+                } else {
+                    break;
+                }
+            }
+            if (position == end && digits > 0 && digits <= 15) {
+                double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+                return negative ? -value : value;
+            }
+            try {
+                return Double.parseDouble(new String(data, start, end - start, StandardCharsets.US_ASCII));
+            } catch (NumberFormatException e) {
+                throw malformed(index, "a number");
+            }
+        }
+
+        /**
+         * Parses an ISO date (YYYY-MM-DD).
+         */
+        public LocalDate getDate(int index) {
+            int start = trimmedStart(index);
+            int end = trimmedEnd(index);
+            if (end - start != 10 || data[start + 4] != '-' || data[start + 7] != '-') {
+                throw malformed(index, "a date (YYYY-MM-DD)");
+            }
+            try {
+                return LocalDate.of(digits(index, start, 4), digits(index, start + 5, 2), digits(index, start + 8, 2));
+            } catch (DateTimeException e) {
+                throw malformed(index, "a date (YYYY-MM-DD)");
+            }
+        }
+
+        /**
+         * Matches the field against the constant names ignoring case, so no string is created.
+         */
+        public <E extends Enum<E>> E getEnum(int index, E[] constants) {
+            int start = trimmedStart(index);
+            int end = trimmedEnd(index);
+            for (E constant : constants) {
+                String name = constant.name();
+                if (name.length() != end - start) continue;
+                int i = 0;
+                while (i < name.length() && Character.toUpperCase((char) data[start + i]) == name.charAt(i)) i++;
+                if (i == name.length()) return constant;
+            }
+            StringJoiner names = new StringJoiner(", ", "[", "]");
+            for (E constant : constants) names.add(constant.name());
+            throw new IllegalArgumentException("column " + (index + 1) + " must be one of " + names);
+        }
+
+        private int digits(int index, int start, int count) {
+            int value = 0;
+            for (int i = start; i < start + count; i++) {
+                int digit = data[i] - '0';
+                if (digit < 0 || digit > 9) throw malformed(index, "a date (YYYY-MM-DD)");
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+
+        private int trimmedStart(int index) {
+            if (isBlank(index)) {
+                throw new IllegalArgumentException("column " + (index + 1) + " is required");
+            }
+            int start = fieldStarts[index];
+            while (data[start] == ' ') start++;
+            return start;
+        }
+
+        private int trimmedEnd(int index) {
+            int end = fieldEnds[index];
+            while (data[end - 1] == ' ') end--;
+            return end;
+        }
+
+        private IllegalArgumentException malformed(int index, String expected) {
+            return new IllegalArgumentException("column " + (index + 1) + " must be " + expected);
+        }
+
+        private static final double[] POWERS_OF_TEN = new double[16];
+        static {
+            POWERS_OF_TEN[0] = 1;
+            for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+                POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+            }
+        }
+    }
+}
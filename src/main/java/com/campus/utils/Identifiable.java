@@ -1,8 +1,10 @@
 package com.campus.utils;
 
+import java.io.Serializable;
+
 /**
  * Interface for objects that have an ID
  */
-public interface Identifiable {
+public interface Identifiable extends Serializable {
     String getId();
-}
\ No newline at end of file
+}
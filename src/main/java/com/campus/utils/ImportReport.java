@@ -0,0 +1,85 @@
+package com.campus.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: how many rows were read and imported, and why the others were rejected.
+ * Only the first {@value #MAX_RECORDED_ERRORS} rejections are kept in full; the rest are only counted.
+ */
+public class ImportReport {
+    public static final int MAX_RECORDED_ERRORS = 1000;
+
+    private final String source;
+    private final String positionName;
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private long elapsedNanos;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public ImportReport(String source) {
+        this(source, "line");
+    }
+
+    /**
+     * @param positionName what rejected rows are numbered by, such as "line" or "record"
+     */
+    public ImportReport(String source, String positionName) {
+        this.source = source;
+        this.positionName = positionName;
+    }
+
+    public void rowsRead(long rows) {
+        rowsRead += rows;
+    }
+
+    public void imported(long rows) {
+        imported += rows;
+    }
+
+    public void reject(long lineNumber, String message) {
+        rejected++;
+        if (errors.size() < MAX_RECORDED_ERRORS) {
+            errors.add(new RowError(positionName, lineNumber, message));
+        }
+    }
+
+    public void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getSource() { return source; }
+    public long getRowsRead() { return rowsRead; }
+    public long getImported() { return imported; }
+    public long getRejected() { return rejected; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public List<RowError> getErrors() { return Collections.unmodifiableList(errors); }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d rows read, %d imported, %d rejected in %d ms",
+                source, rowsRead, imported, rejected, elapsedNanos / 1_000_000);
+    }
+
+    public static class RowError {
+        private final String positionName;
+        private final long lineNumber;
+        private final String message;
+
+        RowError(String positionName, long lineNumber, String message) {
+            this.positionName = positionName;
+            this.lineNumber = lineNumber;
+            this.message = message;
+        }
+
+        public long getLineNumber() { return lineNumber; }
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return positionName + " " + lineNumber + ": " + message;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.campus.utils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * A component that is built on first use, at most once, after the components it depends on.
+ * {@link #get()} builds it on the calling thread if nobody has started it yet, or waits for
+ * the build already in progress. {@link #warmUp(Executor)} builds it in the background,
+ * warming independent dependencies in parallel first. Build times are recorded in the
+ * "startup.&lt;name&gt;" histogram.
+ */
+public class Lazy<T> implements Supplier<T> {
+    private static final Logger logger = Logger.getInstance();
+    private static final MetricsRegistry metrics = MetricsRegistry.getInstance();
+
+    private final String name;
+    private final Supplier<T> factory;
+    private final List<Lazy<?>> dependencies;
+    private final AtomicBoolean started;
+    private final CompletableFuture<T> result;
+    private volatile long initializationNanos = -1;
+
+    private Lazy(String name, Supplier<T> factory, List<Lazy<?>> dependencies) {
+        this.name = name;
+        this.factory = factory;
+        this.dependencies = dependencies;
+        this.started = new AtomicBoolean();
+        this.result = new CompletableFuture<>();
+    }
+
+    public static <T> Lazy<T> of(String name, Supplier<T> factory, Lazy<?>... dependencies) {
+        return new Lazy<>(name, factory, Arrays.asList(dependencies));
+    }
+
+    public String getName() { return name; }
+    public List<Lazy<?>> getDependencies() { return dependencies; }
+
+    @Override
+    public T get() {
+        if (started.compareAndSet(false, true)) {
+            initialize();
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Starts building this component and its dependencies on the executor, unless already started.
+     */
+    public CompletableFuture<T> warmUp(Executor executor) {
+        if (started.compareAndSet(false, true)) {
+            CompletableFuture<?>[] ready = dependencies.stream()
+                    .map(dependency -> dependency.warmUp(executor))
+                    .toArray(CompletableFuture[]::new);
+            // a failed dependency resurfaces from initialize(), which calls get() on it
+            CompletableFuture.allOf(ready).whenCompleteAsync((ignored, error) -> initialize(), executor);
+        }
+        return result;
+    }
+
+    public boolean isInitialized() {
+        return result.isDone() && !result.isCompletedExceptionally();
+    }
+
+    /**
+     * Time taken by this component's own constructor, excluding its dependencies; -1 until built.
+     */
+    public long getInitializationNanos() {
+        return initializationNanos;
+    }
+
+    private void initialize() {
+        try {
+            for (Lazy<?> dependency : dependencies) {
+                dependency.get();
+            }
+            long start = System.nanoTime();
+            T instance = factory.get();
+            initializationNanos = System.nanoTime() - start;
+            metrics.histogram("startup." + name).record(initializationNanos);
+            logger.info("{} ready in {} ms on {}", name, initializationNanos / 1_000_000, Thread.currentThread().getName());
+            result.complete(instance);
+        } catch (Throwable e) {
+            logger.error("Failed to initialize {}: {}", name, e);
+            result.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.campus.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Size-rotated log file written through a FileChannel.
+ * When the active file would exceed the size limit it is renamed to name.1,
+ * older files shift up by one and the oldest beyond the retention count is deleted.
+ * Only used from the logger's writer thread.
+ */
+class LogFileSink {
+    private final Path directory;
+    private final String fileName;
+    private final long maxBytes;
+    private final int maxFiles;
+    private FileChannel channel;
+    private long size;
+
+    LogFileSink(Path directory, String fileName, long maxBytes, int maxFiles) throws IOException {
+        this.directory = directory;
+        this.fileName = fileName;
+        this.maxBytes = maxBytes;
+        this.maxFiles = Math.max(1, maxFiles);
+        Files.createDirectories(directory);
+        open();
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(directory.resolve(fileName),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        size = channel.size();
+    }
+
+    /**
+     * Writes one batch of already formatted lines with a single channel write.
+     */
+    void write(CharSequence lines) throws IOException {
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(lines.toString());
+        if (size > 0 && size + bytes.remaining() > maxBytes) {
+            rotate();
+        }
+        while (bytes.hasRemaining()) {
+            size += channel.write(bytes);
+        }
+    }
+
+    private void rotate() throws IOException {
+        channel.close();
+        Files.deleteIfExists(directory.resolve(fileName + "." + maxFiles));
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            Path older = directory.resolve(fileName + "." + i);
+            if (Files.exists(older)) {
+                Files.move(older, directory.resolve(fileName + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(directory.resolve(fileName), directory.resolve(fileName + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        open();
+    }
+
+    void close() throws IOException {
+        if (channel.isOpen()) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.campus.utils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer with many producers and a single consumer.
+ * Producers claim a sequence with a CAS on the tail and publish into its slot;
+ * the consumer frees slots by clearing them before advancing the head.
+ */
+class LogRingBuffer<E> {
+    private final AtomicReferenceArray<E> slots;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong tail;
+    private volatile long head;
+
+    LogRingBuffer(int requestedCapacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.tail = new AtomicLong();
+    }
+
+    /**
+     * Returns false without blocking when the buffer is full.
+     */
+    boolean offer(E element) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head >= capacity) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        slots.lazySet((int) sequence & mask, element);
+        return true;
+    }
+
+    /**
+     * Moves up to max published elements into the batch, in claim order.
+     * Must only be called from the consumer thread.
+     */
+    int drainTo(List<E> batch, int max) {
+        long sequence = head;
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) sequence & mask;
+            E element = slots.get(index);
+            if (element == null) break;
+            slots.lazySet(index, null);
+            batch.add(element);
+            sequence++;
+            drained++;
+        }
+        head = sequence;
+        return drained;
+    }
+
+    /**
+     * Sequence that the next claimed element will get; everything below it has been offered.
+     */
+    long claimed() {
+        return tail.get();
+    }
+
+    boolean isEmpty() {
+        return head == tail.get();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
@@ -1,25 +1,93 @@
 package com.campus.utils;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 
 /**
- * Singleton Logger class for system-wide logging
+ * Singleton Logger class for system-wide logging.
+ * Callers only enqueue an entry into a bounded lock-free ring buffer; a background
+ * writer thread formats entries in batches with a cached per-second timestamp and
+ * writes them to the console and a rotated log file. The most recent entries are
+ * kept in memory for the system logs screen.
  */
 public class Logger {
-    private static Logger instance;
-    private List<String> logs;
-    private DateTimeFormatter formatter;
-    private LogLevel currentLogLevel;
-    
+    public static final String LEVEL_PROPERTY = "campus.log.level";
+    public static final String LOG_DIR_PROPERTY = "campus.log.dir";
+    public static final String CONSOLE_PROPERTY = "campus.log.console";
+    public static final String FILE_ENABLED_PROPERTY = "campus.log.file.enabled";
+    public static final String MAX_FILE_BYTES_PROPERTY = "campus.log.max.bytes";
+    public static final String MAX_FILES_PROPERTY = "campus.log.max.files";
+    public static final String BUFFER_SIZE_PROPERTY = "campus.log.buffer.size";
+    private static final String LOG_FILE = "campus.log";
+    private static final int HISTORY_SIZE = 1000;
+    private static final int BATCH_SIZE = 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long FLUSH_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private static volatile Logger instance;
+    private final LogRingBuffer<LogEntry> buffer;
+    private final ArrayDeque<String> history;
+    private final DateTimeFormatter formatter;
+    private final boolean consoleEnabled;
+    private final AtomicLong dropped;
+    private final Thread writer;
+    private volatile LogLevel currentLogLevel;
+    private volatile long written;
+    private volatile boolean writerIdle;
+    private volatile boolean closed;
+    private LogFileSink fileSink;
+    private long reportedDropped;
+    private long cachedSecond;
+    private String cachedTimestamp;
+
     private Logger() {
-        this.logs = new ArrayList<>();
+        this.buffer = new LogRingBuffer<>(Integer.getInteger(BUFFER_SIZE_PROPERTY, 8192));
+        this.history = new ArrayDeque<>();
         this.formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        this.currentLogLevel = LogLevel.INFO;
+        this.consoleEnabled = Boolean.parseBoolean(System.getProperty(CONSOLE_PROPERTY, "true"));
+        this.dropped = new AtomicLong();
+        this.currentLogLevel = parseLevel(System.getProperty(LEVEL_PROPERTY, "INFO"));
+        this.cachedSecond = Long.MIN_VALUE;
+        if (Boolean.parseBoolean(System.getProperty(FILE_ENABLED_PROPERTY, "true"))) {
+            try {
+                this.fileSink = new LogFileSink(Paths.get(System.getProperty(LOG_DIR_PROPERTY, "logs")), LOG_FILE,
+                        Long.getLong(MAX_FILE_BYTES_PROPERTY, 10L * 1024 * 1024),
+                        Integer.getInteger(MAX_FILES_PROPERTY, 5));
+            } catch (IOException e) {
+                System.err.println("Log file unavailable, logging to console only: " + e.getMessage());
+            }
+        }
+        this.writer = new Thread(this::drainLoop, "log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "log-shutdown"));
     }
-    
+
+    /**
+     * A mistyped level must not break every class holding a static logger, so anything
+     * unrecognized falls back to INFO with a warning on stderr.
+     */
+    private static LogLevel parseLevel(String level) {
+        try {
+            return LogLevel.valueOf(level.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown log level '" + level + "' in " + LEVEL_PROPERTY + ", using INFO");
+            return LogLevel.INFO;
+        }
+    }
+
     public static Logger getInstance() {
         if (instance == null) {
             synchronized (Logger.class) {
@@ -30,30 +98,278 @@ public class Logger {
         }
         return instance;
     }
-    
+
     public void log(String message) {
         log(LogLevel.INFO, message);
     }
-    
+
     public void log(LogLevel level, String message) {
-        if (level.ordinal() >= currentLogLevel.ordinal()) {
-            String timestamp = LocalDateTime.now().format(formatter);
-            String logEntry = String.format("[%s] %s: %s", timestamp, level, message);
-            logs.add(logEntry);
-            System.out.println(logEntry); // Also print to console
+        if (!isEnabled(level)) {
+            return;
+        }
+        LogEntry entry = new LogEntry(System.currentTimeMillis(), level, message);
+        if (closed) {
+            writeDirectly(entry);
+            return;
+        }
+        while (!buffer.offer(entry)) {
+            // Full buffer: shed low-severity entries, make warnings and errors wait for space
+            if (level.ordinal() < LogLevel.WARN.ordinal()) {
+                dropped.incrementAndGet();
+                return;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(100_000);
+            if (closed) {
+                writeDirectly(entry);
+                return;
+            }
+        }
+        if (writerIdle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Cheap check for guarding log statements whose arguments are expensive to compute.
+     */
+    public boolean isEnabled(LogLevel level) {
+        return level.ordinal() >= currentLogLevel.ordinal();
+    }
+
+    /**
+     * Builds the message only if the level is enabled.
+     */
+    public void log(LogLevel level, Supplier<String> message) {
+        if (isEnabled(level)) {
+            log(level, message.get());
+        }
+    }
+
+    /**
+     * Parameterized message: each {} in the pattern is replaced by the next argument,
+     * and nothing is formatted unless the level is enabled.
+     */
+    public void log(LogLevel level, String pattern, Object arg) {
+        if (isEnabled(level)) {
+            log(level, format(pattern, arg));
+        }
+    }
+
+    public void log(LogLevel level, String pattern, Object arg1, Object arg2) {
+        if (isEnabled(level)) {
+            log(level, format(pattern, arg1, arg2));
         }
     }
-    
+
+    public void log(LogLevel level, String pattern, Object... args) {
+        if (isEnabled(level)) {
+            log(level, format(pattern, args));
+        }
+    }
+
     public void debug(String message) { log(LogLevel.DEBUG, message); }
     public void info(String message) { log(LogLevel.INFO, message); }
     public void warn(String message) { log(LogLevel.WARN, message); }
     public void error(String message) { log(LogLevel.ERROR, message); }
-    
-    public List<String> getLogs() { return new ArrayList<>(logs); }
-    public void clearLogs() { logs.clear(); }
+
+    public void debug(Supplier<String> message) { log(LogLevel.DEBUG, message); }
+    public void info(Supplier<String> message) { log(LogLevel.INFO, message); }
+    public void warn(Supplier<String> message) { log(LogLevel.WARN, message); }
+    public void error(Supplier<String> message) { log(LogLevel.ERROR, message); }
+
+    public void debug(String pattern, Object arg) { log(LogLevel.DEBUG, pattern, arg); }
+    public void info(String pattern, Object arg) { log(LogLevel.INFO, pattern, arg); }
+    public void warn(String pattern, Object arg) { log(LogLevel.WARN, pattern, arg); }
+    public void error(String pattern, Object arg) { log(LogLevel.ERROR, pattern, arg); }
+
+    public void debug(String pattern, Object arg1, Object arg2) { log(LogLevel.DEBUG, pattern, arg1, arg2); }
+    public void info(String pattern, Object arg1, Object arg2) { log(LogLevel.INFO, pattern, arg1, arg2); }
+    public void warn(String pattern, Object arg1, Object arg2) { log(LogLevel.WARN, pattern, arg1, arg2); }
+    public void error(String pattern, Object arg1, Object arg2) { log(LogLevel.ERROR, pattern, arg1, arg2); }
+
+    public void debug(String pattern, Object... args) { log(LogLevel.DEBUG, pattern, args); }
+    public void info(String pattern, Object... args) { log(LogLevel.INFO, pattern, args); }
+    public void warn(String pattern, Object... args) { log(LogLevel.WARN, pattern, args); }
+    public void error(String pattern, Object... args) { log(LogLevel.ERROR, pattern, args); }
+
+    /**
+     * Substitutes the arguments for the {} placeholders in order; surplus placeholders are kept as-is.
+     */
+    static String format(String pattern, Object... args) {
+        StringBuilder message = new StringBuilder(pattern.length() + 16 * args.length);
+        int start = 0;
+        for (Object arg : args) {
+            int placeholder = pattern.indexOf("{}", start);
+            if (placeholder < 0) break;
+            message.append(pattern, start, placeholder).append(arg);
+            start = placeholder + 2;
+        }
+        return message.append(pattern, start, pattern.length()).toString();
+    }
+
+    /**
+     * Returns the most recent entries, oldest first, after everything logged so far was written.
+     */
+    public List<String> getLogs() {
+        flush();
+        synchronized (history) {
+            return new ArrayList<>(history);
+        }
+    }
+
+    public void clearLogs() {
+        synchronized (history) {
+            history.clear();
+        }
+    }
+
     public void setLogLevel(LogLevel level) { this.currentLogLevel = level; }
-    
+    public LogLevel getLogLevel() { return currentLogLevel; }
+    /** Total DEBUG/INFO entries discarded because the buffer was full. */
+    public long getDroppedCount() { return dropped.get(); }
+
+    /**
+     * Blocks until every entry logged before the call has reached the sinks.
+     */
+    public void flush() {
+        long target = buffer.claimed();
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT_NANOS;
+        while (written < target && writer.isAlive() && System.nanoTime() < deadline) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(100_000);
+        }
+    }
+
+    /**
+     * Drains the buffer, stops the writer thread and closes the log file.
+     * Entries logged afterwards are printed to the console synchronously.
+     */
+    public void shutdown() {
+        if (closed) return;
+        flush();
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.NANOSECONDS.toMillis(FLUSH_TIMEOUT_NANOS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        List<LogEntry> batch = new ArrayList<>(BATCH_SIZE);
+        StringBuilder text = new StringBuilder(BATCH_SIZE * 64);
+        while (true) {
+            batch.clear();
+            int count = buffer.drainTo(batch, BATCH_SIZE);
+            if (count > 0) {
+                writeBatch(batch, text);
+                written += count;
+                continue;
+            }
+            if (closed && buffer.isEmpty()) {
+                break;
+            }
+            writerIdle = true;
+            if (buffer.isEmpty() && !closed) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            writerIdle = false;
+        }
+        closeFileSink();
+    }
+
+    private void writeBatch(List<LogEntry> batch, StringBuilder text) {
+        text.setLength(0);
+        long totalDropped = dropped.get();
+        long droppedEntries = totalDropped - reportedDropped;
+        reportedDropped = totalDropped;
+        if (droppedEntries > 0) {
+            appendLine(text, new LogEntry(System.currentTimeMillis(), LogLevel.WARN,
+                    droppedEntries + " log entries dropped, log buffer full"));
+        }
+        for (LogEntry entry : batch) {
+            appendLine(text, entry);
+        }
+        if (consoleEnabled) {
+            System.out.print(text);
+            System.out.flush();
+        }
+        if (fileSink != null) {
+            try {
+                fileSink.write(text);
+            } catch (IOException e) {
+                System.err.println("Log file write failed, logging to console only: " + e.getMessage());
+                closeFileSink();
+            }
+        }
+    }
+
+    private void appendLine(StringBuilder text, LogEntry entry) {
+        int start = text.length();
+        text.append('[').append(timestamp(entry.timeMillis)).append("] ")
+            .append(entry.level).append(": ").append(entry.message);
+        String line = text.substring(start);
+        text.append(System.lineSeparator());
+        synchronized (history) {
+            if (history.size() == HISTORY_SIZE) {
+                history.removeFirst();
+            }
+            history.addLast(line);
+        }
+    }
+
+    /**
+     * Formats the timestamp at most once per second; only called from the writer thread.
+     */
+    private String timestamp(long timeMillis) {
+        long second = Math.floorDiv(timeMillis, 1000);
+        if (second != cachedSecond) {
+            cachedTimestamp = LocalDateTime.ofInstant(Instant.ofEpochSecond(second), ZoneId.systemDefault()).format(formatter);
+            cachedSecond = second;
+        }
+        return cachedTimestamp;
+    }
+
+    private synchronized void writeDirectly(LogEntry entry) {
+        String line = String.format("[%s] %s: %s",
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(entry.timeMillis), ZoneId.systemDefault()).format(formatter),
+                entry.level, entry.message);
+        synchronized (history) {
+            if (history.size() == HISTORY_SIZE) {
+                history.removeFirst();
+            }
+            history.addLast(line);
+        }
+        if (consoleEnabled) {
+            System.out.println(line);
+        }
+    }
+
+    private void closeFileSink() {
+        if (fileSink == null) return;
+        try {
+            fileSink.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close log file: " + e.getMessage());
+        }
+        fileSink = null;
+    }
+
+    private static class LogEntry {
+        private final long timeMillis;
+        private final LogLevel level;
+        private final String message;
+
+        LogEntry(long timeMillis, LogLevel level, String message) {
+            this.timeMillis = timeMillis;
+            this.level = level;
+            this.message = message;
+        }
+    }
+
     public enum LogLevel {
         DEBUG, INFO, WARN, ERROR
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.campus.utils;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Generic interface for CRUD operations
@@ -8,7 +9,20 @@ import java.util.List;
 public interface Manageable<T> {
     void create(T item);
     T read(String id);
+    /**
+     * Stores the item as given, replacing whatever is stored under its ID: last writer wins.
+     */
     void update(T item);
+
+    /**
+     * Applies a change to a copy of the stored item and saves it only if no other write came
+     * in between, re-applying the change to the newer item otherwise.
+     *
+     * @return the saved item
+     * @throws java.util.NoSuchElementException if the item does not exist
+     * @throws IllegalStateException if concurrent writes kept conflicting
+     */
+    T update(String id, Consumer<T> change);
     void delete(String id);
     List<T> getAll();
 }
\ No newline at end of file
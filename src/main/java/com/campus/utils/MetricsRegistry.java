@@ -0,0 +1,208 @@
+package com.campus.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Singleton registry of named counters, gauges and latency histograms.
+ * Metrics are created on first use and live for the whole run; recording is lock-free.
+ * The registry can be dumped as text or JSON on demand, and periodically to a file
+ * when {@value #DUMP_FILE_PROPERTY} is set (JSON if the file name ends in .json).
+ * Setting {@value #ENABLED_PROPERTY} to false turns every recording call into a no-op.
+ */
+public class MetricsRegistry {
+    public static final String ENABLED_PROPERTY = "campus.metrics.enabled";
+    public static final String DUMP_FILE_PROPERTY = "campus.metrics.dump.file";
+    public static final String DUMP_INTERVAL_PROPERTY = "campus.metrics.dump.interval.seconds";
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private static volatile MetricsRegistry instance;
+    private final Map<String, Counter> counters;
+    private final Map<String, DoubleSupplier> gauges;
+    private final Map<String, LatencyHistogram> histograms;
+    private ScheduledExecutorService reporter;
+    private Path dumpFile;
+
+    private MetricsRegistry() {
+        this.counters = new ConcurrentHashMap<>();
+        this.gauges = new ConcurrentHashMap<>();
+        this.histograms = new ConcurrentHashMap<>();
+    }
+
+    public static MetricsRegistry getInstance() {
+        if (instance == null) {
+            synchronized (MetricsRegistry.class) {
+                if (instance == null) {
+                    instance = new MetricsRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    /**
+     * Records the time since a {@link System#nanoTime()} reading in the named histogram.
+     */
+    public void recordSince(String name, long startNanos) {
+        histogram(name).recordSince(startNanos);
+    }
+
+    /**
+     * Runs the action and records its duration in the named histogram, even if it throws.
+     */
+    public void time(String name, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            histogram(name).recordSince(start);
+        }
+    }
+
+    public CrudMetrics crud(String prefix) {
+        return new CrudMetrics(this, prefix);
+    }
+
+    /**
+     * Registers a gauge sampled at dump time, replacing any gauge of the same name.
+     * Gauges should be cheap to read, e.g. a collection size.
+     */
+    public void gauge(String name, DoubleSupplier value) {
+        gauges.put(name, value);
+    }
+
+    public String dumpText() {
+        StringBuilder out = new StringBuilder();
+        out.append("# Campus metrics at ").append(LocalDateTime.now()).append('\n');
+        new TreeMap<>(counters).forEach((name, counter) ->
+                out.append(String.format("counter   %-48s %d%n", name, counter.getCount())));
+        new TreeMap<>(gauges).forEach((name, gauge) ->
+                out.append(String.format("gauge     %-48s %s%n", name, formatNumber(sample(gauge)))));
+        new TreeMap<>(histograms).forEach((name, histogram) -> {
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+            if (snapshot.getCount() == 0) return;
+            out.append(String.format("histogram %-48s count=%d mean=%.1fus", name, snapshot.getCount(), snapshot.getMean() / 1000));
+            for (double percentile : PERCENTILES) {
+                out.append(String.format(" p%s=%.1fus", formatNumber(percentile), snapshot.getPercentile(percentile) / 1000.0));
+            }
+            out.append(String.format(" max=%.1fus%n", snapshot.getMax() / 1000.0));
+        });
+        return out.toString();
+    }
+
+    public String dumpJson() {
+        StringBuilder out = new StringBuilder();
+        out.append("{\"timestamp\":\"").append(LocalDateTime.now()).append("\",\"counters\":{");
+        String separator = "";
+        for (Map.Entry<String, Counter> counter : new TreeMap<>(counters).entrySet()) {
+            out.append(separator).append(quote(counter.getKey())).append(':').append(counter.getValue().getCount());
+            separator = ",";
+        }
+        out.append("},\"gauges\":{");
+        separator = "";
+        for (Map.Entry<String, DoubleSupplier> gauge : new TreeMap<>(gauges).entrySet()) {
+            double value = sample(gauge.getValue());
+            out.append(separator).append(quote(gauge.getKey())).append(':')
+                    .append(Double.isFinite(value) ? formatNumber(value) : "null");
+            separator = ",";
+        }
+        out.append("},\"histograms\":{");
+        separator = "";
+        for (Map.Entry<String, LatencyHistogram> histogram : new TreeMap<>(histograms).entrySet()) {
+            LatencyHistogram.Snapshot snapshot = histogram.getValue().snapshot();
+            out.append(separator).append(quote(histogram.getKey()))
+                    .append(":{\"count\":").append(snapshot.getCount())
+                    .append(",\"meanNanos\":").append(Math.round(snapshot.getMean()));
+            for (double percentile : PERCENTILES) {
+                out.append(",\"p").append(formatNumber(percentile).replace('.', '_')).append("Nanos\":")
+                        .append(snapshot.getPercentile(percentile));
+            }
+            out.append(",\"maxNanos\":").append(snapshot.getMax()).append('}');
+            separator = ",";
+        }
+        return out.append("}}").toString();
+    }
+
+    /**
+     * Starts dumping to the file named by {@value #DUMP_FILE_PROPERTY} every
+     * {@value #DUMP_INTERVAL_PROPERTY} seconds (default 60). Does nothing if no file is configured.
+     */
+    public synchronized void startReporting() {
+        String file = System.getProperty(DUMP_FILE_PROPERTY);
+        if (file == null || file.isEmpty() || reporter != null) return;
+        long interval = Math.max(1, Long.getLong(DUMP_INTERVAL_PROPERTY, 60));
+        this.dumpFile = Paths.get(file);
+        this.reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(this::writeDump, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops periodic reporting after writing one final dump.
+     */
+    public synchronized void stopReporting() {
+        if (reporter == null) return;
+        reporter.shutdownNow();
+        reporter = null;
+        writeDump();
+    }
+
+    private void writeDump() {
+        Path target = dumpFile;
+        try {
+            String content = target.toString().endsWith(".json") ? dumpJson() : dumpText();
+            Path absolute = target.toAbsolutePath();
+            Files.createDirectories(absolute.getParent());
+            Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+            Files.write(temp, content.getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            Logger.getInstance().warn("Failed to write metrics dump {}: {}", target, e.getMessage());
+        }
+    }
+
+    private static double sample(DoubleSupplier gauge) {
+        try {
+            return gauge.getAsDouble();
+        } catch (RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static String formatNumber(double value) {
+        return value == Math.rint(value) && !Double.isInfinite(value) ? String.valueOf((long) value) : String.valueOf(value);
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
@@ -1,22 +1,61 @@
 package com.campus.utils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Singleton NotificationService for system-wide notifications
+ * Singleton NotificationService for system-wide notifications.
+ * Publishing never runs observer code: each observer has its own bounded queue,
+ * drained in order by a shared dispatcher pool, so a slow observer only delays
+ * itself. When an observer falls behind its oldest pending notifications are dropped.
+ * Observers may subscribe to selected topics only, and only the most recent
+ * notifications are retained for display.
  */
 public class NotificationService {
-    private static NotificationService instance;
-    private List<NotificationObserver> observers;
-    private List<Notification> notifications;
-    
+    public static final String QUEUE_SIZE_PROPERTY = "campus.notifications.queue.size";
+    public static final String RETENTION_PROPERTY = "campus.notifications.retention";
+    private static final int DISPATCH_BATCH = 64;
+
+    private static volatile NotificationService instance;
+    private static final Logger logger = Logger.getInstance();
+    private final List<Subscription> observers;
+    private final ArrayDeque<Notification> notifications;
+    private final int queueSize;
+    private final int retention;
+    private final ExecutorService dispatcher;
+
     private NotificationService() {
-        this.observers = new ArrayList<>();
-        this.notifications = new ArrayList<>();
+        this.observers = new CopyOnWriteArrayList<>();
+        this.notifications = new ArrayDeque<>();
+        this.queueSize = Math.max(1, Integer.getInteger(QUEUE_SIZE_PROPERTY, 1024));
+        this.retention = Math.max(1, Integer.getInteger(RETENTION_PROPERTY, 500));
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "notification-dispatch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        this.dispatcher = pool;
     }
-    
+
     public static NotificationService getInstance() {
         if (instance == null) {
             synchronized (NotificationService.class) {
@@ -27,47 +66,186 @@ public class NotificationService {
         }
         return instance;
     }
-    
-    public void addObserver(NotificationObserver observer) {
-        observers.add(observer);
+
+    /**
+     * Subscribes the observer to the given topics, or to every topic if none are given.
+     */
+    public void addObserver(NotificationObserver observer, Topic... topics) {
+        Set<Topic> filter = topics.length == 0 ? EnumSet.allOf(Topic.class) : EnumSet.copyOf(Arrays.asList(topics));
+        observers.add(new Subscription(observer, filter, queueSize));
     }
-    
+
     public void removeObserver(NotificationObserver observer) {
-        observers.remove(observer);
+        for (Subscription subscription : observers) {
+            if (subscription.observer == observer) {
+                subscription.cancel();
+                observers.remove(subscription);
+            }
+        }
     }
-    
+
     public void notifyObservers(String message) {
-        Notification notification = new Notification(message, LocalDateTime.now());
-        notifications.add(notification);
-        
-        for (NotificationObserver observer : observers) {
-            observer.update(notification);
+        notifyObservers(Topic.GENERAL, message);
+    }
+
+    /**
+     * Records the notification and queues it for every observer subscribed to the topic.
+     * Returns immediately; observers are called on the dispatcher threads.
+     */
+    public void notifyObservers(Topic topic, String message) {
+        Notification notification = new Notification(topic, message, LocalDateTime.now());
+        synchronized (notifications) {
+            if (notifications.size() == retention) {
+                notifications.removeFirst();
+            }
+            notifications.addLast(notification);
+        }
+
+        for (Subscription subscription : observers) {
+            if (subscription.topics.contains(topic)) {
+                subscription.enqueue(notification);
+            }
         }
     }
-    
+
     public List<Notification> getNotifications() {
-        return new ArrayList<>(notifications);
+        synchronized (notifications) {
+            return new ArrayList<>(notifications);
+        }
     }
-    
+
+    public List<Notification> getNotifications(Topic topic) {
+        List<Notification> result = new ArrayList<>();
+        synchronized (notifications) {
+            for (Notification notification : notifications) {
+                if (notification.getTopic() == topic) result.add(notification);
+            }
+        }
+        return result;
+    }
+
     public void clearNotifications() {
-        notifications.clear();
+        synchronized (notifications) {
+            notifications.clear();
+        }
+    }
+
+    /**
+     * Total notifications discarded across observers because their queues were full.
+     */
+    public long getDroppedCount() {
+        long dropped = 0;
+        for (Subscription subscription : observers) {
+            dropped += subscription.dropped.get();
+        }
+        return dropped;
+    }
+
+    /**
+     * Stops dispatching, giving queued notifications a short grace period to be delivered.
+     */
+    public void shutdown() {
+        dispatcher.shutdown();
+        try {
+            dispatcher.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
-    
+
+    /**
+     * One observer's bounded queue. At most one drain task per subscription is
+     * scheduled at a time, so the observer sees notifications in publish order.
+     */
+    private class Subscription implements Runnable {
+        private final NotificationObserver observer;
+        private final Set<Topic> topics;
+        private final BlockingQueue<Notification> queue;
+        private final AtomicBoolean scheduled;
+        private final AtomicLong dropped;
+        private volatile boolean active;
+
+        Subscription(NotificationObserver observer, Set<Topic> topics, int capacity) {
+            this.observer = observer;
+            this.topics = topics;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.scheduled = new AtomicBoolean();
+            this.dropped = new AtomicLong();
+            this.active = true;
+        }
+
+        void enqueue(Notification notification) {
+            while (!queue.offer(notification)) {
+                if (queue.poll() != null) {
+                    dropped.incrementAndGet();
+                }
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (active && scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this);
+                } catch (RuntimeException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Notification notification;
+                int delivered = 0;
+                while (active && delivered < DISPATCH_BATCH && (notification = queue.poll()) != null) {
+                    try {
+                        observer.update(notification);
+                    } catch (RuntimeException e) {
+                        logger.warn("Notification observer {} failed: {}", observer.getClass().getSimpleName(), e.getMessage());
+                    }
+                    delivered++;
+                }
+            } finally {
+                scheduled.set(false);
+                if (!queue.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+
+        void cancel() {
+            active = false;
+            queue.clear();
+        }
+    }
+
+    public enum Topic {
+        GENERAL, USERS, STUDENTS, COURSES, LIBRARY, EXAMS, EVENTS, INVENTORY, HOSTEL, TRANSPORT
+    }
+
     public static class Notification {
+        private Topic topic;
         private String message;
         private LocalDateTime timestamp;
-        
+
         public Notification(String message, LocalDateTime timestamp) {
+            this(Topic.GENERAL, message, timestamp);
+        }
+
+        public Notification(Topic topic, String message, LocalDateTime timestamp) {
+            this.topic = topic;
             this.message = message;
             this.timestamp = timestamp;
         }
-        
+
+        public Topic getTopic() { return topic; }
         public String getMessage() { return message; }
         public LocalDateTime getTimestamp() { return timestamp; }
-        
+
         @Override
         public String toString() {
             return "[" + timestamp + "] " + message;
         }
     }
-}
\ No newline at end of file
+}
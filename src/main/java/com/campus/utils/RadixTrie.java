@@ -0,0 +1,214 @@
+package com.campus.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Set of strings in a path-compressed trie: each edge carries the whole run of characters
+ * its keys share, so a node is only created where keys branch. Prefix queries cost
+ * O(prefix length + results) and list the keys in lexicographic order.
+ * Not thread-safe; callers that share one guard it themselves.
+ */
+public class RadixTrie {
+    private final Node root = new Node("");
+    private int size;
+
+    /**
+     * @return true if the key was not already present
+     */
+    public boolean add(String key) {
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(i));
+                leaf.terminal = true;
+                node.insertChild(-index - 1, leaf);
+                size++;
+                return true;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                // split the edge where the key leaves it
+                Node branch = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                branch.children = new Node[] {child};
+                node.children[index] = branch;
+                child = branch;
+            }
+            node = child;
+            i += common;
+        }
+        if (node.terminal) {
+            return false;
+        }
+        node.terminal = true;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return true if the key was present
+     */
+    public boolean remove(String key) {
+        Node parent = null;
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0 || !key.startsWith(node.children[index].label, i)) {
+                return false;
+            }
+            parent = node;
+            node = node.children[index];
+            i += node.label.length();
+        }
+        if (!node.terminal) {
+            return false;
+        }
+        node.terminal = false;
+        size--;
+        if (parent == null) {
+            return true;
+        }
+        if (node.children == null) {
+            parent.removeChild(node);
+            if (parent != root && !parent.terminal && parent.children != null && parent.children.length == 1) {
+                parent.mergeWithOnlyChild();
+            }
+        } else if (node.children.length == 1) {
+            node.mergeWithOnlyChild();
+        }
+        return true;
+    }
+
+    public boolean contains(String key) {
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0 || !key.startsWith(node.children[index].label, i)) {
+                return false;
+            }
+            node = node.children[index];
+            i += node.label.length();
+        }
+        return node.terminal;
+    }
+
+    /**
+     * Up to {@code limit} keys starting with the prefix, in lexicographic order.
+     */
+    public List<String> keysWithPrefix(String prefix, int limit) {
+        List<String> keys = new ArrayList<>();
+        StringBuilder path = new StringBuilder(prefix.length() + 16);
+        Node node = root;
+        while (path.length() < prefix.length()) {
+            int i = path.length();
+            int index = node.childIndex(prefix.charAt(i));
+            if (index < 0) {
+                return keys;
+            }
+            node = node.children[index];
+            int common = commonPrefix(node.label, prefix, i);
+            if (common < node.label.length() && i + common < prefix.length()) {
+                return keys; // the prefix leaves this edge part way along
+            }
+            path.append(node.label);
+        }
+        collect(node, path, keys, limit);
+        return keys;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static void collect(Node node, StringBuilder path, List<String> keys, int limit) {
+        if (keys.size() >= limit) return;
+        if (node.terminal) {
+            keys.add(path.toString());
+        }
+        if (node.children == null) return;
+        for (Node child : node.children) {
+            if (keys.size() >= limit) return;
+            int length = path.length();
+            path.append(child.label);
+            collect(child, path, keys, limit);
+            path.setLength(length);
+        }
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int common = 0;
+        while (common < max && label.charAt(common) == key.charAt(offset + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    private static final class Node {
+        String label;
+        Node[] children;
+        boolean terminal;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Index of the child whose label starts with c, or (-insertion point - 1).
+         */
+        int childIndex(char c) {
+            if (children == null) return -1;
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char first = children[mid].label.charAt(0);
+                if (first < c) {
+                    low = mid + 1;
+                } else if (first > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void insertChild(int index, Node child) {
+            if (children == null) {
+                children = new Node[] {child};
+                return;
+            }
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, index);
+            grown[index] = child;
+            System.arraycopy(children, index, grown, index + 1, children.length - index);
+            children = grown;
+        }
+
+        void removeChild(Node child) {
+            int index = childIndex(child.label.charAt(0));
+            if (children.length == 1) {
+                children = null;
+                return;
+            }
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, index);
+            System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+            children = shrunk;
+        }
+
+        void mergeWithOnlyChild() {
+            Node child = children[0];
+            label = label + child.label;
+            children = child.children;
+            terminal = child.terminal;
+        }
+    }
+}
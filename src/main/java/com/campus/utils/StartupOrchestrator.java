@@ -0,0 +1,116 @@
+package com.campus.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Loads a set of {@link Lazy} components in parallel on a dedicated ForkJoinPool, each
+ * one as soon as its dependencies are ready, and reports how long each took.
+ * Running on a ForkJoinPool matters: the parallel record decoding and index builds inside
+ * each store run as nested tasks on the same pool, so the subsystems share the cores
+ * through work stealing instead of all queueing on the common pool.
+ * The pool size defaults to the number of cores and can be set with {@value #PARALLELISM_PROPERTY}.
+ */
+public class StartupOrchestrator {
+    public static final String PARALLELISM_PROPERTY = "campus.startup.parallelism";
+    private static final Logger logger = Logger.getInstance();
+
+    private final List<Lazy<?>> components;
+
+    public StartupOrchestrator(Lazy<?>... components) {
+        this.components = Arrays.asList(components);
+    }
+
+    /**
+     * Starts loading every component and completes with the timings once all have finished.
+     * Completes exceptionally if any component fails; the others still finish loading.
+     */
+    public CompletableFuture<Report> startAsync() {
+        int parallelism = Math.max(1, Integer.getInteger(PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors()));
+        ForkJoinPool pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("startup-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+
+        long start = System.nanoTime();
+        CompletableFuture<?>[] loads = components.stream()
+                .map(component -> component.warmUp(pool))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(loads).handle((ignored, error) -> {
+            pool.shutdown();
+            Report report = new Report(System.nanoTime() - start, parallelism);
+            if (error != null) {
+                logger.error("Startup failed after {} ms: {}", report.getWallNanos() / 1_000_000, error);
+                throw error instanceof RuntimeException ? (RuntimeException) error : new IllegalStateException(error);
+            }
+            logger.info("Loaded {} subsystems in {} ms ({} ms of work on {} threads)", report.getTimings().size(),
+                    report.getWallNanos() / 1_000_000, report.getTotalNanos() / 1_000_000, parallelism);
+            return report;
+        });
+    }
+
+    /**
+     * Loads every component and waits for them.
+     */
+    public Report run() {
+        return startAsync().join();
+    }
+
+    private List<Lazy<?>> allComponents() {
+        List<Lazy<?>> all = new ArrayList<>();
+        for (Lazy<?> component : components) {
+            collect(component, all);
+        }
+        return all;
+    }
+
+    private static void collect(Lazy<?> component, List<Lazy<?>> all) {
+        if (all.contains(component)) return;
+        for (Lazy<?> dependency : component.getDependencies()) {
+            collect(dependency, all);
+        }
+        all.add(component);
+    }
+
+    /**
+     * Per-component build times, in dependency order, plus the wall-clock time of the whole startup.
+     */
+    public class Report {
+        private final long wallNanos;
+        private final int parallelism;
+        private final Map<String, Long> timings;
+
+        private Report(long wallNanos, int parallelism) {
+            this.wallNanos = wallNanos;
+            this.parallelism = parallelism;
+            this.timings = new LinkedHashMap<>();
+            for (Lazy<?> component : allComponents()) {
+                timings.put(component.getName(), component.getInitializationNanos());
+            }
+        }
+
+        public long getWallNanos() { return wallNanos; }
+        public int getParallelism() { return parallelism; }
+        public Map<String, Long> getTimings() { return timings; }
+
+        public long getTotalNanos() {
+            return timings.values().stream().mapToLong(nanos -> Math.max(0, nanos)).sum();
+        }
+
+        public String format() {
+            StringBuilder out = new StringBuilder();
+            timings.forEach((name, nanos) -> out.append(String.format("  %-20s %8.1f ms%n", name, nanos / 1e6)));
+            out.append(String.format("  %-20s %8.1f ms wall, %.1f ms of work on %d threads%n",
+                    "Total", wallNanos / 1e6, getTotalNanos() / 1e6, parallelism));
+            return out.toString();
+        }
+    }
+}